@@ -150,6 +150,44 @@ public class ASTCacheTests extends BaseTestCase {
 		checkAccessWithConcurrentReconciler();
 	}
 
+	public void testCacheOfInactiveElements() throws Exception {
+		final ASTCache cache = new ASTCache();
+		final IASTTranslationUnit[] asts = new IASTTranslationUnit[3];
+		cache.setActiveElement(fTU1);
+		for (int i = 0; i < 2; i++) {
+			final int idx = i;
+			cache.runOnAST(fTU2, true, null, new ASTRunnable() {
+				@Override
+				public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+					asts[idx] = ast;
+					return Status.OK_STATUS;
+				}
+			});
+		}
+		assertNotNull(asts[0]);
+		assertSame(asts[0], asts[1]);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.size());
+
+		// The cached AST becomes the shared AST of the active element.
+		assertTrue(cache.setActiveElement(fTU2));
+		assertTrue(cache.isActiveElement(fTU2));
+		cache.runOnAST(fTU2, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException {
+				asts[2] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		assertSame(asts[0], asts[2]);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2.0 / 3, cache.getHitRate(), 0.01);
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
 	private void checkActiveElement() throws Exception {
 		ASTCache cache = new ASTCache();
 		assertFalse(cache.isActiveElement(fTU1));
@@ -127,6 +127,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPBasicType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBinding;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBlockScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassScope;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPEnumeration;
@@ -144,12 +145,22 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
 import org.eclipse.cdt.core.dom.ast.cpp.SemanticQueries;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.dom.parser.cpp.ANSICPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.IProblem;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
 import org.eclipse.cdt.core.parser.util.AttributeUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTFunctionDefinition;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTNameBase;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClassInstance;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClassTemplate;
@@ -162,6 +173,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPQualifierType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPVariable;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ClassTypeHelper;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.OverloadableOperator;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
@@ -11659,6 +11671,37 @@ public class AST2CPPTests extends AST2CPPTestBase {
 		assertNull(waldo.getInitialValue().numberValue());
 	}
 
+	//	constexpr int naive_fibonacci(int x) {
+	//		return x == 0 ? 0
+	//			 : x == 1 ? 1
+	//			 : naive_fibonacci(x - 2) + naive_fibonacci(x - 1);
+	//	}
+	//
+	//	constexpr int waldo = naive_fibonacci(40);
+	public void testMemoizedConstexprEvaluation() throws Exception {
+		// Without memoization of the calls, running the computation of
+		// naive_fibonacci(40) to its end would exceed the time limit.
+		BindingAssertionHelper helper = getAssertionHelper();
+		IVariable waldo = helper.assertNonProblem("waldo");
+		assertConstantValue(102334155, waldo);
+	}
+
+	//	constexpr unsigned count_up(unsigned n) {
+	//		unsigned i = 0;
+	//		while (i < n)
+	//			++i;
+	//		return i;
+	//	}
+	//
+	//	constexpr unsigned waldo = count_up(4000000000u);
+	public void testConstexprEvaluationTimeout() throws Exception {
+		// Memoization doesn't help with a long running loop, the evaluation
+		// has to give up when its time runs out.
+		BindingAssertionHelper helper = getAssertionHelper();
+		IVariable waldo = helper.assertNonProblem("waldo");
+		assertNull(waldo.getInitialValue().numberValue());
+	}
+
 	//	constexpr int foo(int a = 42) {
 	//		return a;
 	//	}
@@ -13894,4 +13937,122 @@ public class AST2CPPTests extends AST2CPPTestBase {
 		BindingAssertionHelper helper = getAssertionHelper();
 		helper.assertVariableValue("true_value", 1);
 	}
+
+	//	struct A {};
+	//	struct B { B(const A&); };
+	//	void f(B, int);
+	//	void f(int, int);
+	//	void test1(A a) { f(a, 'c'); }
+	//	void test2(A a) { int i = 0; f(a, 'c'); }
+	public void testCachedImplicitConversionSequences() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		ICPPFunction f = helper.assertNonProblem("f(B, int)", 1);
+		assertSame(f, helper.assertNonProblem("test1(A a) { f", "f"));
+		assertSame(f, helper.assertNonProblem("i = 0; f", "f"));
+		assertFalse(((CPPASTTranslationUnit) helper.getTranslationUnit()).getConversionCache().isEmpty());
+	}
+
+	//	struct Base {};
+	//	template<typename T> struct D {};
+	//	template<> struct D<int>;
+	//	void g(Base*);
+	//	void g(void*);
+	//	void test1(D<int>* d) { g(d); }
+	//	template<> struct D<int> : Base {};
+	//	void test2(D<int>* d) { g(d); }
+	public void testConversionOfSpecializationBeforeDefinition() throws Exception {
+		BindingAssertionHelper helper = getAssertionHelper();
+		ICPPFunction toBase = helper.assertNonProblem("g(Base*)", 1);
+		ICPPFunction toVoid = helper.assertNonProblem("g(void*)", 1);
+		assertSame(toVoid, helper.assertNonProblem("test1(D<int>* d) { g", "g"));
+		assertSame(toBase, helper.assertNonProblem("test2(D<int>* d) { g", "g"));
+	}
+
+	public void testParallelAmbiguityResolution() throws Exception {
+		StringBuilder code = new StringBuilder();
+		code.append("struct A {};\n");
+		code.append("template<typename T> struct S { T t; };\n");
+		code.append("constexpr int k = sizeof(S<int>);\n");
+		code.append("int f(int, int = k);\n");
+		code.append("int x;\n");
+		for (int i = 0; i < 100; i++) {
+			code.append("void g" + i + "() { A(y); x * f(x); S<long> s; int a[k]; }\n");
+		}
+		IScanner scanner = createScanner(FileContent.create(TEST_CODE, code.toString().toCharArray()), CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(ScannerKind.STD));
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new ANSICPPParserExtensionConfiguration(), null);
+		parser.setParallelAmbiguityResolutionThreshold(10);
+		IASTTranslationUnit tu = parser.parse();
+		assertFalse(parser.encounteredError());
+		NameCollector col = new NameCollector();
+		tu.accept(col);
+		assertNoProblemBindings(col);
+
+		IASTDeclaration[] declarations = tu.getDeclarations();
+		assertEquals(105, declarations.length);
+		IBinding instance = null;
+		for (int i = 5; i < declarations.length; i++) {
+			IASTFunctionDefinition fdef = (IASTFunctionDefinition) declarations[i];
+			IASTStatement[] statements = ((IASTCompoundStatement) fdef.getBody()).getStatements();
+			assertInstance(statements[0], IASTDeclarationStatement.class);
+			assertInstance(statements[1], IASTExpressionStatement.class);
+			IASTSimpleDeclaration s = (IASTSimpleDeclaration) ((IASTDeclarationStatement) statements[2])
+					.getDeclaration();
+			IBinding type = ((ICPPASTNamedTypeSpecifier) s.getDeclSpecifier()).getName().resolveBinding();
+			assertInstance(type, ICPPClassSpecialization.class);
+			if (instance == null) {
+				instance = type;
+			} else {
+				// All bodies share the instance of the template.
+				assertSame(instance, type);
+			}
+		}
+	}
+
+	//	struct A { int m; };
+	//	int f(int);
+	//	int x;
+	//	constexpr int c() { return 1; }
+	//	void g() { A(y); x * f(x); }
+	//	void h() { A a; a.m = c(); }
+	public void testLazyFunctionBodyParsing() throws Exception {
+		String code = getAboveComment();
+		IASTTranslationUnit tu = GPPLanguage.getDefault().getASTTranslationUnit(
+				FileContent.create(TEST_CODE, code.toCharArray()), createScannerInfo(ScannerKind.STD),
+				IncludeFileContentProvider.getEmptyFilesProvider(), null, ILanguage.OPTION_PARSE_FUNCTION_BODIES_LAZILY,
+				NULL_LOG);
+		IASTDeclaration[] declarations = tu.getDeclarations();
+		CPPASTFunctionDefinition c = (CPPASTFunctionDefinition) declarations[3];
+		CPPASTFunctionDefinition g = (CPPASTFunctionDefinition) declarations[4];
+		CPPASTFunctionDefinition h = (CPPASTFunctionDefinition) declarations[5];
+		// The body of a constexpr function may be needed for evaluating expressions.
+		assertFalse(c.isBodyDeferred());
+		assertTrue(g.isBodyDeferred());
+		assertTrue(h.isBodyDeferred());
+
+		// The recorded tokens must not retain the rest of the token stream.
+		IToken token = g.getFirstDeferredBodyToken();
+		assertEquals(IToken.tLBRACE, token.getType());
+		assertEquals(code.indexOf("{ A(y)"), token.getOffset());
+		while (token.getNext() != null) {
+			token = token.getNext();
+		}
+		assertEquals(IToken.tRBRACE, token.getType());
+		assertEquals(g.getOffset() + g.getLength(), token.getEndOffset());
+
+		IASTStatement[] statements = ((IASTCompoundStatement) g.getBody()).getStatements();
+		assertFalse(g.isBodyDeferred());
+		assertTrue(h.isBodyDeferred());
+		assertInstance(statements[0], IASTDeclarationStatement.class);
+		assertInstance(statements[1], IASTExpressionStatement.class);
+		assertTrue(statements[1].isFrozen());
+
+		// Looking for a node in the remaining body parses it.
+		BindingAssertionHelper helper = new BindingAssertionHelper(code, tu);
+		helper.assertNonProblem("m = c", "m", ICPPField.class);
+		assertFalse(h.isBodyDeferred());
+		helper.assertNonProblem("c()", "c", ICPPFunction.class);
+		assertEquals(0, CPPVisitor.getProblems(tu).length);
+	}
 }
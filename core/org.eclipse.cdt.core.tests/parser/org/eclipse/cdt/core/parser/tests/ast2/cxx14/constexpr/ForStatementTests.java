@@ -217,4 +217,17 @@ public abstract class ForStatementTests extends TestBase {
 	public void testForLoopWithNullStatementAsBody() throws Exception {
 		assertEvaluationEquals(120);
 	}
-}
\ No newline at end of file
+
+	//	constexpr int sum(int n) {
+	//		int result = 0;
+	//		for (int i = 0; i < n; i++) {
+	//			result += i;
+	//		}
+	//		return result;
+	//	}
+
+	//	constexpr int x = sum(1000);
+	public void testForLoopWithManyIterations() throws Exception {
+		assertEvaluationEquals(499500);
+	}
+}
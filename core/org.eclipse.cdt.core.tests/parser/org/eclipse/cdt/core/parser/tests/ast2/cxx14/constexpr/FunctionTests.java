@@ -290,4 +290,60 @@ public abstract class FunctionTests extends TestBase {
 	public void testLambdaExpression2_560483() throws Exception {
 		assertEvaluationEquals(58);
 	}
-}
\ No newline at end of file
+
+	//	constexpr long fib(int n) {
+	//		return n < 2 ? n : fib(n - 1) + fib(n - 2);
+	//	}
+
+	//	constexpr long x = fib(60);
+	public void testMemoizedRecursion() throws Exception {
+		assertEvaluationEquals(1548008755920L);
+	}
+
+	//	constexpr int depth(int n) {
+	//		if (n == 0) {
+	//			return 0;
+	//		}
+	//		int result = 0;
+	//		for (int i = 0; i < 1; i++) {
+	//			result = depth(n - 1) + 1;
+	//		}
+	//		return result;
+	//	}
+
+	//	constexpr int x = depth(127);
+	public void testDeepRecursion() throws Throwable {
+		// The deepest recursion that is evaluated must fit on the stack of a thread with the default
+		// stack size, like the threads of jobs or of the fork/join pool.
+		final Throwable[] failure = new Throwable[1];
+		Thread thread = new Thread(() -> {
+			try {
+				assertEvaluationEquals(127);
+			} catch (Throwable e) {
+				failure[0] = e;
+			}
+		}, "Constexpr evaluation");
+		thread.start();
+		thread.join();
+		if (failure[0] != null)
+			throw failure[0];
+	}
+
+	//	constexpr int depth(int n) {
+	//		return n == 0 ? 0 : 1 + depth(n - 1);
+	//	}
+
+	//	constexpr int x = depth(128);
+	public void testRecursionExceedingCallDepth() throws Exception {
+		assertEvaluationProblem();
+	}
+
+	//	constexpr int depth(int n) {
+	//		return n == 0 ? 0 : 1 + depth(n - 1);
+	//	}
+
+	//	constexpr int x = depth(100000);
+	public void testRecursionTooDeep() throws Exception {
+		assertEvaluationProblem();
+	}
+}
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.cdt.core.parser.ParserLanguage;
+
+/**
+ * The sources the parser benchmarks run over. The corpus consists of generated translation units in
+ * the style of application code using a template library and of C code in the style of the Linux
+ * kernel. The generator is seeded, such that the corpus is the same for every run.
+ * <p>
+ * Real sources can be added with -DparserBenchmark.corpus=&lt;directory&gt;, all C and C++ source
+ * files found in the directory are added to the corpus.
+ */
+final class BenchmarkCorpus {
+	private static final int CPP_UNITS = 12;
+	private static final int C_UNITS = 8;
+
+	/**
+	 * A source file of the corpus.
+	 */
+	static final class Source {
+		final String fPath;
+		final ParserLanguage fLanguage;
+		final char[] fCode;
+
+		Source(String path, ParserLanguage language, char[] code) {
+			fPath = path;
+			fLanguage = language;
+			fCode = code;
+		}
+	}
+
+	// A small template library that is part of every C++ unit, like a header of the standard library.
+	private static final String CPP_LIBRARY = "" //
+			+ "#define BENCH_ASSERT(cond, msg) do { if (!(cond)) bench::fail(msg, __FILE__, __LINE__); } while (0)\n"
+			+ "#define BENCH_MIN(a, b) ((a) < (b) ? (a) : (b))\n"
+			+ "#define BENCH_GETTER(type, name) type get_##name() const { return name##_; }\n"
+			+ "typedef unsigned long size_t;\n" //
+			+ "namespace bench {\n" //
+			+ "void fail(const char* msg, const char* file, int line);\n"
+			+ "template<typename T> struct remove_reference { typedef T type; };\n"
+			+ "template<typename T> struct remove_reference<T&> { typedef T type; };\n"
+			+ "template<typename T> struct remove_reference<T&&> { typedef T type; };\n"
+			+ "template<typename T> typename remove_reference<T>::type&& move(T&& t) {\n"
+			+ "  return static_cast<typename remove_reference<T>::type&&>(t);\n" //
+			+ "}\n" //
+			+ "template<typename T> class vector {\n" //
+			+ "public:\n" //
+			+ "  typedef T* iterator;\n" //
+			+ "  typedef const T* const_iterator;\n" //
+			+ "  vector() : data_(0), size_(0), capacity_(0) {}\n" //
+			+ "  ~vector() { delete[] data_; }\n"
+			+ "  void push_back(const T& value) { if (size_ == capacity_) grow(); data_[size_++] = value; }\n"
+			+ "  T& operator[](size_t i) { return data_[i]; }\n"
+			+ "  const T& operator[](size_t i) const { return data_[i]; }\n"
+			+ "  size_t size() const { return size_; }\n" //
+			+ "  bool empty() const { return size_ == 0; }\n" //
+			+ "  iterator begin() { return data_; }\n" //
+			+ "  iterator end() { return data_ + size_; }\n" //
+			+ "  const_iterator begin() const { return data_; }\n"
+			+ "  const_iterator end() const { return data_ + size_; }\n" //
+			+ "private:\n" //
+			+ "  void grow() {\n" //
+			+ "    size_t n = capacity_ ? 2 * capacity_ : 8;\n" //
+			+ "    T* d = new T[n];\n" //
+			+ "    for (size_t i = 0; i < size_; ++i)\n" //
+			+ "      d[i] = move(data_[i]);\n" //
+			+ "    delete[] data_;\n" //
+			+ "    data_ = d;\n" //
+			+ "    capacity_ = n;\n" //
+			+ "  }\n" //
+			+ "  T* data_;\n" //
+			+ "  size_t size_;\n" //
+			+ "  size_t capacity_;\n" //
+			+ "};\n" //
+			+ "template<typename K, typename V> struct pair { K first; V second; };\n"
+			+ "template<typename K, typename V> class map {\n" //
+			+ "public:\n" //
+			+ "  V& operator[](const K& key) {\n" //
+			+ "    for (pair<K, V>& e : entries_)\n" //
+			+ "      if (e.first == key) return e.second;\n" //
+			+ "    pair<K, V> e;\n" //
+			+ "    e.first = key;\n" //
+			+ "    e.second = V();\n" //
+			+ "    entries_.push_back(e);\n" //
+			+ "    return entries_[entries_.size() - 1].second;\n" //
+			+ "  }\n" //
+			+ "  bool contains(const K& key) const {\n" //
+			+ "    for (const pair<K, V>& e : entries_)\n" //
+			+ "      if (e.first == key) return true;\n" //
+			+ "    return false;\n" //
+			+ "  }\n" //
+			+ "  size_t size() const { return entries_.size(); }\n" //
+			+ "private:\n" //
+			+ "  vector<pair<K, V> > entries_;\n" //
+			+ "};\n" //
+			+ "template<typename T> class shared_ptr {\n" //
+			+ "public:\n" //
+			+ "  explicit shared_ptr(T* p = 0) : ptr_(p), count_(new long(1)) {}\n"
+			+ "  shared_ptr(const shared_ptr& o) : ptr_(o.ptr_), count_(o.count_) { ++*count_; }\n"
+			+ "  ~shared_ptr() { if (--*count_ == 0) { delete ptr_; delete count_; } }\n"
+			+ "  T* operator->() const { return ptr_; }\n" //
+			+ "  T& operator*() const { return *ptr_; }\n" //
+			+ "  T* get() const { return ptr_; }\n" //
+			+ "private:\n" //
+			+ "  T* ptr_;\n" //
+			+ "  long* count_;\n" //
+			+ "};\n" //
+			+ "template<typename T, typename... Args> shared_ptr<T> make_shared(Args&&... args) {\n"
+			+ "  return shared_ptr<T>(new T(args...));\n" //
+			+ "}\n" //
+			+ "template<typename It, typename F> F for_each(It first, It last, F f) {\n"
+			+ "  for (; first != last; ++first) f(*first);\n" //
+			+ "  return f;\n" //
+			+ "}\n" //
+			+ "template<typename It, typename T> It find(It first, It last, const T& value) {\n"
+			+ "  for (; first != last; ++first) if (*first == value) return first;\n" //
+			+ "  return last;\n" //
+			+ "}\n" //
+			+ "template<typename T> const T& max(const T& a, const T& b) { return a < b ? b : a; }\n"
+			+ "class string {\n" //
+			+ "public:\n" //
+			+ "  string() : chars_(0), length_(0) {}\n" //
+			+ "  string(const char* s) : chars_(s), length_(0) { while (s[length_]) ++length_; }\n"
+			+ "  size_t length() const { return length_; }\n" //
+			+ "  const char* c_str() const { return chars_; }\n"
+			+ "  bool operator==(const string& o) const { return chars_ == o.chars_; }\n" //
+			+ "private:\n" //
+			+ "  const char* chars_;\n" //
+			+ "  size_t length_;\n" //
+			+ "};\n" //
+			+ "}\n";
+
+	// Declarations and macros that are part of every C unit, like the headers of the kernel.
+	private static final String C_LIBRARY = "" //
+			+ "#define ARRAY_SIZE(a) (sizeof(a) / sizeof((a)[0]))\n"
+			+ "#define container_of(ptr, type, member) ((type *)((char *)(ptr) - (unsigned long)&((type *)0)->member))\n"
+			+ "#define list_for_each(pos, head) for (pos = (head)->next; pos != (head); pos = pos->next)\n"
+			+ "#define unlikely(x) __builtin_expect(!!(x), 0)\n"
+			+ "#define pr_debug(fmt, ...) log_message(7, fmt, ##__VA_ARGS__)\n"
+			+ "#define DEFINE_ACCESSORS(type, field) \\\n"
+			+ "  static inline type get_##field(const struct device *d) { return d->field; } \\\n"
+			+ "  static inline void set_##field(struct device *d, type v) { d->field = v; }\n"
+			+ "#define EINVAL 22\n" //
+			+ "#define ENOMEM 12\n" //
+			+ "typedef unsigned long size_t;\n" //
+			+ "struct list_head { struct list_head *next, *prev; };\n"
+			+ "void log_message(int level, const char *fmt, ...);\n" //
+			+ "void *kmalloc(size_t size, int flags);\n" //
+			+ "void kfree(const void *p);\n" //
+			+ "struct device { int id; unsigned long flags; const char *name; struct list_head node; };\n"
+			+ "DEFINE_ACCESSORS(int, id)\n" //
+			+ "DEFINE_ACCESSORS(unsigned long, flags)\n" //
+			+ "static inline void list_add(struct list_head *entry, struct list_head *head) {\n"
+			+ "  entry->next = head->next;\n" //
+			+ "  entry->prev = head;\n" //
+			+ "  head->next->prev = entry;\n" //
+			+ "  head->next = entry;\n" //
+			+ "}\n";
+
+	private BenchmarkCorpus() {
+	}
+
+	/**
+	 * Returns the sources of the corpus.
+	 */
+	static List<Source> create() throws IOException {
+		List<Source> result = new ArrayList<>();
+		Random random = new Random(42);
+		for (int i = 0; i < CPP_UNITS; i++) {
+			result.add(new Source("/corpus/unit" + i + ".cpp", ParserLanguage.CPP,
+					generateCPPUnit(i, random).toCharArray()));
+		}
+		for (int i = 0; i < C_UNITS; i++) {
+			result.add(new Source("/corpus/driver" + i + ".c", ParserLanguage.C,
+					generateCUnit(i, random).toCharArray()));
+		}
+		String dir = System.getProperty("parserBenchmark.corpus");
+		if (dir != null) {
+			addFiles(new File(dir), result);
+		}
+		return result;
+	}
+
+	private static void addFiles(File dir, List<Source> result) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null)
+			return;
+		Arrays.sort(files);
+		for (File file : files) {
+			String name = file.getName();
+			if (file.isDirectory()) {
+				addFiles(file, result);
+			} else if (name.endsWith(".c")) {
+				result.add(new Source(file.getPath(), ParserLanguage.C, read(file)));
+			} else if (name.endsWith(".cpp") || name.endsWith(".cc") || name.endsWith(".cxx")) {
+				result.add(new Source(file.getPath(), ParserLanguage.CPP, read(file)));
+			}
+		}
+	}
+
+	private static char[] read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).toCharArray();
+	}
+
+	private static String generateCPPUnit(int unit, Random random) {
+		StringBuilder buf = new StringBuilder(CPP_LIBRARY);
+		String ns = "unit" + unit;
+		buf.append("namespace ").append(ns).append(" {\n");
+		buf.append("enum class Kind { first, second, third };\n");
+		buf.append("struct Point { int x; int y; double weight; };\n");
+		buf.append("class Base {\n");
+		buf.append("public:\n");
+		buf.append("  virtual ~Base() {}\n");
+		buf.append("  virtual int compute(int value) const = 0;\n");
+		buf.append("  virtual bench::string name() const { return \"Base\"; }\n");
+		buf.append("};\n");
+
+		final int classes = 4 + random.nextInt(4);
+		for (int c = 0; c < classes; c++) {
+			buf.append("class Derived").append(c).append(" : public Base {\n");
+			buf.append("public:\n");
+			buf.append("  explicit Derived").append(c).append("(int factor) : factor_(factor), offset_(")
+					.append(random.nextInt(100)).append(") {}\n");
+			buf.append("  int compute(int value) const override {\n");
+			buf.append("    return value * factor_ + offset_;\n");
+			buf.append("  }\n");
+			buf.append("  bench::string name() const override { return \"Derived").append(c).append("\"; }\n");
+			buf.append("  BENCH_GETTER(int, factor)\n");
+			buf.append("  BENCH_GETTER(int, offset)\n");
+			buf.append("  void add(const Point& p) { points_.push_back(p); }\n");
+			buf.append("  int total() const {\n");
+			buf.append("    int sum = 0;\n");
+			buf.append("    for (const Point& p : points_)\n");
+			buf.append("      sum += compute(p.x) - BENCH_MIN(p.x, p.y);\n");
+			buf.append("    return sum;\n");
+			buf.append("  }\n");
+			buf.append("private:\n");
+			buf.append("  int factor_;\n");
+			buf.append("  int offset_;\n");
+			buf.append("  bench::vector<Point> points_;\n");
+			buf.append("};\n");
+		}
+
+		buf.append("template<typename T> T accumulate(const bench::vector<T>& values, T init) {\n");
+		buf.append("  for (const T& v : values)\n");
+		buf.append("    init = init + v;\n");
+		buf.append("  return init;\n");
+		buf.append("}\n");
+
+		final int functions = 10 + random.nextInt(10);
+		for (int f = 0; f < functions; f++) {
+			buf.append("int helper").append(f).append("(const bench::vector<Point>& points, int limit) {\n");
+			buf.append("  int sum = 0;\n");
+			final int statements = 2 + random.nextInt(6);
+			for (int s = 0; s < statements; s++) {
+				switch (random.nextInt(5)) {
+				case 0:
+					buf.append("  for (const Point& p : points) {\n");
+					buf.append("    if (p.x > limit)\n");
+					buf.append("      sum += p.x * p.y;\n");
+					buf.append("    else\n");
+					buf.append("      sum -= BENCH_MIN(p.x, p.y);\n");
+					buf.append("  }\n");
+					break;
+				case 1:
+					buf.append("  for (size_t i = 0; i < points.size(); ++i)\n");
+					buf.append("    sum = bench::max(sum, points[i].x + ").append(random.nextInt(10)).append(");\n");
+					break;
+				case 2:
+					if (f > 0) {
+						buf.append("  sum += helper").append(random.nextInt(f)).append("(points, limit - 1);\n");
+					} else {
+						buf.append("  sum += limit;\n");
+					}
+					break;
+				case 3:
+					buf.append("  bench::for_each(points.begin(), points.end(), [&sum](const Point& p) {\n");
+					buf.append("    sum += static_cast<int>(p.weight);\n");
+					buf.append("  });\n");
+					break;
+				default:
+					buf.append("  BENCH_ASSERT(sum >= 0, \"negative sum\");\n");
+					break;
+				}
+			}
+			buf.append("  return sum;\n");
+			buf.append("}\n");
+		}
+
+		buf.append("int process(bench::map<int, bench::string>& names, Kind kind) {\n");
+		buf.append("  bench::vector<bench::shared_ptr<Base> > objects;\n");
+		for (int c = 0; c < classes; c++) {
+			buf.append("  objects.push_back(bench::shared_ptr<Base>(new Derived").append(c).append("(")
+					.append(c + 1).append(")));\n");
+		}
+		buf.append("  bench::shared_ptr<Derived0> first = bench::make_shared<Derived0>(2);\n");
+		buf.append("  int total = first->get_factor();\n");
+		buf.append("  for (size_t i = 0; i < objects.size(); ++i) {\n");
+		buf.append("    total += objects[i]->compute(static_cast<int>(i));\n");
+		buf.append("    names[total] = objects[i]->name();\n");
+		buf.append("  }\n");
+		buf.append("  switch (kind) {\n");
+		buf.append("  case Kind::first:\n");
+		buf.append("    total += helper0(bench::vector<Point>(), total);\n");
+		buf.append("    break;\n");
+		buf.append("  case Kind::second:\n");
+		buf.append("    total -= names.size();\n");
+		buf.append("    break;\n");
+		buf.append("  default:\n");
+		buf.append("    break;\n");
+		buf.append("  }\n");
+		buf.append("  bench::vector<int> values;\n");
+		buf.append("  values.push_back(total);\n");
+		buf.append("  return accumulate(values, 0) + (names.contains(total) ? 1 : 0);\n");
+		buf.append("}\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static String generateCUnit(int unit, Random random) {
+		StringBuilder buf = new StringBuilder(C_LIBRARY);
+		String prefix = "drv" + unit;
+
+		final int structs = 3 + random.nextInt(4);
+		for (int s = 0; s < structs; s++) {
+			String name = prefix + "_item" + s;
+			buf.append("struct ").append(name).append(" {\n");
+			buf.append("  struct device dev;\n");
+			final int fields = 2 + random.nextInt(6);
+			for (int f = 0; f < fields; f++) {
+				buf.append("  int field").append(f).append(";\n");
+			}
+			buf.append("  struct list_head link;\n");
+			buf.append("};\n");
+
+			buf.append("static int ").append(name).append("_sum(struct list_head *head) {\n");
+			buf.append("  struct list_head *pos;\n");
+			buf.append("  int sum = 0;\n");
+			buf.append("  list_for_each(pos, head) {\n");
+			buf.append("    struct ").append(name).append(" *item = container_of(pos, struct ").append(name)
+					.append(", link);\n");
+			buf.append("    if (unlikely(get_id(&item->dev) < 0))\n");
+			buf.append("      return -EINVAL;\n");
+			for (int f = 0; f < fields; f++) {
+				buf.append("    sum += item->field").append(f).append(";\n");
+			}
+			buf.append("    pr_debug(\"%s: %d\\n\", item->dev.name, sum);\n");
+			buf.append("  }\n");
+			buf.append("  return sum;\n");
+			buf.append("}\n");
+
+			buf.append("static struct ").append(name).append(" *").append(name)
+					.append("_create(struct list_head *head, int id) {\n");
+			buf.append("  struct ").append(name).append(" *item = kmalloc(sizeof(*item), 0);\n");
+			buf.append("  if (!item)\n");
+			buf.append("    return 0;\n");
+			buf.append("  set_id(&item->dev, id);\n");
+			buf.append("  set_flags(&item->dev, get_flags(&item->dev) | 0x").append(Integer.toHexString(1 << s))
+					.append(");\n");
+			buf.append("  list_add(&item->link, head);\n");
+			buf.append("  return item;\n");
+			buf.append("}\n");
+		}
+
+		buf.append("typedef int (*").append(prefix).append("_op)(struct list_head *head);\n");
+		buf.append("static ").append(prefix).append("_op ").append(prefix).append("_ops[] = {\n");
+		for (int s = 0; s < structs; s++) {
+			buf.append("  ").append(prefix).append("_item").append(s).append("_sum,\n");
+		}
+		buf.append("};\n");
+		buf.append("int ").append(prefix).append("_probe(struct list_head *head, int mode) {\n");
+		buf.append("  int ret = 0;\n");
+		buf.append("  size_t i;\n");
+		buf.append("  for (i = 0; i < ARRAY_SIZE(").append(prefix).append("_ops); i++) {\n");
+		buf.append("    ret = ").append(prefix).append("_ops[i](head);\n");
+		buf.append("    if (ret < 0)\n");
+		buf.append("      goto out;\n");
+		buf.append("  }\n");
+		buf.append("  switch (mode) {\n");
+		for (int s = 0; s < structs; s++) {
+			buf.append("  case ").append(s).append(":\n");
+			buf.append("    if (!").append(prefix).append("_item").append(s).append("_create(head, mode))\n");
+			buf.append("      ret = -ENOMEM;\n");
+			buf.append("    break;\n");
+		}
+		buf.append("  default:\n");
+		buf.append("    ret = -EINVAL;\n");
+		buf.append("  }\n");
+		buf.append("out:\n");
+		buf.append("  return ret;\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+}
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTQualifiedName;
+import org.eclipse.cdt.core.dom.parser.c.GCCParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.c.GCCScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IParserLogService;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.parser.tests.benchmark.BenchmarkCorpus.Source;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
+import org.eclipse.cdt.internal.core.dom.parser.c.CASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.c.CVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.c.GNUCSourceParser;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.c.PDOMCLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.cdt.internal.pdom.tests.TestFileLocations;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the throughput of the stages of indexing a translation unit over the sources of
+ * {@link BenchmarkCorpus}: preprocessing, parsing, resolving the names of the AST and storing them
+ * in the index. Every stage is measured separately, the input for a stage is prepared outside of
+ * the measured time.
+ * <p>
+ * The include path for real sources in the corpus can be set with
+ * -DparserBenchmark.includePath=&lt;paths separated by the path separator&gt;.
+ * <p>
+ * Too expensive to run as part of normal testing, should be run before and after changes to the
+ * preprocessor, the parsers, name resolution or the index to compare the numbers.
+ */
+@Tag(BaseTestCase5.SLOW_TEST_TAG)
+public class ParserBenchmark extends BaseTestCase5 {
+	private static final int WARMUP_RUNS = 3;
+	private static final int RUNS = 10;
+	private static final IParserLogService LOG = new NullLogService();
+
+	private static List<Source> sCorpus;
+	private static IScannerInfo sScannerInfo;
+	private static long sCorpusChars;
+
+	@BeforeAll
+	public static void beforeAll() throws Exception {
+		sCorpus = BenchmarkCorpus.create();
+		sCorpusChars = 0;
+		for (Source source : sCorpus) {
+			sCorpusChars += source.fCode.length;
+		}
+		Map<String, String> definitions = new HashMap<>();
+		definitions.put("__GNUC__", "9");
+		definitions.put("__GNUC_MINOR__", "0");
+		definitions.put("__x86_64__", "1");
+		definitions.put("__STDC__", "1");
+		definitions.put("__STDC_HOSTED__", "1");
+		String includePath = System.getProperty("parserBenchmark.includePath", "");
+		sScannerInfo = new ScannerInfo(definitions,
+				includePath.isEmpty() ? new String[0] : includePath.split(File.pathSeparator));
+	}
+
+	@Test
+	public void testPreprocessor() throws Exception {
+		long tokens = 0;
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			tokens = preprocessCorpus();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			assertEquals(tokens, preprocessCorpus());
+		}
+		long nanos = (System.nanoTime() - start) / RUNS;
+		assertTrue(tokens > 0);
+		report("Preprocessor", nanos, tokens + " tokens, " + tokens * 1000000000L / nanos + " tokens/sec");
+	}
+
+	@Test
+	public void testParser() throws Exception {
+		for (Source source : sCorpus) {
+			IASTTranslationUnit ast = parse(source);
+			// Errors in the generated sources would make the numbers meaningless.
+			if (source.fPath.startsWith("/corpus/")) {
+				assertEquals(0, ast.getPreprocessorProblemsCount(), source.fPath);
+				assertEquals(0, source.fLanguage == ParserLanguage.CPP ? CPPVisitor.getProblems(ast).length
+						: CVisitor.getProblems(ast).length, source.fPath);
+			}
+		}
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			parseCorpus();
+		}
+		long nanos = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			parseCorpus();
+			nanos += System.nanoTime() - start;
+		}
+		nanos /= RUNS;
+		report("Parser", nanos, sCorpusChars * 1000000000L / nanos / 1024 + " KB/sec");
+	}
+
+	@Test
+	public void testNameResolution() throws Exception {
+		int unresolved = 0;
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			unresolved = 0;
+			for (IASTTranslationUnit ast : parseCorpus()) {
+				unresolved += resolveNames(ast).fUnresolved;
+			}
+		}
+		long nanos = 0;
+		long names = 0;
+		for (int i = 0; i < RUNS; i++) {
+			List<IASTTranslationUnit> asts = parseCorpus();
+			names = 0;
+			long start = System.nanoTime();
+			for (IASTTranslationUnit ast : asts) {
+				names += resolveNames(ast).fNames.length;
+			}
+			nanos += System.nanoTime() - start;
+		}
+		nanos /= RUNS;
+		report("Name resolution", nanos,
+				names + " names, " + names * 1000000000L / nanos + " names/sec, " + unresolved + " unresolved");
+	}
+
+	@Test
+	public void testIndexWrite() throws Exception {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			writeCorpus();
+		}
+		long nanos = 0;
+		long names = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long[] result = writeCorpus();
+			nanos += result[0];
+			names = result[1];
+		}
+		nanos /= RUNS;
+		report("Index write", nanos, names + " names, " + names * 1000000000L / nanos + " names/sec");
+	}
+
+	private static void report(String stage, long nanos, String details) {
+		System.out.println(stage + ": " + sCorpus.size() + " files in " + nanos / 1000 + " microsecs, " + details);
+	}
+
+	private static long preprocessCorpus() throws Exception {
+		long count = 0;
+		for (Source source : sCorpus) {
+			CPreprocessor cpp = createPreprocessor(source);
+			cpp.getLocationMap().setRootNode(
+					source.fLanguage == ParserLanguage.CPP ? new CPPASTTranslationUnit() : new CASTTranslationUnit());
+			try {
+				while (true) {
+					cpp.nextToken();
+					count++;
+				}
+			} catch (EndOfFileException e) {
+			}
+		}
+		return count;
+	}
+
+	private static List<IASTTranslationUnit> parseCorpus() throws Exception {
+		List<IASTTranslationUnit> result = new ArrayList<>(sCorpus.size());
+		for (Source source : sCorpus) {
+			result.add(parse(source));
+		}
+		return result;
+	}
+
+	private static CPreprocessor createPreprocessor(Source source) {
+		FileContent content = FileContent.create(source.fPath, source.fCode);
+		return new CPreprocessor(content, sScannerInfo, source.fLanguage, LOG,
+				source.fLanguage == ParserLanguage.CPP ? GPPScannerExtensionConfiguration.getInstance(sScannerInfo)
+						: GCCScannerExtensionConfiguration.getInstance(sScannerInfo),
+				IncludeFileContentProvider.getSavedFilesProvider());
+	}
+
+	private static IASTTranslationUnit parse(Source source) throws Exception {
+		return parse(source, null);
+	}
+
+	private static IASTTranslationUnit parse(Source source, IIndex index) throws Exception {
+		CPreprocessor cpp = createPreprocessor(source);
+		AbstractGNUSourceCodeParser parser;
+		if (source.fLanguage == ParserLanguage.CPP) {
+			parser = new GNUCPPSourceParser(cpp, ParserMode.COMPLETE_PARSE, LOG,
+					GPPParserExtensionConfiguration.getInstance(), index);
+		} else {
+			parser = new GNUCSourceParser(cpp, ParserMode.COMPLETE_PARSE, LOG,
+					GCCParserExtensionConfiguration.getInstance(), index);
+		}
+		IASTTranslationUnit ast = parser.parse();
+		ast.setIsHeaderUnit(false);
+		return ast;
+	}
+
+	private static class ResolvedNames {
+		final IASTName[][] fNames;
+		final int fUnresolved;
+
+		ResolvedNames(IASTName[][] names, int unresolved) {
+			fNames = names;
+			fUnresolved = unresolved;
+		}
+	}
+
+	/**
+	 * Resolves the names of the AST and returns them in the form used for storing them in the index.
+	 */
+	private static ResolvedNames resolveNames(IASTTranslationUnit ast) {
+		final List<IASTName[]> names = new ArrayList<>();
+		final int[] unresolved = new int[1];
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				if (!(name instanceof ICPPASTQualifiedName)) {
+					IBinding binding = name.resolveBinding();
+					if (binding instanceof IProblemBinding) {
+						unresolved[0]++;
+					}
+					names.add(new IASTName[] { name, null });
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		return new ResolvedNames(names.toArray(new IASTName[names.size()][]), unresolved[0]);
+	}
+
+	/**
+	 * Stores the corpus in a new index, returns the time spent for storing and the number of names.
+	 * Like the indexer, the sources are parsed with the index, such that the bindings stored for
+	 * a source are found when parsing the next one.
+	 */
+	private static long[] writeCorpus() throws Exception {
+		File file = File.createTempFile(ParserBenchmark.class.getSimpleName(), null);
+		Map<String, IPDOMLinkageFactory> factories = new HashMap<>();
+		factories.put(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory());
+		factories.put(ILinkage.C_LINKAGE_NAME, new PDOMCLinkageFactory());
+		WritablePDOM pdom = new WritablePDOM(file, new TestFileLocations.URIConverter(), factories);
+		CIndex index = new CIndex(new IIndexFragment[] { pdom });
+		TestFileLocations.PathResolver resolver = new TestFileLocations.PathResolver();
+		try {
+			long nanos = 0;
+			long count = 0;
+			for (Source source : sCorpus) {
+				IASTTranslationUnit ast;
+				IASTName[][] names;
+				pdom.acquireReadLock();
+				try {
+					ast = parse(source, index);
+					names = resolveNames(ast).fNames;
+				} finally {
+					pdom.releaseReadLock();
+				}
+				count += names.length;
+
+				long start = System.nanoTime();
+				pdom.acquireWriteLock(null);
+				try {
+					IIndexFragmentFile indexFile = pdom.addUncommittedFile(
+							source.fLanguage == ParserLanguage.CPP ? ILinkage.CPP_LINKAGE_ID : ILinkage.C_LINKAGE_ID,
+							resolver.resolveASTPath(source.fPath), ISignificantMacros.NONE);
+					pdom.addFileContent(indexFile, new IncludeInformation[0], ast.getAllPreprocessorStatements(),
+							names, resolver, null);
+					pdom.commitUncommittedFile();
+				} finally {
+					pdom.releaseWriteLock();
+				}
+				nanos += System.nanoTime() - start;
+			}
+			return new long[] { nanos, count };
+		} finally {
+			pdom.acquireWriteLock(null);
+			try {
+				pdom.close();
+			} finally {
+				pdom.releaseWriteLock();
+			}
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.LexedTokensCache;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
+
+import junit.framework.TestSuite;
+
+public class LexedTokensCacheTests extends BaseTestCase {
+	private static final String INPUT = "#include <stdio.h>\n" + "#  include \"local.h\" // comment\n"
+			+ "/* block\n comment */ int a<:2:> = { 1, 2 };\n" + "#define STR(x) #x\n"
+			+ "const char* s = \"unterminated\n" + "#if 0\n#include <inactive.h>\n#endif\n"
+			+ "bool b = 1 < 2 && \"x\" > 0; // last";
+
+	public static TestSuite suite() {
+		return suite(LexedTokensCacheTests.class);
+	}
+
+	private File fDirectory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fDirectory = Files.createTempDirectory("tokenCache").toFile();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		File[] files = fDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		fDirectory.delete();
+		super.tearDown();
+	}
+
+	private static class Log implements ILexerLog {
+		final StringBuilder fEvents = new StringBuilder();
+
+		@Override
+		public void handleComment(boolean isBlockComment, int offset, int endOffset, AbstractCharArray input) {
+			fEvents.append(isBlockComment ? "block " : "line ").append(offset).append('-').append(endOffset)
+					.append('\n');
+		}
+
+		@Override
+		public void handleProblem(int problemID, char[] arg, int offset, int endOffset) {
+			fEvents.append("problem ").append(problemID).append(' ').append(arg).append(' ').append(offset)
+					.append('-').append(endOffset).append('\n');
+		}
+	}
+
+	/**
+	 * Consumes the tokens of the lexer like the preprocessor does, the token following the given
+	 * directive is lexed as a header name.
+	 */
+	private static String consume(Lexer lexer, Log log, String includeDirective) throws Exception {
+		boolean directive = false;
+		for (Token t = lexer.nextToken(); t.getType() != IToken.tEND_OF_INPUT;) {
+			log.fEvents.append(t.getType()).append(' ').append(t.getCharImage()).append(' ').append(t.getOffset())
+					.append('-').append(t.getEndOffset()).append('\n');
+			if (directive && t.getType() == IToken.tIDENTIFIER && t.getImage().equals(includeDirective)) {
+				lexer.setInsideIncludeDirective(true);
+				t = lexer.nextToken();
+				lexer.setInsideIncludeDirective(false);
+				directive = false;
+				continue;
+			}
+			directive = t.getType() == IToken.tPOUND && lexer.currentTokenIsFirstOnLine();
+			t = lexer.nextToken();
+		}
+		return log.fEvents.toString();
+	}
+
+	private static String lex(String input, String includeDirective) throws Exception {
+		Log log = new Log();
+		return consume(new Lexer(input.toCharArray(), new LexerOptions(), log, null), log, includeDirective);
+	}
+
+	private static String lex(LexedTokensCache cache, String input, LexerOptions options, String includeDirective)
+			throws Exception {
+		Log log = new Log();
+		return consume(cache.createLexer(new CharArray(input), options, log, null), log, includeDirective);
+	}
+
+	public void testReplay() throws Exception {
+		String expected = lex(INPUT, "include");
+		LexedTokensCache cache = new LexedTokensCache(100000, null);
+		assertEquals(expected, lex(cache, INPUT, new LexerOptions(), "include"));
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		assertEquals(expected, lex(cache, INPUT, new LexerOptions(), "include"));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	public void testOptionsArePartOfKey() throws Exception {
+		LexedTokensCache cache = new LexedTokensCache(100000, null);
+		lex(cache, INPUT, new LexerOptions(), "include");
+		LexerOptions options = new LexerOptions();
+		options.fSupportDigitSeparators = true;
+		lex(cache, INPUT, options, "include");
+		assertEquals(0, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	public void testFallbackForDifferentIncludeDirectives() throws Exception {
+		LexedTokensCache cache = new LexedTokensCache(100000, null);
+		lex(cache, INPUT, new LexerOptions(), "include");
+		// The header names are no longer lexed as such, the lexer needs to continue on the input.
+		assertEquals(lex(INPUT, "other"), lex(cache, INPUT, new LexerOptions(), "other"));
+		assertEquals(1, cache.getHits());
+	}
+
+	public void testSaveAndRestoreState() throws Exception {
+		String expected = lex(INPUT, "include");
+		LexedTokensCache cache = new LexedTokensCache(100000, null);
+		for (int i = 0; i < 2; i++) {
+			Log log = new Log();
+			Lexer lexer = cache.createLexer(new CharArray(INPUT), new LexerOptions(), log, null);
+			// Look ahead to the end of input, like the detection of include guards does.
+			lexer.saveState();
+			while (lexer.nextToken().getType() != IToken.tEND_OF_INPUT) {
+			}
+			lexer.restoreState();
+			log.fEvents.setLength(0);
+			assertEquals(expected, consume(lexer, log, "include"));
+		}
+		assertEquals(1, cache.getHits());
+	}
+
+	public void testSizeLimit() throws Exception {
+		// Each input consists of four tokens, including the end of input.
+		LexedTokensCache cache = new LexedTokensCache(10, null);
+		lex(cache, "int a;", new LexerOptions(), "include");
+		lex(cache, "int b;", new LexerOptions(), "include");
+		lex(cache, "int a;", new LexerOptions(), "include");
+		assertEquals(1, cache.getHits());
+		// Evicts the least recently used input.
+		lex(cache, "int c;", new LexerOptions(), "include");
+		lex(cache, "int a;", new LexerOptions(), "include");
+		assertEquals(2, cache.getHits());
+		lex(cache, "int b;", new LexerOptions(), "include");
+		assertEquals(2, cache.getHits());
+
+		// Inputs exceeding the limit are not cached.
+		lex(cache, INPUT, new LexerOptions(), "include");
+		lex(cache, INPUT, new LexerOptions(), "include");
+		assertEquals(2, cache.getHits());
+	}
+
+	public void testPersistence() throws Exception {
+		String expected = lex(INPUT, "include");
+		LexedTokensCache cache = new LexedTokensCache(100000, fDirectory);
+		lex(cache, INPUT, new LexerOptions(), "include");
+		assertEquals(1, fDirectory.listFiles().length);
+
+		cache = new LexedTokensCache(100000, fDirectory);
+		assertEquals(expected, lex(cache, INPUT, new LexerOptions(), "include"));
+		assertEquals(1, cache.getHits());
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.parser.c.GCCScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.dom.parser.c.CASTTranslationUnit;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time and the memory allocated for preprocessing a set of real headers, where most of
+ * the work is spent in macro expansion.
+ * <p>
+ * The include path defaults to /usr/include and can be changed with
+ * -DmacroExpansionBenchmark.includePath=&lt;paths separated by the path separator&gt;, the headers
+ * with -DmacroExpansionBenchmark.headers=&lt;comma separated list&gt;.
+ * <p>
+ * Too expensive to run as part of normal testing, should be run after changes to the lexer or the
+ * macro expansion.
+ */
+@Tag(BaseTestCase5.SLOW_TEST_TAG)
+public class MacroExpansionBenchmark extends BaseTestCase5 {
+	private static final int WARMUP_RUNS = 5;
+	private static final int RUNS = 20;
+
+	@Test
+	public void testPreprocessHeaders() throws Exception {
+		String[] includePath = System.getProperty("macroExpansionBenchmark.includePath", "/usr/include")
+				.split(File.pathSeparator);
+		String[] headers = System
+				.getProperty("macroExpansionBenchmark.headers", "stdio.h,stdlib.h,string.h,math.h,signal.h,wchar.h")
+				.split(",");
+		assumeTrue(new File(includePath[0], headers[0]).isFile(), "Headers not found");
+
+		StringBuilder code = new StringBuilder();
+		for (String header : headers) {
+			code.append("#include <").append(header).append(">\n");
+		}
+		Map<String, String> definitions = new HashMap<>();
+		definitions.put("__GNUC__", "9");
+		definitions.put("__GNUC_MINOR__", "0");
+		definitions.put("__x86_64__", "1");
+		definitions.put("__STDC__", "1");
+		definitions.put("__STDC_HOSTED__", "1");
+		IScannerInfo info = new ScannerInfo(definitions, includePath);
+		FileContent content = FileContent.create("<benchmark>", code.toString().toCharArray());
+
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			preprocess(content, info);
+		}
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean
+				? (com.sun.management.ThreadMXBean) threads
+				: null;
+		long tokens = 0;
+		long bytes = allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < RUNS; i++) {
+			tokens = preprocess(content, info);
+		}
+		long nanos = (System.nanoTime() - start) / RUNS;
+		assertTrue(tokens > 0);
+		System.out.println("Preprocessed " + tokens + " tokens in " + nanos / 1000 + " microsecs, "
+				+ nanos / tokens + " nanosecs per token");
+		if (allocations != null) {
+			bytes = (allocations.getCurrentThreadAllocatedBytes() - bytes) / RUNS;
+			System.out.println("Allocated " + bytes / 1024 + " KB, " + bytes / tokens + " bytes per token");
+		}
+	}
+
+	private static long preprocess(FileContent content, IScannerInfo info) throws Exception {
+		CPreprocessor cpp = new CPreprocessor(content, info, ParserLanguage.C, new NullLogService(),
+				GCCScannerExtensionConfiguration.getInstance(info), FileCodeReaderFactory.getInstance());
+		cpp.getLocationMap().setRootNode(new CASTTranslationUnit());
+		long count = 0;
+		try {
+			while (true) {
+				cpp.nextToken();
+				count++;
+			}
+		} catch (EndOfFileException e) {
+		}
+		return count;
+	}
+}
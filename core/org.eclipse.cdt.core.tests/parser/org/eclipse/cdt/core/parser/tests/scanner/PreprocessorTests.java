@@ -1363,4 +1363,47 @@ public class PreprocessorTests extends PreprocessorTestsBase {
 		validateProblem(0, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "ASDF");
 		validateProblem(1, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "xU");
 	}
+
+	// #define f(x) x + g
+	// #define g 1
+	// #define s(x) #x
+	// #define l(x) __LINE__ x
+	// #define h(x) k
+	// #define k(y) y
+	// f(a) f(a)
+	// #undef g
+	// f(a)
+	// #define g 2
+	// f(a)
+	// s(a b), s(a  b), s(ab)
+	// l(1)
+	// l(1)
+	// h(1)(2) h(1)(3)
+	public void testRepeatedExpansions() throws Exception {
+		initializeScanner();
+		// Expansions are cached when no image locations are computed.
+		fScanner.setComputeImageLocations(false);
+		for (String g : new String[] { "1", "1", "g", "2" }) {
+			validateIdentifier("a");
+			validateToken(IToken.tPLUS);
+			if (g.equals("g")) {
+				validateIdentifier(g);
+			} else {
+				validateInteger(g);
+			}
+		}
+		validateString("a b");
+		validateToken(IToken.tCOMMA);
+		validateString("a b");
+		validateToken(IToken.tCOMMA);
+		validateString("ab");
+		validateInteger("13");
+		validateInteger("1");
+		validateInteger("14");
+		validateInteger("1");
+		validateInteger("2");
+		validateInteger("3");
+		validateEOF();
+		validateProblemCount(0);
+	}
 }
@@ -1085,6 +1085,106 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	// int var_c;
+	// int var_a;
+	// namespace ns { int var_b; }
+	// int var_d;
+	public void testFindBindingsForContentAssistWithLimit() throws Exception {
+		waitForIndexer();
+		String content = getContentsForTest(1)[0];
+
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), "testFBFCAWL.cpp", content);
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, file, INDEXER_TIMEOUT_SEC * 1000);
+
+		fIndex.acquireReadLock();
+		try {
+			char[] prefix = "var".toCharArray();
+			IBinding[] bindings = fIndex.findBindingsForContentAssist(prefix, false, IndexFilter.ALL, npm());
+			assertEquals(4, bindings.length);
+
+			// The bindings with the smallest names are returned.
+			bindings = fIndex.findBindingsForContentAssist(prefix, false, IndexFilter.ALL, 2, npm());
+			assertEquals(2, bindings.length);
+			assertEquals("var_a", bindings[0].getName());
+			assertEquals("var_b", bindings[1].getName());
+
+			bindings = fIndex.findBindingsForContentAssist(prefix, true, IndexFilter.ALL, 2, npm());
+			assertEquals(2, bindings.length);
+			assertEquals("var_a", bindings[0].getName());
+			assertEquals("var_c", bindings[1].getName());
+
+			// The limit applies to the bindings accepted by the filter.
+			final IndexFilter NOT_VAR_A = new IndexFilter() {
+				@Override
+				public boolean acceptBinding(IBinding binding) {
+					return !binding.getName().equals("var_a");
+				}
+			};
+			bindings = fIndex.findBindingsForContentAssist(prefix, true, NOT_VAR_A, 2, npm());
+			assertEquals(2, bindings.length);
+			assertEquals("var_c", bindings[0].getName());
+			assertEquals("var_d", bindings[1].getName());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	// int abc_x;
+	// int Abc_y;
+	// namespace ns { int Abc; }
+	public void testFindBindingsForContentAssistByRelevance() throws Exception {
+		waitForIndexer();
+		String content = getContentsForTest(1)[0];
+
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), "testFBFCABR.cpp", content);
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, file, INDEXER_TIMEOUT_SEC * 1000);
+
+		fIndex.acquireReadLock();
+		try {
+			// The exact match comes first, followed by the match in the same case.
+			IBinding[] bindings = fIndex.findBindingsForContentAssist("Abc".toCharArray(), false, IndexFilter.ALL, 2,
+					npm());
+			assertEquals(2, bindings.length);
+			assertEquals("Abc", bindings[0].getName());
+			assertEquals("Abc_y", bindings[1].getName());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	public void testFindBindingsForContentAssistWhenCancelled() throws Exception {
+		// More nested bindings than are visited between two checks of the monitor.
+		StringBuilder content = new StringBuilder();
+		content.append("int v_global;\n");
+		content.append("namespace ns {\n");
+		for (int i = 0; i < 5000; i++) {
+			content.append("int v_").append(i).append(";\n");
+		}
+		content.append("}\n");
+
+		waitForIndexer();
+		IFile file = TestSourceReader.createFile(fCProject.getProject(), "testFBFCAWC.cpp", content.toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, file, INDEXER_TIMEOUT_SEC * 1000);
+
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		fIndex.acquireReadLock();
+		try {
+			// The bindings found so far are returned, including the nested ones.
+			IBinding[] bindings = fIndex.findBindingsForContentAssist("v".toCharArray(), false, IndexFilter.ALL,
+					monitor);
+			assertTrue(bindings.length > 1);
+			assertTrue(bindings.length < 5001);
+			boolean foundGlobal = false;
+			for (IBinding binding : bindings) {
+				foundGlobal |= binding.getName().equals("v_global");
+			}
+			assertTrue(foundGlobal);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	// class a { class b { class c { void f(); }; }; };
 	public void testFilterFindBindingsFQCharArray() throws Exception {
 		waitForIndexer();
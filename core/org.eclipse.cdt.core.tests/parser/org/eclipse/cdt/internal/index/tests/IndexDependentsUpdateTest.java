@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IFile;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for updating the sources including a header when the declarations of the header change.
+ */
+public class IndexDependentsUpdateTest extends IndexTestBase {
+	private static final String HEADER = "#pragma once\n#define LIMIT 10\nstruct Point { int x; int y; };\n"
+			+ "inline int twice(int i) { return 2 * i; }\n";
+
+	public static TestSuite suite() {
+		return suite(IndexDependentsUpdateTest.class);
+	}
+
+	private ICProject fProject;
+	private IIndex fIndex;
+	private IFile fHeader;
+	private IFile fSource;
+	private IFile fIndirectSource;
+
+	public IndexDependentsUpdateTest(String name) {
+		super(name);
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCCProject("__dependentsUpdateTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_UPDATE_DEPENDENTS_OF_CHANGED_HEADERS,
+				"true");
+		fIndex = CCorePlugin.getIndexManager().getIndex(fProject);
+		fHeader = TestSourceReader.createFile(fProject.getProject(), "header.h", HEADER);
+		TestSourceReader.createFile(fProject.getProject(), "inner.h",
+				"#pragma once\n#include \"header.h\"\nstruct Line { Point from; Point to; };\n");
+		fSource = TestSourceReader.createFile(fProject.getProject(), "source.cpp",
+				"#include \"header.h\"\nint area(Point p) { return twice(p.x * p.y); }\n");
+		fIndirectSource = TestSourceReader.createFile(fProject.getProject(), "indirect.cpp",
+				"#include \"inner.h\"\nint length(Line l) { return l.to.x - l.from.x; }\n");
+		CCorePlugin.getIndexManager().setIndexerId(fProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fProject);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		CProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	private long getSourceReadTime(IFile file) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			IIndexFile[] files = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID, IndexLocationFactory.getWorkspaceIFL(file));
+			assertEquals(file.getName(), 1, files.length);
+			return files[0].getSourceReadTime();
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private void changeHeader(String contents) throws Exception {
+		long headerReadTime = getSourceReadTime(fHeader);
+		fHeader = TestSourceReader.createFile(fProject.getProject(), "header.h", contents);
+		waitUntilFileIsIndexed(fIndex, fHeader);
+		waitForIndexer(fProject);
+		assertTrue("header was not updated", getSourceReadTime(fHeader) > headerReadTime);
+	}
+
+	public void testBodyAndCommentChange() throws Exception {
+		long sourceReadTime = getSourceReadTime(fSource);
+		long indirectReadTime = getSourceReadTime(fIndirectSource);
+
+		changeHeader(HEADER.replace("2 * i", "i + i") + "// Doubles the argument.\n");
+		assertEquals(sourceReadTime, getSourceReadTime(fSource));
+		assertEquals(indirectReadTime, getSourceReadTime(fIndirectSource));
+	}
+
+	public void testDeclarationChange() throws Exception {
+		long sourceReadTime = getSourceReadTime(fSource);
+		long indirectReadTime = getSourceReadTime(fIndirectSource);
+
+		changeHeader(HEADER.replace("int y;", "int y; int z;"));
+		assertTrue("source was not updated", getSourceReadTime(fSource) > sourceReadTime);
+		assertTrue("indirect source was not updated", getSourceReadTime(fIndirectSource) > indirectReadTime);
+	}
+
+	public void testMacroChange() throws Exception {
+		long sourceReadTime = getSourceReadTime(fSource);
+
+		changeHeader(HEADER.replace("LIMIT 10", "LIMIT 20"));
+		assertTrue("source was not updated", getSourceReadTime(fSource) > sourceReadTime);
+	}
+
+	public void testFilesIndexedWithoutTrackingAreNotConsideredChanged() throws Exception {
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_UPDATE_DEPENDENTS_OF_CHANGED_HEADERS,
+				"false");
+		CCorePlugin.getIndexManager().reindex(fProject);
+		waitForIndexer(fProject);
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_UPDATE_DEPENDENTS_OF_CHANGED_HEADERS,
+				"true");
+		long sourceReadTime = getSourceReadTime(fSource);
+
+		// The header was stored without a hash, which must not count as a change of its declarations.
+		changeHeader(HEADER.replace("2 * i", "i + i"));
+		assertEquals(sourceReadTime, getSourceReadTime(fSource));
+	}
+}
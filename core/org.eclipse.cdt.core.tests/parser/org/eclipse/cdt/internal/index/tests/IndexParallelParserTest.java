@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.testplugin.CProjectHelper;
+import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.core.resources.IFile;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for indexing the sources of a project with multiple parser threads.
+ */
+public class IndexParallelParserTest extends IndexTestBase {
+	private static final int SOURCES = 24;
+
+	public static TestSuite suite() {
+		return suite(IndexParallelParserTest.class);
+	}
+
+	private ICProject fProject;
+	private IIndex fIndex;
+
+	public IndexParallelParserTest(String name) {
+		super(name);
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		fProject = CProjectHelper.createCCProject("__parallelParserTest__", "bin", IPDOMManager.ID_NO_INDEXER);
+		IndexerPreferences.set(fProject.getProject(), IndexerPreferences.KEY_PARSER_THREADS, "4");
+		fIndex = CCorePlugin.getIndexManager().getIndex(fProject);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		CProjectHelper.delete(fProject);
+		super.tearDown();
+	}
+
+	public void testSharedHeaders() throws Exception {
+		IFile shared = TestSourceReader.createFile(fProject.getProject(), "shared.h",
+				"#pragma once\n#include \"inner.h\"\nstruct Shared { Inner inner; };\n");
+		IFile inner = TestSourceReader.createFile(fProject.getProject(), "inner.h",
+				"#pragma once\nstruct Inner { int value; };\ntemplate<typename T> T identity(T t) { return t; }\n");
+		for (int i = 0; i < SOURCES; i++) {
+			TestSourceReader.createFile(fProject.getProject(), "source" + i + ".cpp",
+					"#include \"shared.h\"\nint function" + i + "() { Shared s; return identity(s.inner.value); }\n");
+		}
+		CCorePlugin.getIndexManager().setIndexerId(fProject, IPDOMManager.ID_FAST_INDEXER);
+		waitForIndexer(fProject);
+
+		fIndex.acquireReadLock();
+		try {
+			for (int i = 0; i < SOURCES; i++) {
+				IIndexBinding[] bindings = fIndex.findBindings(("function" + i).toCharArray(), IndexFilter.ALL, npm());
+				assertEquals("function" + i, 1, bindings.length);
+				assertEquals(1, fIndex.findDefinitions(bindings[0]).length);
+			}
+			// Each header is stored once, no matter how many sources were parsed concurrently.
+			for (IFile header : new IFile[] { shared, inner }) {
+				IIndexFile[] files = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+						IndexLocationFactory.getWorkspaceIFL(header));
+				assertEquals(header.getName(), 1, files.length);
+			}
+
+			IIndexBinding[] bindings = fIndex.findBindings("Shared".toCharArray(), IndexFilter.ALL, npm());
+			assertEquals(1, bindings.length);
+			IIndexName[] refs = fIndex.findReferences(bindings[0]);
+			assertEquals(SOURCES, refs.length);
+
+			bindings = fIndex.findBindings("identity".toCharArray(), IndexFilter.ALL, npm());
+			assertEquals(1, bindings.length);
+			assertEquals(1, fIndex.findDefinitions(bindings[0]).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+}
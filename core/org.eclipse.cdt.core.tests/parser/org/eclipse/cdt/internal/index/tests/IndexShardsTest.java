@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Collections;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
+import org.eclipse.cdt.internal.core.index.IndexFileLocation;
+import org.eclipse.cdt.internal.core.index.WritableCIndex;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.cdt.internal.pdom.tests.TestFileLocations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for an index split into several databases.
+ */
+public class IndexShardsTest extends BaseTestCase5 {
+	private static final int SHARDS = 3;
+
+	private File[] fFiles;
+	private WritablePDOM[] fShards;
+	private File fLibraryFile;
+	private WritablePDOM fLibrary;
+	private WritableCIndex fIndex;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		fFiles = new File[SHARDS];
+		fShards = new WritablePDOM[SHARDS];
+		for (int i = 0; i < SHARDS; i++) {
+			fFiles[i] = File.createTempFile(getClass().getSimpleName(), null);
+			fShards[i] = new WritablePDOM(fFiles[i], new TestFileLocations.URIConverter(),
+					Collections.singletonMap(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory()));
+		}
+		fIndex = new WritableCIndex(fShards);
+		fLibraryFile = File.createTempFile(getClass().getSimpleName(), null);
+		fLibrary = new WritablePDOM(fLibraryFile, new TestFileLocations.URIConverter(),
+				Collections.singletonMap(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory()));
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		for (int i = 0; i < SHARDS; i++) {
+			fShards[i].acquireWriteLock(null);
+			try {
+				fShards[i].close();
+			} finally {
+				fShards[i].releaseWriteLock();
+			}
+			fFiles[i].delete();
+		}
+		fLibrary.acquireWriteLock(null);
+		try {
+			fLibrary.close();
+		} finally {
+			fLibrary.releaseWriteLock();
+		}
+		fLibraryFile.delete();
+	}
+
+	private static IIndexFileLocation location(String path) {
+		return new IndexFileLocation(URI.create("file:" + path), null);
+	}
+
+	private static IIndexFileLocation workspaceLocation(String path) {
+		return new IndexFileLocation(URI.create("file:/workspace" + path), path);
+	}
+
+	@Test
+	public void testFilesOfFolderShareShard() throws Exception {
+		int shard = WritableCIndex.getShard(location("/project/src/a.cpp"), SHARDS);
+		assertEquals(shard, WritableCIndex.getShard(location("/project/src/b.h"), SHARDS));
+		assertEquals(0, WritableCIndex.getShard(location("/project/src/a.cpp"), 1));
+
+		boolean[] used = new boolean[SHARDS];
+		for (int i = 0; i < 20; i++) {
+			shard = WritableCIndex.getShard(location("/project/folder" + i + "/a.cpp"), SHARDS);
+			assertTrue(shard >= 0 && shard < SHARDS);
+			used[shard] = true;
+		}
+		for (boolean u : used) {
+			assertTrue(u);
+		}
+	}
+
+	@Test
+	public void testFilesAreStoredInTheirShard() throws Exception {
+		fIndex.acquireWriteLock(null);
+		try {
+			for (int i = 0; i < 10; i++) {
+				IIndexFileLocation location = location("/project/folder" + i + "/a.cpp");
+				IWritableIndexFragment expected = fShards[WritableCIndex.getShard(location, SHARDS)];
+				IIndexFragmentFile file = fIndex.addFile(ILinkage.CPP_LINKAGE_ID, location, ISignificantMacros.NONE);
+				assertSame(expected, file.getIndexFragment());
+				for (WritablePDOM shard : fShards) {
+					assertEquals(shard == expected ? 1 : 0, shard.getFiles(location).length);
+				}
+				assertEquals(1, fIndex.getWritableFiles(ILinkage.CPP_LINKAGE_ID, location).length);
+			}
+		} finally {
+			fIndex.releaseWriteLock();
+		}
+	}
+
+	@Test
+	public void testUncommittedFile() throws Exception {
+		IIndexFileLocation location = location("/project/src/a.cpp");
+		IWritableIndexFragment expected = fShards[WritableCIndex.getShard(location, SHARDS)];
+		fIndex.acquireWriteLock(null);
+		try {
+			IIndexFragmentFile file = fIndex.addUncommittedFile(ILinkage.CPP_LINKAGE_ID, location,
+					ISignificantMacros.NONE);
+			assertSame(expected, file.getIndexFragment());
+			file = fIndex.commitUncommittedFile();
+			assertSame(expected, file.getIndexFragment());
+			assertEquals(1, expected.getFiles(location).length);
+		} finally {
+			fIndex.releaseWriteLock();
+		}
+	}
+
+	@Test
+	public void testClearKeepsFragmentIds() throws Exception {
+		fIndex.acquireWriteLock(null);
+		try {
+			for (int i = 0; i < SHARDS; i++) {
+				fShards[i].setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, "shard" + i);
+			}
+			IIndexFileLocation location = location("/project/src/a.cpp");
+			fIndex.addFile(ILinkage.CPP_LINKAGE_ID, location, ISignificantMacros.NONE);
+			fIndex.clear();
+			assertEquals(0, fIndex.getWritableFiles(location).length);
+			for (int i = 1; i < SHARDS; i++) {
+				assertEquals("shard" + i, fShards[i].getProperty(IIndexFragment.PROPERTY_FRAGMENT_ID));
+			}
+		} finally {
+			fIndex.releaseWriteLock();
+		}
+	}
+
+	@Test
+	public void testExternalFilesAreStoredInLibrary() throws Exception {
+		WritableCIndex index = new WritableCIndex(fShards, fLibrary);
+		IIndexFileLocation header = location("/usr/include/stdio.h");
+		IIndexFileLocation source = workspaceLocation("/project/src/a.cpp");
+		index.acquireWriteLock(null);
+		try {
+			IIndexFragmentFile file = index.addFile(ILinkage.CPP_LINKAGE_ID, header, ISignificantMacros.NONE);
+			assertSame(fLibrary, file.getIndexFragment());
+			file = index.addFile(ILinkage.CPP_LINKAGE_ID, source, ISignificantMacros.NONE);
+			assertSame(fShards[WritableCIndex.getShard(source, SHARDS)], file.getIndexFragment());
+			for (WritablePDOM shard : fShards) {
+				assertEquals(0, shard.getFiles(header).length);
+			}
+			assertEquals(1, index.getWritableFiles(ILinkage.CPP_LINKAGE_ID, header).length);
+
+			// The library is shared with other projects, clearing the index of a project keeps it.
+			index.clear();
+			assertEquals(0, index.getWritableFiles(source).length);
+			assertEquals(1, index.getWritableFiles(header).length);
+		} finally {
+			index.releaseWriteLock();
+		}
+	}
+}
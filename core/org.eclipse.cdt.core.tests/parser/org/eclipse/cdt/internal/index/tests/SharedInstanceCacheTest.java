@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassTemplate;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassTemplatePartialSpecialization;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPPartiallySpecializable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPTemplateTypeArgument;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
+import org.eclipse.cdt.internal.core.index.composite.cpp.SharedInstanceCache;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.cdt.internal.pdom.tests.TestFileLocations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for sharing template instances between translation units.
+ */
+public class SharedInstanceCacheTest extends BaseTestCase5 {
+	private static final String PATH = "/project/test.h";
+	private static final String CODE = "template<typename T> struct S { T t; };\n";
+
+	private File fFile;
+	private WritablePDOM fPDOM;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		SharedInstanceCache.getDefault().clear();
+		fFile = File.createTempFile(getClass().getSimpleName(), null);
+		fPDOM = new WritablePDOM(fFile, new TestFileLocations.URIConverter(),
+				Collections.singletonMap(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory()));
+		store(PATH, CODE);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		SharedInstanceCache.getDefault().clear();
+		fPDOM.acquireWriteLock(null);
+		try {
+			fPDOM.close();
+		} finally {
+			fPDOM.releaseWriteLock();
+		}
+		fFile.delete();
+	}
+
+	private void store(String path, String code) throws Exception {
+		IASTTranslationUnit ast = GPPLanguage.getDefault().getASTTranslationUnit(
+				FileContent.create(path, code.toCharArray()), new ScannerInfo(),
+				IncludeFileContentProvider.getEmptyFilesProvider(), null, 0, new NullLogService());
+		final List<IASTName[]> names = new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				name.resolveBinding();
+				names.add(new IASTName[] { name, null });
+				return PROCESS_CONTINUE;
+			}
+		});
+		TestFileLocations.PathResolver resolver = new TestFileLocations.PathResolver();
+		fPDOM.acquireWriteLock(null);
+		try {
+			IIndexFragmentFile file = fPDOM.addUncommittedFile(ILinkage.CPP_LINKAGE_ID, resolver.resolveASTPath(path),
+					ISignificantMacros.NONE);
+			fPDOM.addFileContent(file, new IncludeInformation[0], new IASTPreprocessorStatement[0],
+					names.toArray(new IASTName[names.size()][]), resolver, null);
+			fPDOM.commitUncommittedFile();
+		} finally {
+			fPDOM.releaseWriteLock();
+		}
+	}
+
+	/**
+	 * Instantiates S&lt;int&gt; with a new index, as done for a new translation unit.
+	 */
+	private IBinding instantiate() throws Exception {
+		return instantiate(CPPBasicType.INT);
+	}
+
+	/**
+	 * Instantiates S with the given argument with a new index, as done for a new translation unit.
+	 */
+	private IBinding instantiate(IType argument) throws Exception {
+		CIndex index = new CIndex(new IIndexFragment[] { fPDOM });
+		index.acquireReadLock();
+		try {
+			IIndexBinding[] bindings = index.findBindings("S".toCharArray(), IndexFilter.ALL, null);
+			// The specializations have the name of the primary template.
+			List<IIndexBinding> templates = new ArrayList<>();
+			for (IIndexBinding binding : bindings) {
+				if (binding instanceof ICPPClassTemplate
+						&& !(binding instanceof ICPPClassTemplatePartialSpecialization)) {
+					templates.add(binding);
+				}
+			}
+			assertEquals(1, templates.size());
+			return CPPTemplates.instantiate((ICPPPartiallySpecializable) templates.get(0),
+					new ICPPTemplateArgument[] { new CPPTemplateTypeArgument(argument) });
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	@Test
+	public void testInstanceIsShared() throws Exception {
+		IBinding instance = instantiate();
+		assertInstanceOf(ICPPTemplateInstance.class, instance);
+		assertSame(instance, instantiate());
+		assertEquals(1, SharedInstanceCache.getDefault().getHitCount());
+	}
+
+	@Test
+	public void testRemovingContentInvalidates() throws Exception {
+		IBinding instance = instantiate();
+		store(PATH, CODE);
+		assertNotSame(instance, instantiate());
+	}
+
+	@Test
+	public void testAddingPartialSpecializationInvalidates() throws Exception {
+		IType pointer = new CPPPointerType(CPPBasicType.INT);
+		IBinding instance = instantiate();
+		IBinding pointerInstance = instantiate(pointer);
+		assertFalse(((ICPPTemplateInstance) pointerInstance)
+				.getTemplateDefinition() instanceof ICPPClassTemplatePartialSpecialization);
+
+		store("/project/spec.h", "template<typename T> struct S;\ntemplate<typename T> struct S<T*> { T* p; };\n");
+		// Instances created before the file was added may depend on the absence of its declarations.
+		assertNotSame(instance, instantiate());
+		pointerInstance = instantiate(pointer);
+		assertInstanceOf(ICPPClassTemplatePartialSpecialization.class,
+				((ICPPTemplateInstance) pointerInstance).getTemplateDefinition());
+	}
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.ShortString;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that lookups in B-trees ordered by strings yield the same results, whether or not the
+ * comparisons are decided on the cached key prefixes of the nodes.
+ */
+public class BTreeKeyPrefixTests extends BaseTestCase5 {
+	private static final String[] NAME_PREFIXES = { "", "get", "Get", "GET", "set", "m_", "_", "std", "STD" };
+	private static final String NAME_CHARS = "aAbBcCdDeExXyYzZ_0189";
+
+	private File fFile;
+	private Database fDB;
+	private BTree fBTree;
+	private List<String> fKeys;
+	private boolean fCaseSensitiveOrder;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		fFile = File.createTempFile("pdomtest", "db");
+		fDB = new Database(fFile, new ChunkCache(), 0, false);
+		fDB.setExclusiveLock();
+		fKeys = new ArrayList<>();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		fDB.setExclusiveLock();
+		fDB.close();
+		fFile.deleteOnExit();
+	}
+
+	private void createBTree(boolean caseSensitiveOrder) {
+		fCaseSensitiveOrder = caseSensitiveOrder;
+		fBTree = new BTree(fDB, Database.DATA_AREA, 4, (record1, record2) -> {
+			IString key1 = getKey(record1);
+			IString key2 = getKey(record2);
+			int cmp = fCaseSensitiveOrder ? key1.compare(key2, true) : key1.compareCompatibleWithIgnoreCase(key2);
+			return cmp != 0 ? cmp : Long.compare(record1, record2);
+		});
+	}
+
+	private IString getKey(long record) throws CoreException {
+		return fDB.getString(fDB.getRecPtr(record));
+	}
+
+	private void insert(String key) throws CoreException {
+		long record = fDB.malloc(Database.PTR_SIZE);
+		fDB.putRecPtr(record, fDB.newString(key).getRecord());
+		fBTree.insert(record);
+		fKeys.add(key);
+	}
+
+	private void insertNames(Random random, int count) throws CoreException {
+		for (int i = 0; i < count; i++) {
+			insert(randomName(random));
+		}
+	}
+
+	private static String randomName(Random random) {
+		StringBuilder buf = new StringBuilder(NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]);
+		int length = 1 + random.nextInt(10);
+		for (int j = 0; j < length; j++) {
+			buf.append(NAME_CHARS.charAt(random.nextInt(NAME_CHARS.length())));
+		}
+		return buf.toString();
+	}
+
+	private void allowReads() throws CoreException {
+		fDB.giveUpExclusiveLock(true);
+		fDB.setLocked(true);
+	}
+
+	@Test
+	public void testNameLookup() throws Exception {
+		createBTree(false);
+		Random random = new Random(42);
+		insertNames(random, 5000);
+		allowReads();
+
+		long compares = 0;
+		long comparesWithPrefixes = 0;
+		for (int i = 0; i < 500; i++) {
+			String key = i % 2 == 0 ? fKeys.get(random.nextInt(fKeys.size())) : randomName(random);
+			compares += checkLookup(key, false, false);
+			comparesWithPrefixes += checkLookup(key, false, true);
+		}
+		assertTrue(comparesWithPrefixes < compares / 2, comparesWithPrefixes + " >= " + compares + " / 2");
+	}
+
+	@Test
+	public void testNamePrefixLookup() throws Exception {
+		createBTree(false);
+		Random random = new Random(42);
+		insertNames(random, 5000);
+		allowReads();
+
+		for (int i = 0; i < 500; i++) {
+			String key = i % 2 == 0 ? fKeys.get(random.nextInt(fKeys.size())) : randomName(random);
+			key = key.substring(0, random.nextInt(key.length() + 1));
+			checkLookup(key, true, false);
+			checkLookup(key, true, true);
+		}
+	}
+
+	@Test
+	public void testPathLookup() throws Exception {
+		createBTree(true);
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			insert("/project/src/" + randomName(random) + "/" + randomName(random) + ".h");
+		}
+		allowReads();
+
+		long compares = 0;
+		long comparesWithPrefixes = 0;
+		for (int i = 0; i < 500; i++) {
+			String key = i % 2 == 0 ? fKeys.get(random.nextInt(fKeys.size()))
+					: "/project/src/" + randomName(random) + "/" + randomName(random) + ".h";
+			compares += checkLookup(key, false, false);
+			comparesWithPrefixes += checkLookup(key, false, true);
+		}
+		assertTrue(comparesWithPrefixes < compares / 2, comparesWithPrefixes + " >= " + compares + " / 2");
+	}
+
+	@Test
+	public void testModificationInvalidatesPrefixes() throws Exception {
+		createBTree(false);
+		Random random = new Random(17);
+		insertNames(random, 1000);
+		allowReads();
+		for (String key : fKeys.subList(0, 100)) {
+			checkLookup(key, false, true);
+		}
+
+		fDB.setExclusiveLock();
+		insertNames(random, 1000);
+		allowReads();
+		for (String key : fKeys) {
+			checkLookup(key, false, true);
+		}
+		for (int i = 0; i < 200; i++) {
+			checkLookup(randomName(random), true, true);
+		}
+	}
+
+	/**
+	 * Looks up the key in the B-tree and compares the result with the keys that were inserted.
+	 * @return the number of comparisons delegated to the visitor
+	 */
+	private int checkLookup(String key, boolean prefixLookup, boolean usePrefixes) throws CoreException {
+		final char[] chars = key.toCharArray();
+		List<String> expected = new ArrayList<>();
+		for (String k : fKeys) {
+			if (prefixLookup ? ShortString.comparePrefix(k.toCharArray(), chars, false) == 0 : k.equals(key)) {
+				expected.add(k);
+			}
+		}
+		KeyVisitor visitor = new KeyVisitor(chars, prefixLookup, usePrefixes);
+		fBTree.accept(visitor);
+		expected.sort((k1, k2) -> fCaseSensitiveOrder ? ShortString.compare(k1.toCharArray(), k2.toCharArray(), true)
+				: ShortString.compareCompatibleWithIgnoreCase(k1.toCharArray(), k2.toCharArray()));
+		assertEquals(expected, visitor.fResult, key);
+		return visitor.fCompares;
+	}
+
+	private class KeyVisitor implements IBTreePrefixVisitor {
+		final char[] fKey;
+		final boolean fPrefixLookup;
+		final boolean fUsePrefixes;
+		final List<String> fResult = new ArrayList<>();
+		int fCompares;
+
+		KeyVisitor(char[] key, boolean prefixLookup, boolean usePrefixes) {
+			fKey = key;
+			fPrefixLookup = prefixLookup;
+			fUsePrefixes = usePrefixes;
+		}
+
+		@Override
+		public int compare(long record) throws CoreException {
+			fCompares++;
+			IString key = getKey(record);
+			if (fCaseSensitiveOrder)
+				return key.compare(fKey, true);
+			return fPrefixLookup ? key.comparePrefix(fKey, false) : key.compareCompatibleWithIgnoreCase(fKey);
+		}
+
+		@Override
+		public boolean visit(long record) throws CoreException {
+			fResult.add(getKey(record).getString());
+			return true;
+		}
+
+		@Override
+		public long getKeyRecord(long record) throws CoreException {
+			return fDB.getRecPtr(record);
+		}
+
+		@Override
+		public char[] getSearchKey() {
+			return fUsePrefixes ? fKey : null;
+		}
+
+		@Override
+		public boolean isPrefixLookup() {
+			return fPrefixLookup;
+		}
+
+		@Override
+		public boolean isKeyOrderCaseSensitive() {
+			return fCaseSensitiveOrder;
+		}
+	}
+}
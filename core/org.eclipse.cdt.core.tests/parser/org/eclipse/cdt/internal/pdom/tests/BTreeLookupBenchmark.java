@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the throughput of exact lookups in B-trees ordered by names, like the binding index
+ * of a linkage, and ordered by file locations, like the file index, with and without deciding
+ * comparisons on the cached key prefixes of the nodes.
+ * <p>
+ * Too expensive to run as part of normal testing, should be run after changes to B-tree lookups.
+ */
+@Tag(BaseTestCase5.SLOW_TEST_TAG)
+public class BTreeLookupBenchmark extends BaseTestCase5 {
+	private static final int KEYS = 200_000;
+	private static final int LOOKUPS_PER_THREAD = 200_000;
+	private static final int[] THREAD_COUNTS = { 1, 2, 4 };
+	private static final String[] WORDS = { "get", "set", "is", "has", "create", "update", "remove", "find",
+			"Value", "Name", "Index", "Binding", "Type", "Scope", "File", "Node", "List", "Map", "Cache", "Entry",
+			"_", "m_", "std", "Impl", "Helper", "Count", "Size", "Iterator", "Visitor", "Handler" };
+
+	private File fFile;
+	private String[] fNames;
+	private String[] fPaths;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		fFile = File.createTempFile("pdomtest", "db");
+		Random random = new Random(42);
+		fNames = new String[KEYS];
+		fPaths = new String[KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			StringBuilder name = new StringBuilder();
+			int words = 1 + random.nextInt(4);
+			for (int j = 0; j < words; j++) {
+				name.append(WORDS[random.nextInt(WORDS.length)]);
+			}
+			fNames[i] = name.append(i).toString();
+			fPaths[i] = "/home/user/workspace/project/src/" + WORDS[random.nextInt(WORDS.length)] + "/"
+					+ fNames[i] + ".h";
+		}
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		if (!fFile.delete()) {
+			fFile.deleteOnExit();
+		}
+	}
+
+	@Test
+	public void testNameLookups() throws Exception {
+		run("names", fNames, false);
+	}
+
+	@Test
+	public void testFileLookups() throws Exception {
+		run("files", fPaths, true);
+	}
+
+	private void run(String label, String[] keys, boolean caseSensitiveOrder) throws Exception {
+		// A chunk cache holding the entire database, such that the comparisons dominate.
+		final Database db = new Database(fFile, new ChunkCache(64 * 1024 * 1024), 0, false);
+		try {
+			db.setExclusiveLock();
+			final BTree btree = new BTree(db, Database.DATA_AREA, (record1, record2) -> {
+				int cmp = compare(db, record1, getKey(db, record2), caseSensitiveOrder);
+				return cmp != 0 ? cmp : Long.compare(record1, record2);
+			});
+			for (String key : keys) {
+				long record = db.malloc(Database.PTR_SIZE);
+				db.putRecPtr(record, db.newString(key).getRecord());
+				btree.insert(record);
+			}
+			db.giveUpExclusiveLock(true);
+			db.setLocked(true);
+
+			for (int threads : THREAD_COUNTS) {
+				long plain = measure(db, btree, keys, caseSensitiveOrder, false, threads);
+				long prefixes = measure(db, btree, keys, caseSensitiveOrder, true, threads);
+				System.out.println(label + ", " + threads + " thread(s): " + plain + " lookups/ms, with key prefixes "
+						+ prefixes + " lookups/ms");
+			}
+		} finally {
+			db.setExclusiveLock();
+			db.close();
+		}
+	}
+
+	private long measure(Database db, BTree btree, String[] keys, boolean caseSensitiveOrder, boolean usePrefixes,
+			int threads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Void>> readers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				final Random random = new Random(t);
+				readers.add(() -> {
+					for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+						char[] key = keys[random.nextInt(keys.length)].toCharArray();
+						LookupVisitor visitor = new LookupVisitor(db, key, caseSensitiveOrder, usePrefixes);
+						btree.accept(visitor);
+						assertEquals(1, visitor.fMatches);
+					}
+					return null;
+				});
+			}
+			long start = System.nanoTime();
+			for (Future<Void> future : executor.invokeAll(readers)) {
+				future.get();
+			}
+			long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+			return (long) threads * LOOKUPS_PER_THREAD / millis;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static char[] getKey(Database db, long record) throws CoreException {
+		return db.getString(db.getRecPtr(record)).getChars();
+	}
+
+	private static int compare(Database db, long record, char[] key, boolean caseSensitiveOrder)
+			throws CoreException {
+		if (caseSensitiveOrder)
+			return db.getString(db.getRecPtr(record)).compare(key, true);
+		return db.getString(db.getRecPtr(record)).compareCompatibleWithIgnoreCase(key);
+	}
+
+	private static class LookupVisitor implements IBTreePrefixVisitor {
+		private final Database fDB;
+		private final char[] fKey;
+		private final boolean fCaseSensitiveOrder;
+		private final boolean fUsePrefixes;
+		int fMatches;
+
+		LookupVisitor(Database db, char[] key, boolean caseSensitiveOrder, boolean usePrefixes) {
+			fDB = db;
+			fKey = key;
+			fCaseSensitiveOrder = caseSensitiveOrder;
+			fUsePrefixes = usePrefixes;
+		}
+
+		@Override
+		public int compare(long record) throws CoreException {
+			return BTreeLookupBenchmark.compare(fDB, record, fKey, fCaseSensitiveOrder);
+		}
+
+		@Override
+		public boolean visit(long record) throws CoreException {
+			fMatches++;
+			return true;
+		}
+
+		@Override
+		public long getKeyRecord(long record) throws CoreException {
+			return fDB.getRecPtr(record);
+		}
+
+		@Override
+		public char[] getSearchKey() {
+			return fUsePrefixes ? fKey : null;
+		}
+
+		@Override
+		public boolean isPrefixLookup() {
+			return false;
+		}
+
+		@Override
+		public boolean isKeyOrderCaseSensitive() {
+			return fCaseSensitiveOrder;
+		}
+	}
+}
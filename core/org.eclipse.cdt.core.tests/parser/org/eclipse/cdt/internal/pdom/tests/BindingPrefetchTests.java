@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTQualifiedName;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IWritableIndex.IncludeInformation;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for looking up the bindings of a file before it is stored in the index.
+ */
+public class BindingPrefetchTests extends BaseTestCase5 {
+	private static final String PATH = "/project/test.cpp";
+	private static final String CODE = "namespace ns { struct A {}; int v; }\n" + "static int s;\n" + "int g;\n"
+			+ "void f() { ns::A a; s = g + ns::v; }\n";
+
+	private File fFile;
+	private WritablePDOM fPDOM;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		fFile = File.createTempFile(getClass().getSimpleName(), null);
+		fPDOM = new WritablePDOM(fFile, new TestFileLocations.URIConverter(),
+				Collections.singletonMap(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory()));
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		fPDOM.acquireWriteLock(null);
+		try {
+			fPDOM.close();
+		} finally {
+			fPDOM.releaseWriteLock();
+		}
+		fFile.delete();
+	}
+
+	private static IASTName[][] getNames(IASTTranslationUnit ast) {
+		final List<IASTName[]> names = new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitNames = true;
+			}
+
+			@Override
+			public int visit(IASTName name) {
+				if (!(name instanceof ICPPASTQualifiedName)) {
+					name.resolveBinding();
+					names.add(new IASTName[] { name, null });
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		return names.toArray(new IASTName[names.size()][]);
+	}
+
+	private IASTTranslationUnit parse() throws Exception {
+		IASTTranslationUnit ast = GPPLanguage.getDefault().getASTTranslationUnit(
+				FileContent.create(PATH, CODE.toCharArray()), new ScannerInfo(),
+				IncludeFileContentProvider.getEmptyFilesProvider(), new CIndex(new IIndexFragment[] { fPDOM }), 0,
+				new NullLogService());
+		ast.setIsHeaderUnit(false);
+		return ast;
+	}
+
+	private void store(IASTName[][] names) throws Exception {
+		TestFileLocations.PathResolver resolver = new TestFileLocations.PathResolver();
+		fPDOM.acquireWriteLock(null);
+		try {
+			IIndexFragmentFile file = fPDOM.addUncommittedFile(ILinkage.CPP_LINKAGE_ID, resolver.resolveASTPath(PATH),
+					ISignificantMacros.NONE);
+			fPDOM.addFileContent(file, new IncludeInformation[0], new IASTPreprocessorStatement[0], names, resolver,
+					null);
+			fPDOM.commitUncommittedFile();
+		} finally {
+			fPDOM.releaseWriteLock();
+		}
+	}
+
+	private static IASTName find(IASTName[][] names, String image) {
+		for (IASTName[] name : names) {
+			if (name[0].toString().equals(image))
+				return name[0];
+		}
+		throw new AssertionError(image);
+	}
+
+	@Test
+	public void testGlobalBindingsArePrefetched() throws Exception {
+		store(getNames(parse()));
+
+		IASTName[][] names = getNames(parse());
+		Map<IBinding, PDOMBinding> prefetched = new HashMap<>();
+		fPDOM.acquireReadLock();
+		try {
+			PDOMLinkage linkage = fPDOM.getLinkage(ILinkage.CPP_LINKAGE_ID);
+			for (IASTName[] name : names) {
+				linkage.prefetchBinding(name[0], prefetched);
+			}
+			for (String image : new String[] { "ns", "v", "g", "f" }) {
+				PDOMBinding binding = prefetched.get(find(names, image).getBinding());
+				assertNotNull(binding, image);
+				assertEquals(image, binding.getName());
+				assertSame(binding, linkage.adaptBinding(find(names, image).getBinding()));
+			}
+			// Bindings that may be local to the file are looked up when the file is stored.
+			assertFalse(prefetched.containsKey(find(names, "s").getBinding()));
+			assertFalse(prefetched.containsKey(find(names, "A").getBinding()));
+			assertFalse(prefetched.containsKey(find(names, "a").getBinding()));
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+	}
+
+	@Test
+	public void testStoringPrefetchedFile() throws Exception {
+		store(getNames(parse()));
+
+		IASTName[][] names = getNames(parse());
+		fPDOM.acquireReadLock();
+		try {
+			fPDOM.prefetchBindings(ILinkage.CPP_LINKAGE_ID, names);
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+		store(names);
+
+		fPDOM.acquireReadLock();
+		try {
+			// Storing the file again must not duplicate the bindings.
+			for (String image : new String[] { "ns", "s", "g", "f" }) {
+				IIndexFragmentBinding[] bindings = fPDOM.findBindings(new char[][] { image.toCharArray() },
+						IndexFilter.ALL, null);
+				assertEquals(1, bindings.length, image);
+				assertEquals(1, fPDOM.findNames(bindings[0], IIndexFragment.FIND_DEFINITIONS).length, image);
+			}
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.cdt.core.testplugin.CTestPlugin;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the throughput of concurrent readers of a {@link Database} that reads its chunks through
+ * the file channel with one that reads them from a memory mapped view of the file.
+ * <p>
+ * Too expensive to run as part of normal testing, should be run after changes to the chunk cache.
+ */
+@Tag(BaseTestCase5.SLOW_TEST_TAG)
+public class DatabaseReadBenchmark extends BaseTestCase5 {
+	private static final int CHUNKS = 16 * 1024; // 64MB
+	private static final int READS_PER_THREAD = 2_000_000;
+	private static final int[] THREAD_COUNTS = { 1, 2, 4, 8 };
+
+	private File fFile;
+	private long[] fRecords;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		File dir = CTestPlugin.getDefault().getStateLocation().append("tests/").toFile();
+		dir.mkdirs();
+		fFile = new File(dir, getName() + System.currentTimeMillis() + ".dat");
+		Database db = new Database(fFile, new ChunkCache(), 0, false, false);
+		db.setExclusiveLock();
+		fRecords = new long[CHUNKS];
+		for (int i = 0; i < CHUNKS; i++) {
+			fRecords[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(fRecords[i], i);
+			if (i % 1000 == 0) {
+				db.flush();
+			}
+		}
+		db.close();
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		if (!fFile.delete()) {
+			fFile.deleteOnExit();
+		}
+	}
+
+	@Test
+	public void testConcurrentReads() throws Exception {
+		// A cache holding a quarter of the database, such that readers miss frequently.
+		final long cacheSize = (long) CHUNKS * Database.CHUNK_SIZE / 4;
+		for (int threads : THREAD_COUNTS) {
+			long channel = measure(false, threads, cacheSize);
+			long mapped = measure(true, threads, cacheSize);
+			System.out.println(threads + " reader(s): channel " + channel + " reads/ms, memory mapped " + mapped
+					+ " reads/ms");
+		}
+	}
+
+	private long measure(boolean memoryMapped, int threads, long cacheSize) throws Exception {
+		final Database db = new Database(fFile, new ChunkCache(cacheSize), 0, true, memoryMapped);
+		db.setLocked(true);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Void>> readers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				final Random random = new Random(t);
+				readers.add(() -> {
+					for (int i = 0; i < READS_PER_THREAD; i++) {
+						int idx = random.nextInt(CHUNKS);
+						assertEquals(idx, db.getInt(fRecords[idx]));
+					}
+					return null;
+				});
+			}
+			long start = System.nanoTime();
+			for (Future<Void> future : executor.invokeAll(readers)) {
+				future.get();
+			}
+			long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+			return (long) threads * READS_PER_THREAD / millis;
+		} finally {
+			executor.shutdown();
+			db.setExclusiveLock();
+			db.close();
+		}
+	}
+}
@@ -124,6 +124,29 @@ public class DatabaseTest extends BaseTestCase5 {
 		}
 	}
 
+	@Test
+	public void testMemoryMappedRead() throws Exception {
+		final int count = 3 * Database.CHUNK_SIZE / Database.INT_SIZE;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.INT_SIZE);
+			db.putInt(records[i], i);
+		}
+		db.flush();
+
+		Database mapped = new Database(db.getLocation(), new ChunkCache(), 0, true, true);
+		try {
+			assertTrue(mapped.isMemoryMapped());
+			mapped.setLocked(true);
+			for (int i = 0; i < count; i++) {
+				assertEquals(i, mapped.getInt(records[i]));
+			}
+		} finally {
+			mapped.setExclusiveLock();
+			mapped.close();
+		}
+	}
+
 	@Test
 	public void testFreeBlockLinking() throws Exception {
 		final int realsize = 42;
@@ -214,6 +237,30 @@ public class DatabaseTest extends BaseTestCase5 {
 		}
 	}
 
+	@Test
+	public void testStringCache() throws Exception {
+		final int count = 40000; // More than fit into the cache.
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.newString("string" + i).getRecord();
+		}
+		db.resetCacheCounters();
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < count; i++) {
+				assertEquals("string" + i, db.getString(records[i]).getString());
+			}
+		}
+		assertEquals(2 * count, db.getStringCacheHits() + db.getStringCacheMisses());
+		assertTrue(db.getStringCacheHits() > 0);
+		assertTrue(db.getStringCacheEvictions() > 0);
+
+		// A freed record must not be served from the cache after it has been reused.
+		db.getString(records[count - 1]).delete();
+		long record = db.newString("replacement").getRecord();
+		assertEquals(records[count - 1], record);
+		assertEquals("replacement", db.getString(record).getString());
+	}
+
 	private final int GT = 1, LT = -1, EQ = 0;
 
 	@Test
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.IndexFileLocation;
+import org.eclipse.cdt.internal.core.pdom.IndexerMetrics;
+import org.eclipse.cdt.internal.core.pdom.IndexerMetrics.FileMetrics;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class IndexerMetricsTests extends BaseTestCase5 {
+	private static IIndexFileLocation location(String path) {
+		try {
+			return new IndexFileLocation(new URI("file", null, path, null), null);
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	@Test
+	public void testTotals() throws Exception {
+		IndexerMetrics metrics = new IndexerMetrics(100);
+		metrics.parsed(location("/a.cpp"), 100, new IIndexFileLocation[] { location("/h.h"), null });
+		metrics.parsed(location("/b.cpp"), 200, new IIndexFileLocation[] { location("/h.h") });
+		metrics.resolved(location("/a.cpp"), 50);
+		metrics.written(location("/a.cpp"), 30, 5, 1);
+		metrics.written(location("/h.h"), 20, 7, 2);
+		metrics.cacheAccessed(3, 1);
+		metrics.queueChanged(4);
+		metrics.queueChanged(2);
+
+		assertEquals(2, metrics.getParseCount());
+		assertEquals(300, metrics.getParseTime());
+		assertEquals(3, metrics.getIncludeCount());
+		assertEquals(50, metrics.getResolveTime());
+		assertEquals(2, metrics.getWriteCount());
+		assertEquals(50, metrics.getWriteTime());
+		assertEquals(12, metrics.getLockWaitTime());
+		assertEquals(3, metrics.getLockWaitCount());
+		assertEquals(0.75, metrics.getCacheHitRate());
+		assertEquals(2, metrics.getQueueDepth());
+		assertEquals(4, metrics.getMaxQueueDepth());
+
+		metrics.reset();
+		assertEquals(0, metrics.getParseCount());
+		assertEquals(0, metrics.getFiles(10).size());
+		assertEquals(2, metrics.getMaxQueueDepth());
+	}
+
+	@Test
+	public void testFiles() throws Exception {
+		IndexerMetrics metrics = new IndexerMetrics(100);
+		metrics.parsed(location("/a.cpp"), 100, new IIndexFileLocation[] { location("/h.h") });
+		metrics.resolved(location("/a.cpp"), 50);
+		metrics.parsed(location("/b.cpp"), 400, new IIndexFileLocation[] { location("/h.h") });
+		metrics.written(location("/h.h"), 200, 10, 1);
+
+		List<FileMetrics> files = metrics.getFiles(10);
+		assertEquals(3, files.size());
+		assertEquals("/b.cpp", files.get(0).getPath());
+		assertEquals("/h.h", files.get(1).getPath());
+		assertEquals(2, files.get(1).getInclusionCount());
+		assertEquals(1, files.get(1).getWriteCount());
+		assertEquals(10, files.get(1).getLockWaitTime());
+		assertEquals("/a.cpp", files.get(2).getPath());
+		assertEquals(150, files.get(2).getTotalTime());
+		assertEquals(1, files.get(2).getIncludeCount());
+
+		assertEquals(1, metrics.getFiles(1).size());
+	}
+
+	@Test
+	public void testFileLimit() throws Exception {
+		IndexerMetrics metrics = new IndexerMetrics(2);
+		for (int i = 0; i < 5; i++) {
+			metrics.parsed(location("/f" + i + ".cpp"), 10, new IIndexFileLocation[0]);
+		}
+		assertEquals(2, metrics.getFiles(10).size());
+		assertEquals(5, metrics.getParseCount());
+		assertEquals(50, metrics.getParseTime());
+	}
+
+	@Test
+	public void testJSON() throws Exception {
+		IndexerMetrics metrics = new IndexerMetrics(100);
+		metrics.parsed(location("/dir with \"quotes\"/a.cpp"), 100, new IIndexFileLocation[0]);
+		metrics.cacheAccessed(9, 1);
+		StringWriter out = new StringWriter();
+		metrics.writeJSON(out, 10);
+
+		JsonObject json = JsonParser.parseString(out.toString()).getAsJsonObject();
+		assertEquals(1, json.get("parseCount").getAsInt());
+		assertEquals(9, json.get("cacheHits").getAsLong());
+		JsonArray files = json.getAsJsonArray("files");
+		assertEquals(1, files.size());
+		JsonObject file = files.get(0).getAsJsonObject();
+		assertEquals("/dir with \"quotes\"/a.cpp", file.get("path").getAsString());
+		assertEquals(100, file.get("parseTime").getAsLong());
+	}
+}
@@ -16,7 +16,9 @@ package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.eclipse.cdt.core.testplugin.CProjectHelper.createCCProject;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.net.URI;
@@ -42,6 +44,7 @@ import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
 import org.eclipse.cdt.internal.core.index.provider.ReadOnlyPDOMProviderBridge;
+import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -126,6 +129,72 @@ public class PDOMProviderTests extends PDOMTestBase {
 		}
 	}
 
+	@Test
+	public void testExportOfShardedIndex() throws Exception {
+		final File tempPDOM = createTempFile("temp", ".pdom");
+		tempPDOM.delete();
+
+		ICProject cproject = createCCProject("foo" + System.currentTimeMillis(), null, IPDOMManager.ID_FAST_INDEXER);
+		try {
+			TestSourceReader.createFile(cproject.getProject(), new Path("/this.h"), "class A {};\n\n");
+			waitForIndexer(cproject);
+
+			// Record the layout of an index split into several databases.
+			WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+			pdom.acquireWriteLock(npm());
+			try {
+				pdom.setProperty(PDOMManager.PROPERTY_SHARD_COUNT, "3");
+			} finally {
+				pdom.releaseWriteLock();
+			}
+
+			ResourceContainerRelativeLocationConverter cvr = new ResourceContainerRelativeLocationConverter(
+					cproject.getProject());
+			try {
+				CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, tempPDOM, cvr, null);
+				fail("The export of an index split into several databases must fail");
+			} catch (CoreException e) {
+				// Expected.
+			}
+			assertFalse(tempPDOM.exists());
+		} finally {
+			CProjectHelper.delete(cproject);
+		}
+	}
+
+	@Test
+	public void testExportWithLibraryIndex() throws Exception {
+		final File tempPDOM = createTempFile("temp", ".pdom");
+		tempPDOM.delete();
+
+		ICProject cproject = createCCProject("foo" + System.currentTimeMillis(), null, IPDOMManager.ID_FAST_INDEXER);
+		try {
+			TestSourceReader.createFile(cproject.getProject(), new Path("/this.h"), "class A {};\n\n");
+			waitForIndexer(cproject);
+
+			// Record the layout of an index that stores the external files in a library index.
+			WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+			pdom.acquireWriteLock(npm());
+			try {
+				pdom.setProperty(PDOMManager.PROPERTY_LIBRARY_INDEX, "true");
+			} finally {
+				pdom.releaseWriteLock();
+			}
+
+			ResourceContainerRelativeLocationConverter cvr = new ResourceContainerRelativeLocationConverter(
+					cproject.getProject());
+			try {
+				CCoreInternals.getPDOMManager().exportProjectPDOM(cproject, tempPDOM, cvr, null);
+				fail("The export of an index using a library index must fail");
+			} catch (CoreException e) {
+				// Expected.
+			}
+			assertFalse(tempPDOM.exists());
+		} finally {
+			CProjectHelper.delete(cproject);
+		}
+	}
+
 	@Test
 	public void testCommonSDK() throws Exception {
 		final File tempPDOM = createTempFile("temp", ".pdom");
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.io.File;
+import java.net.URI;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.internal.core.index.IndexFileLocation;
+import org.eclipse.cdt.internal.core.pdom.ASTFilePathResolver;
+
+/**
+ * File locations for tests that write a PDOM without a project. The paths are file system paths,
+ * the files don't need to exist.
+ */
+public final class TestFileLocations {
+	/**
+	 * Stores the URI of a file location.
+	 */
+	public static class URIConverter implements IIndexLocationConverter {
+		@Override
+		public IIndexFileLocation fromInternalFormat(String raw) {
+			return new IndexFileLocation(URI.create(raw), null);
+		}
+
+		@Override
+		public String toInternalFormat(IIndexFileLocation location) {
+			return location.getURI().toString();
+		}
+	}
+
+	/**
+	 * Resolves file system paths, all files are treated as sources.
+	 */
+	public static class PathResolver extends ASTFilePathResolver {
+		@Override
+		public IIndexFileLocation resolveASTPath(String astFilePath) {
+			return new IndexFileLocation(new File(astFilePath).toURI(), null);
+		}
+
+		@Override
+		public IIndexFileLocation resolveIncludeFile(String includePath) {
+			return resolveASTPath(includePath);
+		}
+
+		@Override
+		public boolean doesIncludeFileExist(String includePath) {
+			return new File(includePath).isFile();
+		}
+
+		@Override
+		public String getASTPath(IIndexFileLocation ifl) {
+			return ifl.getURI().getPath();
+		}
+
+		@Override
+		public boolean isSource(String astFilePath) {
+			return true;
+		}
+
+		@Override
+		public long getFileSize(String astFilePath) {
+			return new File(astFilePath).length();
+		}
+
+		@Override
+		public boolean isCaseInsensitiveFileSystem() {
+			return false;
+		}
+	}
+
+	private TestFileLocations() {
+	}
+}
@@ -19,6 +19,7 @@ import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarationListOwner;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -84,6 +85,17 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Instructs the parser to create ast nodes for function bodies only when they are accessed via
+	 * {@link IASTFunctionDefinition#getBody()} or visited after parsing is complete. Bodies that
+	 * are needed to determine the type or the value of a function are parsed right away. The
+	 * option is supported by the C++ parser, only.
+	 *
+	 * @since 8.3
+	 */
+	public final static int OPTION_PARSE_FUNCTION_BODIES_LAZILY = 0x40;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
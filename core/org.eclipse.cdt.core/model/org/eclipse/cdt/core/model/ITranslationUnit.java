@@ -117,6 +117,15 @@ public interface ITranslationUnit extends ICElement, IParent, IOpenable, ISource
 	 */
 	public final static int AST_PARSE_INACTIVE_CODE = 0x80;
 
+	/**
+	 * Style constant for {@link #getAST(IIndex, int)}.
+	 * Instructs the parser to create ast nodes for function bodies only when they are accessed.
+	 * See {@link ILanguage#OPTION_PARSE_FUNCTION_BODIES_LAZILY}.
+	 *
+	 * @since 8.3
+	 */
+	public final static int AST_PARSE_FUNCTION_BODIES_LAZILY = 0x100;
+
 	/**
 	 * Creates and returns an include declaration in this translation unit
 	 * with the given name.
@@ -15,12 +15,26 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexFileSet;
+import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.core.runtime.CoreException;
@@ -33,7 +47,10 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides shared ASTs of translation units. The AST of the active translation unit is provided
+ * by the reconciler, the ASTs of other translation units are kept in a least recently used cache
+ * bounded by the number of ASTs and their estimated size. A cached AST is discarded when one of the
+ * files it was created from has been updated in the index.
  *
  * @since 4.0
  */
@@ -67,6 +84,121 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * The maximum number of cached ASTs, including the one of the active translation unit, can be
+	 * changed with -Dorg.eclipse.cdt.core.model.astCache.maxEntries=<count>
+	 */
+	private static final int MAX_ENTRIES = Math.max(1,
+			Integer.getInteger("org.eclipse.cdt.core.model.astCache.maxEntries", 8)); //$NON-NLS-1$
+	/**
+	 * The maximum estimated size of the cached ASTs can be changed with
+	 * -Dorg.eclipse.cdt.core.model.astCache.maxSizeMB=<megabytes>
+	 */
+	private static final long MAX_SIZE = Integer.getInteger("org.eclipse.cdt.core.model.astCache.maxSizeMB", 64) //$NON-NLS-1$
+			* 1024L * 1024;
+	/** Rough estimate of the memory used by an AST per character of the parsed code. */
+	private static final int BYTES_PER_CHAR = 40;
+
+	/**
+	 * An AST together with the index files it depends on.
+	 */
+	private static class CachedAST {
+		final IASTTranslationUnit fAST;
+		final long fSize;
+		/** The index files the AST depends on, or {@code null} if they are not known. */
+		final IIndexFile[] fDependencies;
+		final IIndexFileLocation[] fLocations;
+		final long[] fSourceReadTimes;
+		/** The timestamp of the last index write access at which the AST was known to be valid. */
+		long fLastWriteOnIndex;
+
+		CachedAST(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+			fAST = ast;
+			fSize = (long) ((ASTNode) ast).getLength() * BYTES_PER_CHAR;
+			IIndex index = ast.getIndex();
+			fLastWriteOnIndex = index == null ? 0 : index.getLastWriteAccess();
+			IIndexFile[] dependencies = null;
+			IIndexFileLocation[] locations = null;
+			long[] readTimes = null;
+			if (index != null) {
+				try {
+					dependencies = getDependencies(tUnit, ast, index);
+					locations = new IIndexFileLocation[dependencies.length];
+					readTimes = new long[dependencies.length];
+					for (int i = 0; i < dependencies.length; i++) {
+						locations[i] = dependencies[i].getLocation();
+						readTimes[i] = dependencies[i].getSourceReadTime();
+					}
+				} catch (CoreException e) {
+					dependencies = null;
+				}
+			}
+			fDependencies = dependencies;
+			fLocations = locations;
+			fSourceReadTimes = readTimes;
+		}
+
+		/**
+		 * Checks whether the files the AST depends on are unchanged in the given index,
+		 * which needs to be read-locked.
+		 */
+		boolean isValid(IIndex index) {
+			final long lastWrite = index.getLastWriteAccess();
+			if (fLastWriteOnIndex >= lastWrite)
+				return true;
+			if (fDependencies == null)
+				return false;
+			try {
+				for (int i = 0; i < fDependencies.length; i++) {
+					if (!containsFile(index.getFiles(fLocations[i]), fDependencies[i], fSourceReadTimes[i]))
+						return false;
+				}
+			} catch (CoreException e) {
+				return false;
+			}
+			fLastWriteOnIndex = lastWrite;
+			return true;
+		}
+
+		private static boolean containsFile(IIndexFile[] files, IIndexFile file, long sourceReadTime)
+				throws CoreException {
+			for (IIndexFile f : files) {
+				if (f.equals(file) && f.getSourceReadTime() == sourceReadTime)
+					return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Collects the index files of the translation unit and the headers the AST was created from.
+		 */
+		private static IIndexFile[] getDependencies(ITranslationUnit tUnit, IASTTranslationUnit ast, IIndex index)
+				throws CoreException {
+			Set<IIndexFile> result = new HashSet<>();
+			IIndexFileLocation location = IndexLocationFactory.getIFL(tUnit);
+			if (location != null) {
+				result.addAll(Arrays.asList(index.getFiles(location)));
+			}
+			IIndexFileSet fileSet = ast.getIndexFileSet();
+			ArrayDeque<IIndexFile> queue = new ArrayDeque<>();
+			for (IASTPreprocessorIncludeStatement include : ast.getIncludeDirectives()) {
+				IIndexFile file = include.getImportedIndexFile();
+				if (file != null && result.add(file)) {
+					queue.add(file);
+				}
+			}
+			while (!queue.isEmpty()) {
+				for (IIndexInclude include : queue.remove().getIncludes()) {
+					IIndexFile file = index.resolveInclude(include);
+					if (file != null && fileSet != null && fileSet.contains(file) && result.add(file)) {
+						queue.add(file);
+					}
+				}
+			}
+			return result.toArray(new IIndexFile[result.size()]);
+		}
+	}
+
 	private final int fParseMode;
 	private final Object fCacheMutex = new Object();
 
@@ -74,15 +206,19 @@ public class ASTCache {
 	private ITranslationUnit fActiveTU;
 	/** The cached AST if any */
 	private IASTTranslationUnit fAST;
-	/**
-	 * The timestamp of the last index write access at the time
-	 * the AST got cached. A cached AST becomes invalid on any index
-	 * write access afterwards.
-	 */
-	private long fLastWriteOnIndex;
+	/** The cache entry of the AST of the active translation unit, if any */
+	private CachedAST fActiveEntry;
+	/** The ASTs of translation units other than the active one, in the order of their last use */
+	private final LinkedHashMap<ITranslationUnit, CachedAST> fInactiveEntries = new LinkedHashMap<>(16, 0.75f,
+			true);
 	/** Indicates whether the AST is currently being computed */
 	private boolean fIsReconciling;
 
+	private long fHitCount;
+	private long fMissCount;
+	private long fInvalidationCount;
+	private long fEvictionCount;
+
 	/**
 	 * Create a new AST cache.
 	 */
@@ -119,14 +255,16 @@ public class ASTCache {
 				if (isActiveElement) {
 					if (fAST != null) {
 						// AST is cached
-						if (fLastWriteOnIndex < index.getLastWriteAccess()) {
-							// AST has been invalidated by index write access
+						if (!fActiveEntry.isValid(index)) {
+							// AST has been invalidated by an update of the index
+							fInvalidationCount++;
 							disposeAST();
 						} else {
 							// cached AST is valid
 							if (DEBUG)
 								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
 										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+							fHitCount++;
 							return fAST;
 						}
 					}
@@ -136,8 +274,18 @@ public class ASTCache {
 						if (DEBUG)
 							System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
 									+ tUnit.getElementName());
+						fMissCount++;
 						return null;
 					}
+				} else {
+					IASTTranslationUnit ast = getInactiveAST(tUnit, index);
+					if (ast != null) {
+						if (DEBUG)
+							System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
+									+ toString(ast) + " for inactive: " + tUnit.getElementName()); //$NON-NLS-1$
+						fHitCount++;
+						return ast;
+					}
 				}
 				// no cached AST, but wait
 				if (isActiveElement && isReconciling(tUnit)) {
@@ -152,6 +300,7 @@ public class ASTCache {
 							if (DEBUG)
 								System.out.println(
 										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
+							fHitCount++;
 							return fAST;
 						}
 						// try again
@@ -160,8 +309,10 @@ public class ASTCache {
 						return null; // thread has been interrupted don't compute AST
 					}
 				} else if (!wait) {
+					fMissCount++;
 					return null;
 				}
+				fMissCount++;
 			}
 
 			if (isActiveElement)
@@ -187,6 +338,8 @@ public class ASTCache {
 						reconciled(fAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null) {
+					cacheInactive(ast, tUnit);
 				}
 			}
 			return ast;
@@ -313,12 +466,77 @@ public class ASTCache {
 			disposeAST();
 
 		fAST = ast;
-		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
+		fActiveEntry = fAST == null ? null : new CachedAST(fAST, tUnit);
+		evict();
 
 		// Signal AST change
 		fCacheMutex.notifyAll();
 	}
 
+	/**
+	 * Returns the cached AST of a translation unit other than the active one, provided
+	 * it is still valid.
+	 */
+	private IASTTranslationUnit getInactiveAST(ITranslationUnit tUnit, IIndex index) {
+		assert Thread.holdsLock(fCacheMutex);
+		CachedAST entry = fInactiveEntries.get(tUnit);
+		if (entry == null)
+			return null;
+		if (entry.isValid(index) && hasContents(entry.fAST, tUnit))
+			return entry.fAST;
+
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + getThreadName() + "discarding out-dated AST for: " + toString(tUnit)); //$NON-NLS-1$
+		fInactiveEntries.remove(tUnit);
+		fInvalidationCount++;
+		return null;
+	}
+
+	/**
+	 * Caches the AST of a translation unit other than the active one.
+	 */
+	private void cacheInactive(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		synchronized (fCacheMutex) {
+			if (tUnit.equals(fActiveTU))
+				return;
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "caching AST: " + toString(ast) //$NON-NLS-1$
+						+ " for inactive: " + toString(tUnit)); //$NON-NLS-1$
+			fInactiveEntries.put(tUnit, new CachedAST(ast, tUnit));
+			evict();
+		}
+	}
+
+	/**
+	 * Checks whether the AST has been created from the current contents of the translation unit.
+	 */
+	private static boolean hasContents(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		return Arrays.equals(ast.getRawSignature().toCharArray(), tUnit.getContents());
+	}
+
+	/**
+	 * Discards the least recently used ASTs of inactive translation units until the bounds of
+	 * the cache are met.
+	 */
+	private void evict() {
+		assert Thread.holdsLock(fCacheMutex);
+		long size = fActiveEntry == null ? 0 : fActiveEntry.fSize;
+		for (CachedAST entry : fInactiveEntries.values()) {
+			size += entry.fSize;
+		}
+		int count = fInactiveEntries.size() + (fActiveEntry == null ? 0 : 1);
+		for (Iterator<CachedAST> it = fInactiveEntries.values().iterator(); it.hasNext()
+				&& (count > MAX_ENTRIES || size > MAX_SIZE);) {
+			CachedAST entry = it.next();
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST: " + toString(entry.fAST)); //$NON-NLS-1$
+			it.remove();
+			size -= entry.fSize;
+			count--;
+			fEvictionCount++;
+		}
+	}
+
 	/**
 	 * Disposes the cached AST.
 	 */
@@ -332,10 +550,21 @@ public class ASTCache {
 						+ toString(fActiveTU));
 
 			fAST = null;
+			fActiveEntry = null;
 			cache(null, null);
 		}
 	}
 
+	/**
+	 * Disposes all cached ASTs.
+	 */
+	public void clear() {
+		synchronized (fCacheMutex) {
+			fInactiveEntries.clear();
+			disposeAST();
+		}
+	}
+
 	/**
 	 * Creates a new translation unit AST.
 	 *
@@ -377,21 +606,42 @@ public class ASTCache {
 	}
 
 	/**
-	 * Set the given translation unit as active element to cache an AST for.
+	 * Set the given translation unit as active element to cache an AST for. The AST of
+	 * the previously active element is kept, a cached AST of the new active element
+	 * becomes its shared AST.
 	 *
 	 * @param tUnit  the translation unit
+	 * @return <code>true</code> if a cached AST created from the current contents of the
+	 *     translation unit is available
 	 */
-	public void setActiveElement(ITranslationUnit tUnit) {
+	public boolean setActiveElement(ITranslationUnit tUnit) {
 		if (tUnit == fActiveTU) {
-			return;
+			return false;
 		}
+		boolean cached = false;
 		synchronized (fCacheMutex) {
 			fIsReconciling = false;
+			CachedAST previous = fActiveEntry;
+			if (previous != null && fActiveTU != null) {
+				fInactiveEntries.put(fActiveTU, previous);
+				fAST = null;
+				fActiveEntry = null;
+			}
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			CachedAST entry = tUnit == null ? null : fInactiveEntries.remove(tUnit);
+			if (entry != null && hasContents(entry.fAST, tUnit)) {
+				fAST = entry.fAST;
+				fActiveEntry = entry;
+				cached = true;
+				fCacheMutex.notifyAll();
+			} else {
+				cache(null, tUnit);
+			}
+			evict();
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
+		return cached;
 	}
 
 	/**
@@ -467,6 +717,61 @@ public class ASTCache {
 		}
 	}
 
+	/**
+	 * Returns the number of requests for an AST that were served from the cache.
+	 */
+	public long getHitCount() {
+		synchronized (fCacheMutex) {
+			return fHitCount;
+		}
+	}
+
+	/**
+	 * Returns the number of requests for an AST that could not be served from the cache.
+	 */
+	public long getMissCount() {
+		synchronized (fCacheMutex) {
+			return fMissCount;
+		}
+	}
+
+	/**
+	 * Returns the number of cached ASTs that were discarded because files they depend on changed.
+	 */
+	public long getInvalidationCount() {
+		synchronized (fCacheMutex) {
+			return fInvalidationCount;
+		}
+	}
+
+	/**
+	 * Returns the number of cached ASTs that were discarded to meet the bounds of the cache.
+	 */
+	public long getEvictionCount() {
+		synchronized (fCacheMutex) {
+			return fEvictionCount;
+		}
+	}
+
+	/**
+	 * Returns the fraction of requests for an AST that were served from the cache.
+	 */
+	public double getHitRate() {
+		synchronized (fCacheMutex) {
+			long total = fHitCount + fMissCount;
+			return total == 0 ? 0 : (double) fHitCount / total;
+		}
+	}
+
+	/**
+	 * Returns the number of cached ASTs.
+	 */
+	public int size() {
+		synchronized (fCacheMutex) {
+			return fInactiveEntries.size() + (fAST == null ? 0 : 1);
+		}
+	}
+
 	private static String getThreadName() {
 		String name = Thread.currentThread().getName();
 		if (name != null)
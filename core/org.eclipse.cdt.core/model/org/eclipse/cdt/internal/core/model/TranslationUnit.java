@@ -877,6 +877,9 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		if ((style & AST_PARSE_INACTIVE_CODE) != 0) {
 			options |= ILanguage.OPTION_PARSE_INACTIVE_CODE;
 		}
+		if ((style & AST_PARSE_FUNCTION_BODIES_LAZILY) != 0) {
+			options |= ILanguage.OPTION_PARSE_FUNCTION_BODIES_LAZILY;
+		}
 		final IParserLogService log;
 		if (monitor instanceof ICanceler) {
 			log = new ParserLogService(DebugLogConstants.PARSER, (ICanceler) monitor);
@@ -389,6 +389,19 @@ public interface IIndex {
 	public IIndexBinding[] findBindingsForContentAssist(char[] prefix, boolean fileScopeOnly, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Returns at most {@code limit} bindings for content assist. The limit applies to the bindings
+	 * accepted by the filter, which are searched in the order of their names. When the limit is
+	 * reached, the most relevant of the bindings found are returned: the ones named like the prefix
+	 * and the ones starting with the prefix in the same case. When the monitor is cancelled, the
+	 * bindings found so far are returned.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 8.3
+	 */
+	public IIndexBinding[] findBindingsForContentAssist(char[] prefix, boolean fileScopeOnly, IndexFilter filter,
+			int limit, IProgressMonitor monitor) throws CoreException;
+
 	/**
 	 * Searches for all names that resolve to the given binding. The search can be limited to
 	 * references, declarations or definitions, or a combination of those.
@@ -15,6 +15,7 @@
 package org.eclipse.cdt.internal.core.dom.parser;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
@@ -22,6 +23,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IFunction;
 import org.eclipse.cdt.core.dom.ast.IScope;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexFileSet;
@@ -37,6 +39,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * Access to methods on scopes and bindings internal to the parser.
@@ -113,6 +116,42 @@ public class ASTInternal {
 		return func.isStatic();
 	}
 
+	/**
+	 * Searches the index for the file-scope bindings completing the given prefix. For an AST created
+	 * for content assist the number of bindings is limited and the search can be cancelled by the
+	 * content assist session. The limit applies to the bindings visible in the given file set, when
+	 * it is reached or the search is cancelled the AST is marked to have an incomplete result.
+	 */
+	public static IIndexBinding[] findBindingsForContentAssist(IIndex index, IASTTranslationUnit tu, char[] prefix,
+			IndexFilter filter, IIndexFileSet fileSet) throws CoreException {
+		if (tu instanceof ASTTranslationUnit) {
+			ASTTranslationUnit ast = (ASTTranslationUnit) tu;
+			IndexFilter visibleFilter = filter;
+			if (fileSet != null) {
+				visibleFilter = new IndexFilter() {
+					@Override
+					public boolean acceptLinkage(ILinkage linkage) {
+						return filter.acceptLinkage(linkage);
+					}
+
+					@Override
+					public boolean acceptBinding(IBinding binding) throws CoreException {
+						return filter.acceptBinding(binding)
+								&& fileSet.filterFileLocalBindings(new IBinding[] { binding }).length != 0;
+					}
+				};
+			}
+			int limit = ast.getContentAssistLimit();
+			IProgressMonitor monitor = ast.getContentAssistMonitor();
+			IIndexBinding[] bindings = index.findBindingsForContentAssist(prefix, true, visibleFilter, limit, monitor);
+			if (bindings.length >= limit || (monitor != null && monitor.isCanceled())) {
+				ast.setContentAssistResultIncomplete(true);
+			}
+			return bindings;
+		}
+		return index.findBindingsForContentAssist(prefix, true, filter, null);
+	}
+
 	public static void setFullyResolved(IBinding binding, boolean val) {
 		if (binding instanceof ICInternalFunction) {
 			((ICInternalFunction) binding).setFullyResolved(true);
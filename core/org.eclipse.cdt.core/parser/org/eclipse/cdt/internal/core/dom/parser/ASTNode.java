@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser;
 
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTNodeProperty;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.ExpansionOverlapsBoundaryException;
@@ -76,6 +77,19 @@ public abstract class ASTNode implements IASTNode {
 		frozen = true;
 	}
 
+	/**
+	 * Makes this node and all of its descendants immutable.
+	 */
+	public final void freezeSubtree() {
+		accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				((ASTNode) node).setIsFrozen();
+				return PROCESS_CONTINUE;
+			}
+		});
+	}
+
 	public void setInactive() {
 		assertNotFrozen();
 		active = false;
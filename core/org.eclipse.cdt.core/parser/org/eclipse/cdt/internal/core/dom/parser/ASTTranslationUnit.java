@@ -24,7 +24,6 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IName;
-import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
@@ -59,6 +58,7 @@ import org.eclipse.cdt.internal.core.parser.scanner.ISkippedIndexedFilesListener
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
  * Abstract base class for all translation units.
@@ -72,6 +72,12 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 	private static final IASTPreprocessorIncludeStatement[] EMPTY_PREPROCESSOR_INCLUSION_ARRAY = {};
 	private static final IASTProblem[] EMPTY_PROBLEM_ARRAY = {};
 	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
+	/**
+	 * The maximum number of bindings a prefix lookup for content assist retrieves from the index per
+	 * scope, can be changed with -Dorg.eclipse.cdt.core.parser.contentAssistLimit=&lt;count&gt;.
+	 */
+	private static final int CONTENT_ASSIST_LIMIT = Integer.getInteger("org.eclipse.cdt.core.parser.contentAssistLimit", //$NON-NLS-1$
+			1000);
 
 	private IASTDeclaration[] fAllDeclarations;
 	private IASTDeclaration[] fActiveDeclarations;
@@ -84,6 +90,8 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 	private IIndexFileSet fASTFileSet;
 	private INodeFactory fNodeFactory;
 	private boolean fForContentAssist;
+	private volatile IProgressMonitor fContentAssistMonitor;
+	private volatile boolean fContentAssistResultIncomplete;
 	private ITranslationUnit fOriginatingTranslationUnit;
 	private ISignificantMacros fSignificantMacros = ISignificantMacros.NONE;
 	private boolean fPragmaOnceSemantics;
@@ -381,6 +389,42 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		fForContentAssist = forContentAssist;
 	}
 
+	/**
+	 * Returns the maximum number of bindings a prefix lookup should retrieve from the index.
+	 * The lookup visits the bindings in the order of their names, for an AST created for content
+	 * assist it stops early rather than collecting all bindings matching a short prefix.
+	 */
+	public int getContentAssistLimit() {
+		return fForContentAssist ? CONTENT_ASSIST_LIMIT : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the monitor of the content assist session using this AST, or {@code null}.
+	 */
+	public IProgressMonitor getContentAssistMonitor() {
+		return fContentAssistMonitor;
+	}
+
+	/**
+	 * Sets the monitor used to cancel prefix lookups in the index while proposals are computed,
+	 * the bindings found up to the cancellation are used.
+	 */
+	public void setContentAssistMonitor(IProgressMonitor monitor) {
+		fContentAssistMonitor = monitor;
+	}
+
+	/**
+	 * Returns whether a prefix lookup for content assist has stopped at the limit or has been
+	 * cancelled, such that bindings completing the prefix may be missing.
+	 */
+	public boolean isContentAssistResultIncomplete() {
+		return fContentAssistResultIncomplete;
+	}
+
+	public void setContentAssistResultIncomplete(boolean incomplete) {
+		fContentAssistResultIncomplete = incomplete;
+	}
+
 	@Override
 	public boolean isBasedOnIncompleteIndex() {
 		return fBasedOnIncompleteIndex;
@@ -476,13 +520,7 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 
 	@Override
 	public final void freeze() {
-		accept(new ASTGenericVisitor(true) {
-			@Override
-			protected int genericVisit(IASTNode node) {
-				((ASTNode) node).setIsFrozen();
-				return PROCESS_CONTINUE;
-			}
-		});
+		freezeSubtree();
 
 		if (IndexFileSet.sDEBUG && fIndexFileSet != null && fASTFileSet != null) {
 			long t = ((IndexFileSet) fIndexFileSet).getTimingContainsDeclarationNanos()
@@ -365,11 +365,11 @@ public class CScope implements ICScope, IASTInternalScope {
 			IIndex index = tu.getIndex();
 			if (index != null) {
 				try {
+					IIndexFileSet filter = lookup.getIncludedFiles();
 					IBinding[] bindings = lookup.isPrefixLookup()
-							? index.findBindingsForContentAssist(lookup.getLookupKey(), true,
-									INDEX_FILTERS[NAMESPACE_TYPE_BOTH], null)
+							? ASTInternal.findBindingsForContentAssist(index, tu, lookup.getLookupKey(),
+									INDEX_FILTERS[NAMESPACE_TYPE_BOTH], filter)
 							: index.findBindings(lookup.getLookupKey(), INDEX_FILTERS[NAMESPACE_TYPE_BOTH], null);
-					IIndexFileSet filter = lookup.getIncludedFiles();
 					if (filter != null) {
 						bindings = filter.filterFileLocalBindings(bindings);
 					}
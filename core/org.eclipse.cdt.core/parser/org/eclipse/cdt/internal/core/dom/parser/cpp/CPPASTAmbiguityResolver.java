@@ -15,9 +15,13 @@
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.eclipse.cdt.core.dom.ast.ASTNodeProperty;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
@@ -34,13 +38,20 @@ import org.eclipse.cdt.core.dom.ast.IASTParameterDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
+import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTElaboratedTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTFunctionDeclarator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTInitializerClause;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTLinkageSpecification;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateId;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateSpecialization;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPVariable;
 import org.eclipse.cdt.internal.core.dom.parser.ASTAmbiguousNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
@@ -50,6 +61,9 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
  * Visitor to resolve AST ambiguities in the right order
  */
 final class CPPASTAmbiguityResolver extends ASTVisitor {
+	/** The number of function bodies resolved by a single task. */
+	private static final int BODIES_PER_TASK = 16;
+
 	private int fSkipInitializers = 0;
 	/*
 	 * The current nesting level of class definitions.
@@ -72,8 +86,28 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 	 */
 	private Stack<IASTFunctionDefinition> fProcessNow = new Stack<>();
 
+	/*
+	 * Function bodies that are resolved after the rest of the translation unit, or null
+	 * if function bodies are resolved in order.
+	 */
+	private List<IASTFunctionDefinition> fIndependentBodies;
+	private final int fParallelThreshold;
+
 	public CPPASTAmbiguityResolver() {
+		this(0);
+	}
+
+	/**
+	 * @param parallelThreshold the minimum number of bodies of functions defined at namespace scope
+	 *     for resolving them in parallel after the rest of the translation unit, see
+	 *     {@link #resolveIndependentBodies()}. 0 resolves all bodies in order.
+	 */
+	CPPASTAmbiguityResolver(int parallelThreshold) {
 		super(false);
+		fParallelThreshold = parallelThreshold;
+		if (parallelThreshold > 0) {
+			fIndependentBodies = new ArrayList<>();
+		}
 		includeInactiveNodes = true;
 		shouldVisitAmbiguousNodes = true;
 		shouldVisitDeclarations = true;
@@ -173,6 +207,10 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 				// the remaining parts of the method (notably the body) until the end of the
 				// class declaration has been reached.
 				fDeferredNodes.add(decl);
+			} else if (fIndependentBodies != null && fProcessNow.isEmpty() && isIndependent(fdef)) {
+				// The body is resolved together with the other independent bodies after the rest
+				// of the translation unit.
+				fIndependentBodies.add(fdef);
 			} else {
 				// Otherwise, visit the remaining parts of the method now. To avoid duplicating
 				// code in CPPASTFunctionDefinition.accept(), call accept() on the entire
@@ -186,6 +224,194 @@ final class CPPASTAmbiguityResolver extends ASTVisitor {
 		return PROCESS_CONTINUE;
 	}
 
+	/**
+	 * Checks whether the ambiguities in the body of a function can be resolved independently of
+	 * the rest of the translation unit. This is not the case for functions whose bodies are needed
+	 * to determine types or values, i.e. for functions with deduced return types and for constexpr
+	 * functions, and for functions defined in classes, which may be processed on demand.
+	 */
+	private static boolean isIndependent(IASTFunctionDefinition fdef) {
+		final IASTNode parent = fdef.getParent();
+		if (!(parent instanceof IASTTranslationUnit || parent instanceof ICPPASTNamespaceDefinition
+				|| parent instanceof ICPPASTLinkageSpecification)) {
+			return false;
+		}
+		return !CPPASTFunctionDefinition.isBodyNeededForSemantics(fdef.getDeclSpecifier(),
+				(ICPPASTFunctionDeclarator) fdef.getDeclarator());
+	}
+
+	/**
+	 * Resolves the ambiguities in the function bodies that were skipped while visiting the
+	 * translation unit. When there are enough of them, they are processed in parallel on the
+	 * common fork/join pool, otherwise in order on the current thread.
+	 * <p>
+	 * The bodies do not depend on each other, such that the result of the resolution does not
+	 * depend on the order they are processed in. Before processing them in parallel, all names,
+	 * expressions and initial values of variables outside of the bodies are resolved, such that
+	 * the bodies share the state computed for the declarations they refer to instead of racing
+	 * to compute it.
+	 */
+	void resolveIndependentBodies() {
+		if (fIndependentBodies == null || fIndependentBodies.isEmpty())
+			return;
+		final List<IASTFunctionDefinition> bodies = fIndependentBodies;
+		fIndependentBodies = null;
+		if (bodies.size() < fParallelThreshold) {
+			for (IASTFunctionDefinition fdef : bodies) {
+				resolveBody(fdef);
+			}
+			return;
+		}
+		final IASTTranslationUnit tu = bodies.get(0).getTranslationUnit();
+		tu.accept(new SharedBindingCreator(new HashSet<>(bodies)));
+		final ThreadState state = new ThreadState();
+		ForkJoinPool.commonPool().invoke(new ResolveBodiesTask(bodies, 0, bodies.size(), state));
+	}
+
+	/**
+	 * Resolves the ambiguities of a function definition outside of a class definition.
+	 */
+	void resolveBody(IASTFunctionDefinition fdef) {
+		fProcessNow.push(fdef);
+		try {
+			fdef.accept(this);
+		} finally {
+			fProcessNow.pop();
+		}
+	}
+
+	/**
+	 * The thread local state of {@link CPPSemantics} of the thread resolving the translation unit,
+	 * the lookup point and whether promiscuous binding resolution is in use. It is established
+	 * for the worker threads while they resolve function bodies.
+	 */
+	private static class ThreadState {
+		final IASTNode fLookupPoint = CPPSemantics.getCurrentLookupPoint();
+		final boolean fPromiscuous = CPPSemantics.isUsingPromiscuousBindingResolution();
+
+		void run(Runnable runnable) {
+			final boolean wasPromiscuous = CPPSemantics.isUsingPromiscuousBindingResolution();
+			setPromiscuous(fPromiscuous);
+			if (fLookupPoint != null)
+				CPPSemantics.pushLookupPoint(fLookupPoint);
+			try {
+				runnable.run();
+			} finally {
+				if (fLookupPoint != null)
+					CPPSemantics.popLookupPoint();
+				setPromiscuous(wasPromiscuous);
+			}
+		}
+
+		private static void setPromiscuous(boolean value) {
+			if (value) {
+				CPPSemantics.enablePromiscuousBindingResolution();
+			} else {
+				CPPSemantics.disablePromiscuousBindingResolution();
+			}
+		}
+	}
+
+	/**
+	 * Resolves a range of function bodies, each worker thread uses its own resolver.
+	 */
+	private static class ResolveBodiesTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<IASTFunctionDefinition> fBodies;
+		private final int fFrom;
+		private final int fTo;
+		private final ThreadState fState;
+
+		ResolveBodiesTask(List<IASTFunctionDefinition> bodies, int from, int to, ThreadState state) {
+			fBodies = bodies;
+			fFrom = from;
+			fTo = to;
+			fState = state;
+		}
+
+		@Override
+		protected void compute() {
+			if (fTo - fFrom > BODIES_PER_TASK) {
+				int mid = (fFrom + fTo) >>> 1;
+				invokeAll(new ResolveBodiesTask(fBodies, fFrom, mid, fState),
+						new ResolveBodiesTask(fBodies, mid, fTo, fState));
+				return;
+			}
+			fState.run(() -> {
+				for (int i = fFrom; i < fTo; i++) {
+					new CPPASTAmbiguityResolver().resolveBody(fBodies.get(i));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Resolves the names and computes the evaluations and the initial values of variables outside
+	 * of the given function bodies. Names and expressions cache what they resolve to, the workers
+	 * must only read these caches for nodes that are not part of the body they process.
+	 */
+	private static class SharedBindingCreator extends ASTVisitor {
+		private final HashSet<IASTFunctionDefinition> fBodies;
+
+		SharedBindingCreator(HashSet<IASTFunctionDefinition> bodies) {
+			super(true);
+			shouldVisitImplicitNames = true;
+			shouldVisitImplicitDestructorNames = true;
+			fBodies = bodies;
+		}
+
+		@Override
+		public int visit(IASTDeclaration decl) {
+			if (isFriend(decl)) {
+				// Friends are resolved on demand, in the context of the class granting friendship.
+				return PROCESS_SKIP;
+			}
+			if (decl instanceof IASTFunctionDefinition && fBodies.contains(decl)) {
+				IASTFunctionDefinition fdef = (IASTFunctionDefinition) decl;
+				fdef.getDeclSpecifier().accept(this);
+				fdef.getDeclarator().accept(this);
+				return PROCESS_SKIP;
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			IBinding binding = name.resolveBinding();
+			if (name.isDeclaration() && binding instanceof ICPPVariable && !(binding instanceof ICPPParameter)) {
+				((ICPPVariable) binding).getInitialValue();
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTExpression expression) {
+			if (expression instanceof ICPPASTInitializerClause)
+				((ICPPASTInitializerClause) expression).getEvaluation();
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTInitializer initializer) {
+			if (initializer instanceof ICPPASTInitializerClause)
+				((ICPPASTInitializerClause) initializer).getEvaluation();
+			return PROCESS_CONTINUE;
+		}
+
+		private static boolean isFriend(IASTDeclaration decl) {
+			while (decl instanceof ICPPASTTemplateDeclaration) {
+				decl = ((ICPPASTTemplateDeclaration) decl).getDeclaration();
+			}
+			IASTDeclSpecifier declSpec = null;
+			if (decl instanceof IASTSimpleDeclaration) {
+				declSpec = ((IASTSimpleDeclaration) decl).getDeclSpecifier();
+			} else if (decl instanceof IASTFunctionDefinition) {
+				declSpec = ((IASTFunctionDefinition) decl).getDeclSpecifier();
+			}
+			return declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isFriend();
+		}
+	}
+
 	@Override
 	public int leave(IASTDeclaration declaration) {
 		if (fRepopulate.remove(declaration)) {
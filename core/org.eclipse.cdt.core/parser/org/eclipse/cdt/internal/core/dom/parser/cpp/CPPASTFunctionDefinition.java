@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDeclarator;
@@ -31,11 +32,14 @@ import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IScope;
 import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTConstructorChainInitializer;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTFunctionDeclarator;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTSimpleDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
+import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
@@ -55,6 +59,8 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 	private int memInitPos = -1;
 	private boolean fDeleted;
 	private boolean fDefaulted;
+	private volatile DeferredFunctionBody fDeferredBody;
+	private boolean fIsParsingDeferredBody;
 
 	public CPPASTFunctionDefinition() {
 	}
@@ -82,7 +88,8 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 			copy.setDeclarator((IASTFunctionDeclarator) ASTQueries.findTypeRelevantDeclarator(outer));
 		}
 
-		copy.setBody(bodyStatement == null ? null : bodyStatement.copy(style));
+		IASTStatement body = getBody();
+		copy.setBody(body == null ? null : body.copy(style));
 
 		for (ICPPASTConstructorChainInitializer initializer : getMemberInitializers()) {
 			copy.addMemberInitializer(initializer == null ? null : initializer.copy(style));
@@ -126,9 +133,78 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 
 	@Override
 	public IASTStatement getBody() {
+		if (fDeferredBody != null)
+			parseDeferredBody();
 		return bodyStatement;
 	}
 
+	/**
+	 * Sets the tokens of the body, which is parsed on first access. Until then the body is
+	 * represented by an empty compound statement.
+	 */
+	void setDeferredBody(DeferredFunctionBody body) {
+		assertNotFrozen();
+		fDeferredBody = body;
+	}
+
+	/**
+	 * Returns whether the body is yet to be parsed, see {@link #setDeferredBody(DeferredFunctionBody)}.
+	 */
+	public boolean isBodyDeferred() {
+		return fDeferredBody != null;
+	}
+
+	/**
+	 * Returns the first token of a body that is yet to be parsed, or {@code null}.
+	 * For testing purposes, only.
+	 */
+	public IToken getFirstDeferredBodyToken() {
+		final DeferredFunctionBody deferredBody = fDeferredBody;
+		return deferredBody == null ? null : deferredBody.getFirstToken();
+	}
+
+	private synchronized void parseDeferredBody() {
+		final DeferredFunctionBody deferredBody = fDeferredBody;
+		if (deferredBody == null || fIsParsingDeferredBody)
+			return;
+		fIsParsingDeferredBody = true;
+		try {
+			final CPPASTTranslationUnit tu = (CPPASTTranslationUnit) getTranslationUnit();
+			final IASTCompoundStatement body = deferredBody.parse(tu);
+			if (body != null) {
+				// The definition may already be frozen.
+				bodyStatement = body;
+				body.setParent(this);
+				body.setPropertyInParent(FUNCTION_BODY);
+				tu.resolveAmbiguities(this, body);
+				if (isFrozen()) {
+					((ASTNode) body).freezeSubtree();
+				}
+			}
+		} finally {
+			fDeferredBody = null;
+			fIsParsingDeferredBody = false;
+		}
+	}
+
+	/**
+	 * Checks whether the body of a function may be needed to compute the semantics of code outside
+	 * of the body. This is the case for constexpr functions and for functions with deduced return
+	 * types.
+	 */
+	static boolean isBodyNeededForSemantics(IASTDeclSpecifier declSpec, ICPPASTFunctionDeclarator dtor) {
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof ICPPASTSimpleDeclSpecifier) {
+			int type = ((ICPPASTSimpleDeclSpecifier) declSpec).getType();
+			if (type == ICPPASTSimpleDeclSpecifier.t_decltype_auto)
+				return true;
+			if (type == ICPPASTSimpleDeclSpecifier.t_auto && dtor.getTrailingReturnType() == null)
+				return true;
+		}
+		return false;
+	}
+
 	@Override
 	public void setBody(IASTStatement statement) {
 		assertNotFrozen();
@@ -222,7 +298,10 @@ public class CPPASTFunctionDefinition extends CPPASTAttributeOwner
 			}
 		}
 
-		if (bodyStatement != null && !bodyStatement.accept(action))
+		// The ambiguity resolution of the translation unit visits deferred bodies without parsing them.
+		final DeferredFunctionBody deferredBody = fDeferredBody;
+		final IASTStatement body = deferredBody != null && deferredBody.isParsedOnVisit() ? getBody() : bodyStatement;
+		if (body != null && !body.accept(action))
 			return false;
 
 		if (!acceptCatchHandlers(action))
@@ -15,11 +15,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
@@ -44,6 +46,10 @@ import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallRequest;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.Cost;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.EvalFixed;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ImplicitConversionRequest;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
@@ -52,19 +58,37 @@ import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
  * C++-specific implementation of a translation-unit.
  */
 public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPASTTranslationUnit, IASTAmbiguityParent {
+	/**
+	 * The default for {@link #setParallelAmbiguityResolutionThreshold(int)}, it can be set with
+	 * -Dorg.eclipse.cdt.core.parser.cpp.parallelAmbiguityResolution=<count>.
+	 */
+	private static final int DEFAULT_PARALLEL_AMBIGUITY_RESOLUTION_THRESHOLD = Integer
+			.getInteger("org.eclipse.cdt.core.parser.cpp.parallelAmbiguityResolution", 0); //$NON-NLS-1$
+
 	private CPPNamespaceScope fScope;
 	private ICPPNamespace fBinding;
 	private final CPPScopeMapper fScopeMapper;
 	private CPPASTAmbiguityResolver fAmbiguityResolver;
+	private int fParallelAmbiguityResolutionThreshold = DEFAULT_PARALLEL_AMBIGUITY_RESOLUTION_THRESHOLD;
 
-	// Caches.
-	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = new HashMap<>();
+	// Caches, the ambiguities of function bodies may be resolved in parallel.
+	private final Map<ICPPClassType, FinalOverriderMap> fFinalOverriderMapCache = Collections
+			.synchronizedMap(new HashMap<>());
 	// Cache for type instantiations. This is currently only used for instantiations of
 	// alias template instances, but its use could potentially be expanded to cover other
 	// instantiations. Note that class template instances are already cached by the
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
 	// cache instantiations of function types if we found it worthwhile.)
-	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = Collections
+			.synchronizedMap(new HashMap<>());
+	// Cache for the costs of implicit conversion sequences. Overload resolution for hot overload
+	// sets like operator<< computes the same conversions over and over again.
+	private final Map<ImplicitConversionRequest, Cost> fConversionCache = Collections
+			.synchronizedMap(new HashMap<>());
+	// Cache for the results of constexpr function calls, constexpr tables are often computed by
+	// calling the same function with the same arguments.
+	private final Map<ConstexprCallRequest, EvalFixed> fConstexprCallCache = Collections
+			.synchronizedMap(new HashMap<>());
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -239,10 +263,20 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		}
 	}
 
+	/**
+	 * The bodies of functions defined at namespace scope are resolved in parallel, when the
+	 * translation unit contains at least the given number of them. 0 resolves the translation
+	 * unit in order on a single thread.
+	 */
+	public void setParallelAmbiguityResolutionThreshold(int threshold) {
+		fParallelAmbiguityResolutionThreshold = threshold;
+	}
+
 	@Override
 	public void resolveAmbiguities() {
-		fAmbiguityResolver = new CPPASTAmbiguityResolver();
+		fAmbiguityResolver = new CPPASTAmbiguityResolver(fParallelAmbiguityResolutionThreshold);
 		accept(fAmbiguityResolver);
+		fAmbiguityResolver.resolveIndependentBodies();
 		// During ambiguity resolution, names can incorrectly get stuck with ProblemBindings.
 		// To prevent this, clear all ProblemBindings here, allowing name resolution for
 		// the affected names to be attempted again with a fully ambiguity-resolved AST.
@@ -255,6 +289,14 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return CPPVisitor.createType(typeid);
 	}
 
+	/**
+	 * Resolves the ambiguities in a function body that is parsed after the translation unit.
+	 */
+	void resolveAmbiguities(CPPASTFunctionDefinition fdef, IASTCompoundStatement body) {
+		new CPPASTAmbiguityResolver().resolveBody(fdef);
+		body.accept(new ProblemBindingClearer());
+	}
+
 	@Override
 	public void resolvePendingAmbiguities(IASTNode node) {
 		if (fAmbiguityResolver != null) {
@@ -270,6 +312,14 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fInstantiationCache;
 	}
 
+	public Map<ImplicitConversionRequest, Cost> getConversionCache() {
+		return fConversionCache;
+	}
+
+	public Map<ConstexprCallRequest, EvalFixed> getConstexprCallCache() {
+		return fConstexprCallCache;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
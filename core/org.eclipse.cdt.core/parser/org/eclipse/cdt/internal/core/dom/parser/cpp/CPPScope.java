@@ -46,6 +46,7 @@ import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.core.parser.util.ObjectSet;
+import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
 import org.eclipse.cdt.internal.core.dom.parser.ProblemBinding;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
@@ -200,7 +201,7 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 						IndexFilter filter = IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE;
 						final char[] nchars = lookup.getLookupKey();
 						IBinding[] bindings = lookup.isPrefixLookup()
-								? index.findBindingsForContentAssist(nchars, true, filter, null)
+								? ASTInternal.findBindingsForContentAssist(index, tu, nchars, filter, fileSet)
 								: index.findBindings(nchars, filter, null);
 						if (fileSet != null) {
 							bindings = fileSet.filterFileLocalBindings(bindings);
@@ -331,7 +332,8 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 	}
 
 	@Override
-	public final void populateCache() {
+	public synchronized final void populateCache() {
+		// Synchronized, since function bodies may be resolved in parallel.
 		if (!isCached) {
 			isCached = true; // set to true before doing the work, to avoid recursion
 			CPPSemantics.populateCache(this);
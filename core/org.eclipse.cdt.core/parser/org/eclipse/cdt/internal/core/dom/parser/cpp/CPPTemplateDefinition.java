@@ -94,7 +94,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
+	public synchronized final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
 		if (instances == null)
 			instances = new ObjectMap(2);
 		String key = ASTTypeUtil.getArgumentListString(arguments, true);
@@ -102,7 +102,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
+	public synchronized final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
 		if (instances != null) {
 			String key = ASTTypeUtil.getArgumentListString(arguments, true);
 			ICPPTemplateInstance cand = (ICPPTemplateInstance) instances.get(key);
@@ -145,7 +145,7 @@ public abstract class CPPTemplateDefinition extends PlatformObject
 	}
 
 	@Override
-	public ICPPTemplateInstance[] getAllInstances() {
+	public synchronized ICPPTemplateInstance[] getAllInstances() {
 		if (instances != null) {
 			ICPPTemplateInstance[] result = new ICPPTemplateInstance[instances.size()];
 			for (int i = 0; i < instances.size(); i++) {
@@ -62,7 +62,8 @@ public class CPPVariable extends PlatformObject implements ICPPInternalDeclaredV
 	private IASTName fDefinition;
 	private IASTName fDeclarations[]; // Allowed to have trailing nulls. Users must check or trim!
 	private IType fType;
-	private IValue fInitialValue = IntegralValue.NOT_INITIALIZED;
+	// Volatile, the initial value may be computed while function bodies are resolved in parallel.
+	private volatile IValue fInitialValue = IntegralValue.NOT_INITIALIZED;
 	private boolean fAllResolved;
 
 	/**
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
+import org.eclipse.cdt.core.dom.parser.cpp.ICPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * The tokens of a function body that is parsed when it is first accessed, see
+ * {@link ILanguage#OPTION_PARSE_FUNCTION_BODIES_LAZILY}. The tokens are copies of the ones
+ * delivered by the preprocessor, their offsets refer to the location map of the translation unit.
+ */
+final class DeferredFunctionBody {
+	/**
+	 * The settings of the parser that deferred the bodies of a translation unit.
+	 */
+	static final class Context {
+		final ICPPParserExtensionConfiguration fConfig;
+		final char[] fAdditionalNumericalSuffixes;
+		final boolean fSupportChar8TypeLiterals;
+		/*
+		 * Set after the translation unit has been parsed. The ambiguity resolution of the
+		 * translation unit must not cause the deferred bodies to be parsed.
+		 */
+		private volatile boolean fIsComplete;
+
+		Context(ICPPParserExtensionConfiguration config, char[] additionalNumericalSuffixes,
+				boolean supportChar8TypeLiterals) {
+			fConfig = config;
+			fAdditionalNumericalSuffixes = additionalNumericalSuffixes;
+			fSupportChar8TypeLiterals = supportChar8TypeLiterals;
+		}
+
+		void setComplete() {
+			fIsComplete = true;
+		}
+	}
+
+	/**
+	 * Replays the tokens of a function body.
+	 */
+	private static final class TokenReplay implements IScanner {
+		private final IToken[] fTokens;
+		private int fNext;
+
+		TokenReplay(IToken[] tokens) {
+			fTokens = tokens;
+		}
+
+		@Override
+		public IToken nextToken() throws EndOfFileException {
+			if (fNext == fTokens.length)
+				throw new EndOfFileException(fTokens[fTokens.length - 1].getEndOffset());
+			return fTokens[fNext++];
+		}
+
+		@Override
+		public Map<String, IMacroBinding> getMacroDefinitions() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public boolean isOnTopContext() {
+			return true;
+		}
+
+		@Override
+		public void cancel() {
+		}
+
+		@Override
+		public ILocationResolver getLocationResolver() {
+			return null;
+		}
+
+		@Override
+		public void setContentAssistMode(int offset) {
+		}
+
+		@Override
+		public void setSplitShiftROperator(boolean val) {
+		}
+
+		@Override
+		public void setComputeImageLocations(boolean val) {
+		}
+
+		@Override
+		public void setTrackIncludeExport(IncludeExportPatterns patterns) {
+		}
+
+		@Override
+		public void setProcessInactiveCode(boolean val) {
+		}
+
+		@Override
+		public void skipInactiveCode() {
+		}
+
+		@Override
+		public int getCodeBranchNesting() {
+			return 0;
+		}
+
+		@Override
+		public char[] getAdditionalNumericLiteralSuffixes() {
+			return null;
+		}
+	}
+
+	private final Context fContext;
+	private final IToken[] fTokens;
+
+	/**
+	 * @param context the settings of the parser
+	 * @param tokens the tokens of the body, starting with the opening and ending with the closing brace
+	 */
+	DeferredFunctionBody(Context context, IToken[] tokens) {
+		fContext = context;
+		fTokens = tokens;
+	}
+
+	/**
+	 * Returns the opening brace of the body, the tokens are linked up to the closing brace.
+	 */
+	IToken getFirstToken() {
+		return fTokens[0];
+	}
+
+	/**
+	 * Returns whether the body is parsed when the function definition is visited.
+	 */
+	boolean isParsedOnVisit() {
+		return fContext.fIsComplete;
+	}
+
+	/**
+	 * Parses the body, returns {@code null} if it cannot be parsed.
+	 */
+	IASTCompoundStatement parse(CPPASTTranslationUnit tu) {
+		return new GNUCPPSourceParser(new TokenReplay(fTokens), fContext).deferredFunctionBody(tu);
+	}
+}
@@ -162,6 +162,7 @@ import org.eclipse.cdt.core.dom.ast.gnu.cpp.IGPPASTArrayRangeDesignator;
 import org.eclipse.cdt.core.dom.parser.IExtensionToken;
 import org.eclipse.cdt.core.dom.parser.cpp.ICPPParserExtensionConfiguration;
 import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.parser.EndOfFileException;
 import org.eclipse.cdt.core.parser.IGCCToken;
 import org.eclipse.cdt.core.parser.IParserLogService;
@@ -170,6 +171,7 @@ import org.eclipse.cdt.core.parser.IScanner;
 import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.IToken.ContextSensitiveTokenType;
 import org.eclipse.cdt.core.parser.Keywords;
+import org.eclipse.cdt.core.parser.NullLogService;
 import org.eclipse.cdt.core.parser.ParserMode;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
@@ -187,6 +189,7 @@ import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguousStatement;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.BranchPoint;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.NameOrTemplateIDVariants.Variant;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
 
 /**
  * This is our implementation of the IParser interface, serving as a parser for
@@ -211,6 +214,7 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 	private final boolean supportGCCStyleDesignators;
 	private final boolean supportFoldExpression;
 	private final boolean supportChar8TypeLiterals;
+	private final ICPPParserExtensionConfiguration fConfig;
 
 	private final IIndex index;
 	protected ICPPASTTranslationUnit translationUnit;
@@ -224,6 +228,11 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 
 	private Map<String, ContextSensitiveTokenType> fContextSensitiveTokens;
 
+	/** The settings for function bodies that are parsed on first access, or {@code null}. */
+	private DeferredFunctionBody.Context fDeferredBodyContext;
+	/** The threshold for resolving function bodies in parallel, or -1 for the default. */
+	private int fParallelAmbiguityResolutionThreshold = -1;
+
 	public GNUCPPSourceParser(IScanner scanner, ParserMode mode, IParserLogService log,
 			ICPPParserExtensionConfiguration config) {
 		this(scanner, mode, log, config, null);
@@ -231,6 +240,21 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 
 	public GNUCPPSourceParser(IScanner scanner, ParserMode mode, IParserLogService log,
 			ICPPParserExtensionConfiguration config, IIndex index) {
+		this(scanner, mode, log, config, index, scanner.getAdditionalNumericLiteralSuffixes(),
+				scanner.getMacroDefinitions().containsKey("__cpp_char8_t")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a parser for a function body that has been deferred by another parser.
+	 */
+	GNUCPPSourceParser(IScanner scanner, DeferredFunctionBody.Context context) {
+		this(scanner, ParserMode.COMPLETE_PARSE, new NullLogService(), context.fConfig, null,
+				context.fAdditionalNumericalSuffixes, context.fSupportChar8TypeLiterals);
+	}
+
+	private GNUCPPSourceParser(IScanner scanner, ParserMode mode, IParserLogService log,
+			ICPPParserExtensionConfiguration config, IIndex index, char[] additionalNumericalSuffixes,
+			boolean supportChar8TypeLiterals) {
 		super(scanner, log, mode, CPPNodeFactory.getDefault(), config.supportStatementsInExpressions(),
 				config.supportTypeofUnaryExpressions(), config.supportAlignOfUnaryExpression(), config.supportKnRC(),
 				config.supportAttributeSpecifiers(), config.supportDeclspecSpecifiers(),
@@ -244,12 +268,44 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		functionCallCanBeLValue = true;
 		supportAutoTypeSpecifier = true;
 		supportUserDefinedLiterals = config.supportUserDefinedLiterals();
+		fConfig = config;
 		this.index = index;
 		scanner.setSplitShiftROperator(true);
 		fContextSensitiveTokens = createContextSensitiveTokenMap(config);
-		additionalNumericalSuffixes = scanner.getAdditionalNumericLiteralSuffixes();
+		this.additionalNumericalSuffixes = additionalNumericalSuffixes;
 		supportFoldExpression = true;
-		supportChar8TypeLiterals = scanner.getMacroDefinitions().containsKey("__cpp_char8_t"); //$NON-NLS-1$
+		this.supportChar8TypeLiterals = supportChar8TypeLiterals;
+	}
+
+	/**
+	 * Instructs the parser to create the nodes of function bodies only when they are accessed,
+	 * see {@link ILanguage#OPTION_PARSE_FUNCTION_BODIES_LAZILY}. Has no effect unless the
+	 * translation unit is parsed completely.
+	 */
+	public void setParseFunctionBodiesLazily(boolean value) {
+		if (value && mode == ParserMode.COMPLETE_PARSE) {
+			fDeferredBodyContext = new DeferredFunctionBody.Context(fConfig, additionalNumericalSuffixes,
+					supportChar8TypeLiterals);
+		} else {
+			fDeferredBodyContext = null;
+		}
+	}
+
+	/**
+	 * Sets the minimum number of bodies of functions defined at namespace scope for resolving
+	 * their ambiguities in parallel, see
+	 * {@link CPPASTTranslationUnit#setParallelAmbiguityResolutionThreshold(int)}.
+	 */
+	public void setParallelAmbiguityResolutionThreshold(int threshold) {
+		fParallelAmbiguityResolutionThreshold = threshold;
+	}
+
+	@Override
+	public IASTTranslationUnit parse() {
+		IASTTranslationUnit ast = super.parse();
+		if (fDeferredBodyContext != null)
+			fDeferredBodyContext.setComplete();
+		return ast;
 	}
 
 	@Override
@@ -3436,7 +3492,12 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		}
 
 		try {
-			IASTStatement body = handleFunctionBody();
+			IASTStatement body;
+			if (canDeferFunctionBody(fdef)) {
+				body = deferFunctionBody((CPPASTFunctionDefinition) fdef);
+			} else {
+				body = handleFunctionBody();
+			}
 			fdef.setBody(body);
 			setRange(fdef, firstOffset, calculateEndOffset(body));
 		} catch (BacktrackException bt) {
@@ -3465,6 +3526,76 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		return fdef;
 	}
 
+	private boolean canDeferFunctionBody(ICPPASTFunctionDefinition fdef) {
+		return fDeferredBodyContext != null && functionBodyCount == 0 && isActiveCode()
+				&& fdef instanceof CPPASTFunctionDefinition && !(fdef instanceof ICPPASTFunctionWithTryBlock)
+				&& !CPPASTFunctionDefinition.isBodyNeededForSemantics(fdef.getDeclSpecifier(),
+						(ICPPASTFunctionDeclarator) fdef.getDeclarator());
+	}
+
+	/**
+	 * Skips a function body and records its tokens, such that it can be parsed on first access.
+	 * Returns an empty compound statement with the range of the body.
+	 */
+	private IASTStatement deferFunctionBody(CPPASTFunctionDefinition fdef)
+			throws EndOfFileException, BacktrackException {
+		declarationMark = null;
+		final IToken first = LA(1);
+		final IToken last;
+		try {
+			last = skipOverCompoundStatement(false);
+		} catch (EndOfFileException e) {
+			// The body is incomplete, parse it now.
+			backup(first);
+			return handleFunctionBody();
+		}
+		List<IToken> tokens = new ArrayList<>();
+		Token previous = null;
+		for (IToken t = first;; t = t.getNext()) {
+			switch (t.getType()) {
+			case IToken.tINACTIVE_CODE_START:
+			case IToken.tINACTIVE_CODE_SEPARATOR:
+			case IToken.tINACTIVE_CODE_END:
+				backup(first);
+				return handleFunctionBody();
+			}
+			// Copy the tokens, the originals are linked to the rest of the token stream. The copies
+			// are linked to each other, the copy of the closing brace ends the chain.
+			Token copy = ((Token) t).clone();
+			copy.setNext(null);
+			if (previous != null)
+				previous.setNext(copy);
+			previous = copy;
+			tokens.add(copy);
+			if (t == last)
+				break;
+		}
+		IASTCompoundStatement cs = getNodeFactory().newCompoundStatement();
+		setRange(cs, first.getOffset(), last.getEndOffset());
+		fdef.setDeferredBody(
+				new DeferredFunctionBody(fDeferredBodyContext, tokens.toArray(new IToken[tokens.size()])));
+		return cs;
+	}
+
+	/**
+	 * Parses a function body from the tokens of a {@link DeferredFunctionBody}.
+	 *
+	 * @return the body, or {@code null} if it cannot be parsed.
+	 */
+	IASTCompoundStatement deferredFunctionBody(ICPPASTTranslationUnit tu) {
+		translationUnit = tu;
+		try {
+			return functionBody();
+		} catch (BacktrackException bt) {
+			final IASTNode n = bt.getNodeBeforeProblem();
+			return n instanceof IASTCompoundStatement ? (IASTCompoundStatement) n : null;
+		} catch (EndOfFileException e) {
+			return null;
+		} finally {
+			translationUnit = null;
+		}
+	}
+
 	/**
 	 * ctor-initializer:
 	 * 	  : mem-initializer-list
@@ -5600,6 +5731,10 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 	protected void setupTranslationUnit() throws DOMException {
 		translationUnit = getNodeFactory().newTranslationUnit(scanner);
 		translationUnit.setIndex(index);
+		if (fParallelAmbiguityResolutionThreshold >= 0 && translationUnit instanceof CPPASTTranslationUnit) {
+			((CPPASTTranslationUnit) translationUnit)
+					.setParallelAmbiguityResolutionThreshold(fParallelAmbiguityResolutionThreshold);
+		}
 
 		// Add built-in names to the scope.
 		if (builtinBindingsProvider != null) {
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.dom.parser.cpp;
 
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IType;
@@ -100,19 +102,36 @@ public interface ICPPEvaluation {
 	 */
 	public final class ConstexprEvaluationContext {
 		/**
-		 * The maximum number of steps allowed in a single constexpr evaluation.
-		 * This is used to prevent a buggy constexpr function from causing the
-		 * IDE to hang.
+		 * The maximum time a single constexpr evaluation may take. This is used to prevent a
+		 * buggy constexpr function from causing the IDE to hang. The time can be changed with
+		 * -Dorg.eclipse.cdt.core.parser.cpp.constexprEvaluationTimeout=&lt;milliseconds&gt;.
+		 */
+		public static final long TIMEOUT_NANOS = TimeUnit.MILLISECONDS
+				.toNanos(Long.getLong("org.eclipse.cdt.core.parser.cpp.constexprEvaluationTimeout", 250)); //$NON-NLS-1$
+
+		/**
+		 * The maximum nesting of constexpr function calls. Unlike the time limit, this protects
+		 * against running out of stack space. Each nested call of a function with a few statements
+		 * takes several kilobytes of stack, the limit leaves more than half of the default stack
+		 * of a worker thread to the code that started the evaluation.
 		 */
-		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
+		public static final int MAX_CALL_DEPTH = 128;
+
+		// Reading the clock on every step would be too expensive.
+		private static final int CLOCK_CHECK_INTERVAL = 256;
 
+		private final long fDeadline;
 		private int fStepsPerformed;
+		private int fCallDepth;
+		private boolean fTimedOut;
+		private boolean fCallDepthExceeded;
 
 		/**
 		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
 		 */
 		public ConstexprEvaluationContext() {
 			fStepsPerformed = 0;
+			fDeadline = System.nanoTime() + TIMEOUT_NANOS;
 		}
 
 		/**
@@ -121,7 +140,9 @@ public interface ICPPEvaluation {
 		 * @return this constexpr evaluation
 		 */
 		public ConstexprEvaluationContext recordStep() {
-			++fStepsPerformed;
+			if (++fStepsPerformed % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - fDeadline > 0) {
+				fTimedOut = true;
+			}
 			return this;
 		}
 
@@ -131,6 +152,43 @@ public interface ICPPEvaluation {
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns whether the time available for the constexpr evaluation has been used up.
+		 */
+		public boolean isTimedOut() {
+			return fTimedOut;
+		}
+
+		/**
+		 * Returns whether a constexpr function call has not been evaluated because of the
+		 * nesting of the calls.
+		 */
+		public boolean isCallDepthExceeded() {
+			return fCallDepthExceeded;
+		}
+
+		/**
+		 * Records the start of a constexpr function call.
+		 *
+		 * @return {@code false} if the call is nested too deeply to be evaluated, in which case
+		 *     {@link #exitCall()} must not be called.
+		 */
+		public boolean enterCall() {
+			if (fCallDepth >= MAX_CALL_DEPTH) {
+				fCallDepthExceeded = true;
+				return false;
+			}
+			fCallDepth++;
+			return true;
+		}
+
+		/**
+		 * Records the end of a constexpr function call.
+		 */
+		public void exitCall() {
+			fCallDepth--;
+		}
 	}
 
 	/**
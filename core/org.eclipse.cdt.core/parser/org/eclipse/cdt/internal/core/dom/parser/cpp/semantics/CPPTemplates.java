@@ -411,7 +411,7 @@ public class CPPTemplates {
 		IBinding owner = template.getOwner();
 		instance = createInstance(owner, template, tpMap, arguments);
 		if (instance instanceof ICPPFunction && SemanticUtil.isValidType(((ICPPFunction) instance).getType())) {
-			addInstance(template, arguments, instance);
+			instance = addInstance(template, arguments, instance, false);
 		}
 		return instance;
 	}
@@ -434,8 +434,7 @@ public class CPPTemplates {
 		}
 
 		instance = createInstance(partialSpec.getOwner(), partialSpec, tpMap, args);
-		addInstance(partialSpec, args, instance);
-		return instance;
+		return addInstance(partialSpec, args, instance, isDef);
 	}
 
 	/**
@@ -452,8 +451,7 @@ public class CPPTemplates {
 
 		IBinding owner = template.getOwner();
 		instance = createInstance(owner, template, context.getParameterMap(), arguments);
-		addInstance(template, arguments, instance);
-		return instance;
+		return addInstance(template, arguments, instance, isDef);
 	}
 
 	/**
@@ -482,13 +480,21 @@ public class CPPTemplates {
 	}
 
 	/**
-	 * Caches an instance with the template.
+	 * Caches an instance with the template and returns it. When another thread has cached an
+	 * instance for the same arguments in the meantime, that instance is returned instead, such
+	 * that all users of the template share the same instance.
 	 */
-	private static void addInstance(ICPPTemplateDefinition template, ICPPTemplateArgument[] args,
-			ICPPTemplateInstance instance) {
+	private static ICPPTemplateInstance addInstance(ICPPTemplateDefinition template, ICPPTemplateArgument[] args,
+			ICPPTemplateInstance instance, boolean forDefinition) {
 		if (template instanceof ICPPInstanceCache) {
-			((ICPPInstanceCache) template).addInstance(args, instance);
+			synchronized (template) {
+				ICPPTemplateInstance cached = getInstance(template, args, forDefinition);
+				if (cached != null)
+					return cached;
+				((ICPPInstanceCache) template).addInstance(args, instance);
+			}
 		}
+		return instance;
 	}
 
 	private static IBinding deferredInstance(ICPPPartiallySpecializable template, ICPPTemplateArgument[] arguments)
@@ -499,11 +505,11 @@ public class CPPTemplates {
 
 		if (template instanceof ICPPClassTemplate) {
 			instance = new CPPDeferredClassInstance((ICPPClassTemplate) template, arguments);
-			addInstance(template, arguments, instance);
+			instance = addInstance(template, arguments, instance, false);
 		}
 		if (template instanceof ICPPVariableTemplate) {
 			instance = new CPPDeferredVariableInstance((ICPPVariableTemplate) template, arguments);
-			addInstance(template, arguments, instance);
+			instance = addInstance(template, arguments, instance, false);
 		}
 		return instance;
 	}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Key for the cache of the results of constexpr function calls of a translation unit. A constexpr
+ * function can only modify objects that are passed to it by reference or pointer, calls with
+ * arguments that are all values are pure and their result depends on the values of the arguments,
+ * only.
+ */
+public class ConstexprCallRequest {
+	private final ICPPFunction function;
+	private final char[] arguments;
+	private final int hashCode;
+
+	private ConstexprCallRequest(ICPPFunction function, char[] arguments) {
+		this.function = function;
+		this.arguments = arguments;
+		this.hashCode = 31 * function.hashCode() + CharArrayUtils.hash(arguments);
+	}
+
+	/**
+	 * Creates the key for a call of the given function, or returns {@code null} if the result of
+	 * the call must not be cached.
+	 *
+	 * @param function the function being called
+	 * @param arguments the function evaluation followed by the arguments of the call
+	 * @param implicitThis the object a member function is called on, or {@code null}
+	 */
+	public static ConstexprCallRequest create(ICPPFunction function, ICPPEvaluation[] arguments,
+			ICPPEvaluation implicitThis) {
+		if (implicitThis != null || (function instanceof ICPPMethod && !((ICPPMethod) function).isStatic()))
+			return null;
+
+		SignatureBuilder builder = new SignatureBuilder();
+		try {
+			for (int i = 1; i < arguments.length; i++) {
+				ICPPEvaluation argument = arguments[i];
+				if (!(argument instanceof EvalFixed) || argument == EvalFixed.INCOMPLETE
+						|| argument.isValueDependent())
+					return null;
+				builder.marshalEvaluation(argument, true);
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+			return null;
+		}
+		return new ConstexprCallRequest(function, builder.getSignature());
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ConstexprCallRequest))
+			return false;
+		ConstexprCallRequest other = (ConstexprCallRequest) obj;
+		return function.equals(other.function) && Arrays.equals(arguments, other.arguments);
+	}
+}
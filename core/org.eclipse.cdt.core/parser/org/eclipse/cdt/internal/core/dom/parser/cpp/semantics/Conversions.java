@@ -32,9 +32,12 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 
 import java.math.BigInteger;
 import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IArrayType;
 import org.eclipse.cdt.core.dom.ast.IBasicType;
 import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
@@ -63,6 +66,7 @@ import org.eclipse.cdt.internal.core.dom.parser.ArithmeticConversion;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeContainer;
 import org.eclipse.cdt.internal.core.dom.parser.SizeofCalculator;
 import org.eclipse.cdt.internal.core.dom.parser.SizeofCalculator.SizeAndAlignment;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerToMemberType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPPointerType;
@@ -100,6 +104,36 @@ public class Conversions {
 	 */
 	public static Cost checkImplicitConversionSequence(IType target, IType exprType, ValueCategory valueCat,
 			UDCMode udc, Context ctx) throws DOMException {
+		Map<ImplicitConversionRequest, Cost> cache = getConversionCache();
+		ImplicitConversionRequest request = null;
+		if (cache != null && ImplicitConversionRequest.isCacheable(target, exprType)) {
+			request = new ImplicitConversionRequest(target, exprType, valueCat, udc, ctx);
+			Cost cost = cache.get(request);
+			if (cost != null) {
+				// Callers may modify the cost.
+				return cost.copy();
+			}
+		}
+		Cost cost = computeImplicitConversionSequence(target, exprType, valueCat, udc, ctx);
+		if (request != null) {
+			cache.put(request, cost.copy());
+		}
+		return cost;
+	}
+
+	private static Map<ImplicitConversionRequest, Cost> getConversionCache() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConversionCache();
+			}
+		}
+		return null;
+	}
+
+	private static Cost computeImplicitConversionSequence(IType target, IType exprType, ValueCategory valueCat,
+			UDCMode udc, Context ctx) throws DOMException {
 		final boolean isImpliedObject = ctx == Context.IMPLICIT_OBJECT_FOR_METHOD_WITHOUT_REF_QUALIFIER
 				|| ctx == Context.IMPLICIT_OBJECT_FOR_METHOD_WITH_REF_QUALIFIER;
 		if (isImpliedObject)
@@ -123,6 +123,28 @@ public class Cost {
 		fReferenceBinding = ReferenceBinding.NO_REF;
 	}
 
+	/**
+	 * Returns a copy of this cost that can be modified independently, {@link #NO_CONVERSION} is
+	 * returned as is.
+	 */
+	public Cost copy() {
+		if (this == NO_CONVERSION)
+			return this;
+		Cost result = new Cost(source, target, fRank);
+		result.fSecondStandardConversionRank = fSecondStandardConversionRank;
+		result.fAmbiguousUDC = fAmbiguousUDC;
+		result.fDeferredUDC = fDeferredUDC;
+		result.fQualificationAdjustments = fQualificationAdjustments;
+		result.fInheritanceDistance = fInheritanceDistance;
+		result.fImpliedObject = fImpliedObject;
+		result.fUserDefinedConversion = fUserDefinedConversion;
+		result.fReferenceBinding = fReferenceBinding;
+		result.fCouldNarrow = fCouldNarrow;
+		result.fListInitializationTarget = fListInitializationTarget;
+		result.fSelectedFunction = fSelectedFunction;
+		return result;
+	}
+
 	public final Rank getRank() {
 		return fRank;
 	}
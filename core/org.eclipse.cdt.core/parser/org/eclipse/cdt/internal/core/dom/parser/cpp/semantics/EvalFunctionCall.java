@@ -22,10 +22,14 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
+import org.eclipse.cdt.core.dom.ast.IBasicType;
+import org.eclipse.cdt.core.dom.ast.IBasicType.Kind;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IFunctionType;
 import org.eclipse.cdt.core.dom.ast.IPointerType;
@@ -43,9 +47,12 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameter;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
+import org.eclipse.cdt.internal.core.dom.parser.ArithmeticConversion;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
 import org.eclipse.cdt.internal.core.dom.parser.DependentValue;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClosureType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
@@ -187,10 +194,14 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public IValue getValue() {
-		ICPPEvaluation eval = evaluateFunctionBody(new ConstexprEvaluationContext());
+		ConstexprEvaluationContext context = new ConstexprEvaluationContext();
+		ICPPEvaluation eval = evaluateFunctionBody(context);
 		if (eval == this) {
 			return DependentValue.create(eval);
 		}
+		if (context.isCallDepthExceeded()) {
+			return IntegralValue.ERROR;
+		}
 		return eval.getValue();
 	}
 
@@ -279,7 +290,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.isTimedOut()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -348,6 +359,38 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		Map<ConstexprCallRequest, EvalFixed> cache = getConstexprCallCache();
+		ConstexprCallRequest request = null;
+		if (cache != null) {
+			request = ConstexprCallRequest.create(function, fArguments, getImplicitThis());
+			if (request != null) {
+				EvalFixed result = cache.get(request);
+				if (result != null) {
+					// The value may be modified by the caller.
+					return copy(result);
+				}
+			}
+		}
+
+		if (!context.enterCall())
+			return EvalFixed.INCOMPLETE;
+		ICPPEvaluation result;
+		try {
+			result = executeFunctionBody(function, context);
+		} finally {
+			context.exitCall();
+		}
+		if (overflowsReturnType(function, result))
+			return EvalFixed.INCOMPLETE;
+		// A result computed after hitting one of the limits may be incomplete.
+		if (request != null && result != EvalFixed.INCOMPLETE && result.getValueCategory() == ValueCategory.PRVALUE
+				&& !result.isValueDependent() && !context.isTimedOut() && !context.isCallDepthExceeded()) {
+			cache.put(request, new EvalFixed(result.getType(), ValueCategory.PRVALUE, result.getValue().clone()));
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
@@ -387,6 +430,36 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		return EvalFixed.INCOMPLETE;
 	}
 
+	/**
+	 * Signed integer overflow is undefined behavior, so a call returning a value that doesn't fit
+	 * into the signed return type of the function is not a constant expression.
+	 */
+	private static boolean overflowsReturnType(ICPPFunction function, ICPPEvaluation result) {
+		IType returnType = SemanticUtil.getNestedType(function.getType().getReturnType(), TDEF | CVTYPE);
+		if (!(returnType instanceof IBasicType))
+			return false;
+		IBasicType basicType = (IBasicType) returnType;
+		if (basicType.getKind() != Kind.eInt || basicType.isUnsigned())
+			return false;
+		Number value = result.getValue().numberValue();
+		return value instanceof Long && !ArithmeticConversion.fitsIntoType(basicType, value.longValue());
+	}
+
+	private static EvalFixed copy(EvalFixed eval) {
+		return new EvalFixed(eval.getType(), eval.getValueCategory(), eval.getValue().clone());
+	}
+
+	private static Map<ConstexprCallRequest, EvalFixed> getConstexprCallCache() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
 	public ICPPFunction resolveFunctionBinding() {
 		ICPPFunction function = getOverload();
 		if (function == null) {
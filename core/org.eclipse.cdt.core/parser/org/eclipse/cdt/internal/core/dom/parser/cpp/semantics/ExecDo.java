@@ -30,7 +30,7 @@ public class ExecDo implements ICPPExecution {
 	@Override
 	public ICPPExecution executeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
 		do {
-			if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+			if (context.isTimedOut()) {
 				return ExecIncomplete.INSTANCE;
 			}
 
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Objects;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
+import org.eclipse.cdt.core.dom.ast.IArrayType;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IQualifierType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPPointerToMemberType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalBinding;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.Conversions.Context;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.Conversions.UDCMode;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Key for the cache of implicit conversion sequences of a translation unit, see
+ * {@link Conversions#checkImplicitConversionSequence(IType, IType, ValueCategory, UDCMode, Context)}.
+ */
+public class ImplicitConversionRequest {
+	private final IType target;
+	private final IType source;
+	private final ValueCategory valueCategory;
+	private final UDCMode udc;
+	private final Context context;
+	private int hashCode;
+
+	public ImplicitConversionRequest(IType target, IType source, ValueCategory valueCategory, UDCMode udc,
+			Context context) {
+		this.target = target;
+		this.source = source;
+		this.valueCategory = valueCategory;
+		this.udc = udc;
+		this.context = context;
+	}
+
+	/**
+	 * Checks whether the cost of a conversion between the given types does not depend on the
+	 * point of the translation unit it is computed for. This is not the case for dependent types,
+	 * for types that carry an expression like initializer lists and function sets, for the unique
+	 * types of partial ordering and for types involving classes whose definition has not yet been seen.
+	 */
+	public static boolean isCacheable(IType target, IType source) {
+		return isCacheable(target) && isCacheable(source) && !CPPTemplates.isDependentType(target)
+				&& !CPPTemplates.isDependentType(source);
+	}
+
+	private static boolean isCacheable(IType type) {
+		while (true) {
+			if (type instanceof ITypedef) {
+				type = ((ITypedef) type).getType();
+			} else if (type instanceof ICPPPointerToMemberType) {
+				if (!isCacheable(((ICPPPointerToMemberType) type).getMemberOfClass()))
+					return false;
+				type = ((ICPPPointerToMemberType) type).getType();
+			} else if (type instanceof IPointerType) {
+				type = ((IPointerType) type).getType();
+			} else if (type instanceof ICPPReferenceType) {
+				type = ((ICPPReferenceType) type).getType();
+			} else if (type instanceof IQualifierType) {
+				type = ((IQualifierType) type).getType();
+			} else if (type instanceof IArrayType) {
+				type = ((IArrayType) type).getType();
+			} else if (type instanceof ICPPFunctionType) {
+				ICPPFunctionType ft = (ICPPFunctionType) type;
+				for (IType parameterType : ft.getParameterTypes()) {
+					if (!isCacheable(parameterType))
+						return false;
+				}
+				type = ft.getReturnType();
+			} else if (type instanceof InitializerListType || type instanceof FunctionSetType
+					|| type instanceof UniqueType) {
+				return false;
+			} else {
+				return type == null || isComplete(type);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a class of the AST has been defined, a conversion involving a class that is
+	 * defined later in the translation unit may have a different cost after the definition.
+	 */
+	private static boolean isComplete(IType type) {
+		IBinding binding = type instanceof IBinding ? (IBinding) type : null;
+		while (binding instanceof ICPPClassType && binding instanceof ICPPInternalBinding) {
+			if (((ICPPInternalBinding) binding).getDefinition() != null)
+				return true;
+			// Implicit instances and the members of class templates are defined by their template.
+			if (!(binding instanceof ICPPSpecialization) || binding instanceof ICPPTemplateInstance
+					&& ((ICPPTemplateInstance) binding).isExplicitSpecialization()) {
+				return false;
+			}
+			binding = ((ICPPSpecialization) binding).getSpecializedBinding();
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		if (hashCode == 0) {
+			SignatureBuilder builder = new SignatureBuilder();
+			try {
+				builder.marshalType(target);
+				builder.marshalType(source);
+				int result = CharArrayUtils.hash(builder.getSignature());
+				hashCode = 31 * result + Objects.hash(valueCategory, udc, context);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+				hashCode = Integer.MIN_VALUE;
+			}
+		}
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ImplicitConversionRequest))
+			return false;
+		ImplicitConversionRequest other = (ImplicitConversionRequest) obj;
+		return valueCategory == other.valueCategory && udc == other.udc && context == other.context
+				&& target.isSameType(other.target) && source.isSameType(other.source);
+	}
+}
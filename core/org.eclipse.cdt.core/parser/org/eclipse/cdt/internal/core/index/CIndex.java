@@ -616,8 +616,14 @@ public class CIndex implements IIndex {
 	@Override
 	public IIndexBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException {
+		return findBindingsForContentAssist(prefix, filescope, filter, Integer.MAX_VALUE, monitor);
+	}
+
+	@Override
+	public IIndexBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
+			int limit, IProgressMonitor monitor) throws CoreException {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
-			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, monitor);
+			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, limit, monitor);
 		} else {
 			List<IIndexBinding[]> result = new ArrayList<>();
 			ILinkage[] linkages = Linkage.getIndexerLinkages();
@@ -627,7 +633,7 @@ public class CIndex implements IIndex {
 					for (int i = 0; i < fFragments.length; i++) {
 						try {
 							IBinding[] part = fFragments[i].findBindingsForContentAssist(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
+									retargetFilter(linkage, filter), limit, monitor);
 							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
 							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
 						} catch (CoreException e) {
@@ -639,7 +645,13 @@ public class CIndex implements IIndex {
 					result.add(factory.getCompositeBindings(fragmentBindings));
 				}
 			}
-			return flatten(result);
+			IIndexBinding[] bindings = flatten(result);
+			if (bindings.length > limit) {
+				// Keep the most relevant bindings of all fragments.
+				Arrays.sort(bindings, new ContentAssistBindingComparator(prefix));
+				bindings = Arrays.copyOf(bindings, limit);
+			}
+			return bindings;
 		}
 	}
 
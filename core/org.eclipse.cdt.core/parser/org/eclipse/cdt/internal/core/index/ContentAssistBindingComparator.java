@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.Comparator;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.pdom.db.ShortString;
+
+/**
+ * Orders the bindings found for a content assist prefix by relevance, such that a limited result
+ * keeps the most relevant ones. Like in the proposals, a binding named like the prefix comes first,
+ * followed by the bindings starting with the prefix in the same case. Bindings of equal relevance
+ * are ordered by name, as in the index.
+ */
+public final class ContentAssistBindingComparator implements Comparator<IBinding> {
+	private final char[] fPrefix;
+
+	public ContentAssistBindingComparator(char[] prefix) {
+		fPrefix = prefix;
+	}
+
+	@Override
+	public int compare(IBinding b1, IBinding b2) {
+		char[] name1 = b1.getNameCharArray();
+		char[] name2 = b2.getNameCharArray();
+		int cmp = Integer.compare(rank(name1), rank(name2));
+		if (cmp == 0) {
+			cmp = ShortString.compareCompatibleWithIgnoreCase(name1, name2);
+		}
+		return cmp;
+	}
+
+	private int rank(char[] name) {
+		if (CharArrayUtils.equals(name, fPrefix))
+			return 0;
+		if (name.length > fPrefix.length && CharArrayUtils.equals(name, 0, fPrefix.length, fPrefix))
+			return 1;
+		return 2;
+	}
+}
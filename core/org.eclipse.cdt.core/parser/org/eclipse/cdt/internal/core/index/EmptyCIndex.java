@@ -160,6 +160,12 @@ final public class EmptyCIndex implements IIndex {
 		return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
 	}
 
+	@Override
+	public IIndexBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
+			int limit, IProgressMonitor monitor) {
+		return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public IIndexBinding[] findBindings(char[][] names, IndexFilter filter, IProgressMonitor monitor) {
 		return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
@@ -268,6 +268,17 @@ public interface IIndexFragment {
 	IIndexFragmentBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Returns at most {@code limit} bindings that would be a valid completion for the given text.
+	 * The bindings accepted by the filter are searched in the order of their names, such that the
+	 * search can stop as soon as the limit is reached. When the bindings of several searches exceed
+	 * the limit, the most relevant ones are returned, see {@link ContentAssistBindingComparator}.
+	 * @param monitor for cancellation, may be <code>null</code>. When the search is cancelled, the
+	 *     bindings found so far are returned.
+	 */
+	IIndexFragmentBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
+			int limit, IProgressMonitor monitor) throws CoreException;
+
 	/**
 	 * Returns all macros with the given prefix or name, accepted by the given filter
 	 * @param monitor to report progress, may be <code>null</code>
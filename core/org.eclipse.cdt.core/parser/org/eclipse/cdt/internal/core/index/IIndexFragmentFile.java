@@ -41,6 +41,18 @@ public interface IIndexFragmentFile extends IIndexFile {
 	 */
 	void setContentsHash(long hash) throws CoreException;
 
+	/**
+	 * Returns the hash of the declarations the file provides to the files including it.
+	 * @return a hash or {@code 0} if it is unknown.
+	 */
+	long getDeclarationHash() throws CoreException;
+
+	/**
+	 * Sets the hash of the declarations the file provides to the files including it.
+	 * @param hash a hash or {@code 0} if it is unknown.
+	 */
+	void setDeclarationHash(long hash) throws CoreException;
+
 	/**
 	 * Returns the hash-code computed by combining the file size and the file encoding.
 	 * @return a hash-code or {@code 0} if it is unknown.
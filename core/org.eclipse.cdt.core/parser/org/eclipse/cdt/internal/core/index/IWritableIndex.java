@@ -112,6 +112,13 @@ public interface IWritableIndex extends IIndex {
 	 */
 	void clearUncommittedFile() throws CoreException;
 
+	/**
+	 * Looks up the bindings of the given names in the fragment storing the file with the given
+	 * location, without modifying the index. The bindings found are used by the next call to
+	 * {@link #setFileContent}. Caller needs to hold a read-lock.
+	 */
+	void prefetchBindings(int linkageID, IIndexFileLocation location, IASTName[][] names) throws CoreException;
+
 	/**
 	 * Adds content to the given file.
 	 */
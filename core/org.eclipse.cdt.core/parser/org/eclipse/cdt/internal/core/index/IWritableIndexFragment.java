@@ -80,6 +80,14 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	 */
 	void clearUncommittedFile() throws CoreException;
 
+	/**
+	 * Looks up the bindings of the given names in the linkage with the given id, without modifying
+	 * the fragment. The bindings found are used by the next call to {@link #addFileContent}, such
+	 * that it does not have to search for them while holding the write-lock. Caller needs to hold
+	 * a read-lock.
+	 */
+	void prefetchBindings(int linkageID, IASTName[][] names) throws CoreException;
+
 	/**
 	 * Adds includes, macros and names to the given file.
 	 */
@@ -78,15 +78,25 @@ public class IndexFactory {
 				new HashSet<IProject>());
 
 		HashMap<String, IIndexFragment> fragments = new LinkedHashMap<>();
+		HashMap<String, IIndexFragment> libraries = new LinkedHashMap<>();
 		for (ICProject cproject : indexProjects) {
 			IIndexFragment pdom = fPDOMManager.getPDOM(cproject);
 			if (pdom != null) {
 				safeAddFragment(fragments, pdom);
+				for (IIndexFragment shard : fPDOMManager.getPDOMShards(cproject)) {
+					safeAddFragment(fragments, shard);
+				}
+				// Projects sharing the library index add it once, it has the same fragment id.
+				safeAddFragment(libraries, fPDOMManager.getLibraryPDOM(cproject));
 				if (fragmentUsage != 0) {
 					safeAddProvidedFragments(cproject, fragments, fragmentUsage);
 				}
 			}
 		}
+		// Library indexes are locked after the indexes of all projects, in the same order as by the
+		// writable index of a project. Otherwise a reader holding the library could wait for a project
+		// locked by a writer that waits for the library.
+		fragments.putAll(libraries);
 		if (fragments.isEmpty()) {
 			return EmptyCIndex.INSTANCE;
 		}
@@ -101,7 +111,11 @@ public class IndexFactory {
 			throw new CoreException(CCorePlugin
 					.createStatus(NLS.bind(Messages.IndexFactory_errorNoSuchPDOM0, project.getElementName())));
 		}
-		return new WritableCIndex(pdom);
+		IWritableIndexFragment[] shards = fPDOMManager.getPDOMShards(project);
+		IWritableIndexFragment[] fragments = new IWritableIndexFragment[shards.length + 1];
+		fragments[0] = pdom;
+		System.arraycopy(shards, 0, fragments, 1, shards.length);
+		return new WritableCIndex(fragments, fPDOMManager.getLibraryPDOM(project));
 	}
 
 	private Collection<ICProject> getProjects(ICProject[] projects, boolean addDependencies, boolean addDependent,
@@ -15,6 +15,9 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.index;
 
+import java.net.URI;
+import java.util.Arrays;
+
 import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
@@ -25,17 +28,94 @@ import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+/**
+ * The writable index of a project. The index may be split into several shards, each file is
+ * stored in the shard its location is assigned to by {@link #getShard(IIndexFileLocation, int)}.
+ * Includes of files stored in other shards refer to files without content in the shard of the
+ * including file, the composite index resolves them to the files with content.
+ * <p>
+ * Optionally files outside of the workspace are stored in a library fragment, that is shared with
+ * the indexes of other projects and is not affected by clearing the index. The library fragment is
+ * locked last, like in the indexes created by {@link IndexFactory} for reading.
+ */
 public class WritableCIndex extends CIndex implements IWritableIndex {
+	private final IWritableIndexFragment[] fShards;
+	private final IWritableIndexFragment fLibrary;
+	/** The shards followed by the library fragment, if any. */
+	private final IWritableIndexFragment[] fWritableFragments;
+	private IWritableIndexFragment fUncommittedShard;
 	private boolean fIsWriteLocked;
 	private Object fThread;
 
 	public WritableCIndex(IWritableIndexFragment writable) {
-		super(new IWritableIndexFragment[] { writable });
+		this(new IWritableIndexFragment[] { writable });
+	}
+
+	/**
+	 * Creates an index for the given shards, the first one is the primary fragment.
+	 */
+	public WritableCIndex(IWritableIndexFragment[] shards) {
+		this(shards, null);
+	}
+
+	/**
+	 * Creates an index for the given shards and an optional library fragment for the files
+	 * outside of the workspace.
+	 */
+	public WritableCIndex(IWritableIndexFragment[] shards, IWritableIndexFragment library) {
+		this(shards, library, append(shards, library));
+	}
+
+	private WritableCIndex(IWritableIndexFragment[] shards, IWritableIndexFragment library,
+			IWritableIndexFragment[] fragments) {
+		super(fragments);
+		fShards = shards;
+		fLibrary = library;
+		fWritableFragments = fragments;
+	}
+
+	private static IWritableIndexFragment[] append(IWritableIndexFragment[] shards, IWritableIndexFragment library) {
+		if (library == null)
+			return shards;
+		IWritableIndexFragment[] result = Arrays.copyOf(shards, shards.length + 1);
+		result[shards.length] = library;
+		return result;
+	}
+
+	/**
+	 * Returns the shard a file is stored in. Files are partitioned by the folder they are
+	 * located in, such that the files of a folder are stored in the same shard.
+	 */
+	public static int getShard(IIndexFileLocation location, int shardCount) {
+		if (shardCount <= 1)
+			return 0;
+		final URI uri = location.getURI();
+		String path = uri.getPath();
+		if (path == null) {
+			path = uri.toString();
+		}
+		final String folder = path.substring(0, path.lastIndexOf('/') + 1);
+		return Math.floorMod(folder.hashCode(), shardCount);
 	}
 
 	@Override
 	public IWritableIndexFragment getWritableFragment() {
-		return (IWritableIndexFragment) getFragments()[0];
+		return fShards[0];
+	}
+
+	private IWritableIndexFragment getShard(IIndexFileLocation location) {
+		if (fLibrary != null && location.getFullPath() == null)
+			return fLibrary;
+		return fShards[getShard(location, fShards.length)];
+	}
+
+	private IWritableIndexFragment getShard(IIndexFragmentFile file) {
+		final IIndexFragment fragment = file.getIndexFragment();
+		for (IWritableIndexFragment shard : fWritableFragments) {
+			if (shard == fragment)
+				return shard;
+		}
+		throw new IllegalArgumentException();
 	}
 
 	@Override
@@ -46,58 +126,85 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 
 	@Override
 	public IIndexFragmentFile[] getWritableFiles(int linkageID, IIndexFileLocation location) throws CoreException {
-		return getWritableFragment().getFiles(linkageID, location);
+		return getShard(location).getFiles(linkageID, location);
 	}
 
 	@Override
 	public IIndexFragmentFile[] getWritableFiles(IIndexFileLocation location) throws CoreException {
-		return getWritableFragment().getFiles(location);
+		return getShard(location).getFiles(location);
 	}
 
 	@Override
 	public IIndexFragmentFile addFile(int linkageID, IIndexFileLocation location, ISignificantMacros macroDictionary)
 			throws CoreException {
-		return getWritableFragment().addFile(linkageID, location, macroDictionary);
+		return getShard(location).addFile(linkageID, location, macroDictionary);
 	}
 
 	@Override
 	public IIndexFragmentFile addUncommittedFile(int linkageID, IIndexFileLocation location,
 			ISignificantMacros macroDictionary) throws CoreException {
-		return getWritableFragment().addUncommittedFile(linkageID, location, macroDictionary);
+		fUncommittedShard = getShard(location);
+		return fUncommittedShard.addUncommittedFile(linkageID, location, macroDictionary);
 	}
 
 	@Override
 	public IIndexFragmentFile commitUncommittedFile() throws CoreException {
-		return getWritableFragment().commitUncommittedFile();
+		if (fUncommittedShard == null)
+			return null;
+		try {
+			return fUncommittedShard.commitUncommittedFile();
+		} finally {
+			fUncommittedShard = null;
+		}
 	}
 
 	@Override
 	public void clearUncommittedFile() throws CoreException {
-		getWritableFragment().clearUncommittedFile();
+		if (fUncommittedShard != null) {
+			try {
+				fUncommittedShard.clearUncommittedFile();
+			} finally {
+				fUncommittedShard = null;
+			}
+		}
+	}
+
+	@Override
+	public void prefetchBindings(int linkageID, IIndexFileLocation location, IASTName[][] names)
+			throws CoreException {
+		getShard(location).prefetchBindings(linkageID, names);
 	}
 
 	@Override
 	public void setFileContent(IIndexFragmentFile file, int linkageID, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver resolver,
 			YieldableIndexLock lock) throws CoreException, FailedToReAcquireLockException {
-		assert getWritableFragment() == file.getIndexFragment();
-
+		final IWritableIndexFragment shard = getShard(file);
 		for (IncludeInformation include : includes) {
 			if (include.fLocation != null) {
-				include.fTargetFile = addFile(linkageID, include.fLocation, include.fSignificantMacros);
+				// Includes are stored in the shard of the including file.
+				include.fTargetFile = shard.addFile(linkageID, include.fLocation, include.fSignificantMacros);
 			}
 		}
-		getWritableFragment().addFileContent(file, includes, macros, names, resolver, lock);
+		shard.addFileContent(file, includes, macros, names, resolver, lock);
 	}
 
 	@Override
 	public void clear() throws CoreException {
-		getWritableFragment().clear();
+		fShards[0].clear();
+		for (int i = 1; i < fShards.length; i++) {
+			// The owner of the index restores the properties of the primary fragment only.
+			final String id = fShards[i].getProperty(IIndexFragment.PROPERTY_FRAGMENT_ID);
+			fShards[i].clear();
+			if (id != null) {
+				fShards[i].setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, id);
+			}
+		}
 	}
 
 	@Override
 	public void clearFile(IIndexFragmentFile file) throws CoreException {
-		getWritableFragment().clearFile(file);
+		getShard(file).clearFile(file);
 	}
 
 	@Override
@@ -121,7 +228,20 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		checkThread();
 		assert !fIsWriteLocked : "Multiple write locks is not allowed"; //$NON-NLS-1$
 
-		getWritableFragment().acquireWriteLock(getReadLockCount(), monitor);
+		final int giveupReadLockCount = getReadLockCount();
+		int i = 0;
+		try {
+			for (; i < fWritableFragments.length; i++) {
+				fWritableFragments[i].acquireWriteLock(giveupReadLockCount, monitor);
+			}
+		} finally {
+			if (i < fWritableFragments.length) {
+				// Rollback.
+				while (--i >= 0) {
+					fWritableFragments[i].releaseWriteLock(giveupReadLockCount, false);
+				}
+			}
+		}
 		fIsWriteLocked = true;
 	}
 
@@ -142,7 +262,9 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		}
 
 		fIsWriteLocked = false;
-		getWritableFragment().releaseWriteLock(establishReadlockCount, flush);
+		for (int i = fWritableFragments.length; --i >= 0;) {
+			fWritableFragments[i].releaseWriteLock(establishReadlockCount, flush);
+		}
 
 		if (establishReadlockCount == 0) {
 			fThread = null;
@@ -166,12 +288,18 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 	@Override
 	public void flush() throws CoreException {
 		assert !fIsWriteLocked;
-		getWritableFragment().flush();
+		for (IWritableIndexFragment shard : fWritableFragments) {
+			shard.flush();
+		}
 	}
 
 	@Override
 	public long getDatabaseSizeBytes() {
-		return getWritableFragment().getDatabaseSizeBytes();
+		long result = 0;
+		for (IWritableIndexFragment shard : fShards) {
+			result += shard.getDatabaseSizeBytes();
+		}
+		return result;
 	}
 
 	@Override
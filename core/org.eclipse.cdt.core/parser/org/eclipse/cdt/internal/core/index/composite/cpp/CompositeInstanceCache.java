@@ -38,22 +38,44 @@ public class CompositeInstanceCache {
 			return (CompositeInstanceCache) cache;
 		}
 
-		CompositeInstanceCache newCache = new CompositeInstanceCache();
+		CIndex index = (CIndex) ((CPPCompositesFactory) cf).getContext();
+		CompositeInstanceCache newCache = new CompositeInstanceCache(index.getFragments(), fb);
 		newCache.populate(cf, fb);
 		return (CompositeInstanceCache) frag.putCachedResult(key, newCache, false);
 	}
 
 	private final HashMap<String, ICPPTemplateInstance> fMap;
 	private ICPPDeferredClassInstance fDeferredInstance;
+	/** The fragments of the index and the template, used as a key for the shared cache */
+	private final IIndexFragment[] fFragments;
+	private final IIndexFragmentBinding fTemplate;
 
 	public CompositeInstanceCache() {
+		this(null, null);
+	}
+
+	private CompositeInstanceCache(IIndexFragment[] fragments, IIndexFragmentBinding template) {
 		fMap = new HashMap<>();
+		fFragments = fragments;
+		fTemplate = template;
 	}
 
 	synchronized public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
 			fMap.put(key, instance);
+			if (fTemplate != null) {
+				SharedInstanceCache.getDefault().addInstance(fFragments, fTemplate, key, arguments, instance);
+			}
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+		} catch (DOMException e) {
+		}
+	}
+
+	private synchronized void addLocalInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
+		try {
+			fMap.put(IndexCPPSignatureUtil.getTemplateArgString(arguments, true), instance);
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -63,7 +85,15 @@ public class CompositeInstanceCache {
 	synchronized public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
-			return fMap.get(key);
+			ICPPTemplateInstance result = fMap.get(key);
+			if (result == null && fTemplate != null && SharedInstanceCache.isShareable(arguments)) {
+				// The instance may have been created for another translation unit.
+				result = SharedInstanceCache.getDefault().getInstance(fFragments, fTemplate, key);
+				if (result != null) {
+					fMap.put(key, result);
+				}
+			}
+			return result;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -77,7 +107,7 @@ public class CompositeInstanceCache {
 			if (ti instanceof IIndexFragmentBinding) {
 				ICPPTemplateInstance comp = (ICPPTemplateInstance) cf.getCompositeBinding((IIndexFragmentBinding) ti);
 				ICPPTemplateArgument[] args = comp.getTemplateArguments();
-				addInstance(args, comp);
+				addLocalInstance(args, comp);
 			}
 		}
 	}
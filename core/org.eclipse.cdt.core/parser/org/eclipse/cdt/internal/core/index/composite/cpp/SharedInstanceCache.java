@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index.composite.cpp;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IArrayType;
+import org.eclipse.cdt.core.dom.ast.IBasicType;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IPointerType;
+import org.eclipse.cdt.core.dom.ast.IQualifierType;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunctionType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPPointerToMemberType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPDeferredClassInstance;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.index.IIndexType;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+
+/**
+ * Process-wide cache of template instances. The per-thread caches of composite templates are
+ * discarded whenever an index lock is released, such that the same templates are instantiated
+ * again for every translation unit. This cache keeps instances of index templates with arguments
+ * that do not refer to any AST across translation units, as long as the index fragments the
+ * instance was created from are not changed. Adding files invalidates the instances as well, since
+ * for example a partial specialization may change the result of an instantiation.
+ */
+public final class SharedInstanceCache {
+	/**
+	 * The maximum number of cached instances can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.index.sharedInstanceCacheSize=<count>, 0 disables the cache.
+	 */
+	private static final int MAX_SIZE = Integer.getInteger("org.eclipse.cdt.core.parser.index.sharedInstanceCacheSize", //$NON-NLS-1$
+			20000);
+	private static final SharedInstanceCache INSTANCE = new SharedInstanceCache(MAX_SIZE);
+
+	private static final class Key {
+		final IIndexFragment[] fFragments;
+		final IIndexFragmentBinding fTemplate;
+		final String fArguments;
+		final int fHashCode;
+
+		Key(IIndexFragment[] fragments, IIndexFragmentBinding template, String arguments) {
+			fFragments = fragments;
+			fTemplate = template;
+			fArguments = arguments;
+			fHashCode = 31 * (31 * Arrays.hashCode(fragments) + template.hashCode()) + arguments.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fHashCode == other.fHashCode && fArguments.equals(other.fArguments)
+					&& fTemplate.equals(other.fTemplate) && Arrays.equals(fFragments, other.fFragments);
+		}
+	}
+
+	private static final class Entry {
+		final ICPPTemplateInstance fInstance;
+		final long fStamp;
+
+		Entry(ICPPTemplateInstance instance, long stamp) {
+			fInstance = instance;
+			fStamp = stamp;
+		}
+	}
+
+	private final int fMaxSize;
+	private final LinkedHashMap<Key, Entry> fMap;
+	private long fHitCount;
+	private long fMissCount;
+
+	public SharedInstanceCache(int maxSize) {
+		fMaxSize = maxSize;
+		fMap = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > fMaxSize;
+			}
+		};
+	}
+
+	public static SharedInstanceCache getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the cached instance of a template for arguments, or {@code null}.
+	 *
+	 * @param fragments the fragments of the index the template belongs to
+	 * @param template the representative binding of the template
+	 * @param arguments the argument string of the instance
+	 */
+	public ICPPTemplateInstance getInstance(IIndexFragment[] fragments, IIndexFragmentBinding template,
+			String arguments) {
+		if (fMaxSize <= 0)
+			return null;
+		final Key key = new Key(fragments, template, arguments);
+		final long stamp = getStamp(fragments);
+		synchronized (fMap) {
+			Entry entry = fMap.get(key);
+			if (entry != null) {
+				if (entry.fStamp == stamp) {
+					fHitCount++;
+					return entry.fInstance;
+				}
+				fMap.remove(key);
+			}
+			fMissCount++;
+			return null;
+		}
+	}
+
+	/**
+	 * Caches the instance of a template, provided it can be shared between translation units.
+	 */
+	public void addInstance(IIndexFragment[] fragments, IIndexFragmentBinding template, String arguments,
+			ICPPTemplateArgument[] args, ICPPTemplateInstance instance) {
+		if (fMaxSize <= 0 || instance instanceof ICPPDeferredClassInstance || !isShareable(args))
+			return;
+		final Key key = new Key(fragments, template, arguments);
+		final Entry entry = new Entry(instance, getStamp(fragments));
+		synchronized (fMap) {
+			fMap.put(key, entry);
+		}
+	}
+
+	public void clear() {
+		synchronized (fMap) {
+			fMap.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (fMap) {
+			return fMap.size();
+		}
+	}
+
+	public long getHitCount() {
+		synchronized (fMap) {
+			return fHitCount;
+		}
+	}
+
+	public long getMissCount() {
+		synchronized (fMap) {
+			return fMissCount;
+		}
+	}
+
+	/**
+	 * Computes a value that changes whenever one of the fragments is changed.
+	 */
+	private static long getStamp(IIndexFragment[] fragments) {
+		long stamp = 0;
+		for (IIndexFragment fragment : fragments) {
+			if (fragment instanceof PDOM) {
+				stamp += ((PDOM) fragment).getWriteGeneration();
+			} else {
+				stamp += fragment.getLastWriteAccess();
+			}
+		}
+		return stamp;
+	}
+
+	/**
+	 * Checks whether the arguments refer to index bindings and built-in types, only.
+	 */
+	public static boolean isShareable(ICPPTemplateArgument[] args) {
+		for (ICPPTemplateArgument arg : args) {
+			if (arg.isPackExpansion())
+				return false;
+			if (arg.isTypeValue()) {
+				if (!isShareable(arg.getTypeValue()))
+					return false;
+			} else if (arg.isNonTypeValue()) {
+				IValue value = arg.getNonTypeValue();
+				if (value == null || value.numberValue() == null || !isShareable(arg.getTypeOfNonTypeValue()))
+					return false;
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isShareable(IType type) {
+		while (true) {
+			if (type instanceof IIndexType || type instanceof IIndexBinding || type instanceof IBasicType)
+				return true;
+			if (type instanceof IBinding)
+				return false;
+			if (type instanceof ICPPFunctionType) {
+				ICPPFunctionType ft = (ICPPFunctionType) type;
+				for (IType parameterType : ft.getParameterTypes()) {
+					if (!isShareable(parameterType))
+						return false;
+				}
+				type = ft.getReturnType();
+			} else if (type instanceof ICPPPointerToMemberType) {
+				ICPPPointerToMemberType ptm = (ICPPPointerToMemberType) type;
+				if (!isShareable(ptm.getMemberOfClass()))
+					return false;
+				type = ptm.getType();
+			} else if (type instanceof IPointerType) {
+				type = ((IPointerType) type).getType();
+			} else if (type instanceof ICPPReferenceType) {
+				type = ((ICPPReferenceType) type).getType();
+			} else if (type instanceof IQualifierType) {
+				type = ((IQualifierType) type).getType();
+			} else if (type instanceof IArrayType) {
+				IValue size = ((IArrayType) type).getSize();
+				if (size != null && size.numberValue() == null)
+					return false;
+				type = ((IArrayType) type).getType();
+			} else {
+				return false;
+			}
+		}
+	}
+}
@@ -273,6 +273,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	private final ExpressionEvaluator fExpressionEvaluator;
 	private final MacroDefinitionParser fMacroDefinitionParser;
 	private final MacroExpander fMacroExpander;
+	private final MacroExpansionCache fMacroExpansionCache = MacroExpansionCache.SIZE > 0
+			? new MacroExpansionCache(MacroExpansionCache.SIZE)
+			: null;
 
 	// configuration
 	final private LexerOptions fLexOptions = new LexerOptions();
@@ -345,6 +348,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		fExpressionEvaluator = new ExpressionEvaluator(this);
 		fMacroDefinitionParser = new MacroDefinitionParser();
 		fMacroExpander = new MacroExpander(this, fMacroDictionary, fLocationMap, fLexOptions);
+		fMacroExpander.setExpansionCache(fMacroExpansionCache);
 		fIncludeFileResolutionHeuristics = fFileContentProvider.getIncludeHeuristics();
 
 		String contextPath = fFileContentProvider.getContextPath();
@@ -1604,6 +1608,13 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		}
 	}
 
+	private Lexer createLexer(AbstractCharArray source) {
+		final LexedTokensCache cache = LexedTokensCache.getDefault();
+		if (cache != null)
+			return cache.createLexer(source, fLexOptions, this, this);
+		return new Lexer(source, fLexOptions, this, this);
+	}
+
 	private void executeInclude(final Lexer lexer, int poundOffset, int includeType, boolean active,
 			boolean withinExpansion) throws OffsetLimitReachedException {
 		// Make sure to clear the extern include guard.
@@ -1782,8 +1793,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 			if (source != null) {
 				ILocationCtx ctx = fLocationMap.pushInclusion(poundOffset, nameOffsets[0], nameOffsets[1],
 						condEndOffset, source, path, headerName, userInclude, isHeuristic, fi.isSource());
-				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
-						new Lexer(source, fLexOptions, this, this));
+				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext, createLexer(source));
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
 				detectIncludeGuard(path, source, fctx);
 				fCurrentContext = fctx;
@@ -2209,9 +2219,13 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		}
 		final boolean contentAssist = fContentAssistLimit >= 0 && fCurrentContext == fRootContext;
 		final ITokenSequence input = stopAtNewline ? fLineInputToMacroExpansion : fInputToMacroExpansion;
-		final MacroExpander expander = withinExpansion
-				? new MacroExpander(this, fMacroDictionary, fLocationMap, fLexOptions)
-				: fMacroExpander;
+		final MacroExpander expander;
+		if (withinExpansion) {
+			expander = new MacroExpander(this, fMacroDictionary, fLocationMap, fLexOptions);
+			expander.setExpansionCache(fMacroExpansionCache);
+		} else {
+			expander = fMacroExpander;
+		}
 		TokenList replacement = expander.expand(input, options, macro, identifier, contentAssist, fCurrentContext);
 		final IASTName[] expansions = expander.clearImplicitExpansions();
 		final ImageLocationInfo[] ili = expander.clearImageLocationInfos();
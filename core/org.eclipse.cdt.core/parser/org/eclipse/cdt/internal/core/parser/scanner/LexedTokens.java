@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+
+/**
+ * The tokens, comments and problems the lexer produced for the contents of a file, in the order
+ * they were produced. Allows for replaying them without lexing the file again.
+ * <p>
+ * For each token it is recorded whether it was lexed inside of an include directive, the lexer
+ * stops replaying when the preprocessor asks for a different treatment of a token.
+ */
+final class LexedTokens {
+	// Token types are small, some of them negative.
+	static final int BLOCK_COMMENT = Integer.MIN_VALUE;
+	static final int LINE_COMMENT = Integer.MIN_VALUE + 1;
+	static final int PROBLEM = Integer.MIN_VALUE + 2;
+
+	private static final int DIGRAPH = 0x1;
+	private static final int INSIDE_INCLUDE_DIRECTIVE = 0x2;
+	private static final int FORMAT_VERSION = 1;
+
+	// Kind of the events, either a token type or one of the constants above.
+	private int[] fKinds;
+	private int[] fOffsets;
+	private int[] fEndOffsets;
+	// Flags of a token, the id of a problem.
+	private int[] fDetails;
+	// The image of a token with an image, the argument of a problem.
+	private char[][] fImages;
+	private int fSize;
+	private CharArrayMap<char[]> fImagePool;
+
+	LexedTokens() {
+		this(256);
+	}
+
+	private LexedTokens(int capacity) {
+		fKinds = new int[capacity];
+		fOffsets = new int[capacity];
+		fEndOffsets = new int[capacity];
+		fDetails = new int[capacity];
+		fImages = new char[capacity][];
+		fImagePool = new CharArrayMap<>();
+	}
+
+	/**
+	 * Returns the number of recorded events.
+	 */
+	int size() {
+		return fSize;
+	}
+
+	int getKind(int i) {
+		return fKinds[i];
+	}
+
+	/**
+	 * Returns whether the event at the given index is a token, rather than a comment or a problem.
+	 */
+	boolean isToken(int i) {
+		return fKinds[i] > PROBLEM;
+	}
+
+	int getOffset(int i) {
+		return fOffsets[i];
+	}
+
+	int getEndOffset(int i) {
+		return fEndOffsets[i];
+	}
+
+	int getProblemID(int i) {
+		return fDetails[i];
+	}
+
+	char[] getProblemArgument(int i) {
+		return fImages[i];
+	}
+
+	/**
+	 * Returns whether the token at the given index was lexed inside of an include directive.
+	 */
+	boolean isInsideIncludeDirective(int i) {
+		return (fDetails[i] & INSIDE_INCLUDE_DIRECTIVE) != 0;
+	}
+
+	/**
+	 * Creates a new token for the event at the given index, which must be a token.
+	 */
+	Token createToken(int i, Object source) {
+		final int kind = fKinds[i];
+		final char[] image = fImages[i];
+		if (image != null)
+			return new TokenWithImage(kind, source, fOffsets[i], fEndOffsets[i], image);
+		if ((fDetails[i] & DIGRAPH) != 0)
+			return new TokenForDigraph(kind, source, fOffsets[i], fEndOffsets[i]);
+		return new Token(kind, source, fOffsets[i], fEndOffsets[i]);
+	}
+
+	void addToken(Token token, boolean insideIncludeDirective) {
+		char[] image = null;
+		if (token instanceof TokenWithImage) {
+			image = pool(token.getCharImage());
+		}
+		int flags = insideIncludeDirective ? INSIDE_INCLUDE_DIRECTIVE : 0;
+		if (token instanceof TokenForDigraph) {
+			flags |= DIGRAPH;
+		}
+		add(token.getType(), token.getOffset(), token.getEndOffset(), flags, image);
+	}
+
+	void addComment(boolean isBlockComment, int offset, int endOffset) {
+		add(isBlockComment ? BLOCK_COMMENT : LINE_COMMENT, offset, endOffset, 0, null);
+	}
+
+	void addProblem(int problemID, char[] arg, int offset, int endOffset) {
+		add(PROBLEM, offset, endOffset, problemID, arg);
+	}
+
+	/**
+	 * Discards the events recorded after the given number of events.
+	 */
+	void truncate(int size) {
+		Arrays.fill(fImages, size, fSize, null);
+		fSize = size;
+	}
+
+	/**
+	 * Releases the memory that is needed for recording only, must be called after the end of
+	 * input has been recorded.
+	 */
+	void trimToSize() {
+		grow(fSize);
+		fImagePool = null;
+	}
+
+	private char[] pool(char[] image) {
+		char[] pooled = fImagePool.get(image);
+		if (pooled == null) {
+			fImagePool.put(image, image);
+			pooled = image;
+		}
+		return pooled;
+	}
+
+	private void add(int kind, int offset, int endOffset, int detail, char[] image) {
+		if (fSize == fKinds.length) {
+			grow(fSize * 2);
+		}
+		fKinds[fSize] = kind;
+		fOffsets[fSize] = offset;
+		fEndOffsets[fSize] = endOffset;
+		fDetails[fSize] = detail;
+		fImages[fSize] = image;
+		fSize++;
+	}
+
+	private void grow(int capacity) {
+		fKinds = Arrays.copyOf(fKinds, capacity);
+		fOffsets = Arrays.copyOf(fOffsets, capacity);
+		fEndOffsets = Arrays.copyOf(fEndOffsets, capacity);
+		fDetails = Arrays.copyOf(fDetails, capacity);
+		fImages = Arrays.copyOf(fImages, capacity);
+	}
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(fSize);
+		for (int i = 0; i < fSize; i++) {
+			out.writeInt(fKinds[i]);
+			out.writeInt(fOffsets[i]);
+			out.writeInt(fEndOffsets[i]);
+			out.writeInt(fDetails[i]);
+			final char[] image = fImages[i];
+			if (image == null) {
+				out.writeInt(-1);
+			} else {
+				out.writeInt(image.length);
+				for (char c : image) {
+					out.writeChar(c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads tokens written by {@link #write(DataOutputStream)}.
+	 * @return the tokens or {@code null} if they were written in a different format.
+	 */
+	static LexedTokens read(DataInputStream in) throws IOException {
+		if (in.readInt() != FORMAT_VERSION)
+			return null;
+		final int size = in.readInt();
+		LexedTokens result = new LexedTokens(size);
+		for (int i = 0; i < size; i++) {
+			result.fKinds[i] = in.readInt();
+			result.fOffsets[i] = in.readInt();
+			result.fEndOffsets[i] = in.readInt();
+			result.fDetails[i] = in.readInt();
+			final int length = in.readInt();
+			if (length >= 0) {
+				char[] image = new char[length];
+				for (int j = 0; j < length; j++) {
+					image[j] = in.readChar();
+				}
+				result.fImages[i] = result.pool(image);
+			}
+		}
+		result.fSize = size;
+		result.fImagePool = null;
+		if (size == 0 || result.fKinds[size - 1] != IToken.tEND_OF_INPUT)
+			throw new IOException("Incomplete token stream"); //$NON-NLS-1$
+		return result;
+	}
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+
+/**
+ * Cache for the tokens lexed from the contents of included files, shared by all preprocessors.
+ * The output of the lexer does not depend on macro definitions, the tokens are keyed by the hash
+ * and the length of the contents together with the options of the lexer. Parsing a file that
+ * has been parsed before, with whatever set of macros, creates the tokens from the cache instead
+ * of lexing the contents of the file again.
+ * <p>
+ * The cache keeps the most recently used token streams up to a total number of events in
+ * memory. When a directory is configured, token streams are in addition stored in and loaded
+ * from that directory, such that they survive restarts.
+ */
+public final class LexedTokensCache {
+	/**
+	 * Whether the cache is used, can be enabled with
+	 * -Dorg.eclipse.cdt.core.parser.tokenCache=true
+	 */
+	private static final boolean ENABLED = Boolean.getBoolean("org.eclipse.cdt.core.parser.tokenCache"); //$NON-NLS-1$
+	/**
+	 * Maximum number of tokens, comments and problems held in memory, can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.tokenCache.size=&lt;count&gt;
+	 */
+	private static final int SIZE = Integer.getInteger("org.eclipse.cdt.core.parser.tokenCache.size", 1024 * 1024); //$NON-NLS-1$
+	/**
+	 * Directory for storing the token streams on disk, can be set with
+	 * -Dorg.eclipse.cdt.core.parser.tokenCache.dir=&lt;path&gt;
+	 */
+	private static final String DIRECTORY = System.getProperty("org.eclipse.cdt.core.parser.tokenCache.dir"); //$NON-NLS-1$
+	private static final String FILE_EXTENSION = ".tokens"; //$NON-NLS-1$
+
+	private static final LexedTokensCache INSTANCE = ENABLED
+			? new LexedTokensCache(SIZE, DIRECTORY == null ? null : new File(DIRECTORY))
+			: null;
+
+	private static final class Key {
+		final long fHash;
+		final int fLength;
+		final int fOptions;
+
+		Key(long hash, int length, int options) {
+			fHash = hash;
+			fLength = length;
+			fOptions = options;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(fHash) + 31 * (fLength + 31 * fOptions);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fHash == other.fHash && fLength == other.fLength && fOptions == other.fOptions;
+		}
+
+		String getFileName() {
+			return Long.toHexString(fHash) + '-' + Integer.toHexString(fLength) + '-' + Integer.toHexString(fOptions)
+					+ FILE_EXTENSION;
+		}
+	}
+
+	private final int fMaxSize;
+	private final File fDirectory;
+	private final LinkedHashMap<Key, LexedTokens> fMap = new LinkedHashMap<>(16, 0.75f, true);
+	private int fSize;
+	private long fHits;
+	private long fMisses;
+
+	/**
+	 * Returns the shared cache, or {@code null} if the cache is disabled.
+	 */
+	public static LexedTokensCache getDefault() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param maxSize the maximum number of events held in memory.
+	 * @param directory the directory for storing the token streams, or {@code null}.
+	 */
+	public LexedTokensCache(int maxSize, File directory) {
+		fMaxSize = maxSize;
+		fDirectory = directory;
+	}
+
+	/**
+	 * Creates a lexer for the given input, which replays the cached tokens for the input or
+	 * records them for subsequent use.
+	 */
+	public Lexer createLexer(AbstractCharArray input, LexerOptions options, ILexerLog log, Object source) {
+		Lexer lexer = new Lexer(input, options, log, source);
+		if (input.hasError())
+			return lexer;
+
+		final Key key = new Key(input.getContentsHash(), input.getLength(), encode(options));
+		LexedTokens tokens = get(key);
+		if (tokens != null) {
+			lexer.replay(tokens);
+		} else {
+			lexer.record(recording -> put(key, recording));
+		}
+		return lexer;
+	}
+
+	private LexedTokens get(Key key) {
+		synchronized (fMap) {
+			LexedTokens tokens = fMap.get(key);
+			if (tokens != null) {
+				fHits++;
+				return tokens;
+			}
+		}
+		LexedTokens tokens = load(key);
+		synchronized (fMap) {
+			if (tokens != null) {
+				fHits++;
+				add(key, tokens);
+			} else {
+				fMisses++;
+			}
+		}
+		return tokens;
+	}
+
+	private void put(Key key, LexedTokens tokens) {
+		synchronized (fMap) {
+			add(key, tokens);
+		}
+		store(key, tokens);
+	}
+
+	private void add(Key key, LexedTokens tokens) {
+		if (tokens.size() > fMaxSize)
+			return;
+		LexedTokens old = fMap.put(key, tokens);
+		if (old != null) {
+			fSize -= old.size();
+		}
+		fSize += tokens.size();
+		for (Iterator<LexedTokens> it = fMap.values().iterator(); fSize > fMaxSize && it.hasNext();) {
+			fSize -= it.next().size();
+			it.remove();
+		}
+	}
+
+	private LexedTokens load(Key key) {
+		if (fDirectory == null)
+			return null;
+		File file = new File(fDirectory, key.getFileName());
+		if (!file.isFile())
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			return LexedTokens.read(in);
+		} catch (IOException e) {
+			// The file is incomplete or corrupt, it is replaced when the input is lexed.
+			return null;
+		}
+	}
+
+	private void store(Key key, LexedTokens tokens) {
+		if (fDirectory == null)
+			return;
+		try {
+			fDirectory.mkdirs();
+			Path target = new File(fDirectory, key.getFileName()).toPath();
+			Path tmp = Files.createTempFile(fDirectory.toPath(), null, null);
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+					tokens.write(out);
+				}
+				Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			// The tokens are not persisted, they are lexed again after a restart.
+		}
+	}
+
+	private static int encode(LexerOptions options) {
+		int result = 0;
+		if (options.fSupportDollarInIdentifiers)
+			result |= 0x1;
+		if (options.fSupportAtSignInIdentifiers)
+			result |= 0x2;
+		if (options.fSupportMinAndMax)
+			result |= 0x4;
+		if (options.fSupportSlashPercentComments)
+			result |= 0x8;
+		if (options.fSupportUTFLiterals)
+			result |= 0x10;
+		if (options.fSupportRawStringLiterals)
+			result |= 0x20;
+		if (options.fSupportUserDefinedLiterals)
+			result |= 0x40;
+		if (options.fSupportDigitSeparators)
+			result |= 0x80;
+		if (options.fSupportThreeWayComparisonOperator)
+			result |= 0x100;
+		return result;
+	}
+
+	/**
+	 * Returns the number of inputs for which cached tokens were found.
+	 */
+	public long getHits() {
+		synchronized (fMap) {
+			return fHits;
+		}
+	}
+
+	/**
+	 * Returns the number of inputs which had to be lexed.
+	 */
+	public long getMisses() {
+		synchronized (fMap) {
+			return fMisses;
+		}
+	}
+
+	public void clear() {
+		synchronized (fMap) {
+			fMap.clear();
+			fSize = 0;
+		}
+	}
+}
@@ -16,6 +16,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.parser.scanner;
 
+import java.util.function.Consumer;
+
 import org.eclipse.cdt.core.parser.IGCCToken;
 import org.eclipse.cdt.core.parser.IProblem;
 import org.eclipse.cdt.core.parser.IToken;
@@ -96,6 +98,13 @@ final public class Lexer implements ITokenSequence {
 	private Token fToken;
 	private Token fLastToken;
 
+	// Replaying or recording the tokens of the input
+	private LexedTokens fReplay;
+	private int fReplayIndex;
+	private int fReplayEndOffset;
+	private LexedTokens fRecording;
+	private Consumer<LexedTokens> fRecordingConsumer;
+
 	// For the few cases where we have to lookahead more than one character
 	private int fMarkPhase3Offset;
 	private int fMarkPhase3EndOffset;
@@ -111,6 +120,10 @@ final public class Lexer implements ITokenSequence {
 	private boolean fMarkInsideIncludeDirective;
 	private Token fMarkToken;
 	private Token fMarkLastToken;
+	private LexedTokens fMarkReplay;
+	private int fMarkReplayIndex;
+	private int fMarkReplayEndOffset;
+	private int fMarkRecordingSize;
 
 	public Lexer(char[] input, LexerOptions options, ILexerLog log, Object source) {
 		this(new CharArray(input), 0, input.length, options, log, source);
@@ -150,6 +163,8 @@ final public class Lexer implements ITokenSequence {
 	 */
 	public void setContentAssistMode(int offset) {
 		fSupportContentAssist = true;
+		fReplay = null;
+		fRecording = null;
 		if (isValidOffset(offset)) {
 			fLimit = offset;
 		}
@@ -162,6 +177,28 @@ final public class Lexer implements ITokenSequence {
 		return fSupportContentAssist;
 	}
 
+	/**
+	 * Makes the lexer return the given tokens, which must have been recorded for the same input
+	 * and options, rather than lexing the input. The lexer falls back to lexing the input when
+	 * it is used differently than during the recording.
+	 */
+	void replay(LexedTokens tokens) {
+		fReplay = tokens;
+		fReplayIndex = 0;
+		fReplayEndOffset = fStart;
+		fRecording = null;
+	}
+
+	/**
+	 * Makes the lexer record the tokens, comments and problems it produces. When the end of
+	 * input is reached, the recording is passed to the consumer.
+	 */
+	void record(Consumer<LexedTokens> consumer) {
+		fRecording = new LexedTokens();
+		fRecordingConsumer = consumer;
+		fReplay = null;
+	}
+
 	/**
 	 * Call this before consuming the name-token in the include directive. It causes the header-file
 	 * tokens to be created.
@@ -265,6 +302,78 @@ final public class Lexer implements ITokenSequence {
 	 * Computes the next token.
 	 */
 	private Token fetchToken() throws OffsetLimitReachedException {
+		if (fReplay != null) {
+			final Token t = replayToken();
+			if (t != null)
+				return t;
+		}
+		if (fRecording == null)
+			return lexToken();
+
+		final boolean insideIncludeDirective = fInsideIncludeDirective;
+		final Token t = lexToken();
+		final LexedTokens recording = fRecording;
+		if (recording != null) {
+			recording.addToken(t, insideIncludeDirective);
+			if (t.getType() == IToken.tEND_OF_INPUT) {
+				fRecording = null;
+				recording.trimToSize();
+				fRecordingConsumer.accept(recording);
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * Returns the next recorded token after reporting the comments and problems preceding it,
+	 * or {@code null} when the lexer has to continue with lexing the input.
+	 */
+	private Token replayToken() {
+		final LexedTokens tokens = fReplay;
+		int tokenIndex = fReplayIndex;
+		while (!tokens.isToken(tokenIndex)) {
+			tokenIndex++;
+		}
+		if (tokens.isInsideIncludeDirective(tokenIndex) != fInsideIncludeDirective) {
+			// Continue after the last token that was replayed.
+			fReplay = null;
+			fOffset = fEndOffset = fReplayEndOffset;
+			nextCharPhase3();
+			return null;
+		}
+		for (int i = fReplayIndex; i < tokenIndex; i++) {
+			final int offset = tokens.getOffset(i);
+			final int endOffset = tokens.getEndOffset(i);
+			switch (tokens.getKind(i)) {
+			case LexedTokens.BLOCK_COMMENT:
+				fLog.handleComment(true, offset, endOffset, fInput);
+				break;
+			case LexedTokens.LINE_COMMENT:
+				fLog.handleComment(false, offset, endOffset, fInput);
+				break;
+			case LexedTokens.PROBLEM:
+				fLog.handleProblem(tokens.getProblemID(i), tokens.getProblemArgument(i), offset, endOffset);
+				break;
+			}
+		}
+		final Token t = tokens.createToken(tokenIndex, fSource);
+		switch (t.getType()) {
+		case IToken.tEND_OF_INPUT:
+			// The end of input is returned for every further call.
+			fReplayIndex = tokenIndex;
+			break;
+		case Lexer.tNEWLINE:
+			fInsideIncludeDirective = false;
+			//$FALL-THROUGH$
+		default:
+			fReplayIndex = tokenIndex + 1;
+			break;
+		}
+		fReplayEndOffset = t.getEndOffset();
+		return t;
+	}
+
+	private Token lexToken() throws OffsetLimitReachedException {
 		while (true) {
 			final int start = fOffset;
 			final int c = fCharPhase3;
@@ -742,9 +851,19 @@ final public class Lexer implements ITokenSequence {
 	}
 
 	private void handleProblem(int problemID, char[] arg, int offset) {
+		if (fRecording != null) {
+			fRecording.addProblem(problemID, arg, offset, fOffset);
+		}
 		fLog.handleProblem(problemID, arg, offset, fOffset);
 	}
 
+	private void handleComment(boolean isBlockComment, int offset, int endOffset) {
+		if (fRecording != null) {
+			fRecording.addComment(isBlockComment, offset, endOffset);
+		}
+		fLog.handleComment(isBlockComment, offset, endOffset, fInput);
+	}
+
 	private Token headerName(final int start, final boolean expectQuotes) throws OffsetLimitReachedException {
 		int length = 1;
 		boolean done = false;
@@ -782,14 +901,14 @@ final public class Lexer implements ITokenSequence {
 				fEndOffset = pos;
 				if (nextCharPhase3() == '/') {
 					nextCharPhase3();
-					fLog.handleComment(true, start, fOffset, fInput);
+					handleComment(true, start, fOffset);
 					return;
 				}
 			}
 		}
 		fCharPhase3 = END_OF_INPUT;
 		fOffset = fEndOffset = pos;
-		fLog.handleComment(true, start, pos, fInput);
+		handleComment(true, start, pos);
 	}
 
 	private void lineComment(final int start) {
@@ -798,7 +917,7 @@ final public class Lexer implements ITokenSequence {
 			switch (c) {
 			case END_OF_INPUT:
 			case '\n':
-				fLog.handleComment(false, start, fOffset, fInput);
+				handleComment(false, start, fOffset);
 				return;
 			}
 			c = nextCharPhase3();
@@ -1476,6 +1595,10 @@ final public class Lexer implements ITokenSequence {
 		fMarkInsideIncludeDirective = fInsideIncludeDirective;
 		fMarkToken = fToken;
 		fMarkLastToken = fLastToken;
+		fMarkReplay = fReplay;
+		fMarkReplayIndex = fReplayIndex;
+		fMarkReplayEndOffset = fReplayEndOffset;
+		fMarkRecordingSize = fRecording != null ? fRecording.size() : -1;
 	}
 
 	public void restoreState() {
@@ -1485,5 +1608,16 @@ final public class Lexer implements ITokenSequence {
 		fInsideIncludeDirective = fMarkInsideIncludeDirective;
 		fToken = fMarkToken;
 		fLastToken = fMarkLastToken;
+		fReplay = fMarkReplay;
+		fReplayIndex = fMarkReplayIndex;
+		fReplayEndOffset = fMarkReplayEndOffset;
+		if (fRecording != null) {
+			if (fMarkRecordingSize >= 0) {
+				// The events after the saved state are recorded again.
+				fRecording.truncate(fMarkRecordingSize);
+			} else {
+				fRecording = null;
+			}
+		}
 	}
 }
@@ -88,11 +88,20 @@ public class MacroExpander {
 		public Token fetchFirst() throws OffsetLimitReachedException {
 			Token t = removeFirst();
 			if (t == null && fLexer != null) {
-				t = fLexer.currentToken();
-				if (t.getType() != IToken.tEND_OF_INPUT) {
-					fEndOffset = t.getEndOffset();
-					fLexer.nextToken();
+				if (fRecording != null) {
+					// The expansion depends on the input following the invocation.
+					fRecording.abort();
 				}
+				t = fetchFromLexer();
+			}
+			return t;
+		}
+
+		Token fetchFromLexer() throws OffsetLimitReachedException {
+			Token t = fLexer.currentToken();
+			if (t.getType() != IToken.tEND_OF_INPUT) {
+				fEndOffset = t.getEndOffset();
+				fLexer.nextToken();
 			}
 			return t;
 		}
@@ -115,6 +124,9 @@ public class MacroExpander {
 			}
 
 			if (fLexer != null) {
+				if (fRecording != null) {
+					fRecording.abort();
+				}
 				t = fLexer.currentToken();
 				while (t.getType() == Lexer.tNEWLINE) {
 					t = fLexer.nextToken();
@@ -143,6 +155,9 @@ public class MacroExpander {
 	private ScannerContext fReportMacros;
 	private boolean fReportUndefined;
 
+	private MacroExpansionCache fCache;
+	private MacroExpansionCache.Recording fRecording;
+
 	public MacroExpander(ILexerLog log, CharArrayMap<PreprocessorMacro> macroDictionary, LocationMap locationMap,
 			LexerOptions lexOptions) {
 		fDictionary = macroDictionary;
@@ -152,6 +167,13 @@ public class MacroExpander {
 		fLog = log;
 	}
 
+	/**
+	 * Sets the cache for the results of expansions, may be {@code null}.
+	 */
+	void setExpansionCache(MacroExpansionCache cache) {
+		fCache = cache;
+	}
+
 	/**
 	 * Expects that the identifier has been consumed, stores the result in the list provided.
 	 * @param scannerContext
@@ -179,6 +201,20 @@ public class MacroExpander {
 		TokenSource input = new TokenSource(lexer);
 		TokenList firstExpansion = new TokenList();
 
+		MacroExpansionCache.Key cacheKey = null;
+		if (fCache != null && !completionMode && !protectIntrinsics && !fLexOptions.fCreateImageLocations) {
+			cacheKey = createCacheKey(macro, input);
+			if (cacheKey != null) {
+				MacroExpansionCache.Entry entry = fCache.get(cacheKey, fDictionary);
+				if (entry != null) {
+					TokenList result = replay(entry);
+					fReportMacros = null;
+					return result;
+				}
+				fRecording = new MacroExpansionCache.Recording();
+			}
+		}
+
 		TokenList result;
 		try {
 			firstExpansion.append(new ExpansionBoundary(macro, true));
@@ -188,6 +224,10 @@ public class MacroExpander {
 			input.prepend(firstExpansion);
 
 			result = expandAll(input, forbidden, protectIntrinsics, null);
+			postProcessTokens(result);
+			if (fRecording != null) {
+				fCache.put(cacheKey, fRecording, result);
+			}
 		} catch (CompletionInMacroExpansionException e) {
 			// For content assist in macro expansions, we return the list of tokens of the
 			// parameter at the current cursor position and hope that they make sense if
@@ -195,12 +235,92 @@ public class MacroExpander {
 			// For a better solution one would have to perform the expansion with artificial
 			// parameters and then check where the completion token ends up in the expansion.
 			result = e.getParameterTokens().cloneTokens();
+			postProcessTokens(result);
+		} finally {
+			fRecording = null;
 		}
-		postProcessTokens(result);
 		fReportMacros = null;
 		return result;
 	}
 
+	/**
+	 * Reads the invocation of a macro from the input and creates the key for caching its
+	 * expansion. The tokens that are read remain in the input.
+	 *
+	 * @return the key or {@code null} if the expansion must not be cached.
+	 */
+	private MacroExpansionCache.Key createCacheKey(PreprocessorMacro macro, TokenSource input)
+			throws OffsetLimitReachedException {
+		if (macro.isDynamic())
+			return null;
+		if (!macro.isFunctionStyle())
+			return MacroExpansionCache.createKey(macro, input);
+
+		// Read the tokens up to the closing parenthesis in the same way as parseArguments() does.
+		final int argCount = macro.getParameterPlaceholderList().length;
+		final boolean hasVarargs = macro.hasVarArgs() != FunctionStyleMacro.NO_VAARGS;
+		int idx = 0;
+		int nesting = -1;
+		while (true) {
+			Token t = input.fLexer.currentToken();
+			switch (t.getType()) {
+			case IToken.tEND_OF_INPUT:
+			case IToken.tCOMPLETION:
+				return null;
+			}
+			input.append(input.fetchFromLexer());
+			switch (t.getType()) {
+			case Lexer.tNEWLINE:
+				continue;
+			case IToken.tLPAREN:
+				if (++nesting == 0) {
+					continue;
+				}
+				break;
+			case IToken.tRPAREN:
+				if (--nesting < 0) {
+					return MacroExpansionCache.createKey(macro, input);
+				}
+				break;
+			case IToken.tCOMMA:
+				if (nesting == 0) {
+					if (idx < argCount - 1) {
+						idx++;
+						continue;
+					} else if (!hasVarargs) {
+						return null;
+					}
+				}
+				break;
+			}
+			if (argCount == 0) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the tokens of a cached expansion and repeats the side effects of the expansion.
+	 */
+	private TokenList replay(MacroExpansionCache.Entry entry) {
+		// The invocation has been consumed.
+		for (PreprocessorMacro macro : entry.fImplicitExpansions) {
+			if (fLocationMap != null) {
+				fImplicitMacroExpansions.add(fLocationMap.encounterImplicitMacroExpansion(macro, null));
+			}
+		}
+		if (fReportMacros != null) {
+			for (Object significant : entry.fSignificantMacros) {
+				if (significant instanceof PreprocessorMacro) {
+					fReportMacros.significantMacro((PreprocessorMacro) significant);
+				} else if (fReportUndefined) {
+					fReportMacros.significantMacroUndefined((char[]) significant);
+				}
+			}
+		}
+		return entry.createTokens();
+	}
+
 	/**
 	 * Method for tracking macro expansions.
 	 * @since 5.0
@@ -259,14 +379,18 @@ public class MacroExpander {
 	private Token expandOne(Token lastConsumed, PreprocessorMacro macro,
 			IdentityHashMap<PreprocessorMacro, PreprocessorMacro> forbidden, TokenSource input, TokenList result,
 			MacroExpansionTracker tracker) throws OffsetLimitReachedException {
-		if (fReportMacros != null)
-			fReportMacros.significantMacro(macro);
+		reportSignificantMacro(macro);
+		if (fRecording != null && macro.isDynamic()) {
+			fRecording.abort();
+		}
 
 		if (macro.isFunctionStyle()) {
 			final int paramCount = macro.getParameterPlaceholderList().length;
 			final TokenSource[] argInputs = new TokenSource[paramCount];
-			final BitSet paramUsage = getParamUsage(macro);
+			BitSet paramUsage = ((FunctionStyleMacro) macro).getParameterUsage(fDefinitionParser, fLexOptions, this);
 			if (tracker != null) {
+				// The usage is shared by all expansions of the macro.
+				paramUsage = (BitSet) paramUsage.clone();
 				tracker.startFunctionStyleMacro(lastConsumed.clone());
 			}
 			try {
@@ -366,6 +490,9 @@ public class MacroExpander {
 			case IToken.tIDENTIFIER:
 				final char[] image = t.getCharImage();
 				PreprocessorMacro macro = fDictionary.get(image);
+				if (fRecording != null) {
+					fRecording.addDependency(image, macro);
+				}
 				if (protect || (tracker != null && tracker.isDone())) {
 					result.append(t);
 				} else if (protectIntrinsics && Arrays.equals(image, Keywords.cDEFINED)) {
@@ -384,12 +511,10 @@ public class MacroExpander {
 					result.append(t);
 				} else if (macro == null || (macro.isFunctionStyle() && !input.findLParenthesis())) {
 					// Tricky: Don't mark function-style macros if you don't find the left parenthesis
-					if (fReportMacros != null) {
-						if (macro != null) {
-							fReportMacros.significantMacro(macro);
-						} else if (fReportUndefined) {
-							fReportMacros.significantMacroUndefined(image);
-						}
+					if (macro != null) {
+						reportSignificantMacro(macro);
+					} else {
+						reportUndefinedMacro(image);
 					}
 					result.append(t);
 				} else if (forbidden.containsKey(macro)) {
@@ -403,6 +528,9 @@ public class MacroExpander {
 						}
 						fImplicitMacroExpansions.add(fLocationMap.encounterImplicitMacroExpansion(macro, info));
 					}
+					if (fRecording != null) {
+						fRecording.addImplicitExpansion(macro);
+					}
 					TokenList replacement = new TokenList();
 
 					addSpacemarker(l, t, replacement); // start expansion
@@ -602,11 +730,33 @@ public class MacroExpander {
 	}
 
 	private void handleProblem(int problemID, char[] arg) {
+		if (fRecording != null) {
+			fRecording.abort();
+		}
 		fLog.handleProblem(problemID, arg, fStartOffset, fEndOffset);
 	}
 
+	private void reportSignificantMacro(PreprocessorMacro macro) {
+		if (fRecording != null) {
+			fRecording.addSignificantMacro(macro);
+		}
+		if (fReportMacros != null) {
+			fReportMacros.significantMacro(macro);
+		}
+	}
+
+	private void reportUndefinedMacro(char[] name) {
+		if (fRecording != null) {
+			fRecording.addUndefinedMacro(name);
+		}
+		if (fReportMacros != null && fReportUndefined) {
+			fReportMacros.significantMacroUndefined(name);
+		}
+	}
+
 	private void replaceArgs(PreprocessorMacro macro, TokenList[] args, TokenList[] expandedArgs, TokenList result) {
-		TokenList replacement = clone(macro.getTokens(fDefinitionParser, fLexOptions, this));
+		TokenList replacement = new TokenList();
+		replacement.appendAll(macro.getTokens(fDefinitionParser, fLexOptions, this), macro);
 
 		Token l = null;
 		Token n;
@@ -776,54 +926,16 @@ public class MacroExpander {
 		return t != null && t.getType() == kind;
 	}
 
-	private BitSet getParamUsage(PreprocessorMacro macro) {
-		final BitSet result = new BitSet();
-		final TokenList replacement = macro.getTokens(fDefinitionParser, fLexOptions, this);
-
-		Token l = null;
-		Token n;
-		for (Token t = replacement.first(); t != null; l = t, t = n) {
-			n = (Token) t.getNext();
-			switch (t.getType()) {
-			case CPreprocessor.tMACRO_PARAMETER:
-				int idx = 2 * ((TokenParameterReference) t).getIndex();
-				if (!isKind(n, IToken.tPOUNDPOUND)) {
-					idx++;
-				}
-				result.set(idx);
-				break;
-
-			case IToken.tPOUND:
-				if (isKind(n, CPreprocessor.tMACRO_PARAMETER)) {
-					idx = ((TokenParameterReference) n).getIndex();
-					result.set(2 * idx);
-					t = n;
-					n = (Token) n.getNext();
-				}
-				break;
-
-			case IToken.tPOUNDPOUND:
-				if (isKind(n, CPreprocessor.tMACRO_PARAMETER)) {
-					idx = ((TokenParameterReference) n).getIndex();
-					// gcc-extension
-					if (isKind(l, IToken.tCOMMA) && macro.hasVarArgs() != FunctionStyleMacro.NO_VAARGS
-							&& idx == macro.getParameterPlaceholderList().length - 1
-							&& !isKind(n.getNext(), IToken.tPOUNDPOUND)) {
-						result.set(2 * idx + 1);
-					} else {
-						result.set(2 * idx);
-					}
-					t = n;
-					n = (Token) n.getNext();
-				}
-				break;
-			}
-		}
-		return result;
-	}
-
 	private void objStyleTokenPaste(PreprocessorMacro macro, TokenList result) {
-		TokenList replacement = clone(macro.getTokens(fDefinitionParser, fLexOptions, this));
+		final PackedTokens tokens = macro.getTokens(fDefinitionParser, fLexOptions, this);
+		// The tokens of dynamic macros are not part of a replacement list.
+		final Object source = macro.isDynamic() ? null : macro;
+		if (!tokens.hasTokenPaste()) {
+			result.appendAll(tokens, source);
+			return;
+		}
+		TokenList replacement = new TokenList();
+		replacement.appendAll(tokens, source);
 
 		Token l = null;
 		Token n;
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.parser.util.CharArrayMap;
+
+/**
+ * Cache for the results of macro expansions within a translation unit. The result of expanding
+ * a macro depends on the tokens of the invocation and on the definitions of the macros that are
+ * looked up during the expansion, only. An entry records these definitions, it is discarded when
+ * one of them has been changed by a {@code #define} or an {@code #undef}.
+ * <p>
+ * Expansions that report problems, that involve dynamic macros like {@code __LINE__} or that
+ * need to look at the input following the invocation are not cached.
+ */
+final class MacroExpansionCache {
+	/**
+	 * The maximum number of cached expansions can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.macroExpansionCache.size=&lt;count&gt;, 0 disables the cache.
+	 */
+	static final int SIZE = Integer.getInteger("org.eclipse.cdt.core.parser.macroExpansionCache.size", 4096); //$NON-NLS-1$
+
+	/**
+	 * A macro together with the tokens of its invocation.
+	 */
+	static final class Key {
+		final PreprocessorMacro fMacro;
+		final String fInvocation;
+
+		Key(PreprocessorMacro macro, String invocation) {
+			fMacro = macro;
+			fInvocation = invocation;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(fMacro) + fInvocation.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return fMacro == other.fMacro && fInvocation.equals(other.fInvocation);
+		}
+	}
+
+	/**
+	 * Collects the information needed for caching while a macro is expanded.
+	 */
+	static final class Recording {
+		private final CharArrayMap<PreprocessorMacro> fDependencies = new CharArrayMap<>();
+		private final ArrayList<PreprocessorMacro> fImplicitExpansions = new ArrayList<>();
+		// A macro that is significant, or the name of an undefined macro.
+		private final ArrayList<Object> fSignificantMacros = new ArrayList<>();
+		private boolean fAborted;
+
+		/**
+		 * Marks the expansion as not cacheable.
+		 */
+		void abort() {
+			fAborted = true;
+		}
+
+		boolean isAborted() {
+			return fAborted;
+		}
+
+		/**
+		 * Records the result of looking up a name in the macro dictionary.
+		 */
+		void addDependency(char[] name, PreprocessorMacro macro) {
+			if (!fDependencies.containsKey(name)) {
+				fDependencies.put(name, macro);
+			}
+		}
+
+		void addImplicitExpansion(PreprocessorMacro macro) {
+			fImplicitExpansions.add(macro);
+		}
+
+		void addSignificantMacro(PreprocessorMacro macro) {
+			fSignificantMacros.add(macro);
+		}
+
+		void addUndefinedMacro(char[] name) {
+			fSignificantMacros.add(name);
+		}
+	}
+
+	/**
+	 * A cached expansion.
+	 */
+	static final class Entry {
+		private final TokenList fTokens;
+		private final char[][] fDependencyNames;
+		private final PreprocessorMacro[] fDependencies;
+		final PreprocessorMacro[] fImplicitExpansions;
+		final Object[] fSignificantMacros;
+
+		Entry(Recording recording, TokenList tokens) {
+			fTokens = tokens.cloneTokens();
+			final int size = recording.fDependencies.size();
+			fDependencyNames = new char[size][];
+			fDependencies = new PreprocessorMacro[size];
+			int i = 0;
+			for (char[] name : recording.fDependencies.keys()) {
+				fDependencyNames[i] = name;
+				fDependencies[i] = recording.fDependencies.get(name);
+				i++;
+			}
+			fImplicitExpansions = recording.fImplicitExpansions
+					.toArray(new PreprocessorMacro[recording.fImplicitExpansions.size()]);
+			fSignificantMacros = recording.fSignificantMacros.toArray();
+		}
+
+		/**
+		 * Returns new tokens for the result of the expansion.
+		 */
+		TokenList createTokens() {
+			return fTokens.cloneTokens();
+		}
+
+		private boolean isValid(CharArrayMap<PreprocessorMacro> dictionary) {
+			for (int i = 0; i < fDependencyNames.length; i++) {
+				if (dictionary.get(fDependencyNames[i]) != fDependencies[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private final int fMaxSize;
+	private final LinkedHashMap<Key, Entry> fEntries;
+	private int fHitCount;
+	private int fMissCount;
+
+	MacroExpansionCache(int maxSize) {
+		fMaxSize = maxSize;
+		fEntries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return size() > fMaxSize;
+			}
+		};
+	}
+
+	/**
+	 * Creates the key for the invocation of a macro.
+	 *
+	 * @param macro the macro to be expanded
+	 * @param invocation the parenthesized arguments of a function-style macro or an empty list
+	 */
+	static Key createKey(PreprocessorMacro macro, TokenList invocation) {
+		StringBuilder buf = new StringBuilder();
+		Token l = null;
+		for (Token t = invocation.first(); t != null; l = t, t = (Token) t.getNext()) {
+			// The spaces between the tokens matter for stringification.
+			buf.append(MacroExpander.hasImplicitSpace(l, t) ? ' ' : '\0');
+			final char[] image = t.getCharImage();
+			buf.append((char) t.getType());
+			buf.append((char) image.length);
+			buf.append(image);
+		}
+		return new Key(macro, buf.toString());
+	}
+
+	/**
+	 * Returns the cached expansion for the key, or {@code null} if there is none or if one of
+	 * the macros it depends on has been changed.
+	 */
+	Entry get(Key key, CharArrayMap<PreprocessorMacro> dictionary) {
+		Entry entry = fEntries.get(key);
+		if (entry != null) {
+			if (entry.isValid(dictionary)) {
+				fHitCount++;
+				return entry;
+			}
+			fEntries.remove(key);
+		}
+		fMissCount++;
+		return null;
+	}
+
+	/**
+	 * Caches the result of an expansion, unless the recording has been aborted.
+	 */
+	void put(Key key, Recording recording, TokenList result) {
+		if (!recording.isAborted()) {
+			fEntries.put(key, new Entry(recording, result));
+		}
+	}
+
+	int getHitCount() {
+		return fHitCount;
+	}
+
+	int getMissCount() {
+		return fMissCount;
+	}
+}
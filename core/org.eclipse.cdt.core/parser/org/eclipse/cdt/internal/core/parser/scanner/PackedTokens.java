@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.BitSet;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.internal.core.parser.scanner.MacroDefinitionParser.TokenParameterReference;
+
+/**
+ * An immutable sequence of tokens stored in parallel arrays rather than as a list of {@link Token}
+ * objects. Used for the replacement lists of macros, which are kept for the lifetime of the macro
+ * dictionary and are turned into new tokens for every expansion. The arrays can be inspected
+ * without creating any tokens.
+ */
+final class PackedTokens {
+	static final PackedTokens EMPTY = new PackedTokens(0);
+
+	private static final int DIGRAPH = 0x1;
+	private static final int PARAMETER = 0x2;
+	private static final int PARAMETER_INDEX_SHIFT = 2;
+
+	private final int[] fKinds;
+	private final int[] fOffsets;
+	private final int[] fEndOffsets;
+	// Flags of a token, the index of a parameter reference.
+	private final int[] fFlags;
+	// The image of a token with an image, null for tokens with a fixed image.
+	private final char[][] fImages;
+	private boolean fHasTokenPaste;
+
+	private PackedTokens(int size) {
+		fKinds = new int[size];
+		fOffsets = new int[size];
+		fEndOffsets = new int[size];
+		fFlags = new int[size];
+		fImages = new char[size][];
+	}
+
+	/**
+	 * Packs a list of tokens, shifting their offsets by the given amount.
+	 */
+	static PackedTokens pack(TokenList tokens, int shift) {
+		int size = 0;
+		for (Token t = tokens.first(); t != null; t = (Token) t.getNext()) {
+			size++;
+		}
+		if (size == 0)
+			return EMPTY;
+
+		PackedTokens result = new PackedTokens(size);
+		int i = 0;
+		for (Token t = tokens.first(); t != null; t = (Token) t.getNext(), i++) {
+			final int kind = t.getType();
+			result.fKinds[i] = kind;
+			result.fOffsets[i] = t.getOffset() + shift;
+			result.fEndOffsets[i] = t.getEndOffset() + shift;
+			if (t instanceof TokenParameterReference) {
+				result.fFlags[i] = PARAMETER | ((TokenParameterReference) t).getIndex() << PARAMETER_INDEX_SHIFT;
+				result.fImages[i] = t.getCharImage();
+			} else if (t instanceof TokenWithImage) {
+				result.fImages[i] = t.getCharImage();
+			} else if (t instanceof TokenForDigraph) {
+				result.fFlags[i] = DIGRAPH;
+			}
+			if (kind == IToken.tPOUNDPOUND) {
+				result.fHasTokenPaste = true;
+			}
+		}
+		return result;
+	}
+
+	int size() {
+		return fKinds.length;
+	}
+
+	int getKind(int i) {
+		return fKinds[i];
+	}
+
+	/**
+	 * Returns the index of the parameter referenced by the token at the given index, or -1 if the
+	 * token is not a parameter reference.
+	 */
+	int getParameterIndex(int i) {
+		final int flags = fFlags[i];
+		return (flags & PARAMETER) != 0 ? flags >>> PARAMETER_INDEX_SHIFT : -1;
+	}
+
+	/**
+	 * Returns whether the sequence contains a token paste operator.
+	 */
+	boolean hasTokenPaste() {
+		return fHasTokenPaste;
+	}
+
+	/**
+	 * Creates a new token for the given index.
+	 */
+	Token createToken(int i, Object source) {
+		final int kind = fKinds[i];
+		final int flags = fFlags[i];
+		if ((flags & PARAMETER) != 0) {
+			return new TokenParameterReference(kind, flags >>> PARAMETER_INDEX_SHIFT, source, fOffsets[i],
+					fEndOffsets[i], fImages[i]);
+		}
+		final char[] image = fImages[i];
+		if (image != null)
+			return new TokenWithImage(kind, source, fOffsets[i], fEndOffsets[i], image);
+		if ((flags & DIGRAPH) != 0)
+			return new TokenForDigraph(kind, source, fOffsets[i], fEndOffsets[i]);
+		return new Token(kind, source, fOffsets[i], fEndOffsets[i]);
+	}
+
+	/**
+	 * Computes which of the parameters are used in the replacement list of a function-style macro.
+	 * The bit at {@code 2*i} is set if the argument for parameter {@code i} is used without being
+	 * expanded (stringify or token paste), the one at {@code 2*i+1} when it is used after expansion.
+	 */
+	BitSet getParameterUsage(boolean hasVarArgs, int parameterCount) {
+		final BitSet result = new BitSet();
+		final int size = size();
+		for (int i = 0; i < size; i++) {
+			final int kind = fKinds[i];
+			final int next = i + 1 < size ? fKinds[i + 1] : IToken.tEND_OF_INPUT;
+			switch (kind) {
+			case CPreprocessor.tMACRO_PARAMETER:
+				int idx = 2 * getParameterIndex(i);
+				if (next != IToken.tPOUNDPOUND) {
+					idx++;
+				}
+				result.set(idx);
+				break;
+
+			case IToken.tPOUND:
+				if (next == CPreprocessor.tMACRO_PARAMETER) {
+					result.set(2 * getParameterIndex(i + 1));
+					i++;
+				}
+				break;
+
+			case IToken.tPOUNDPOUND:
+				if (next == CPreprocessor.tMACRO_PARAMETER) {
+					idx = getParameterIndex(i + 1);
+					// gcc-extension
+					if (i > 0 && fKinds[i - 1] == IToken.tCOMMA && hasVarArgs && idx == parameterCount - 1
+							&& (i + 2 >= size || fKinds[i + 2] != IToken.tPOUNDPOUND)) {
+						result.set(2 * idx + 1);
+					} else {
+						result.set(2 * idx);
+					}
+					i++;
+				}
+				break;
+			}
+		}
+		return result;
+	}
+}
@@ -15,6 +15,7 @@
 package org.eclipse.cdt.internal.core.parser.scanner;
 
 import java.text.DateFormatSymbols;
+import java.util.BitSet;
 import java.util.Calendar;
 
 import org.eclipse.cdt.core.dom.ILinkage;
@@ -109,14 +110,15 @@ abstract class PreprocessorMacro implements IMacroBinding {
 		return buf.toString();
 	}
 
-	public abstract TokenList getTokens(MacroDefinitionParser parser, LexerOptions lexOptions, MacroExpander expander);
+	public abstract PackedTokens getTokens(MacroDefinitionParser parser, LexerOptions lexOptions,
+			MacroExpander expander);
 }
 
 class ObjectStyleMacro extends PreprocessorMacro {
 	private final AbstractCharArray fExpansion;
 	final int fExpansionOffset;
 	final int fEndOffset;
-	private TokenList fExpansionTokens;
+	private PackedTokens fExpansionTokens;
 
 	public ObjectStyleMacro(char[] name, char[] expansion) {
 		this(name, 0, expansion.length, null, new CharArray(expansion));
@@ -128,9 +130,8 @@ class ObjectStyleMacro extends PreprocessorMacro {
 		fExpansionOffset = expansionOffset;
 		fEndOffset = endOffset;
 		fExpansion = source;
-		fExpansionTokens = expansion;
 		if (expansion != null) {
-			setSource(expansion.first());
+			fExpansionTokens = PackedTokens.pack(expansion, -expansionOffset);
 		}
 	}
 
@@ -142,15 +143,6 @@ class ObjectStyleMacro extends PreprocessorMacro {
 		return fEndOffset;
 	}
 
-	private void setSource(Token t) {
-		final int shift = -fExpansionOffset;
-		while (t != null) {
-			t.fSource = this;
-			t.shiftOffset(shift);
-			t = (Token) t.getNext();
-		}
-	}
-
 	@Override
 	public char[] getExpansion() {
 		return MacroDefinitionParser.getExpansion(fExpansion, fExpansionOffset, fEndOffset);
@@ -165,16 +157,16 @@ class ObjectStyleMacro extends PreprocessorMacro {
 	}
 
 	@Override
-	public TokenList getTokens(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
+	public PackedTokens getTokens(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
 		if (fExpansionTokens == null) {
-			fExpansionTokens = new TokenList();
+			TokenList tokens = new TokenList();
 			Lexer lex = new Lexer(fExpansion, fExpansionOffset, fEndOffset, lexOptions, ILexerLog.NULL, this);
 			try {
 				lex.nextToken(); // consume the start token
-				mdp.parseExpansion(lex, ILexerLog.NULL, getNameCharArray(), getParameterPlaceholderList(),
-						fExpansionTokens);
+				mdp.parseExpansion(lex, ILexerLog.NULL, getNameCharArray(), getParameterPlaceholderList(), tokens);
 			} catch (OffsetLimitReachedException e) {
 			}
+			fExpansionTokens = PackedTokens.pack(tokens, 0);
 		}
 		return fExpansionTokens;
 	}
@@ -193,6 +185,7 @@ class FunctionStyleMacro extends ObjectStyleMacro {
 	final private char[][] fParamList;
 	final private int fHasVarArgs;
 	private char[] fSignature;
+	private BitSet fParameterUsage;
 
 	public FunctionStyleMacro(char[] name, char[][] paramList, int hasVarArgs, char[] expansion) {
 		this(name, paramList, hasVarArgs, 0, expansion.length, null, new CharArray(expansion));
@@ -273,6 +266,18 @@ class FunctionStyleMacro extends ObjectStyleMacro {
 		return sig;
 	}
 
+	/**
+	 * Returns the usage of the parameters in the replacement list, see
+	 * {@link PackedTokens#getParameterUsage(boolean, int)}. The result must not be modified.
+	 */
+	BitSet getParameterUsage(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
+		if (fParameterUsage == null) {
+			fParameterUsage = getTokens(mdp, lexOptions, expander).getParameterUsage(fHasVarArgs != NO_VAARGS,
+					fParamList.length);
+		}
+		return fParameterUsage;
+	}
+
 	/**
 	 * Returns one of {@link FunctionStyleMacro#NO_VAARGS}, {@link #VAARGS} or {@link #NAMED_VAARGS}.
 	 */
@@ -293,7 +298,7 @@ final class UndefinedMacro extends PreprocessorMacro {
 	}
 
 	@Override
-	public TokenList getTokens(MacroDefinitionParser parser, LexerOptions lexOptions, MacroExpander expander) {
+	public PackedTokens getTokens(MacroDefinitionParser parser, LexerOptions lexOptions, MacroExpander expander) {
 		return null;
 	}
 
@@ -327,10 +332,10 @@ abstract class DynamicMacro extends PreprocessorMacro {
 	public abstract Token execute(MacroExpander expander);
 
 	@Override
-	public TokenList getTokens(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
+	public PackedTokens getTokens(MacroDefinitionParser mdp, LexerOptions lexOptions, MacroExpander expander) {
 		TokenList result = new TokenList();
 		result.append(execute(expander));
-		return result;
+		return PackedTokens.pack(result, 0);
 	}
 
 	final protected void append(StringBuilder buffer, int value) {
@@ -53,6 +53,16 @@ class TokenList {
 		tl.fLast = null;
 	}
 
+	/**
+	 * Appends new tokens for all of the packed tokens.
+	 */
+	public final void appendAll(PackedTokens tokens, Object source) {
+		final int size = tokens.size();
+		for (int i = 0; i < size; i++) {
+			append(tokens.createToken(i, source));
+		}
+	}
+
 	public final void appendAllButLast(TokenList tl) {
 		Token t = tl.first();
 		if (t != null) {
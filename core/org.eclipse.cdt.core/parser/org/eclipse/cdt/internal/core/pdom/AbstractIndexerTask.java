@@ -33,6 +33,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -81,6 +89,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
@@ -251,6 +260,30 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A required source parsed by one of the parser threads, waiting to be written to the index.
+	 */
+	private static class ParsedSource {
+		final IIndexFileLocation fLocation;
+		final Object fTu;
+		final AbstractLanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		long fStart;
+		IASTTranslationUnit fAST;
+		FileInAST[] fFileKeys;
+		PDOMWriter.Data fData;
+		int fStorageLinkageID = ILinkage.NO_LINKAGE_ID;
+		boolean fSkipped;
+		Throwable fException;
+
+		ParsedSource(IIndexFileLocation location, Object tu, AbstractLanguage language, IScannerInfo scannerInfo) {
+			fLocation = location;
+			fTu = tu;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+		}
+	}
+
 	public static class IndexFileContent {
 		private Object[] fPreprocessingDirectives;
 		private ICPPUsingDirective[] fDirectives;
@@ -323,9 +356,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
+	private final Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
+	private final Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
+	private final List<FileContentKey> fFilesWithChangedDeclarations = new ArrayList<>();
 
 	private Object[] fFilesToUpdate;
 	private List<Object> fFilesToRemove = new ArrayList<>();
@@ -339,6 +373,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fParserThreads = 1;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
@@ -398,6 +433,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used to parse the sources that are required in the index.
+	 * With more than one thread sources are parsed concurrently, their results are still written
+	 * to the index one after the other.
+	 */
+	public final void setParserThreads(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -581,6 +625,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							if (hasUrgentTasks())
 								break;
 						}
+						if (moreFiles == null && !hasUrgentTasks()) {
+							HashMap<Integer, List<IIndexFileLocation>> dependents = extractDependentsOfChangedFiles(
+									indexFilesToRemove, progress.split(1));
+							if (dependents != null) {
+								removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
+								files = dependents;
+								continue;
+							}
+						}
 						synchronized (this) {
 							if (fUrgentTasks.isEmpty()) {
 								if (moreFiles == null) {
@@ -625,6 +678,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			} catch (CoreException e) {
 				logException(e);
 			} finally {
+				IndexerMetrics metrics = IndexerMetrics.getSharedInstance();
+				metrics.cacheAccessed(fIndex.getCacheHits(), fIndex.getCacheMisses());
+				metrics.taskCompleted();
 				fIndex.releaseReadLock();
 			}
 		} finally {
@@ -837,6 +893,67 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		reportFile(wasCounted, kind);
 	}
 
+	@Override
+	protected void reportDeclarationsChanged(FileInAST file) throws CoreException {
+		fFilesWithChangedDeclarations.add(file.fileContentKey);
+	}
+
+	/**
+	 * Requests the update of the source files including a file whose declarations have changed
+	 * since the start of the task, unless they have been requested before.
+	 * @return the files to parse per linkage, or {@code null} if there are no such sources.
+	 */
+	private HashMap<Integer, List<IIndexFileLocation>> extractDependentsOfChangedFiles(
+			List<IIndexFragmentFile> indexFilesToRemove, IProgressMonitor monitor) throws CoreException {
+		if (fFilesWithChangedDeclarations.isEmpty())
+			return null;
+
+		Set<IIndexFileLocation> visited = new HashSet<>();
+		Deque<IIndexFile> queue = new ArrayDeque<>();
+		for (FileContentKey key : fFilesWithChangedDeclarations) {
+			IIndexFragmentFile file = fIndex.getWritableFile(key.getLinkageID(), key.getLocation(),
+					key.getSignificantMacros());
+			if (file != null) {
+				queue.add(file);
+			}
+		}
+		fFilesWithChangedDeclarations.clear();
+
+		List<Object> dependents = new ArrayList<>();
+		IIndexFile file;
+		while ((file = queue.poll()) != null) {
+			for (IIndexInclude include : fIndex.findIncludedBy(file)) {
+				IIndexFile includer = include.getIncludedBy();
+				IIndexFileLocation location = includer.getLocation();
+				if (visited.add(location)) {
+					queue.add(includer);
+					Object tu = isRequested(location) ? null : fResolver.getInputFile(location);
+					if (tu != null && fResolver.isSourceUnit(tu)) {
+						dependents.add(tu);
+					}
+				}
+			}
+		}
+		if (dependents.isEmpty())
+			return null;
+
+		// The dependents are unchanged, force their update.
+		fFilesToUpdate = dependents.toArray();
+		fForceNumberFiles = fFilesToUpdate.length;
+		incrementRequestedFilesCount(fFilesToUpdate.length);
+		HashMap<Integer, List<IIndexFileLocation>> files = new HashMap<>();
+		extractFiles(files, indexFilesToRemove, monitor);
+		return files;
+	}
+
+	private boolean isRequested(IIndexFileLocation location) {
+		for (LinkageTask map : fRequestsPerLinkage) {
+			if (map.find(location) != null)
+				return true;
+		}
+		return false;
+	}
+
 	private void removeFilesInIndex(List<Object> filesToRemove, List<IIndexFragmentFile> indexFilesToRemove,
 			IProgressMonitor monitor) throws InterruptedException, CoreException {
 		if (!filesToRemove.isEmpty() || !indexFilesToRemove.isEmpty()) {
@@ -897,17 +1014,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fParserThreads > 1) {
+				if (!parseRequiredSources(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -1099,8 +1221,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			FileContent codeReader = fResolver.getCodeReader(tu);
 
 			long start = System.currentTimeMillis();
+			final long startNanos = System.nanoTime();
 			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
 			fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			recordParse(ifl, System.nanoTime() - startNanos, ast);
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
@@ -1210,6 +1334,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
 			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+		if (fCodeReaderFactory == null) {
+			fCodeReaderFactory = createFileContentProvider(language.getLinkageID());
+		}
+		return createAST(fCodeReaderFactory, language, codeReader, scanInfo, options, ctx, monitor);
+	}
+
+	private final IASTTranslationUnit createAST(InternalFileContentProvider fileContentProvider,
+			AbstractLanguage language, FileContent codeReader, IScannerInfo scanInfo, int options, FileContext ctx,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1353,13 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
-			ibfcp.setContextToHeaderGap(ctx2header);
+		if (fIsFastIndexer) {
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fileContentProvider;
+			ibfcp.setContextToHeaderGap(ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile });
 			ibfcp.setLinkage(language.getLinkageID());
 		}
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fileContentProvider, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1367,20 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private InternalFileContentProvider createFileContentProvider(int linkageID) {
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver, linkageID,
+					fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			fileContentProvider = ibfcp;
+		}
+		fileContentProvider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return fileContentProvider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1260,6 +1392,34 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private void writeToIndex(final int linkageID, IASTTranslationUnit ast, FileContent codeReader, FileContext ctx,
 			IProgressMonitor monitor) throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 3);
+		FileInAST[] fileKeys = selectFilesToWrite(linkageID, ast, codeReader, ctx);
+		try {
+			// The default processing is handled by the indexer task.
+			PDOMWriter.Data data = new PDOMWriter.Data(ast, fileKeys, fIndex);
+			int storageLinkageID = process(ast, data);
+			if (storageLinkageID != ILinkage.NO_LINKAGE_ID) {
+				IASTComment[] comments = ast.getComments();
+				data.fReplacementHeaders = extractReplacementHeaders(comments, progress.split(1));
+
+				addSymbols(data, storageLinkageID, ctx, progress.split(1));
+
+				updateTasks(comments, fileKeys);
+			}
+
+			runContributedProcessors(ast, fileKeys, ctx, progress.split(1));
+		} catch (CoreException | RuntimeException | Error e) {
+			// Avoid parsing files again, that caused an exception to be thrown.
+			withdrawRequests(linkageID, fileKeys);
+			throw e;
+		}
+	}
+
+	/**
+	 * Computes the files of the AST that need to be written to the index, the including files
+	 * precede the included ones.
+	 */
+	private FileInAST[] selectFilesToWrite(final int linkageID, IASTTranslationUnit ast, FileContent codeReader,
+			FileContext ctx) throws CoreException {
 		HashSet<FileContentKey> enteredFiles = new HashSet<>();
 		ArrayList<FileInAST> orderedFileKeys = new ArrayList<>();
 
@@ -1283,43 +1443,292 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			orderedFileKeys.add(new FileInAST(topKey, codeReader));
 		}
 
-		FileInAST[] fileKeys = orderedFileKeys.toArray(new FileInAST[orderedFileKeys.size()]);
-		try {
-			// The default processing is handled by the indexer task.
-			PDOMWriter.Data data = new PDOMWriter.Data(ast, fileKeys, fIndex);
-			int storageLinkageID = process(ast, data);
-			if (storageLinkageID != ILinkage.NO_LINKAGE_ID) {
-				IASTComment[] comments = ast.getComments();
-				data.fReplacementHeaders = extractReplacementHeaders(comments, progress.split(1));
+		return orderedFileKeys.toArray(new FileInAST[orderedFileKeys.size()]);
+	}
+
+	private void updateTasks(IASTComment[] comments, FileInAST[] fileKeys) {
+		if (fTodoTaskUpdater != null) {
+			Set<IIndexFileLocation> locations = new HashSet<>();
+			for (FileInAST file : fileKeys) {
+				locations.add(file.fileContentKey.getLocation());
+			}
+			fTodoTaskUpdater.updateTasks(comments, locations.toArray(new IIndexFileLocation[locations.size()]));
+		}
+	}
 
+	/**
+	 * Contributed processors get an opportunity to examine the AST.
+	 */
+	private void runContributedProcessors(IASTTranslationUnit ast, FileInAST[] fileKeys, FileContext ctx,
+			IProgressMonitor monitor) throws CoreException, InterruptedException {
+		List<IPDOMASTProcessor> processors = PDOMASTProcessorManager.getProcessors(ast);
+		SubMonitor progress = SubMonitor.convert(monitor, processors.size());
+		for (IPDOMASTProcessor processor : processors) {
+			PDOMWriter.Data data = new PDOMWriter.Data(ast, fileKeys, fIndex);
+			int storageLinkageID = processor.process(ast, data);
+			if (storageLinkageID != ILinkage.NO_LINKAGE_ID)
 				addSymbols(data, storageLinkageID, ctx, progress.split(1));
+		}
+	}
+
+	/**
+	 * Parses the required sources among the given files using {@link #fParserThreads} threads.
+	 * The ASTs are created and their names resolved concurrently, the results are written to
+	 * the index by the calling thread in the order of the files. Parsing and writing exclude
+	 * each other, such that the parser threads never observe an index that is being modified
+	 * or changes of the state of this task.
+	 *
+	 * @return {@code false} if parsing stopped early in favor of urgent tasks.
+	 */
+	private boolean parseRequiredSources(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		final ReadWriteLock gate = new ReentrantReadWriteLock(true);
+		final Deque<InternalFileContentProvider> providers = new ArrayDeque<>();
+		final Deque<Future<ParsedSource>> pending = new ArrayDeque<>();
+		final ExecutorService executor = Executors.newFixedThreadPool(fParserThreads, r -> {
+			Thread thread = new Thread(r, "C/C++ Indexer Parser"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		boolean urgent = false;
+		try {
+			Iterator<IIndexFileLocation> it = files.iterator();
+			while (true) {
+				// Bound the number of parsed ASTs waiting to be written.
+				while (!urgent && pending.size() < 2 * fParserThreads && it.hasNext()) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks()) {
+							urgent = true;
+						} else {
+							final Object tu = locTask.fTu;
+							final ParsedSource source = new ParsedSource(ifl, tu, getLanguage(tu, linkageID),
+									getScannerInfo(linkageID, tu));
+							pending.add(executor.submit(() -> parseSource(source, providers, gate.readLock())));
+						}
+					}
+				}
+				Future<ParsedSource> next = pending.poll();
+				if (next == null)
+					return !urgent;
+
+				ParsedSource source = getParsedSource(next);
+				gate.writeLock().lock();
+				try {
+					writeParsedSource(source, progress.split(1));
+					// Write what is available while the parser threads have to wait, anyway.
+					while (!pending.isEmpty() && pending.peek().isDone()) {
+						writeParsedSource(getParsedSource(pending.poll()), progress.split(1));
+					}
+				} finally {
+					gate.writeLock().unlock();
+				}
+			}
+		} finally {
+			for (Future<ParsedSource> future : pending) {
+				future.cancel(false);
+			}
+			executor.shutdown();
+			// The parser threads must not access the index after returning from here.
+			boolean interrupted = false;
+			while (true) {
+				try {
+					if (executor.awaitTermination(1, TimeUnit.SECONDS))
+						break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Runs on a parser thread, creates the AST for the given source and resolves its names.
+	 * Errors are recorded in the result, they are reported by the thread writing it.
+	 */
+	private ParsedSource parseSource(ParsedSource source, Deque<InternalFileContentProvider> providers,
+			Lock gate) {
+		InternalFileContentProvider fileContentProvider;
+		synchronized (providers) {
+			fileContentProvider = providers.poll();
+		}
+		gate.lock();
+		try {
+			if (fileContentProvider == null) {
+				fileContentProvider = createFileContentProvider(source.fLanguage.getLinkageID());
+			}
+			if (fShowActivity) {
+				trace("Indexer: parsing " + getLabel(source.fLocation).toOSString()); //$NON-NLS-1$
+			}
+			FileContent codeReader = fResolver.getCodeReader(source.fTu);
+
+			source.fStart = System.currentTimeMillis();
+			final long startNanos = System.nanoTime();
+			IASTTranslationUnit ast = createAST(fileContentProvider, source.fLanguage, codeReader,
+					source.fScannerInfo, fASTOptions, null, new NullProgressMonitor());
+			synchronized (fStatistics) {
+				fStatistics.fParsingTime += System.currentTimeMillis() - source.fStart;
+			}
+			recordParse(source.fLocation, System.nanoTime() - startNanos, ast);
+			source.fAST = ast;
+			if (ast != null) {
+				source.fFileKeys = selectFilesToWrite(source.fLanguage.getLinkageID(), ast, codeReader, null);
+				PDOMWriter.Data data = new PDOMWriter.Data(ast, source.fFileKeys, fIndex);
+				source.fStorageLinkageID = process(ast, data);
+				if (source.fStorageLinkageID != ILinkage.NO_LINKAGE_ID) {
+					data.fReplacementHeaders = extractReplacementHeaders(ast.getComments(), null);
+					resolveSymbols(data, source.fStorageLinkageID, null);
+				}
+				source.fData = data;
+			}
+		} catch (OperationCanceledException e) {
+			source.fSkipped = true;
+		} catch (RuntimeException e) {
+			if (e.getCause() instanceof DependsOnOutdatedFileException) {
+				source.fSkipped = true;
+			} else {
+				source.fException = e;
+			}
+		} catch (StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+			source.fException = e;
+		} finally {
+			gate.unlock();
+			if (fileContentProvider != null) {
+				synchronized (providers) {
+					providers.push(fileContentProvider);
+				}
+			}
+		}
+		return source;
+	}
+
+	private void recordParse(IIndexFileLocation location, long time, IASTTranslationUnit ast) {
+		List<IIndexFileLocation> includes = new ArrayList<>();
+		if (ast != null) {
+			for (IASTPreprocessorIncludeStatement include : ast.getIncludeDirectives()) {
+				if (include.isActive()) {
+					includes.add(include.isResolved() ? fResolver.resolveASTPath(include.getPath()) : null);
+				}
+			}
+		}
+		IndexerMetrics.getSharedInstance().parsed(location, time,
+				includes.toArray(new IIndexFileLocation[includes.size()]));
+	}
+
+	private static ParsedSource getParsedSource(Future<ParsedSource> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			// Parsing records the expected errors in the result.
+			final Throwable cause = e.getCause();
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
 
-				// Update task markers.
-				if (fTodoTaskUpdater != null) {
-					Set<IIndexFileLocation> locations = new HashSet<>();
-					for (FileInAST file : data.fSelectedFiles) {
-						locations.add(file.fileContentKey.getLocation());
+	/**
+	 * Counterpart of {@link #parseFile(Object, AbstractLanguage, IIndexFileLocation, IScannerInfo,
+	 * FileContext, IProgressMonitor)} for a source parsed by {@link #parseSource}.
+	 */
+	private void writeParsedSource(ParsedSource source, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 21);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(source.fLocation);
+		progress.subTask(
+				getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
+		Throwable th = source.fException;
+		if (th != null) {
+			if (source.fFileKeys != null) {
+				// Avoid parsing files again, that caused an exception to be thrown.
+				withdrawRequests(source.fLanguage.getLinkageID(), source.fFileKeys);
+			}
+		} else if (!source.fSkipped) {
+			try {
+				if (source.fAST == null) {
+					synchronized (fStatistics) {
+						++fStatistics.fTooManyTokensCount;
 					}
-					fTodoTaskUpdater.updateTasks(comments, locations.toArray(new IIndexFileLocation[locations.size()]));
+				} else {
+					storeParsedSource(source, progress.split(20));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					long time = System.currentTimeMillis() - source.fStart;
+					trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
+			} catch (OperationCanceledException e) {
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			}
+		}
+		if (th instanceof OutOfMemoryError && --fSwallowOutOfMemoryError < 0) {
+			throw (OutOfMemoryError) th;
+		}
+		if (th != null) {
+			swallowError(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			fIndex.acquireWriteLock(progress.split(1));
+			try {
+				fIndex.clearResultCache();
+			} finally {
+				fIndex.releaseWriteLock();
 			}
+		}
+	}
 
-			// Contributed processors now have an opportunity to examine the AST.
-			List<IPDOMASTProcessor> processors = PDOMASTProcessorManager.getProcessors(ast);
-			progress.setWorkRemaining(processors.size());
-			for (IPDOMASTProcessor processor : processors) {
-				data = new PDOMWriter.Data(ast, fileKeys, fIndex);
-				storageLinkageID = processor.process(ast, data);
-				if (storageLinkageID != ILinkage.NO_LINKAGE_ID)
-					addSymbols(data, storageLinkageID, ctx, progress.split(1));
+	private void storeParsedSource(ParsedSource source, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		final int linkageID = source.fLanguage.getLinkageID();
+		try {
+			FileInAST[] fileKeys = removeWrittenHeaders(linkageID, source.fData);
+			if (source.fStorageLinkageID != ILinkage.NO_LINKAGE_ID) {
+				storeSymbols(source.fData, source.fStorageLinkageID, null, progress.split(1));
+				updateTasks(source.fAST.getComments(), fileKeys);
 			}
+
+			runContributedProcessors(source.fAST, fileKeys, null, progress.split(1));
 		} catch (CoreException | RuntimeException | Error e) {
 			// Avoid parsing files again, that caused an exception to be thrown.
-			withdrawRequests(linkageID, fileKeys);
+			withdrawRequests(linkageID, source.fFileKeys);
 			throw e;
 		}
 	}
 
+	/**
+	 * Headers that were selected while parsing a source may have been written to the index together
+	 * with a source that was parsed concurrently. Such headers are removed from the data in order
+	 * not to write them a second time.
+	 *
+	 * @return the remaining files
+	 */
+	private FileInAST[] removeWrittenHeaders(int linkageID, PDOMWriter.Data data) throws CoreException {
+		final FileInAST[] selectedFiles = data.fSelectedFiles;
+		List<FileInAST> remaining = new ArrayList<>(selectedFiles.length);
+		for (int i = 0; i < selectedFiles.length; i++) {
+			final FileInAST file = selectedFiles[i];
+			final FileContentKey key = file.fileContentKey;
+			if (file.includeStatement != null
+					&& selectIndexFile(linkageID, key.getLocation(), key.getSignificantMacros()) != null) {
+				selectedFiles[i] = null;
+				data.fContextIncludes.remove(file.includeStatement);
+			} else {
+				remaining.add(file);
+			}
+		}
+		return remaining.toArray(new FileInAST[remaining.size()]);
+	}
+
 	private void collectOrderedFileKeys(final int linkageID, IASTInclusionNode inclusion,
 			Set<FileContentKey> enteredFiles, List<FileInAST> orderedFileKeys) throws CoreException {
 		final IASTPreprocessorIncludeStatement include = inclusion.getIncludeDirective();
@@ -1444,10 +1853,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					throw new DependsOnOutdatedFileException(request.fTu, task.fIndexFile);
 			}
 		}
-		IndexFileContent fc = fIndexContentCache.get(file);
+		// The cache is shared by the parser threads.
+		IndexFileContent fc;
+		synchronized (fIndexContentCache) {
+			fc = fIndexContentCache.get(file);
+		}
 		if (fc == null) {
 			fc = new IndexFileContent(file);
-			fIndexContentCache.put(file, fc);
+			synchronized (fIndexContentCache) {
+				fIndexContentCache.put(file, fc);
+			}
 		}
 		return fc;
 	}
@@ -1499,7 +1914,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFragmentFile[] getAvailableIndexFiles(int linkageID, IIndexFileLocation ifl) throws CoreException {
-		IIndexFragmentFile[] files = fIndexFilesCache.get(ifl);
+		IIndexFragmentFile[] files;
+		synchronized (fIndexFilesCache) {
+			files = fIndexFilesCache.get(ifl);
+		}
 		if (files == null) {
 			IIndexFragmentFile[] fragFiles = fIndex.getWritableFiles(linkageID, ifl);
 			int j = 0;
@@ -1516,7 +1934,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				files = new IIndexFragmentFile[j];
 				System.arraycopy(fragFiles, 0, files, 0, j);
 			}
-			fIndexFilesCache.put(ifl, files);
+			synchronized (fIndexFilesCache) {
+				fIndexFilesCache.put(ifl, files);
+			}
 		}
 		return files;
 	}
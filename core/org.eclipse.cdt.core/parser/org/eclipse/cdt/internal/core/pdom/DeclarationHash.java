@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorUndefStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.ICompositeType;
+import org.eclipse.cdt.core.dom.ast.IEnumerator;
+import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
+import org.eclipse.cdt.core.dom.ast.IParameter;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.ITypedef;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameter;
+import org.eclipse.cdt.internal.core.parser.scanner.StreamHasher;
+
+/**
+ * Computes the hash of the declarations a file provides to the files including it: the files it
+ * includes, the macros it defines or undefines and the signatures of the bindings it declares
+ * outside of function bodies. Changes to comments, to function bodies or to the formatting of
+ * the file do not change the hash.
+ */
+final class DeclarationHash {
+	private static final char[] SEPARATOR = { '\0' };
+
+	private DeclarationHash() {
+	}
+
+	/**
+	 * Computes the hash of the symbols collected for a file.
+	 *
+	 * @param names the names in the file, the first element of each entry is the name, it is
+	 *     {@code null} for names that are not stored
+	 * @param macros the macro definitions and undefinitions in the file
+	 * @param includes the include statements in the file
+	 * @return the hash, never {@code 0} which stands for an unknown hash
+	 */
+	static long compute(IASTName[][] names, IASTPreprocessorStatement[] macros,
+			List<IASTPreprocessorIncludeStatement> includes) {
+		StreamHasher hasher = new StreamHasher();
+		for (IASTPreprocessorIncludeStatement include : includes) {
+			if (include.isActive()) {
+				add(hasher, 'i', include.getName().toCharArray());
+			}
+		}
+		for (IASTPreprocessorStatement stmt : macros) {
+			if (stmt instanceof IASTPreprocessorMacroDefinition) {
+				IASTName name = ((IASTPreprocessorMacroDefinition) stmt).getName();
+				add(hasher, 'm', name.toCharArray());
+				IBinding binding = name.getBinding();
+				if (binding instanceof IMacroBinding) {
+					IMacroBinding macro = (IMacroBinding) binding;
+					char[][] parameters = macro.getParameterList();
+					if (parameters != null) {
+						for (char[] parameter : parameters) {
+							add(hasher, 'p', parameter);
+						}
+					}
+					add(hasher, 'e', macro.getExpansion());
+				}
+			} else if (stmt instanceof IASTPreprocessorUndefStatement) {
+				add(hasher, 'u', ((IASTPreprocessorUndefStatement) stmt).getMacroName().toCharArray());
+			}
+		}
+		for (IASTName[] entry : names) {
+			final IASTName name = entry[0];
+			if (name != null && !name.isReference()) {
+				addDeclaration(hasher, name);
+			}
+		}
+		long hash = hasher.computeHash();
+		return hash != 0 ? hash : 1;
+	}
+
+	private static void addDeclaration(StreamHasher hasher, IASTName name) {
+		final IBinding binding = name.getBinding();
+		if (binding == null || binding instanceof IProblemBinding) {
+			add(hasher, 'n', name.getLookupKey());
+			return;
+		}
+		if (binding instanceof IParameter || binding instanceof ICPPTemplateParameter)
+			return;
+		// Bindings owned by functions are local to their bodies.
+		for (IBinding owner = binding.getOwner(); owner != null; owner = owner.getOwner()) {
+			if (owner instanceof IFunction)
+				return;
+		}
+
+		add(hasher, 'd', binding.getNameCharArray());
+		for (IBinding owner = binding.getOwner(); owner != null; owner = owner.getOwner()) {
+			add(hasher, 'o', owner.getNameCharArray());
+		}
+		if (binding instanceof IFunction) {
+			add(hasher, 't', ASTTypeUtil.getType(((IFunction) binding).getType()));
+		} else if (binding instanceof IVariable) {
+			add(hasher, 't', ASTTypeUtil.getType(((IVariable) binding).getType()));
+		} else if (binding instanceof ITypedef) {
+			add(hasher, 't', ASTTypeUtil.getType(((ITypedef) binding).getType()));
+		} else if (binding instanceof IEnumerator) {
+			add(hasher, 'v', String.valueOf(((IEnumerator) binding).getValue()));
+		} else if (binding instanceof ICompositeType) {
+			add(hasher, 'k', String.valueOf(((ICompositeType) binding).getKey()));
+			if (binding instanceof ICPPClassType && name.isDefinition()) {
+				for (ICPPBase base : ((ICPPClassType) binding).getBases()) {
+					add(hasher, 'b', ASTTypeUtil.getType(base.getBaseClassType()));
+				}
+			}
+		}
+	}
+
+	private static void add(StreamHasher hasher, char kind, String value) {
+		add(hasher, kind, value.toCharArray());
+	}
+
+	private static void add(StreamHasher hasher, char kind, char[] value) {
+		hasher.addChunk(new char[] { kind });
+		hasher.addChunk(value);
+		hasher.addChunk(SEPARATOR);
+	}
+}
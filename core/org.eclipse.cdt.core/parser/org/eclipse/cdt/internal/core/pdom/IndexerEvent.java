@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a step of indexing a file, committed by {@link IndexerMetrics}. The class is
+ * loaded only when the events are enabled.
+ */
+@Name("org.eclipse.cdt.Indexer")
+@Label("Indexer")
+@Description("A step of indexing a file")
+@Category({ "Eclipse CDT", "Indexer" })
+@StackTrace(false)
+final class IndexerEvent extends Event {
+	@Label("Step")
+	String step;
+
+	@Label("File")
+	String file;
+
+	@Label("Step Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long time;
+
+	@Label("Lock Wait Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long lockWaitTime;
+
+	@Label("Includes")
+	int includes;
+
+	private static void commit(String step, String file, long time, long lockWaitTime, int includes) {
+		IndexerEvent event = new IndexerEvent();
+		if (event.isEnabled()) {
+			event.step = step;
+			event.file = file;
+			event.time = time;
+			event.lockWaitTime = lockWaitTime;
+			event.includes = includes;
+			event.commit();
+		}
+	}
+
+	static void commitParse(String file, long time, int includes) {
+		commit("parse", file, time, 0, includes); //$NON-NLS-1$
+	}
+
+	static void commitResolution(String file, long time) {
+		commit("resolve", file, time, 0, 0); //$NON-NLS-1$
+	}
+
+	static void commitWrite(String file, long time, long lockWaitTime) {
+		commit("write", file, time, lockWaitTime, 0); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+
+/**
+ * Metrics of the indexers collected across all indexer tasks: the time spent for parsing,
+ * resolving and writing each file, the includes processed by the preprocessor, the time spent
+ * waiting for the write lock of the index, the hit rate of the chunk cache and the number of
+ * tasks waiting for the indexer.
+ * <p>
+ * In contrast to {@link IndexerStatistics}, which reports the totals of a single task, the
+ * metrics allow for finding the translation units and headers that dominate the time spent
+ * for indexing. They can be written to a JSON file after each task and reported as JFR events.
+ */
+public final class IndexerMetrics {
+	/**
+	 * Maximum number of files for which metrics are kept, can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.indexer.metrics.files=&lt;count&gt;
+	 */
+	private static final int MAX_FILES = Integer.getInteger("org.eclipse.cdt.core.parser.indexer.metrics.files", //$NON-NLS-1$
+			10000);
+	/**
+	 * File the metrics are written to after each indexer task, can be set with
+	 * -Dorg.eclipse.cdt.core.parser.indexer.metrics.json=&lt;path&gt;
+	 */
+	private static final String JSON_FILE = System.getProperty("org.eclipse.cdt.core.parser.indexer.metrics.json"); //$NON-NLS-1$
+	/**
+	 * Whether a JFR event is committed for each file that is parsed, can be enabled with
+	 * -Dorg.eclipse.cdt.core.parser.indexer.metrics.jfr=true
+	 */
+	private static final boolean JFR_EVENTS = Boolean.getBoolean("org.eclipse.cdt.core.parser.indexer.metrics.jfr"); //$NON-NLS-1$
+	/**
+	 * Number of files written to the JSON file.
+	 */
+	private static final int JSON_FILES = 100;
+
+	private static final IndexerMetrics sSharedInstance = new IndexerMetrics(MAX_FILES);
+
+	/**
+	 * The metrics of a single file.
+	 */
+	public static final class FileMetrics {
+		private final String fPath;
+		long fParseTime;
+		long fResolveTime;
+		long fWriteTime;
+		long fLockWaitTime;
+		int fParseCount;
+		int fWriteCount;
+		int fIncludeCount;
+		int fInclusionCount;
+
+		FileMetrics(String path) {
+			fPath = path;
+		}
+
+		FileMetrics(FileMetrics other) {
+			fPath = other.fPath;
+			fParseTime = other.fParseTime;
+			fResolveTime = other.fResolveTime;
+			fWriteTime = other.fWriteTime;
+			fLockWaitTime = other.fLockWaitTime;
+			fParseCount = other.fParseCount;
+			fWriteCount = other.fWriteCount;
+			fIncludeCount = other.fIncludeCount;
+			fInclusionCount = other.fInclusionCount;
+		}
+
+		public String getPath() {
+			return fPath;
+		}
+
+		/**
+		 * Returns the time spent for parsing the file as a translation unit, in nanoseconds.
+		 */
+		public long getParseTime() {
+			return fParseTime;
+		}
+
+		/**
+		 * Returns the time spent for resolving the names of the translation unit, in nanoseconds.
+		 */
+		public long getResolveTime() {
+			return fResolveTime;
+		}
+
+		/**
+		 * Returns the time spent for writing the file to the index, in nanoseconds.
+		 */
+		public long getWriteTime() {
+			return fWriteTime;
+		}
+
+		/**
+		 * Returns the time spent waiting for the write lock of the index while writing the file,
+		 * in nanoseconds.
+		 */
+		public long getLockWaitTime() {
+			return fLockWaitTime;
+		}
+
+		/**
+		 * Returns the time spent for parsing, resolving and writing the file, in nanoseconds.
+		 */
+		public long getTotalTime() {
+			return fParseTime + fResolveTime + fWriteTime;
+		}
+
+		/**
+		 * Returns how often the file was parsed as a translation unit.
+		 */
+		public int getParseCount() {
+			return fParseCount;
+		}
+
+		/**
+		 * Returns how often the file was written to the index.
+		 */
+		public int getWriteCount() {
+			return fWriteCount;
+		}
+
+		/**
+		 * Returns the number of includes processed while parsing the file as a translation unit.
+		 */
+		public int getIncludeCount() {
+			return fIncludeCount;
+		}
+
+		/**
+		 * Returns how often the file was included by the translation units that were parsed.
+		 */
+		public int getInclusionCount() {
+			return fInclusionCount;
+		}
+	}
+
+	private final int fMaxFiles;
+	private final Map<String, FileMetrics> fFiles = new HashMap<>();
+	private long fParseTime;
+	private long fResolveTime;
+	private long fWriteTime;
+	private long fLockWaitTime;
+	private long fLockWaitCount;
+	private int fParseCount;
+	private int fWriteCount;
+	private long fIncludeCount;
+	private long fCacheHits;
+	private long fCacheMisses;
+	private int fQueueDepth;
+	private int fMaxQueueDepth;
+
+	public static IndexerMetrics getSharedInstance() {
+		return sSharedInstance;
+	}
+
+	/**
+	 * @param maxFiles the maximum number of files for which metrics are kept, the totals include
+	 *     the files exceeding the limit.
+	 */
+	public IndexerMetrics(int maxFiles) {
+		fMaxFiles = maxFiles;
+	}
+
+	private static String getPath(IIndexFileLocation location) {
+		String path = location.getURI().getPath();
+		return path != null ? path : location.getURI().toString();
+	}
+
+	private FileMetrics getFile(IIndexFileLocation location) {
+		final String path = getPath(location);
+		FileMetrics file = fFiles.get(path);
+		if (file == null && fFiles.size() < fMaxFiles) {
+			file = new FileMetrics(path);
+			fFiles.put(path, file);
+		}
+		return file;
+	}
+
+	/**
+	 * Records the parsing of a translation unit.
+	 * @param time the time spent for parsing in nanoseconds
+	 * @param includes the files included by the translation unit, {@code null} for includes that
+	 *     could not be resolved.
+	 */
+	public void parsed(IIndexFileLocation location, long time, IIndexFileLocation[] includes) {
+		synchronized (this) {
+			fParseTime += time;
+			fParseCount++;
+			fIncludeCount += includes.length;
+			FileMetrics file = getFile(location);
+			if (file != null) {
+				file.fParseTime += time;
+				file.fParseCount++;
+				file.fIncludeCount += includes.length;
+			}
+			for (IIndexFileLocation include : includes) {
+				if (include != null) {
+					FileMetrics included = getFile(include);
+					if (included != null) {
+						included.fInclusionCount++;
+					}
+				}
+			}
+		}
+		if (JFR_EVENTS) {
+			IndexerEvent.commitParse(getPath(location), time, includes.length);
+		}
+	}
+
+	/**
+	 * Records the resolution of the names of a translation unit.
+	 * @param time the time spent for resolving in nanoseconds
+	 */
+	public void resolved(IIndexFileLocation location, long time) {
+		synchronized (this) {
+			fResolveTime += time;
+			FileMetrics file = getFile(location);
+			if (file != null) {
+				file.fResolveTime += time;
+			}
+		}
+		if (JFR_EVENTS) {
+			IndexerEvent.commitResolution(getPath(location), time);
+		}
+	}
+
+	/**
+	 * Records writing a file to the index.
+	 * @param time the time spent for writing in nanoseconds
+	 * @param lockWaitTime the time spent waiting for the write lock in nanoseconds
+	 * @param lockWaits the number of times the write lock was acquired
+	 */
+	public void written(IIndexFileLocation location, long time, long lockWaitTime, int lockWaits) {
+		synchronized (this) {
+			fWriteTime += time;
+			fWriteCount++;
+			fLockWaitTime += lockWaitTime;
+			fLockWaitCount += lockWaits;
+			FileMetrics file = getFile(location);
+			if (file != null) {
+				file.fWriteTime += time;
+				file.fWriteCount++;
+				file.fLockWaitTime += lockWaitTime;
+			}
+		}
+		if (JFR_EVENTS) {
+			IndexerEvent.commitWrite(getPath(location), time, lockWaitTime);
+		}
+	}
+
+	/**
+	 * Records the accesses to the chunk cache made by an indexer task.
+	 */
+	public synchronized void cacheAccessed(long hits, long misses) {
+		fCacheHits += hits;
+		fCacheMisses += misses;
+	}
+
+	/**
+	 * Records the number of tasks waiting for the indexer.
+	 */
+	public synchronized void queueChanged(int depth) {
+		fQueueDepth = depth;
+		fMaxQueueDepth = Math.max(fMaxQueueDepth, depth);
+	}
+
+	/**
+	 * Called after an indexer task has completed, writes the metrics to the configured file.
+	 */
+	void taskCompleted() {
+		if (JSON_FILE == null)
+			return;
+		File file = new File(JSON_FILE);
+		try {
+			File dir = file.getAbsoluteFile().getParentFile();
+			dir.mkdirs();
+			Path tmp = Files.createTempFile(dir.toPath(), null, null);
+			try {
+				try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+					writeJSON(out, JSON_FILES);
+				}
+				Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			// The metrics are written again after the next task.
+		}
+	}
+
+	public synchronized long getParseTime() {
+		return fParseTime;
+	}
+
+	public synchronized long getResolveTime() {
+		return fResolveTime;
+	}
+
+	public synchronized long getWriteTime() {
+		return fWriteTime;
+	}
+
+	public synchronized long getLockWaitTime() {
+		return fLockWaitTime;
+	}
+
+	/**
+	 * Returns the number of times the write lock was acquired for writing files.
+	 */
+	public synchronized long getLockWaitCount() {
+		return fLockWaitCount;
+	}
+
+	/**
+	 * Returns the number of translation units parsed.
+	 */
+	public synchronized int getParseCount() {
+		return fParseCount;
+	}
+
+	/**
+	 * Returns the number of files written to the index.
+	 */
+	public synchronized int getWriteCount() {
+		return fWriteCount;
+	}
+
+	/**
+	 * Returns the number of includes processed while parsing translation units.
+	 */
+	public synchronized long getIncludeCount() {
+		return fIncludeCount;
+	}
+
+	public synchronized long getCacheHits() {
+		return fCacheHits;
+	}
+
+	public synchronized long getCacheMisses() {
+		return fCacheMisses;
+	}
+
+	/**
+	 * Returns the ratio of the accesses to the chunk cache that were hits, or 0.
+	 */
+	public synchronized double getCacheHitRate() {
+		final long accesses = fCacheHits + fCacheMisses;
+		return accesses == 0 ? 0 : (double) fCacheHits / accesses;
+	}
+
+	/**
+	 * Returns the number of tasks waiting for the indexer.
+	 */
+	public synchronized int getQueueDepth() {
+		return fQueueDepth;
+	}
+
+	public synchronized int getMaxQueueDepth() {
+		return fMaxQueueDepth;
+	}
+
+	/**
+	 * Returns a copy of the metrics of the files, the files that took the most time first.
+	 * @param maxCount the maximum number of files to return
+	 */
+	public List<FileMetrics> getFiles(int maxCount) {
+		List<FileMetrics> result = new ArrayList<>();
+		synchronized (this) {
+			for (FileMetrics file : fFiles.values()) {
+				result.add(new FileMetrics(file));
+			}
+		}
+		result.sort(Comparator.comparingLong(FileMetrics::getTotalTime).reversed()
+				.thenComparing(Comparator.comparingInt(FileMetrics::getInclusionCount).reversed()));
+		return result.size() > maxCount ? new ArrayList<>(result.subList(0, maxCount)) : result;
+	}
+
+	public synchronized void reset() {
+		fFiles.clear();
+		fParseTime = fResolveTime = fWriteTime = fLockWaitTime = fLockWaitCount = 0;
+		fParseCount = fWriteCount = 0;
+		fIncludeCount = fCacheHits = fCacheMisses = 0;
+		fMaxQueueDepth = fQueueDepth;
+	}
+
+	/**
+	 * Writes the metrics as a JSON object, times are given in nanoseconds.
+	 * @param maxFiles the maximum number of files to write, the files that took the most time
+	 *     are written.
+	 */
+	public void writeJSON(Writer out, int maxFiles) throws IOException {
+		JsonObject json = new JsonObject();
+		synchronized (this) {
+			json.addProperty("parseCount", fParseCount); //$NON-NLS-1$
+			json.addProperty("writeCount", fWriteCount); //$NON-NLS-1$
+			json.addProperty("includeCount", fIncludeCount); //$NON-NLS-1$
+			json.addProperty("parseTime", fParseTime); //$NON-NLS-1$
+			json.addProperty("resolveTime", fResolveTime); //$NON-NLS-1$
+			json.addProperty("writeTime", fWriteTime); //$NON-NLS-1$
+			json.addProperty("lockWaitTime", fLockWaitTime); //$NON-NLS-1$
+			json.addProperty("lockWaitCount", fLockWaitCount); //$NON-NLS-1$
+			json.addProperty("cacheHits", fCacheHits); //$NON-NLS-1$
+			json.addProperty("cacheMisses", fCacheMisses); //$NON-NLS-1$
+			json.addProperty("queueDepth", fQueueDepth); //$NON-NLS-1$
+			json.addProperty("maxQueueDepth", fMaxQueueDepth); //$NON-NLS-1$
+		}
+		JsonArray files = new JsonArray();
+		for (FileMetrics file : getFiles(maxFiles)) {
+			JsonObject entry = new JsonObject();
+			entry.addProperty("path", file.fPath); //$NON-NLS-1$
+			entry.addProperty("parseTime", file.fParseTime); //$NON-NLS-1$
+			entry.addProperty("resolveTime", file.fResolveTime); //$NON-NLS-1$
+			entry.addProperty("writeTime", file.fWriteTime); //$NON-NLS-1$
+			entry.addProperty("lockWaitTime", file.fLockWaitTime); //$NON-NLS-1$
+			entry.addProperty("parseCount", file.fParseCount); //$NON-NLS-1$
+			entry.addProperty("writeCount", file.fWriteCount); //$NON-NLS-1$
+			entry.addProperty("includeCount", file.fIncludeCount); //$NON-NLS-1$
+			entry.addProperty("inclusionCount", file.fInclusionCount); //$NON-NLS-1$
+			files.add(entry);
+		}
+		json.add("files", files); //$NON-NLS-1$
+		try {
+			new GsonBuilder().setPrettyPrinting().create().toJson(json, out);
+		} catch (JsonIOException e) {
+			throw new IOException(e);
+		}
+	}
+}
@@ -67,6 +67,7 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.dom.Linkage;
+import org.eclipse.cdt.internal.core.index.ContentAssistBindingComparator;
 import org.eclipse.cdt.internal.core.index.IIndexCBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
@@ -311,10 +312,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *  221.0 - Store the hash of the declarations provided by a file. Databases of version 220 are still
+	 *          supported, their files report an unknown hash.
 	 */
 	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(221, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(221, 0);
+
+	/**
+	 * The first version storing the hash of the declarations provided by a file.
+	 */
+	public static final int DECLARATION_HASH_VERSION = version(221, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -1006,6 +1014,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private int lockCount;
 	private int waitingReaders;
 	private long lastWriteAccess = 0;
+	private volatile long writeGeneration = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
 
@@ -1129,8 +1138,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 			CCorePlugin.log(e);
 		}
 		assert lockCount == -1;
-		if (!fEvent.isTrivial())
+		if (!fEvent.isTrivial()) {
 			lastWriteAccess = System.currentTimeMillis();
+			writeGeneration++;
+		}
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
 		synchronized (mutex) {
@@ -1162,6 +1173,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return lastWriteAccess;
 	}
 
+	/**
+	 * Returns a counter that is incremented whenever a write access changes the index. Objects
+	 * derived from the index remain valid as long as the counter is unchanged. Unlike the time of the
+	 * last write access, the counter distinguishes write accesses within the same millisecond.
+	 */
+	public long getWriteGeneration() {
+		return writeGeneration;
+	}
+
 	public long getLastReadAccess() {
 		return lastReadAccess;
 	}
@@ -1369,29 +1389,59 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public IIndexFragmentBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException {
-		return findBindingsForPrefixOrContentAssist(prefix, filescope, true, false, filter, monitor);
+		return findBindingsForContentAssist(prefix, filescope, filter, Integer.MAX_VALUE, monitor);
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope, IndexFilter filter,
+			int limit, IProgressMonitor monitor) throws CoreException {
+		return findBindingsForPrefixOrContentAssist(prefix, filescope, true, false, filter, limit, monitor);
 	}
 
 	private IIndexFragmentBinding[] findBindingsForPrefixOrContentAssist(char[] prefix, boolean filescope,
 			boolean isContentAssist, boolean caseSensitive, IndexFilter filter, IProgressMonitor monitor)
 			throws CoreException {
+		return findBindingsForPrefixOrContentAssist(prefix, filescope, isContentAssist, caseSensitive, filter,
+				Integer.MAX_VALUE, monitor);
+	}
+
+	private IIndexFragmentBinding[] findBindingsForPrefixOrContentAssist(char[] prefix, boolean filescope,
+			boolean isContentAssist, boolean caseSensitive, IndexFilter filter, int limit, IProgressMonitor monitor)
+			throws CoreException {
 		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
-				PDOMBinding[] bindings;
 				BindingCollector visitor = new BindingCollector(linkage, prefix, filter, !isContentAssist,
 						isContentAssist, caseSensitive);
 				visitor.setMonitor(monitor);
+				visitor.setLimit(limit);
+				BindingCollector nestedVisitor = null;
+				if (!filescope) {
+					// The nested bindings are collected separately, such that a limit picks the
+					// most relevant bindings from both of the BTrees.
+					nestedVisitor = new BindingCollector(linkage, prefix, filter, !isContentAssist, isContentAssist,
+							caseSensitive);
+					nestedVisitor.setMonitor(monitor);
+					nestedVisitor.setLimit(limit);
+					// Avoid adding unscoped enumerator items twice
+					nestedVisitor.setSkipGlobalEnumerators(true);
+				}
 				try {
 					linkage.accept(visitor);
-					if (!filescope) {
-						// Avoid adding unscoped enumerator items twice
-						visitor.setSkipGlobalEnumerators(true);
-						linkage.getNestedBindingsIndex().accept(visitor);
+					if (nestedVisitor != null) {
+						linkage.getNestedBindingsIndex().accept(nestedVisitor);
 					}
 				} catch (OperationCanceledException e) {
+					// Return the bindings found so far.
+				}
+				PDOMBinding[] bindings = visitor.getBindings();
+				if (nestedVisitor != null) {
+					bindings = ArrayUtil.addAll(bindings, nestedVisitor.getBindings());
+					if (bindings.length > limit) {
+						Arrays.sort(bindings, new ContentAssistBindingComparator(prefix));
+						bindings = Arrays.copyOf(bindings, limit);
+					}
 				}
-				bindings = visitor.getBindings();
 
 				for (PDOMBinding binding : bindings) {
 					result.add(binding);
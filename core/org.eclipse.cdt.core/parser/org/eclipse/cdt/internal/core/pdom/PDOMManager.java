@@ -27,6 +27,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
@@ -35,9 +38,11 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 
@@ -68,16 +73,21 @@ import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ILanguageMappingChangeListener;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.model.LanguageManager;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.IScannerInfoProvider;
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
 import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.index.IndexChangeEvent;
 import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
+import org.eclipse.cdt.internal.core.index.WritableCIndex;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
@@ -96,10 +106,12 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
@@ -143,6 +155,28 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 	private static final QualifiedName dbNameProperty = new QualifiedName(CCorePlugin.PLUGIN_ID, "pdomName"); //$NON-NLS-1$
 
+	/**
+	 * Number of databases the index of a project is split into, can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.pdom.shards=&lt;count&gt;
+	 * Files are assigned to the databases by the folder they are located in. A database that
+	 * cannot be opened is recreated, without rebuilding the other databases of the index.
+	 */
+	private static final int SHARD_COUNT = Math.max(1, Integer.getInteger("org.eclipse.cdt.core.parser.pdom.shards", 1)); //$NON-NLS-1$
+	public static final String PROPERTY_SHARD_COUNT = "org.eclipse.cdt.internal.core.pdom.shardCount"; //$NON-NLS-1$
+	/**
+	 * Whether files outside of the workspace are stored in a library index, rather than in the
+	 * index of the project, can be enabled with -Dorg.eclipse.cdt.core.parser.pdom.libraryIndex=true.
+	 * A library index is shared by all projects using the same include paths outside of the
+	 * workspace, such that system and SDK headers are indexed once for all of them.
+	 */
+	private static final boolean LIBRARY_INDEX = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.libraryIndex"); //$NON-NLS-1$
+	public static final String PROPERTY_LIBRARY_INDEX = "org.eclipse.cdt.internal.core.pdom.libraryIndex"; //$NON-NLS-1$
+	/**
+	 * Identifies the contents of a library index, changes whenever the library is recreated. The
+	 * index of a project stores the generation of the library it has recovered its files for.
+	 */
+	private static final String PROPERTY_LIBRARY_GENERATION = "org.eclipse.cdt.internal.core.pdom.libraryGeneration"; //$NON-NLS-1$
+
 	public static final int[] IDS_FOR_LINKAGES_TO_INDEX = { ILinkage.CPP_LINKAGE_ID, ILinkage.C_LINKAGE_ID,
 			ILinkage.FORTRAN_LINKAGE_ID };
 	public static final int[] IDS_FOR_LINKAGES_TO_INDEX_C_FIRST = { ILinkage.C_LINKAGE_ID, ILinkage.CPP_LINKAGE_ID,
@@ -168,6 +202,22 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 */
 	private Map<IProject, IPDOM> fProjectToPDOM = new HashMap<>();
 	private Map<File, ICProject> fFileToProject = new HashMap<>();
+	/**
+	 * The databases of a project in addition to the one stored in fProjectToPDOM, protected by
+	 * fProjectToPDOM.
+	 */
+	private Map<IProject, WritablePDOM[]> fProjectToShards = new HashMap<>();
+	/**
+	 * The library index used by a project and the library indexes by their key, protected by
+	 * fProjectToPDOM.
+	 */
+	private Map<IProject, WritablePDOM> fProjectToLibrary = new HashMap<>();
+	private Map<String, WritablePDOM> fLibraries = new HashMap<>();
+	/**
+	 * The library indexes no longer used by any project that are being closed, by their key,
+	 * protected by fProjectToPDOM. A library is opened again only after it has been closed.
+	 */
+	private Map<String, WritablePDOM> fClosingLibraries = new HashMap<>();
 	private ListenerList<IIndexChangeListener> fChangeListeners = new ListenerList<>();
 	private ListenerList<IIndexerStateListener> fStateListeners = new ListenerList<>();
 
@@ -286,6 +336,41 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
+		closeLibraries();
+	}
+
+	/**
+	 * Closes the library indexes, gives up on the ones that are still in use after a while.
+	 */
+	private void closeLibraries() {
+		List<WritablePDOM> libraries;
+		synchronized (fProjectToPDOM) {
+			libraries = new ArrayList<>(fLibraries.values());
+			fLibraries.clear();
+			fProjectToLibrary.clear();
+		}
+		final long deadline = System.currentTimeMillis() + 5000;
+		IProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return System.currentTimeMillis() > deadline;
+			}
+		};
+		for (WritablePDOM library : libraries) {
+			try {
+				library.acquireWriteLock(monitor);
+				try {
+					library.close();
+				} finally {
+					library.releaseWriteLock();
+				}
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			} catch (InterruptedException | OperationCanceledException e) {
+				CCorePlugin.log("Failed to close the C/C++ library index " //$NON-NLS-1$
+						+ library.getDB().getLocation().getAbsolutePath(), e);
+			}
+		}
 	}
 
 	protected void onPreferenceChange(PreferenceChangeEvent event) {
@@ -342,6 +427,27 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/**
+	 * Returns the databases the index of the project is split into in addition to the pdom, or
+	 * an empty array if the index is not split or the pdom has not been opened, yet.
+	 */
+	public WritablePDOM[] getPDOMShards(ICProject project) {
+		synchronized (fProjectToPDOM) {
+			WritablePDOM[] shards = fProjectToShards.get(project.getProject());
+			return shards == null ? new WritablePDOM[0] : shards;
+		}
+	}
+
+	/**
+	 * Returns the library index the project stores the files outside of the workspace in, or
+	 * {@code null} if there is none or the pdom of the project has not been opened, yet.
+	 */
+	public WritablePDOM getLibraryPDOM(ICProject project) {
+		synchronized (fProjectToPDOM) {
+			return fProjectToLibrary.get(project.getProject());
+		}
+	}
+
 	/**
 	 * Returns the pdom for the project. The call to the method may cause
 	 * opening the database. In case there is a version mismatch the data
@@ -417,10 +523,41 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				} finally {
 					pdom.releaseWriteLock();
 				}
+			} else if (getShardCount(pdom) != SHARD_COUNT || usesLibraryIndex(pdom) != LIBRARY_INDEX) {
+				// The files need to be distributed among a different set of databases.
+				try {
+					pdom.acquireWriteLock(monitor);
+				} catch (InterruptedException e) {
+					throw new CoreException(
+							CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+				}
+				try {
+					pdom.clear();
+					pdom.setClearedBecauseOfVersionMismatch(true);
+					writeProjectPDOMProperties(pdom, project);
+				} finally {
+					pdom.releaseWriteLock();
+				}
+			}
+			if (pdom.isCreatedFromScratch() || pdom.isClearedBecauseOfVersionMismatch()) {
+				deleteShardFiles(dbFile);
 			}
 			pdom.setASTFilePathResolver(new ProjectIndexerInputAdapter(cProject, false));
 			pdom.addListener(this);
 
+			if (SHARD_COUNT > 1) {
+				WritablePDOM[] shards = new WritablePDOM[SHARD_COUNT - 1];
+				for (int i = 1; i < SHARD_COUNT; i++) {
+					shards[i - 1] = getOrCreateShard(cProject, getShardFile(dbFile, i), i, monitor);
+				}
+				fProjectToShards.put(project, shards);
+			}
+			if (LIBRARY_INDEX) {
+				WritablePDOM library = getOrCreateLibrary(project, monitor);
+				if (library != null) {
+					fProjectToLibrary.put(project, library);
+				}
+			}
 			fFileToProject.put(dbFile, cProject);
 			fProjectToPDOM.put(project, pdom);
 			if (pdomProxy instanceof PDOMProxy) {
@@ -430,6 +567,249 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/**
+	 * Opens one of the additional databases of a project, a database that cannot be used is
+	 * cleared. Must be called while holding the lock on fProjectToPDOM.
+	 */
+	private WritablePDOM getOrCreateShard(ICProject cProject, File file, int shard, IProgressMonitor monitor)
+			throws CoreException {
+		IProject project = cProject.getProject();
+		boolean fromScratch = !file.exists();
+		WritablePDOM pdom;
+		try {
+			pdom = new WritablePDOM(file, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
+		} catch (CoreException | RuntimeException e) {
+			CCorePlugin.log("Failed to open C/C++ index file " + file.getAbsolutePath() //$NON-NLS-1$
+					+ " - rebuilding the files stored in it", e); //$NON-NLS-1$
+			file.delete();
+			fromScratch = true;
+			pdom = new WritablePDOM(file, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
+		}
+
+		// The fragment id follows the name of the project, the fragments of an index are told apart by it.
+		final String id = getShardFragmentID(project, shard);
+		if (!pdom.isSupportedVersion() || fromScratch || !id.equals(getFragmentID(pdom))) {
+			try {
+				pdom.acquireWriteLock(monitor);
+			} catch (InterruptedException e) {
+				throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+			}
+			try {
+				if (fromScratch) {
+					pdom.setCreatedFromScratch(true);
+				} else if (!pdom.isSupportedVersion()) {
+					pdom.clear();
+					pdom.setClearedBecauseOfVersionMismatch(true);
+				}
+				pdom.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, id);
+			} finally {
+				pdom.releaseWriteLock();
+			}
+		}
+		pdom.setASTFilePathResolver(new ProjectIndexerInputAdapter(cProject, false));
+		pdom.addListener(this);
+		fFileToProject.put(file, cProject);
+		return pdom;
+	}
+
+	/**
+	 * Opens the library index for the include paths of the project, a database that cannot be used
+	 * is cleared. Must be called while holding the lock on fProjectToPDOM.
+	 */
+	private WritablePDOM getOrCreateLibrary(IProject project, IProgressMonitor monitor) throws CoreException {
+		final String key = getLibraryKey(project);
+		while (fClosingLibraries.containsKey(key)) {
+			// Don't open a second database on the file while it's still being written to.
+			try {
+				fProjectToPDOM.wait();
+			} catch (InterruptedException e) {
+				throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+			}
+		}
+		WritablePDOM pdom = fLibraries.get(key);
+		if (pdom != null)
+			return pdom;
+
+		File file = fileFromDatabaseName("library." + key + ".pdom"); //$NON-NLS-1$ //$NON-NLS-2$
+		boolean fromScratch = !file.exists();
+		IWorkspaceRoot root = project.getWorkspace().getRoot();
+		try {
+			pdom = new WritablePDOM(file, new PDOMProjectIndexLocationConverter(root), getLinkageFactories());
+		} catch (CoreException | RuntimeException e) {
+			CCorePlugin.log("Failed to open C/C++ index file " + file.getAbsolutePath() //$NON-NLS-1$
+					+ " - rebuilding the library index", e); //$NON-NLS-1$
+			file.delete();
+			fromScratch = true;
+			pdom = new WritablePDOM(file, new PDOMProjectIndexLocationConverter(root), getLinkageFactories());
+		}
+
+		boolean clear = !pdom.isSupportedVersion();
+		if (clear || fromScratch || getLibraryGeneration(pdom) == null) {
+			try {
+				pdom.acquireWriteLock(monitor);
+			} catch (InterruptedException e) {
+				throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+			}
+			try {
+				if (clear && !fromScratch) {
+					pdom.clear();
+				}
+				pdom.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, CCorePlugin.PLUGIN_ID + ".pdom.library." + key); //$NON-NLS-1$
+				// The projects recover the files they have lost, when they find a new generation.
+				pdom.setProperty(PROPERTY_LIBRARY_GENERATION, Long.toString(System.currentTimeMillis()));
+			} finally {
+				pdom.releaseWriteLock();
+			}
+		}
+		fLibraries.put(key, pdom);
+		return pdom;
+	}
+
+	private static String getLibraryGeneration(WritablePDOM pdom) throws CoreException {
+		try {
+			pdom.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+		}
+		try {
+			return pdom.getProperty(PROPERTY_LIBRARY_GENERATION);
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	/**
+	 * Records that the project has recovered the files it lost with the previous generation of its
+	 * library index.
+	 */
+	private void recordLibraryGeneration(ICProject project, WritablePDOM pdom)
+			throws CoreException, InterruptedException {
+		WritablePDOM library = getLibraryPDOM(project);
+		if (library == null)
+			return;
+		String generation = getLibraryGeneration(library);
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.setProperty(PROPERTY_LIBRARY_GENERATION, generation);
+		} finally {
+			pdom.releaseWriteLock();
+		}
+	}
+
+	/**
+	 * Removes the project from the users of its library index. Must be called while holding the lock
+	 * on fProjectToPDOM.
+	 * @return the library index if it is no longer used by any project and needs to be closed, or
+	 *     {@code null}. The caller must call {@link #libraryClosed(WritablePDOM)} once it has closed it.
+	 */
+	private WritablePDOM removeLibraryUser(IProject project) {
+		WritablePDOM library = fProjectToLibrary.remove(project);
+		if (library == null || fProjectToLibrary.containsValue(library))
+			return null;
+		for (Iterator<Map.Entry<String, WritablePDOM>> it = fLibraries.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, WritablePDOM> entry = it.next();
+			if (entry.getValue() == library) {
+				it.remove();
+				fClosingLibraries.put(entry.getKey(), library);
+				break;
+			}
+		}
+		return library;
+	}
+
+	/**
+	 * Allows the library index returned by {@link #removeLibraryUser(IProject)} to be opened again.
+	 */
+	private void libraryClosed(WritablePDOM library) {
+		synchronized (fProjectToPDOM) {
+			fClosingLibraries.values().remove(library);
+			fProjectToPDOM.notifyAll();
+		}
+	}
+
+	/**
+	 * Computes the key of the library index for the include paths of the project outside of the
+	 * workspace. Macro definitions are not part of the key, the variants of a header for different
+	 * macro definitions are distinguished by the index.
+	 */
+	private static String getLibraryKey(IProject project) {
+		StringBuilder buf = new StringBuilder();
+		IScannerInfoProvider provider = CCorePlugin.getDefault().getScannerInfoProvider(project);
+		IScannerInfo info = provider == null ? null : provider.getScannerInformation(project);
+		if (info != null && info.getIncludePaths() != null) {
+			IPath workspace = ResourcesPlugin.getWorkspace().getRoot().getLocation();
+			for (String path : info.getIncludePaths()) {
+				if (workspace == null || !workspace.isPrefixOf(new Path(path))) {
+					buf.append(path).append('\n');
+				}
+			}
+		}
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			return HexFormat.of().formatHex(md.digest(buf.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(buf.toString().hashCode());
+		}
+	}
+
+	private static String getFragmentID(WritablePDOM pdom) throws CoreException {
+		try {
+			pdom.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+		}
+		try {
+			return pdom.getProperty(IIndexFragment.PROPERTY_FRAGMENT_ID);
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	private static boolean usesLibraryIndex(WritablePDOM pdom) throws CoreException {
+		try {
+			pdom.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+		}
+		try {
+			return Boolean.parseBoolean(pdom.getProperty(PROPERTY_LIBRARY_INDEX));
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	private static File getShardFile(File dbFile, int shard) {
+		return new File(dbFile.getPath() + '.' + shard);
+	}
+
+	private static void deleteShardFiles(File dbFile) {
+		for (int i = 1;; i++) {
+			File file = getShardFile(dbFile, i);
+			if (!file.exists() && i >= SHARD_COUNT)
+				break;
+			file.delete();
+		}
+	}
+
+	private static int getShardCount(WritablePDOM pdom) throws CoreException {
+		String count;
+		try {
+			pdom.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMManager_creationOfIndexInterrupted, e));
+		}
+		try {
+			count = pdom.getProperty(PROPERTY_SHARD_COUNT);
+		} finally {
+			pdom.releaseReadLock();
+		}
+		try {
+			return count == null ? 1 : Integer.parseInt(count);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
 	private Map<String, IPDOMLinkageFactory> getLinkageFactories() {
 		return LanguageManager.getInstance().getPDOMLinkageFactoryMappings();
 	}
@@ -602,6 +982,14 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 					}
 					pdom.setClearedBecauseOfVersionMismatch(false);
 					pdom.setCreatedFromScratch(false);
+					for (WritablePDOM shard : getPDOMShards(project)) {
+						shard.setClearedBecauseOfVersionMismatch(false);
+						shard.setCreatedFromScratch(false);
+					}
+					if (rebuild) {
+						// The rebuild stores all files in the current library.
+						recordLibraryGeneration(project, pdom);
+					}
 				}
 				if (!rebuild) {
 					registerIndexer(project, indexer);
@@ -611,6 +999,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 					} else {
 						enqueue(new TriggerNotificationTask(this, pdom));
 					}
+					if (!IPDOMManager.ID_NO_INDEXER.equals(indexer.getID())) {
+						recoverShards(project, indexer, pdom);
+					}
 					if (policy.isAutomatic()) {
 						boolean resume = false;
 						pdom.acquireReadLock();
@@ -633,7 +1024,10 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 			// rebuild is required, try import first.
 			TeamPDOMImportOperation operation = new TeamPDOMImportOperation(project);
-			operation.run(pm);
+			if (SHARD_COUNT == 1) {
+				// A shared index is a single database.
+				operation.run(pm);
+			}
 
 			synchronized (fUpdatePolicies) {
 				if (fClosingProjects.contains(name)) {
@@ -709,6 +1103,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				}
 			}
 			fTaskQueue.addLast(subjob);
+			IndexerMetrics.getSharedInstance().queueChanged(fTaskQueue.size());
 		}
 		fIndexerJob.schedule();
 	}
@@ -729,6 +1124,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				}
 				result = fCurrentTask = fTaskQueue.removeFirst();
 			}
+			IndexerMetrics.getSharedInstance().queueChanged(fTaskQueue.size());
 		}
 		return result;
 	}
@@ -739,6 +1135,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			fCurrentTask = null;
 			if (!byManager) {
 				fTaskQueue.clear();
+				IndexerMetrics.getSharedInstance().queueChanged(0);
 			}
 			scheduleJob = !fTaskQueue.isEmpty();
 		}
@@ -877,6 +1274,107 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		preRemoveProject(cproject, false);
 	}
 
+	/**
+	 * Schedules indexing the files that were stored in additional databases of the project which
+	 * had to be recreated. Files that are not part of the project are indexed again with the
+	 * files including them, which are found in the remaining databases. The same applies to files
+	 * outside of the workspace, when the library index had to be recreated.
+	 */
+	private void recoverShards(ICProject project, IPDOMIndexer indexer, WritablePDOM pdom)
+			throws CoreException, InterruptedException {
+		WritablePDOM[] shards = getPDOMShards(project);
+		WritablePDOM[] fragments = new WritablePDOM[shards.length + 1];
+		fragments[0] = pdom;
+		System.arraycopy(shards, 0, fragments, 1, shards.length);
+
+		boolean[] lost = new boolean[fragments.length];
+		boolean recover = false;
+		for (int i = 1; i < fragments.length; i++) {
+			WritablePDOM shard = fragments[i];
+			lost[i] = shard.isClearedBecauseOfVersionMismatch() || shard.isCreatedFromScratch();
+			shard.setClearedBecauseOfVersionMismatch(false);
+			shard.setCreatedFromScratch(false);
+			recover |= lost[i];
+		}
+		// The library index is shared, every project recovers its files once per generation of the library.
+		WritablePDOM library = getLibraryPDOM(project);
+		boolean libraryLost = false;
+		if (library != null) {
+			String generation = getLibraryGeneration(library);
+			pdom.acquireReadLock();
+			try {
+				libraryLost = !Objects.equals(generation, pdom.getProperty(PROPERTY_LIBRARY_GENERATION));
+			} finally {
+				pdom.releaseReadLock();
+			}
+		}
+		recover |= libraryLost;
+		if (!recover)
+			return;
+
+		if (fTraceIndexerSetup)
+			System.out.println("Indexer: Recovering lost databases of project " + project.getElementName()); //$NON-NLS-1$
+
+		Set<IIndexFileLocation> includers = new HashSet<>();
+		for (int i = 0; i < fragments.length; i++) {
+			if (lost[i])
+				continue;
+			WritablePDOM fragment = fragments[i];
+			fragment.acquireReadLock();
+			try {
+				for (IIndexFragmentFile file : fragment.getAllFiles()) {
+					if (file.hasContent())
+						continue;
+					IIndexFileLocation location = file.getLocation();
+					if (library != null && location.getFullPath() == null
+							? libraryLost && !hasContent(library, location)
+							: lost[WritableCIndex.getShard(location, fragments.length)]) {
+						for (IIndexFragmentInclude include : fragment.findIncludedBy(file)) {
+							includers.add(include.getIncludedByLocation());
+						}
+					}
+				}
+			} finally {
+				fragment.releaseReadLock();
+			}
+		}
+
+		if (libraryLost) {
+			recordLibraryGeneration(project, pdom);
+		}
+		enqueue(new PDOMUpdateTask(indexer,
+				IIndexManager.UPDATE_CHECK_TIMESTAMPS | IIndexManager.UPDATE_CHECK_CONTENTS_HASH));
+		if (!includers.isEmpty()) {
+			List<ICElement> tus = new ArrayList<>();
+			for (IIndexFileLocation location : includers) {
+				IPath path = IndexLocationFactory.getAbsolutePath(location);
+				if (path != null) {
+					ITranslationUnit tu = CoreModel.getDefault().createTranslationUnitFrom(project, path);
+					if (tu != null) {
+						tus.add(tu);
+					}
+				}
+			}
+			PDOMUpdateTask task = new PDOMUpdateTask(indexer, IIndexManager.UPDATE_ALL);
+			task.setTranslationUnitSelection(tus);
+			enqueue(task);
+		}
+	}
+
+	private static boolean hasContent(WritablePDOM library, IIndexFileLocation location)
+			throws CoreException, InterruptedException {
+		library.acquireReadLock();
+		try {
+			for (IIndexFragmentFile file : library.getFiles(location)) {
+				if (file.hasContent())
+					return true;
+			}
+			return false;
+		} finally {
+			library.releaseReadLock();
+		}
+	}
+
 	private void preRemoveProject(ICProject cproject, final boolean delete) {
 		assert !Thread.holdsLock(fProjectToPDOM);
 
@@ -898,32 +1396,61 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 		unregisterPreferenceListener(cproject);
 		Object pdom = null;
+		WritablePDOM[] shards;
+		WritablePDOM library;
 		synchronized (fProjectToPDOM) {
 			pdom = fProjectToPDOM.remove(rproject);
+			shards = fProjectToShards.remove(rproject);
+			// The library index is shared with other projects and stays open while they use it.
+			library = removeLibraryUser(rproject);
 			// If the project is closed allow to reuse the pdom.
 			if (pdom instanceof WritablePDOM && !delete) {
 				fFileToProject.remove(((WritablePDOM) pdom).getDB().getLocation());
+				if (shards != null) {
+					for (WritablePDOM shard : shards) {
+						fFileToProject.remove(shard.getDB().getLocation());
+					}
+				}
 			}
 		}
 
+		final List<WritablePDOM> pdoms = new ArrayList<>();
 		if (pdom instanceof WritablePDOM) {
-			final WritablePDOM finalpdom = (WritablePDOM) pdom;
+			pdoms.add((WritablePDOM) pdom);
+			if (shards != null) {
+				pdoms.addAll(Arrays.asList(shards));
+			}
+		}
+		if (library != null) {
+			pdoms.add(library);
+		}
+		if (!pdoms.isEmpty()) {
 			Job job = new Job(Messages.PDOMManager_ClosePDOMJob) {
 				@Override
 				protected IStatus run(IProgressMonitor monitor) {
 					try {
-						finalpdom.acquireWriteLock(monitor);
-						try {
-							finalpdom.close();
-							if (delete) {
-								finalpdom.getDB().getLocation().delete();
+						for (WritablePDOM finalpdom : pdoms) {
+							try {
+								finalpdom.acquireWriteLock(monitor);
+								try {
+									finalpdom.close();
+									// Other projects may use the library later on.
+									if (delete && finalpdom != library) {
+										finalpdom.getDB().getLocation().delete();
+									}
+								} catch (CoreException e) {
+									CCorePlugin.log(e);
+								} finally {
+									finalpdom.releaseWriteLock();
+								}
+							} catch (InterruptedException e) {
+								break;
 							}
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-						} finally {
-							finalpdom.releaseWriteLock();
 						}
-					} catch (InterruptedException e) {
+					} finally {
+						if (library != null) {
+							libraryClosed(library);
+						}
 					}
 					return Status.OK_STATUS;
 				}
@@ -941,6 +1468,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		synchronized (fProjectToPDOM) {
 			IProject rproject = cproject.getProject();
 			fProjectToPDOM.remove(rproject);
+			fProjectToShards.remove(rproject);
+			// The library has been closed by preRemoveProject(), if no other project uses it.
+			fProjectToLibrary.remove(rproject);
 			// don't remove the location, because it may not be reused when the project was deleted.
 		}
 	}
@@ -1281,9 +1811,23 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 * @param monitor
 	 * @throws CoreException
 	 * @throws IllegalArgumentException if a file exists at targetLocation
+	 * @throws CoreException if the index is split into several databases or stores the files
+	 *     outside of the workspace in a library index
 	 */
 	public void exportProjectPDOM(ICProject cproject, File targetLocation, final IIndexLocationConverter newConverter,
 			IProgressMonitor monitor) throws CoreException {
+		WritablePDOM pdom = getOrCreatePDOM(cproject, monitor);
+		// Only the first database would be copied.
+		int shards = getShardCount(pdom);
+		if (shards > 1) {
+			throw new CoreException(CCorePlugin.createStatus("Cannot export an index split into " //$NON-NLS-1$
+					+ shards + " databases")); //$NON-NLS-1$
+		}
+		// The bindings of the external files would be missing.
+		if (usesLibraryIndex(pdom)) {
+			throw new CoreException(CCorePlugin.createStatus(
+					"Cannot export an index that keeps external files in a library index")); //$NON-NLS-1$
+		}
 		if (targetLocation.exists()) {
 			boolean deleted = targetLocation.delete();
 			if (!deleted) {
@@ -1293,7 +1837,6 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 		try {
 			// Copy it.
-			PDOM pdom = getOrCreatePDOM(cproject, monitor);
 			pdom.acquireReadLock();
 			String oldID = null;
 			try {
@@ -1336,6 +1879,10 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 */
 	public void importProjectPDOM(ICProject project, InputStream stream, IProgressMonitor monitor)
 			throws CoreException, IOException {
+		if (SHARD_COUNT > 1) {
+			throw new CoreException(CCorePlugin.createStatus("Cannot import into an index split into " //$NON-NLS-1$
+					+ SHARD_COUNT + " databases")); //$NON-NLS-1$
+		}
 		// make a copy of the database
 		String newName = createNewDatabaseName(project);
 		File newFile = fileFromDatabaseName(newName);
@@ -1375,6 +1922,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		try {
 			pdom.reloadFromFile(newFile);
 			storeDatabaseName(project.getProject(), newName);
+			// There are no shards to update, an index split into several databases is not imported.
 			writeProjectPDOMProperties(pdom, project.getProject());
 		} finally {
 			pdom.releaseWriteLock();
@@ -1396,9 +1944,34 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 * @throws CoreException
 	 */
 	public static void writeProjectPDOMProperties(WritablePDOM pdom, IProject project) throws CoreException {
+		pdom.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, getProjectFragmentID(project));
+		pdom.setProperty(PROPERTY_SHARD_COUNT, String.valueOf(SHARD_COUNT));
+		pdom.setProperty(PROPERTY_LIBRARY_INDEX, String.valueOf(LIBRARY_INDEX));
+	}
+
+	/**
+	 * Write metadata appropriate for a project pdom and the additional databases its index is
+	 * split into, the caller must hold the write lock on all of them.
+	 * @param pdom the pdom to write to
+	 * @param shards the additional databases of the index, see {@link #getPDOMShards(ICProject)}
+	 * @param project the project to write metadata about
+	 * @throws CoreException
+	 */
+	public static void writeProjectPDOMProperties(WritablePDOM pdom, WritablePDOM[] shards, IProject project)
+			throws CoreException {
+		writeProjectPDOMProperties(pdom, project);
+		for (int i = 0; i < shards.length; i++) {
+			shards[i].setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, getShardFragmentID(project, i + 1));
+		}
+	}
+
+	private static String getProjectFragmentID(IProject project) {
 		String DELIM = "\0"; //$NON-NLS-1$
-		String id = CCorePlugin.PLUGIN_ID + ".pdom.project." + DELIM + project.getName() + DELIM; //$NON-NLS-1$
-		pdom.setProperty(IIndexFragment.PROPERTY_FRAGMENT_ID, id);
+		return CCorePlugin.PLUGIN_ID + ".pdom.project." + DELIM + project.getName() + DELIM; //$NON-NLS-1$
+	}
+
+	private static String getShardFragmentID(IProject project, int shard) {
+		return getProjectFragmentID(project) + shard;
 	}
 
 	@Override
@@ -137,6 +137,15 @@ public class PDOMProxy implements IPDOM {
 		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
 	}
 
+	@Override
+	public synchronized IIndexFragmentBinding[] findBindingsForContentAssist(char[] prefix, boolean filescope,
+			IndexFilter filter, int limit, IProgressMonitor monitor) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findBindingsForContentAssist(prefix, filescope, filter, limit, monitor);
+
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public synchronized IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file) throws CoreException {
 		if (fDelegate != null)
@@ -92,6 +92,12 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class PDOMWriter implements IPDOMASTProcessor {
 	private static final boolean REPORT_UNKNOWN_BUILTINS = false;
+	/**
+	 * Whether the bindings of a file are looked up before the write-lock for storing the file is
+	 * acquired, can be disabled with -Dorg.eclipse.cdt.core.parser.pdom.prefetchBindings=false
+	 */
+	private static final boolean PREFETCH_BINDINGS = Boolean
+			.parseBoolean(System.getProperty("org.eclipse.cdt.core.parser.pdom.prefetchBindings", "true")); //$NON-NLS-1$ //$NON-NLS-2$
 
 	public static class FileInAST {
 		final IASTPreprocessorIncludeStatement includeStatement;
@@ -218,6 +224,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 	protected final ICanceler fCancelState = new Canceler();
 
 	private int fSkipReferences = SKIP_NO_REFERENCES;
+	private boolean fTrackDeclarationChanges;
 
 	public PDOMWriter(IndexerInputAdapter resolver) {
 		fStatistics = new IndexerStatistics();
@@ -261,6 +268,19 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return fSkipReferences;
 	}
 
+	/**
+	 * Determines whether the hashes of the declarations provided by the stored files are computed.
+	 * When a file is replaced by a version providing different declarations,
+	 * {@link #reportDeclarationsChanged(FileInAST)} is called.
+	 */
+	public void setTrackDeclarationChanges(boolean value) {
+		fTrackDeclarationChanges = value;
+	}
+
+	public boolean isTrackDeclarationChanges() {
+		return fTrackDeclarationChanges;
+	}
+
 	/**
 	 * Extracts symbols from the given AST and adds them to the index.  Ignores Data maps that are
 	 * empty and ones where storageLinkageID == {@link ILinkage#NO_LINKAGE_ID}.
@@ -273,26 +293,49 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		if (data.isEmpty() || storageLinkageID == ILinkage.NO_LINKAGE_ID)
 			return;
 
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		resolveSymbols(data, storageLinkageID, progress.split(1));
+		storeSymbols(data, storageLinkageID, ctx, progress.split(1));
+	}
+
+	/**
+	 * First half of {@link #addSymbols(Data, int, FileContext, IProgressMonitor)}, resolves the names
+	 * collected in the given data. Does not modify the index, such that it may be called for
+	 * different ASTs on multiple threads.
+	 */
+	final protected void resolveSymbols(Data data, int storageLinkageID, IProgressMonitor monitor) {
+		if (data.isEmpty() || storageLinkageID == ILinkage.NO_LINKAGE_ID)
+			return;
+
 		if (fShowProblems) {
 			fShowInclusionProblems = true;
 			fShowScannerProblems = true;
 			fShowSyntaxProblems = true;
 		}
+		resolveNames(data, monitor);
+	}
 
-		SubMonitor progress = SubMonitor.convert(monitor, 2);
-		// Name resolution.
-		resolveNames(data, progress.split(1));
+	/**
+	 * Second half of {@link #addSymbols(Data, int, FileContext, IProgressMonitor)}, stores the symbols
+	 * resolved by {@link #resolveSymbols(Data, int, IProgressMonitor)} in the index. Entries of
+	 * {@code data.fSelectedFiles} that are {@code null} are skipped.
+	 */
+	final protected void storeSymbols(Data data, int storageLinkageID, FileContext ctx, IProgressMonitor monitor)
+			throws InterruptedException, CoreException {
+		if (data.isEmpty() || storageLinkageID == ILinkage.NO_LINKAGE_ID)
+			return;
 
-		// Index update.
-		storeSymbolsInIndex(data, storageLinkageID, ctx, progress.split(1));
+		storeSymbolsInIndex(data, storageLinkageID, ctx, monitor);
 
 		if (!data.fStatuses.isEmpty()) {
 			List<IStatus> statuses = data.fStatuses;
 			String path = null;
-			if (data.fSelectedFiles.length > 0) {
-				path = data.fSelectedFiles[data.fSelectedFiles.length - 1].fileContentKey.getLocation().getURI()
-						.getPath();
-			} else {
+			for (int i = data.fSelectedFiles.length; path == null && --i >= 0;) {
+				if (data.fSelectedFiles[i] != null) {
+					path = data.fSelectedFiles[i].fileContentKey.getLocation().getURI().getPath();
+				}
+			}
+			if (path == null) {
 				path = data.fAST.getFilePath().toString();
 			}
 			String msg = NLS.bind(Messages.PDOMWriter_errorWhileParsing, path);
@@ -313,6 +356,10 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			throws InterruptedException, CoreException {
 		final IIndexFragmentFile newFile = ctx == null ? null : ctx.fNewFile;
 		SubMonitor progress = SubMonitor.convert(monitor, data.fSelectedFiles.length * 10);
+		int last = data.fSelectedFiles.length - 1;
+		while (last > 0 && data.fSelectedFiles[last] == null) {
+			last--;
+		}
 		for (int i = 0; i < data.fSelectedFiles.length; i++) {
 			final FileInAST fileInAST = data.fSelectedFiles[i];
 			if (fileInAST != null) {
@@ -320,11 +367,15 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 					trace("Indexer: adding " + fileInAST.fileContentKey.getLocation().getURI()); //$NON-NLS-1$
 				}
 				Throwable th = null;
+				final long start = System.nanoTime();
+				final boolean isReplacement = ctx != null && fileInAST.includeStatement == null;
+				if (PREFETCH_BINDINGS && (!isReplacement || newFile == null)) {
+					prefetchBindings(data, fileInAST, storageLinkageID);
+				}
 				YieldableIndexLock lock = new YieldableIndexLock(data.fIndex, false, progress.split(1));
 				lock.acquire();
 				boolean hasLock = true;
 				try {
-					final boolean isReplacement = ctx != null && fileInAST.includeStatement == null;
 					IIndexFragmentFile ifile = null;
 					if (!isReplacement || newFile == null) {
 						ifile = storeFileInIndex(data, fileInAST, storageLinkageID, lock, progress.split(9));
@@ -360,7 +411,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 					if (hasLock) {
 						// Because the caller holds a read-lock, the result cache of the index is never cleared.
 						// Before releasing the lock for the last time in this AST, we clear the result cache.
-						if (i == data.fSelectedFiles.length - 1) {
+						if (i == last) {
 							data.fIndex.clearResultCache();
 						}
 						lock.release();
@@ -371,12 +422,19 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
 				}
 				fStatistics.fAddToIndexTime += lock.getCumulativeLockTime();
+				final long waitTime = lock.getCumulativeWaitTime();
+				IndexerMetrics.getSharedInstance().written(fileInAST.fileContentKey.getLocation(),
+						System.nanoTime() - start - waitTime, waitTime, lock.getAcquireCount());
 			}
 		}
 	}
 
 	private void resolveNames(Data data, IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
+		final long startNanos = System.nanoTime();
+		int problemBindingCount = 0;
+		int referenceCount = 0;
+		int declarationCount = 0;
 		Set<ICPPInternalDeclaredVariable> variables = new HashSet<>();
 		SubMonitor progress = SubMonitor.convert(monitor, data.fSelectedFiles.length);
 		for (FileInAST file : data.fSelectedFiles) {
@@ -406,7 +464,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							IProblemBinding problemBinding = (IProblemBinding) binding;
 							if (REPORT_UNKNOWN_BUILTINS || problemBinding.getID() != IProblemBinding.BINDING_NOT_FOUND
 									|| !CharArrayUtils.startsWith(problemBinding.getNameCharArray(), "__builtin_")) { //$NON-NLS-1$
-								fStatistics.fProblemBindingCount++;
+								problemBindingCount++;
 								if (fShowProblems) {
 									reportProblem(problemBinding);
 								}
@@ -418,13 +476,13 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 								if (!isRequiredReference(name)) {
 									na[0] = null;
 								} else {
-									fStatistics.fReferenceCount++;
+									referenceCount++;
 								}
 							} else {
-								fStatistics.fReferenceCount++;
+								referenceCount++;
 							}
 						} else {
-							fStatistics.fDeclarationCount++;
+							declarationCount++;
 						}
 					} catch (RuntimeException | StackOverflowError e) {
 						if (!reported) {
@@ -457,7 +515,17 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			}
 		}
 
-		fStatistics.fResolutionTime += System.currentTimeMillis() - start;
+		// Names of different ASTs may be resolved concurrently.
+		synchronized (fStatistics) {
+			fStatistics.fProblemBindingCount += problemBindingCount;
+			fStatistics.fReferenceCount += referenceCount;
+			fStatistics.fDeclarationCount += declarationCount;
+			fStatistics.fResolutionTime += System.currentTimeMillis() - start;
+		}
+		IIndexFileLocation location = fResolver.resolveASTPath(data.fAST.getFilePath());
+		if (location != null) {
+			IndexerMetrics.getSharedInstance().resolved(location, System.nanoTime() - startNanos);
+		}
 	}
 
 	private boolean isVariableIndexed(ICPPVariable variable) {
@@ -579,8 +647,12 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			}
 		}
 
-		fStatistics.fUnresolvedIncludesCount += unresolvedIncludes;
-		fStatistics.fPreprocessorProblemCount += ast.getPreprocessorProblemsCount() - unresolvedIncludes;
+		final List<IASTProblem> problems = visitor.getProblems();
+		synchronized (fStatistics) {
+			fStatistics.fUnresolvedIncludesCount += unresolvedIncludes;
+			fStatistics.fPreprocessorProblemCount += ast.getPreprocessorProblemsCount() - unresolvedIncludes;
+			fStatistics.fSyntaxProblemsCount += problems.size();
+		}
 		if (fShowScannerProblems || fShowInclusionProblems) {
 			final boolean reportAll = fShowScannerProblems && fShowInclusionProblems;
 			IASTProblem[] scannerProblems = ast.getPreprocessorProblems();
@@ -592,8 +664,6 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 			}
 		}
 
-		final List<IASTProblem> problems = visitor.getProblems();
-		fStatistics.fSyntaxProblemsCount += problems.size();
 		if (fShowSyntaxProblems) {
 			for (IASTProblem problem : problems) {
 				reportProblem(problem);
@@ -630,6 +700,27 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return false;
 	}
 
+	/**
+	 * Looks up the bindings of the names of the given file while holding just the read-lock of the
+	 * caller, such that the write-lock is needed for storing the names only.
+	 */
+	private void prefetchBindings(Data data, FileInAST astFile, int storageLinkageID) throws CoreException {
+		Symbols lists = data.fSymbolMap.get(astFile.includeStatement);
+		if (lists == null)
+			return;
+		IASTName[][] names = lists.fNames.toArray(new IASTName[lists.fNames.size()][]);
+		try {
+			for (IASTName[] name : names) {
+				if (name[0] != null) {
+					ASTInternal.setFullyResolved(name[0].getBinding(), true);
+				}
+			}
+			data.fIndex.prefetchBindings(storageLinkageID, astFile.fileContentKey.getLocation(), names);
+		} catch (RuntimeException | StackOverflowError e) {
+			// Problems are reported when the names are stored in the index.
+		}
+	}
+
 	private IIndexFragmentFile storeFileInIndex(Data data, FileInAST astFile, int storageLinkageID,
 			YieldableIndexLock lock, IProgressMonitor monitor) throws CoreException, FailedToReAcquireLockException {
 		final IWritableIndex index = data.fIndex;
@@ -644,6 +735,8 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		IIndexFileLocation location = fileKey.getLocation();
 		ISignificantMacros significantMacros = fileKey.getSignificantMacros();
 		IIndexFragmentFile oldFile = index.getWritableFile(storageLinkageID, location, significantMacros);
+		final long oldDeclarationHash = oldFile != null ? oldFile.getDeclarationHash() : 0;
+		long declarationHash = 0;
 		file = index.addUncommittedFile(storageLinkageID, location, significantMacros);
 		boolean hasLock = true;
 		try {
@@ -690,12 +783,20 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				IncludeInformation[] includeInfoArray = includeInfos
 						.toArray(new IncludeInformation[includeInfos.size()]);
 				index.setFileContent(file, storageLinkageID, includeInfoArray, macros, names, fResolver, lock);
+				if (fTrackDeclarationChanges) {
+					declarationHash = DeclarationHash.compute(names, macros, lists.fIncludes);
+				}
 			}
+			file.setDeclarationHash(declarationHash);
 			file.setTimestamp(astFile.hasError ? 0 : astFile.timestamp);
 			file.setSourceReadTime(astFile.sourceReadTime);
 			file.setSizeAndEncodingHashcode(computeFileSizeAndEncodingHashcode(astFile.fileSize, location));
 			file.setContentsHash(astFile.contentsHash);
 			file = index.commitUncommittedFile();
+			// A hash of 0 is unknown, the file was stored while declaration changes were not tracked.
+			if (fTrackDeclarationChanges && oldDeclarationHash != 0 && declarationHash != oldDeclarationHash) {
+				reportDeclarationsChanged(astFile);
+			}
 		} catch (FailedToReAcquireLockException e) {
 			hasLock = false;
 			throw e;
@@ -739,6 +840,13 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 	 */
 	protected abstract void reportFileWrittenToIndex(FileInAST file, IIndexFragmentFile iFile) throws CoreException;
 
+	/**
+	 * Informs the subclass that a file has been replaced by a version providing different
+	 * declarations to the files including it. Called only when declaration changes are tracked.
+	 */
+	protected void reportDeclarationsChanged(FileInAST file) throws CoreException {
+	}
+
 	private String getLocationInfo(String filename, int lineNumber) {
 		return " at " + filename + "(" + lineNumber + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	}
@@ -17,6 +17,7 @@ package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,7 @@ import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
@@ -56,6 +58,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	private PDOMFile fileBeingUpdated;
 	private PDOMFile uncommittedFile;
 	private FileContentKey uncommittedKey;
+	private final Map<IBinding, PDOMBinding> fPrefetchedBindings = new HashMap<>();
 
 	public WritablePDOM(File dbPath, IIndexLocationConverter locationConverter,
 			Map<String, IPDOMLinkageFactory> linkageFactoryMappings) throws CoreException {
@@ -144,6 +147,19 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		}
 	}
 
+	@Override
+	public void prefetchBindings(int linkageID, IASTName[][] names) throws CoreException {
+		fPrefetchedBindings.clear();
+		final PDOMLinkage linkage = getLinkage(linkageID);
+		if (linkage == null)
+			return;
+		for (IASTName[] name : names) {
+			if (name[0] != null) {
+				linkage.prefetchBinding(name[0], fPrefetchedBindings);
+			}
+		}
+	}
+
 	@Override
 	public void addFileContent(IIndexFragmentFile sourceFile, IncludeInformation[] includes,
 			IASTPreprocessorStatement[] macros, IASTName[][] names, ASTFilePathResolver pathResolver,
@@ -155,8 +171,13 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		final ASTFilePathResolver origResolver = fPathResolver;
 		fPathResolver = pathResolver;
 		try {
+			// The result cache may have been cleared since the bindings were looked up.
+			for (Map.Entry<IBinding, PDOMBinding> entry : fPrefetchedBindings.entrySet()) {
+				putCachedResult(entry.getKey(), entry.getValue(), false);
+			}
 			pdomFile.addNames(names, lock);
 		} finally {
+			fPrefetchedBindings.clear();
 			fPathResolver = origResolver;
 		}
 		// Includes expose the temporary file in the index, we must not yield the lock beyond this point.
@@ -187,6 +208,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 
 	@Override
 	public void clear() throws CoreException {
+		fPrefetchedBindings.clear();
 		super.clear();
 	}
 
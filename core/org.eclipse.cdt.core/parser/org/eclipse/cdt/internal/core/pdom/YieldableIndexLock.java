@@ -27,6 +27,8 @@ public class YieldableIndexLock {
 	private final IProgressMonitor progressMonitor;
 	private long lastLockTime;
 	private long cumulativeLockTime;
+	private long cumulativeWaitTime;
+	private int acquireCount;
 
 	public YieldableIndexLock(IWritableIndex index, boolean flushIndex, IProgressMonitor monitor) {
 		this.index = index;
@@ -40,7 +42,10 @@ public class YieldableIndexLock {
 	 * @throws InterruptedException
 	 */
 	public void acquire() throws InterruptedException {
+		final long start = System.nanoTime();
 		index.acquireWriteLock(progressMonitor);
+		cumulativeWaitTime += System.nanoTime() - start;
+		acquireCount++;
 		lastLockTime = System.currentTimeMillis();
 	}
 
@@ -78,4 +83,18 @@ public class YieldableIndexLock {
 	public long getCumulativeLockTime() {
 		return cumulativeLockTime;
 	}
+
+	/**
+	 * @return Total time spent waiting for the lock in nanoseconds.
+	 */
+	public long getCumulativeWaitTime() {
+		return cumulativeWaitTime;
+	}
+
+	/**
+	 * @return Number of times the lock was acquired.
+	 */
+	public int getAcquireCount() {
+		return acquireCount;
+	}
 }
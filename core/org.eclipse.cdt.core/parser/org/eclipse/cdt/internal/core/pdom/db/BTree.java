@@ -553,6 +553,9 @@ public class BTree {
 
 		try {
 			Chunk chunk = db.getChunk(node);
+			final int[] decided = visitor instanceof IBTreePrefixVisitor
+					? compareKeyPrefixes(chunk, node, (IBTreePrefixVisitor) visitor)
+					: null;
 
 			// Binary search to find first record greater or equal.
 			int lower = 0;
@@ -560,15 +563,20 @@ public class BTree {
 			while (lower < upper && getRecord(chunk, node, upper - 1) == 0) {
 				upper--;
 			}
+			boolean upperCompared = false;
+			int upperCompare = 0;
 			while (lower < upper) {
 				int middle = (lower + upper) >>> 1;
 				long checkRec = getRecord(chunk, node, middle);
 				if (checkRec == 0) {
 					upper = middle;
+					upperCompared = false;
 				} else {
-					int compare = visitor.compare(checkRec);
+					int compare = compare(visitor, decided, middle, checkRec);
 					if (compare >= 0) {
 						upper = middle;
+						upperCompared = true;
+						upperCompare = compare;
 					} else {
 						lower = middle + 1;
 					}
@@ -582,7 +590,12 @@ public class BTree {
 				if (record == 0)
 					break;
 
-				int compare = visitor.compare(record);
+				int compare;
+				if (i == upper && upperCompared) {
+					compare = upperCompare;
+				} else {
+					compare = compare(visitor, decided, i, record);
+				}
 				if (compare > 0) {
 					// Start point is to the left.
 					return accept(getChild(chunk, node, i), visitor);
@@ -599,6 +612,41 @@ public class BTree {
 		}
 	}
 
+	private static int compare(IBTreeVisitor visitor, int[] decided, int index, long record) throws CoreException {
+		if (decided != null && decided[index] != 0)
+			return decided[index];
+		return visitor.compare(record);
+	}
+
+	/**
+	 * Compares the records of the given node with the search key of the visitor as far as
+	 * possible on the cached key prefixes of the node, see {@link NodeKeyPrefixes#compare}.
+	 * Returns {@code null} while the database is locked for writing.
+	 */
+	private int[] compareKeyPrefixes(Chunk chunk, long node, IBTreePrefixVisitor visitor) throws CoreException {
+		final KeyPrefixCache cache = db.getKeyPrefixCache();
+		if (cache == null || visitor.getSearchKey() == null)
+			return null;
+		// Leaves are too many to be cached, each of them is visited once per lookup, anyway.
+		if (getChild(chunk, node, 0) == 0)
+			return null;
+
+		NodeKeyPrefixes prefixes = cache.get(node);
+		if (prefixes == null) {
+			int count = 0;
+			while (count < MAX_RECORDS && getRecord(chunk, node, count) != 0) {
+				count++;
+			}
+			char[][] keys = new char[count][];
+			for (int i = 0; i < count; i++) {
+				keys[i] = db.getString(visitor.getKeyRecord(getRecord(chunk, node, i))).getChars();
+			}
+			prefixes = new NodeKeyPrefixes(keys);
+			cache.put(node, prefixes);
+		}
+		return prefixes.compare(visitor);
+	}
+
 	/**
 	 * Debugging method for checking B-tree invariants.
 	 *
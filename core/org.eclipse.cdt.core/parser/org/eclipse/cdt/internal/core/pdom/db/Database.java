@@ -22,17 +22,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -99,9 +97,24 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * Whether databases are memory mapped by default, can be enabled with
+	 * -Dorg.eclipse.cdt.core.parser.pdom.mmap=true
+	 */
+	private static final boolean MEMORY_MAPPED = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+	/**
+	 * Maximum number of strings cached per database, can be changed with
+	 * -Dorg.eclipse.cdt.core.parser.pdom.stringCacheSize=&lt;count&gt;
+	 */
+	private static final int STRING_CACHE_SIZE = Integer
+			.getInteger("org.eclipse.cdt.core.parser.pdom.stringCacheSize", 32 * 1024); //$NON-NLS-1$
+	private static final int LOAD_LOCK_STRIPES = 16; // must be a power of two
+	private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Chunk[].class);
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private final MappedRegions fMappedRegions;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -112,43 +125,51 @@ public class Database {
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	private final Object[] fLoadLocks;
+	private final KeyPrefixCache fKeyPrefixCache = new KeyPrefixCache();
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
-
-	/** Soft reference wrapper to keep track of the record for disposed strings. */
-	private static class SoftStringRef extends SoftReference<IString> {
-		private final long record;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 
-		public SoftStringRef(IString referent, ReferenceQueue<? super IString> q) {
-			super(referent, q);
-			record = referent.getRecord();
-		}
+	// A cache for the characters of strings, which are used for btree lookups.
+	private final StringCache fStringCache = new StringCache(STRING_CACHE_SIZE);
 
-		public long getRecord() {
-			return record;
-		}
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, MEMORY_MAPPED);
 	}
 
-	// a cache for strings which is used for btree lookups; soft refs ensure garbage collection
-	private final Map<Long, Reference<IString>> stringCache = new ConcurrentHashMap<>();
-	private final ReferenceQueue<IString> stringDisposal = new ReferenceQueue<>();
-
 	/**
 	 * Construct a new Database object, creating a backing file if necessary.
 	 * @param location the local file path for the database
 	 * @param cache the cache to be used optimization
 	 * @param version the version number to store in the database (only applicable for new databases)
 	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param memoryMapped whether chunks are read from a memory mapped view of the file rather than
+	 *     through the file channel, ignored where the mappings cannot be released before the file is
+	 *     truncated or closed
 	 * @throws CoreException
 	 */
-	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean memoryMapped)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fMappedRegions = memoryMapped && MappedRegions.isSupported() ? new MappedRegions() : null;
+			fLoadLocks = new Object[LOAD_LOCK_STRIPES];
+			for (int i = 0; i < fLoadLocks.length; i++) {
+				fLoadLocks[i] = new Object();
+			}
 			openFile();
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
@@ -177,7 +198,10 @@ public class Database {
 		int retries = 0;
 		do {
 			try {
-				fFile.getChannel().read(buf, position);
+				final FileChannel channel = fFile.getChannel();
+				if (fMappedRegions == null || !fMappedRegions.read(channel, buf, position)) {
+					channel.read(buf, position);
+				}
 				return;
 			} catch (ClosedChannelException e) {
 				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
@@ -249,6 +273,9 @@ public class Database {
 		fChunksUsed = fChunksAllocated = fChunks.length;
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
+			if (fMappedRegions != null) {
+				fMappedRegions.clear(); // Mapped regions must not be accessed beyond the end of the file.
+			}
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
 		} catch (IOException e) {
 			CCorePlugin.log(e);
@@ -295,28 +322,74 @@ public class Database {
 		}
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
+		final int index = (int) long_index;
+
+		if (!fExclusiveLock) {
+			// Readers never run concurrently with the writer, cached chunks can be looked up without
+			// locking the cache. Setting the reference flag is racy, but the flag is a hint, only.
+			final Chunk[] chunks = fChunks;
+			if (index > 0 && index < chunks.length) {
+				final Chunk chunk = (Chunk) CHUNKS.getAcquire(chunks, index);
+				if (chunk != null && chunk.fCacheIndex >= 0) {
+					chunk.fCacheHitFlag = true;
+					cacheHits.increment();
+					return chunk;
+				}
+			}
+			return loadChunk(index);
+		}
 
 		synchronized (fCache) {
 			assert fLocked;
-			final int index = (int) long_index;
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
-				cacheMisses++;
+				cacheMisses.increment();
 				chunk = new Chunk(this, index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
 				fChunks[index] = chunk;
 			} else {
-				cacheHits++;
+				cacheHits.increment();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
 		}
 	}
 
+	/**
+	 * Loads a chunk for a reader. The chunk is read without holding the lock of the cache,
+	 * such that readers of different chunks do not wait for each other's I/O. Loading of
+	 * the same chunk is serialized by a lock out of a set of striped locks.
+	 */
+	private Chunk loadChunk(final int index) throws CoreException {
+		synchronized (fLoadLocks[index & (LOAD_LOCK_STRIPES - 1)]) {
+			synchronized (fCache) {
+				assert fLocked;
+				if (index < 0 || index >= fChunks.length) {
+					databaseCorruptionDetected();
+				}
+				final Chunk chunk = fChunks[index];
+				if (chunk != null) {
+					cacheHits.increment();
+					fCache.add(chunk, false);
+					return chunk;
+				}
+			}
+			cacheMisses.increment();
+			final Chunk chunk = new Chunk(this, index);
+			chunk.read();
+			synchronized (fCache) {
+				// Put the chunk in fChunks after it was read successfully.
+				CHUNKS.setRelease(fChunks, index, chunk);
+				fCache.add(chunk, false);
+			}
+			return chunk;
+		}
+	}
+
 	private void databaseCorruptionDetected() throws CoreException {
 		String msg = MessageFormat.format(Messages.getString("Database.CorruptedDatabase"), //$NON-NLS-1$
 				new Object[] { fLocation.getName() });
@@ -491,7 +564,7 @@ public class Database {
 		}
 		addBlock(chunk, blocksize, block);
 		freed += blocksize;
-		stringCache.remove(offset); // also remove record from string cache (if it exists)
+		fStringCache.remove(offset); // also remove record from string cache (if it exists)
 	}
 
 	public void putByte(long offset, byte value) throws CoreException {
@@ -593,9 +666,9 @@ public class Database {
 		}
 
 		if (bytelen > ShortString.MAX_BYTE_LENGTH) {
-			return addStringToCache(new LongString(this, chars, useBytes));
+			return new LongString(this, chars, useBytes);
 		} else {
-			return addStringToCache(new ShortString(this, chars, useBytes));
+			return new ShortString(this, chars, useBytes);
 		}
 	}
 
@@ -608,31 +681,19 @@ public class Database {
 	}
 
 	public IString getString(long offset) throws CoreException {
-		final Reference<IString> cachedStringReference = stringCache.get(offset);
-		if (cachedStringReference != null) {
-			final IString cachedString = cachedStringReference.get();
-			if (cachedString != null) {
-				return cachedString; // string already cached, no need to re-retrieve it :-)
-			}
+		final char[] cachedChars = fStringCache.get(offset);
+		if (cachedChars != null) {
+			// Cached strings are short enough to be stored as ShortString.
+			return new ShortString(this, offset, cachedChars);
 		}
 		final int l = getInt(offset);
 		int bytelen = l < 0 ? -l : 2 * l;
 		if (bytelen > ShortString.MAX_BYTE_LENGTH) {
-			return addStringToCache(new LongString(this, offset));
+			return new LongString(this, offset);
 		}
-		return addStringToCache(new ShortString(this, offset));
-	}
-
-	private IString addStringToCache(IString string) {
-		// add string to cache
-		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
-		// also remove keys from cache list upon garbage collection
-		if (stringDisposal != null) {
-			Reference<? extends IString> disposedRef = stringDisposal.poll();
-			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
-				disposedRef = stringDisposal.poll();
-			}
+		final ShortString string = new ShortString(this, offset);
+		if (Math.abs(l) <= StringCache.MAX_LENGTH) {
+			fStringCache.put(offset, string.getChars());
 		}
 		return string;
 	}
@@ -674,6 +735,9 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		if (fMappedRegions != null) {
+			fMappedRegions.clear();
+		}
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -713,6 +777,7 @@ public class Database {
 	public void setExclusiveLock() {
 		fExclusiveLock = true;
 		fLocked = true;
+		fKeyPrefixCache.clear();
 	}
 
 	public void setLocked(boolean val) {
@@ -788,9 +853,7 @@ public class Database {
 	}
 
 	private void clearStringCache() {
-		stringCache.clear();
-		while (stringDisposal.poll() != null) {
-		}
+		fStringCache.clear();
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
@@ -840,16 +903,54 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Returns the cache for the key prefixes of B-tree nodes, or {@code null} while the database
+	 * is locked for writing.
+	 */
+	KeyPrefixCache getKeyPrefixCache() {
+		return fExclusiveLock ? null : fKeyPrefixCache;
+	}
+
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		fStringCache.resetCounters();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
+	}
+
+	/**
+	 * Returns the number of strings that were found in the string cache.
+	 */
+	public long getStringCacheHits() {
+		return fStringCache.getHits();
+	}
+
+	/**
+	 * Returns the number of strings that had to be read from the chunks.
+	 */
+	public long getStringCacheMisses() {
+		return fStringCache.getMisses();
+	}
+
+	/**
+	 * Returns the number of strings that were evicted from the string cache to make room for others.
+	 */
+	public long getStringCacheEvictions() {
+		return fStringCache.getEvictions();
+	}
+
+	/**
+	 * Returns whether chunks are read from a memory mapped view of the database file.
+	 */
+	public boolean isMemoryMapped() {
+		return fMappedRegions != null;
 	}
 
 	public long getSizeBytes() {
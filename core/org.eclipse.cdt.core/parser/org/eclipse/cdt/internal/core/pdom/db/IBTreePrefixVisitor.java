@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A visitor for B-trees whose records are ordered by a string key in the first place.
+ * <p>
+ * While the database is not locked for writing, the B-tree caches the common prefix of the keys
+ * of each inner node together with the characters following it. Comparisons with records whose key
+ * differs from the search key within these characters are decided by the B-tree, without reading
+ * the key of the record from the database and without calling {@link #compare(long)}.
+ */
+public interface IBTreePrefixVisitor extends IBTreeVisitor {
+	/**
+	 * Returns the offset of the string the given record is ordered by. All visitors of a
+	 * B-tree have to return the same string for a record.
+	 *
+	 * @param record the offset of a record of the B-tree
+	 */
+	public long getKeyRecord(long record) throws CoreException;
+
+	/**
+	 * Returns the key the records are compared with. The first character in which the key of a
+	 * record differs from it has to decide the result of {@link #compare(long)}. If the key of
+	 * a record is longer than the search key and otherwise equal, the record has to compare
+	 * greater, unless this is a prefix lookup.
+	 */
+	public char[] getSearchKey();
+
+	/**
+	 * Returns whether records whose key starts with the search key are of interest. The B-tree
+	 * never decides the comparison of such records.
+	 */
+	public boolean isPrefixLookup();
+
+	/**
+	 * Returns whether the characters of the keys are compared case-sensitively, otherwise
+	 * characters are compared as by {@link ShortString#compareChars(char, char, boolean)}
+	 * ignoring case.
+	 */
+	public boolean isKeyOrderCaseSensitive();
+}
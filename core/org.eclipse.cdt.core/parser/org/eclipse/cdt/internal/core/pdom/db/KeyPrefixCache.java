@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Caches the key prefixes of B-tree nodes, see {@link IBTreePrefixVisitor}.
+ * <p>
+ * The cache is direct mapped and does not lock, concurrent readers may replace each other's
+ * entries which costs a recomputation of the prefixes, only. The cache is invalidated whenever
+ * the database is locked for writing.
+ */
+final class KeyPrefixCache {
+	private static final int SIZE = 4096; // must be a power of two
+
+	private static final class Entry {
+		final long fNode;
+		final int fGeneration;
+		final NodeKeyPrefixes fPrefixes;
+
+		Entry(long node, int generation, NodeKeyPrefixes prefixes) {
+			fNode = node;
+			fGeneration = generation;
+			fPrefixes = prefixes;
+		}
+	}
+
+	private final AtomicReferenceArray<Entry> fEntries = new AtomicReferenceArray<>(SIZE);
+	private volatile int fGeneration;
+
+	/**
+	 * Returns the prefixes of the given node, or {@code null} if they are not cached.
+	 */
+	NodeKeyPrefixes get(long node) {
+		final Entry entry = fEntries.get(index(node));
+		if (entry != null && entry.fNode == node && entry.fGeneration == fGeneration) {
+			return entry.fPrefixes;
+		}
+		return null;
+	}
+
+	void put(long node, NodeKeyPrefixes prefixes) {
+		fEntries.set(index(node), new Entry(node, fGeneration, prefixes));
+	}
+
+	/**
+	 * Invalidates all entries, must be called before the database is modified.
+	 */
+	void clear() {
+		fGeneration++;
+	}
+
+	private static int index(long node) {
+		// Nodes are aligned to blocks, mix in the higher bits.
+		final long h = node ^ (node >>> 12);
+		return (int) (h >>> Database.BLOCK_SIZE_DELTA_BITS) & (SIZE - 1);
+	}
+}
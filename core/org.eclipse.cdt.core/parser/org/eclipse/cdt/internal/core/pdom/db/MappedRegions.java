@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+/**
+ * Read-only memory mapped view of a database file, used to fill chunks without issuing a
+ * read system call per chunk. The file is mapped in regions of fixed size, such that a
+ * growing file requires to remap its last region, only.
+ * <p>
+ * Lookups of regions that are already mapped do not lock, mapping a new region is
+ * synchronized on this object.
+ * <p>
+ * A mapping normally lasts until its buffer is garbage collected, which prevents truncating or
+ * deleting the file on Windows. Therefore the mappings are released explicitly by {@link #clear()},
+ * and memory mapping is not supported on Windows if the JVM does not allow that.
+ */
+final class MappedRegions {
+	static final int REGION_SIZE = Database.CHUNK_SIZE * 16 * 1024; // 64MB
+
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private volatile MappedByteBuffer[] fRegions = new MappedByteBuffer[0];
+
+	/**
+	 * Copies the content of the file at the given position into the remaining space of the buffer.
+	 * @return {@code false} if the requested range is not (yet) part of the file, in which case
+	 *     the buffer is left untouched.
+	 */
+	boolean read(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		final int len = buf.remaining();
+		final int regionIndex = (int) (position / REGION_SIZE);
+		final int offset = (int) (position % REGION_SIZE);
+		if (offset + len > REGION_SIZE) {
+			return false;
+		}
+		final MappedByteBuffer region = getRegion(channel, regionIndex, offset + len);
+		if (region == null) {
+			return false;
+		}
+		final int pos = buf.position();
+		region.get(offset, buf.array(), buf.arrayOffset() + pos, len);
+		buf.position(pos + len);
+		return true;
+	}
+
+	private MappedByteBuffer getRegion(FileChannel channel, int regionIndex, int minLimit) throws IOException {
+		MappedByteBuffer region = findRegion(fRegions, regionIndex, minLimit);
+		if (region != null) {
+			return region;
+		}
+		synchronized (this) {
+			MappedByteBuffer[] regions = fRegions;
+			region = findRegion(regions, regionIndex, minLimit);
+			if (region != null) {
+				return region;
+			}
+			final long start = (long) regionIndex * REGION_SIZE;
+			final long size = Math.min(REGION_SIZE, channel.size() - start);
+			if (size < minLimit) {
+				return null;
+			}
+			region = channel.map(MapMode.READ_ONLY, start, size);
+			// Copy on write, readers access the array without locking.
+			regions = Arrays.copyOf(regions, Math.max(regions.length, regionIndex + 1));
+			regions[regionIndex] = region;
+			fRegions = regions;
+			return region;
+		}
+	}
+
+	private static MappedByteBuffer findRegion(MappedByteBuffer[] regions, int regionIndex, int minLimit) {
+		if (regionIndex < regions.length) {
+			final MappedByteBuffer region = regions[regionIndex];
+			if (region != null && region.limit() >= minLimit) {
+				return region;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether a file can be mapped, that is whether the mappings can be released before the
+	 * file is truncated or closed, or whether the platform allows that while the file is mapped.
+	 */
+	static boolean isSupported() {
+		return INVOKE_CLEANER != null || !System.getProperty("os.name", "").startsWith("Windows"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Releases all mappings, must be called before the file is truncated or closed. The caller must
+	 * make sure that no other thread reads from the regions, which is the case while the database is
+	 * locked exclusively. Where the mappings cannot be released explicitly, only the references to them
+	 * are dropped and the memory is unmapped when the buffers are garbage collected.
+	 */
+	synchronized void clear() {
+		MappedByteBuffer[] regions = fRegions;
+		fRegions = new MappedByteBuffer[0];
+		if (INVOKE_CLEANER != null) {
+			for (MappedByteBuffer region : regions) {
+				if (region != null) {
+					try {
+						INVOKE_CLEANER.invoke(UNSAFE, region);
+					} catch (ReflectiveOperationException | RuntimeException e) {
+						// The mapping is released when the buffer is garbage collected.
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+
+/**
+ * The common prefix of the keys of the records of a B-tree node, together with the next
+ * {@link #PREFIX_LENGTH} characters of each key packed into a long. Immutable.
+ */
+final class NodeKeyPrefixes {
+	static final int PREFIX_LENGTH = Long.SIZE / Character.SIZE;
+
+	private final char[] fCommon;
+	private final long[] fPrefixes;
+
+	/**
+	 * @param keys the keys of the records of the node, in the order of the records.
+	 */
+	NodeKeyPrefixes(char[][] keys) {
+		int common = keys.length > 0 ? keys[0].length : 0;
+		for (int i = 1; i < keys.length && common > 0; i++) {
+			final char[] key = keys[i];
+			common = Math.min(common, key.length);
+			for (int j = 0; j < common; j++) {
+				if (key[j] != keys[0][j]) {
+					common = j;
+					break;
+				}
+			}
+		}
+		fCommon = keys.length > 0 ? Arrays.copyOf(keys[0], common) : new char[0];
+		fPrefixes = new long[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			fPrefixes[i] = pack(keys[i], common);
+		}
+	}
+
+	/**
+	 * Compares the keys of the records with the search key of the visitor, as far as this can
+	 * be decided on the cached characters.
+	 *
+	 * @return for each record a negative value if its key is smaller than the search key, a
+	 *     positive one if it is larger and 0 if the comparison is not decided.
+	 */
+	int[] compare(IBTreePrefixVisitor visitor) {
+		final char[] key = visitor.getSearchKey();
+		final boolean caseSensitive = visitor.isKeyOrderCaseSensitive();
+		final int limit = visitor.isPrefixLookup() ? key.length : Integer.MAX_VALUE;
+		final int[] result = new int[fPrefixes.length];
+
+		// The common prefix decides for all records at once.
+		for (int j = 0; j < fCommon.length; j++) {
+			if (j >= limit)
+				return result;
+			if (j >= key.length) {
+				// The keys of all records are longer than the search key.
+				Arrays.fill(result, 1);
+				return result;
+			}
+			int cmp = ShortString.compareChars(fCommon[j], key[j], caseSensitive);
+			if (cmp != 0) {
+				Arrays.fill(result, cmp);
+				return result;
+			}
+		}
+
+		final int length = Math.min(PREFIX_LENGTH, limit - fCommon.length);
+		final long keyPrefix = pack(key, fCommon.length);
+		for (int i = 0; i < fPrefixes.length; i++) {
+			result[i] = compare(fPrefixes[i], keyPrefix, length, caseSensitive);
+		}
+		return result;
+	}
+
+	/**
+	 * Packs {@link #PREFIX_LENGTH} characters of the key starting at the given offset into a long,
+	 * missing characters are represented by {@code '\0'}.
+	 */
+	private static long pack(char[] key, int offset) {
+		long prefix = 0;
+		for (int i = offset; i < offset + PREFIX_LENGTH; i++) {
+			prefix <<= Character.SIZE;
+			if (i < key.length) {
+				prefix |= key[i];
+			}
+		}
+		return prefix;
+	}
+
+	private static int compare(long prefix1, long prefix2, int length, boolean caseSensitive) {
+		for (int i = 0; i < length; i++) {
+			final int shift = (PREFIX_LENGTH - 1 - i) * Character.SIZE;
+			final char c1 = (char) (prefix1 >>> shift);
+			final char c2 = (char) (prefix2 >>> shift);
+			if (c1 == c2) {
+				if (c1 == 0)
+					return 0; // Both keys end here.
+			} else {
+				// A missing character compares less than any other.
+				int cmp = ShortString.compareChars(c1, c2, caseSensitive);
+				if (cmp != 0)
+					return cmp;
+			}
+		}
+		return 0;
+	}
+}
@@ -42,6 +42,15 @@ public class ShortString implements IString {
 		this.record = offset;
 	}
 
+	/**
+	 * Creates a string for the given record whose characters are already known.
+	 */
+	ShortString(Database db, long offset, char[] chars) {
+		this.db = db;
+		this.record = offset;
+		this.cachedChars = chars;
+	}
+
 	public ShortString(Database db, char[] chars, boolean useBytes) throws CoreException {
 		final int n = chars.length;
 		this.db = db;
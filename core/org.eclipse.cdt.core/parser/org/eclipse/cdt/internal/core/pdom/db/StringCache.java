@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache for the characters of the strings stored in a database, keyed by the record of
+ * the string.
+ * <p>
+ * The cache is a set associative table backed by primitive arrays, a record can be stored in one
+ * of {@link #WAYS} slots of the set it maps to. When all slots of a set are occupied, the clock
+ * algorithm selects the entry to be evicted: the hand of the set skips entries that have been
+ * referenced since it last passed them. Each set is guarded by one of a fixed number of locks.
+ * <p>
+ * The heap used by the cache is bounded by its capacity times {@link #MAX_LENGTH}, strings
+ * that are longer are not cached.
+ */
+final class StringCache {
+	static final int MAX_LENGTH = 256;
+	private static final int WAYS = 8;
+	private static final int LOCK_STRIPES = 64; // must be a power of two
+
+	private final int fSetMask;
+	private final long[] fRecords;
+	private final char[][] fChars;
+	private final boolean[] fReferenced;
+	private final byte[] fHands;
+	private final Object[] fLocks;
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+
+	/**
+	 * @param capacity the maximum number of strings in the cache, rounded up to a power of two.
+	 */
+	StringCache(int capacity) {
+		int sets = Integer.highestOneBit(Math.max(LOCK_STRIPES, (capacity + WAYS - 1) / WAYS) - 1) << 1;
+		fSetMask = sets - 1;
+		fRecords = new long[sets * WAYS];
+		fChars = new char[sets * WAYS][];
+		fReferenced = new boolean[sets * WAYS];
+		fHands = new byte[sets];
+		fLocks = new Object[LOCK_STRIPES];
+		for (int i = 0; i < fLocks.length; i++) {
+			fLocks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Returns the characters of the string stored at the given record, or {@code null} if they
+	 * are not cached.
+	 */
+	char[] get(long record) {
+		if (record == 0) {
+			// 0 marks free slots.
+			fMisses.increment();
+			return null;
+		}
+		final int set = set(record);
+		final int start = set * WAYS;
+		synchronized (fLocks[set & (LOCK_STRIPES - 1)]) {
+			for (int i = start; i < start + WAYS; i++) {
+				if (fRecords[i] == record) {
+					fReferenced[i] = true;
+					fHits.increment();
+					return fChars[i];
+				}
+			}
+		}
+		fMisses.increment();
+		return null;
+	}
+
+	void put(long record, char[] chars) {
+		if (record == 0 || chars.length > MAX_LENGTH)
+			return;
+
+		final int set = set(record);
+		final int start = set * WAYS;
+		synchronized (fLocks[set & (LOCK_STRIPES - 1)]) {
+			int free = -1;
+			for (int i = start; i < start + WAYS; i++) {
+				if (fRecords[i] == record) {
+					fChars[i] = chars;
+					return;
+				}
+				if (free < 0 && fRecords[i] == 0) {
+					free = i;
+				}
+			}
+			if (free < 0) {
+				free = evict(set);
+			}
+			fRecords[free] = record;
+			fChars[free] = chars;
+			fReferenced[free] = false;
+		}
+	}
+
+	/**
+	 * Advances the hand of the set to the first entry that has not been referenced since the
+	 * hand last passed it, and returns its slot.
+	 */
+	private int evict(int set) {
+		final int start = set * WAYS;
+		int hand = fHands[set];
+		while (fReferenced[start + hand]) {
+			fReferenced[start + hand] = false;
+			hand = (hand + 1) % WAYS;
+		}
+		fHands[set] = (byte) ((hand + 1) % WAYS);
+		fEvictions.increment();
+		return start + hand;
+	}
+
+	/**
+	 * Removes the string stored at the given record, must be called when the record is freed.
+	 */
+	void remove(long record) {
+		final int set = set(record);
+		final int start = set * WAYS;
+		synchronized (fLocks[set & (LOCK_STRIPES - 1)]) {
+			for (int i = start; i < start + WAYS; i++) {
+				if (fRecords[i] == record) {
+					fRecords[i] = 0;
+					fChars[i] = null;
+					fReferenced[i] = false;
+					return;
+				}
+			}
+		}
+	}
+
+	void clear() {
+		for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+			synchronized (fLocks[stripe]) {
+				for (int set = stripe; set <= fSetMask; set += LOCK_STRIPES) {
+					final int start = set * WAYS;
+					Arrays.fill(fRecords, start, start + WAYS, 0);
+					Arrays.fill(fChars, start, start + WAYS, null);
+					Arrays.fill(fReferenced, start, start + WAYS, false);
+				}
+			}
+		}
+	}
+
+	private int set(long record) {
+		// Records are spread over the chunks, mix in the higher bits.
+		final long h = record * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> 40) & fSetMask;
+	}
+
+	long getHits() {
+		return fHits.sum();
+	}
+
+	long getMisses() {
+		return fMisses.sum();
+	}
+
+	long getEvictions() {
+		return fEvictions.sum();
+	}
+
+	void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+		fEvictions.reset();
+	}
+}
@@ -20,7 +20,7 @@ import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
-import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -61,7 +61,7 @@ public class FindBinding {
 		}
 	}
 
-	public static class DefaultFindBindingVisitor implements IBTreeVisitor, IPDOMVisitor {
+	public static class DefaultFindBindingVisitor implements IBTreePrefixVisitor, IPDOMVisitor {
 		protected final PDOMLinkage fLinkage;
 		private final char[] fName;
 		private final int[] fConstants;
@@ -89,6 +89,30 @@ public class FindBinding {
 			return cmp;
 		}
 
+		// IBTreePrefixVisitor
+		@Override
+		public long getKeyRecord(long record) throws CoreException {
+			return PDOMNamedNode.getDBNameRecord(fLinkage.getDB(), record);
+		}
+
+		// IBTreePrefixVisitor
+		@Override
+		public char[] getSearchKey() {
+			return fName;
+		}
+
+		// IBTreePrefixVisitor
+		@Override
+		public boolean isPrefixLookup() {
+			return false;
+		}
+
+		// IBTreePrefixVisitor
+		@Override
+		public boolean isKeyOrderCaseSensitive() {
+			return false;
+		}
+
 		// IBTreeVisitor
 		@Override
 		public boolean visit(long record) throws CoreException {
@@ -19,7 +19,7 @@ import java.util.List;
 
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
-import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -29,7 +29,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
  * Visitor to find macros in a BTree.
  * @since 4.0.2
  */
-public final class MacroContainerCollector implements IBTreeVisitor {
+public final class MacroContainerCollector implements IBTreePrefixVisitor {
 	private final PDOMLinkage linkage;
 	private final char[] matchChars;
 	private final boolean prefixLookup;
@@ -89,6 +89,27 @@ public final class MacroContainerCollector implements IBTreeVisitor {
 		return compare(rhsName);
 	}
 
+	@Override
+	final public long getKeyRecord(long record) throws CoreException {
+		return PDOMNamedNode.getDBNameRecord(linkage.getDB(), record);
+	}
+
+	@Override
+	final public char[] getSearchKey() {
+		return matchChars;
+	}
+
+	@Override
+	final public boolean isPrefixLookup() {
+		return prefixLookup;
+	}
+
+	@Override
+	final public boolean isKeyOrderCaseSensitive() {
+		// Names are compared ignoring case in the first place, see compare(IString).
+		return false;
+	}
+
 	private int compare(IString rhsName) throws CoreException {
 		int cmp;
 		if (prefixLookup) {
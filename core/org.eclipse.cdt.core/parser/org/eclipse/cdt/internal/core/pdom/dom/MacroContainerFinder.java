@@ -13,14 +13,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.dom;
 
-import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 
 /**
  * Visitor to find a macro container in a BTree.
  */
-public final class MacroContainerFinder implements IBTreeVisitor {
+public final class MacroContainerFinder implements IBTreePrefixVisitor {
 	private final PDOMLinkage fLinkage;
 	private final char[] fName;
 	private PDOMMacroContainer fMacroContainer;
@@ -40,6 +40,26 @@ public final class MacroContainerFinder implements IBTreeVisitor {
 		return compare(name);
 	}
 
+	@Override
+	final public long getKeyRecord(long record) throws CoreException {
+		return PDOMNamedNode.getDBNameRecord(fLinkage.getDB(), record);
+	}
+
+	@Override
+	final public char[] getSearchKey() {
+		return fName;
+	}
+
+	@Override
+	final public boolean isPrefixLookup() {
+		return false;
+	}
+
+	@Override
+	final public boolean isKeyOrderCaseSensitive() {
+		return false;
+	}
+
 	private int compare(IString rhsName) throws CoreException {
 		return rhsName.compareCompatibleWithIgnoreCase(fName);
 	}
@@ -21,7 +21,7 @@ import org.eclipse.cdt.core.dom.IPDOMNode;
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
-import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -31,7 +31,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
  * Visitor to find named nodes in a BTree or below a PDOMNode. Nested nodes are not visited.
  * @since 4.0
  */
-public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
+public class NamedNodeCollector implements IBTreePrefixVisitor, IPDOMVisitor {
 	private final PDOMLinkage linkage;
 	private final char[] matchChars;
 	private final boolean prefixLookup;
@@ -39,6 +39,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 	private final boolean caseSensitive;
 	private IProgressMonitor monitor;
 	private int monitorCheckCounter;
+	private int limit = Integer.MAX_VALUE;
 
 	private List<PDOMNamedNode> nodes = new ArrayList<>();
 
@@ -89,6 +90,21 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 		monitor = pm;
 	}
 
+	/**
+	 * Limits the number of nodes to collect. When visiting a BTree the visit stops as soon as the
+	 * limit is reached, such that the nodes with the smallest names are collected.
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Returns whether the visit has been stopped because the limit has been reached.
+	 */
+	public boolean isLimitReached() {
+		return nodes.size() >= limit;
+	}
+
 	@Override
 	final public int compare(long record) throws CoreException {
 		if (monitor != null)
@@ -97,6 +113,27 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 		return compare(rhsName);
 	}
 
+	@Override
+	final public long getKeyRecord(long record) throws CoreException {
+		return PDOMNamedNode.getDBNameRecord(linkage.getDB(), record);
+	}
+
+	@Override
+	final public char[] getSearchKey() {
+		return matchChars;
+	}
+
+	@Override
+	final public boolean isPrefixLookup() {
+		return prefixLookup;
+	}
+
+	@Override
+	final public boolean isKeyOrderCaseSensitive() {
+		// Names are compared ignoring case in the first place, see compare(IString).
+		return false;
+	}
+
 	private int compare(IString rhsName) throws CoreException {
 		int cmp;
 		if (prefixLookup) {
@@ -124,7 +161,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 
 		PDOMNode node = PDOMNode.load(linkage.getPDOM(), record);
 		if (node instanceof PDOMNamedNode) {
-			return addNode((PDOMNamedNode) node);
+			return addNode((PDOMNamedNode) node) && !isLimitReached();
 		}
 		return true; // look for more
 	}
@@ -53,7 +53,7 @@ import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
-import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreePrefixVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -85,7 +85,8 @@ public class PDOMFile implements IIndexFragmentFile {
 	private static final int FIRST_MACRO_REFERENCE = LAST_USING_DIRECTIVE + Database.PTR_SIZE;
 	private static final int SIGNIFICANT_MACROS = FIRST_MACRO_REFERENCE + Database.PTR_SIZE;
 	private static final int REPLACEMENT_HEADER = SIGNIFICANT_MACROS + Database.PTR_SIZE;
-	private static final int RECORD_SIZE = REPLACEMENT_HEADER + Database.PTR_SIZE; // 9*PTR_SIZE + 3+1+8+8+8+4 = 68
+	private static final int DECLARATION_HASH = REPLACEMENT_HEADER + Database.PTR_SIZE; // long
+	private static final int RECORD_SIZE = DECLARATION_HASH + 8; // 9*PTR_SIZE + 3+1+8+8+8+4+8 = 76
 
 	private static final int FLAG_PRAGMA_ONCE_SEMANTICS = 0x01;
 
@@ -217,6 +218,7 @@ public class PDOMFile implements IIndexFragmentFile {
 		setSourceReadTime(sourceFile.getSourceReadTime());
 		setSizeAndEncodingHashcode(sourceFile.getSizeAndEncodingHashcode());
 		setContentsHash(sourceFile.getContentsHash());
+		setDeclarationHash(sourceFile.getDeclarationHash());
 
 		// Transfer the flags.
 		Database db = fLinkage.getDB();
@@ -347,6 +349,23 @@ public class PDOMFile implements IIndexFragmentFile {
 		db.putLong(record + CONTENT_HASH, hash);
 	}
 
+	@Override
+	public long getDeclarationHash() throws CoreException {
+		Database db = fLinkage.getDB();
+		// Files of older databases have no declaration hash.
+		if (db.getVersion() < PDOM.DECLARATION_HASH_VERSION)
+			return 0;
+		return db.getLong(record + DECLARATION_HASH);
+	}
+
+	@Override
+	public void setDeclarationHash(long hash) throws CoreException {
+		Database db = fLinkage.getDB();
+		if (db.getVersion() >= PDOM.DECLARATION_HASH_VERSION) {
+			db.putLong(record + DECLARATION_HASH, hash);
+		}
+	}
+
 	@Override
 	public int getScannerConfigurationHashcode() throws CoreException {
 		return 0;
@@ -844,10 +863,11 @@ public class PDOMFile implements IIndexFragmentFile {
 		return new PDOMFile(linkage, record);
 	}
 
-	private static class Finder implements IBTreeVisitor {
+	private static class Finder implements IBTreePrefixVisitor {
 		private static final long[] EMPTY = {};
 		private final Database db;
 		private final String rawKey;
+		private final char[] rawKeyChars;
 		private long record;
 		private long[] records;
 		private final int linkageID;
@@ -859,6 +879,7 @@ public class PDOMFile implements IIndexFragmentFile {
 		public Finder(Database db, String internalRepresentation, int linkageID, ISignificantMacros sigMacros) {
 			this.db = db;
 			this.rawKey = internalRepresentation;
+			this.rawKeyChars = internalRepresentation.toCharArray();
 			this.linkageID = linkageID;
 			this.rawSignificantMacros = sigMacros == null ? null : sigMacros.encode();
 			assert linkageID >= 0 || rawSignificantMacros == null;
@@ -892,6 +913,26 @@ public class PDOMFile implements IIndexFragmentFile {
 			return cmp;
 		}
 
+		@Override
+		public long getKeyRecord(long record) throws CoreException {
+			return db.getRecPtr(record + PDOMFile.LOCATION_REPRESENTATION);
+		}
+
+		@Override
+		public char[] getSearchKey() {
+			return rawKeyChars;
+		}
+
+		@Override
+		public boolean isPrefixLookup() {
+			return false;
+		}
+
+		@Override
+		public boolean isKeyOrderCaseSensitive() {
+			return true;
+		}
+
 		private IString getString(long offset) throws CoreException {
 			long rec = db.getRecPtr(offset);
 			return rec != 0 ? db.getString(rec) : null;
@@ -21,6 +21,7 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
@@ -32,6 +33,7 @@ import org.eclipse.cdt.core.dom.ast.ICompositeType;
 import org.eclipse.cdt.core.dom.ast.IEnumeration;
 import org.eclipse.cdt.core.dom.ast.IField;
 import org.eclipse.cdt.core.dom.ast.IFunction;
+import org.eclipse.cdt.core.dom.ast.IMacroBinding;
 import org.eclipse.cdt.core.dom.ast.IParameter;
 import org.eclipse.cdt.core.dom.ast.IProblemBinding;
 import org.eclipse.cdt.core.dom.ast.ISemanticProblem;
@@ -51,6 +53,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
+import org.eclipse.cdt.internal.core.index.composite.CompositeIndexBinding;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
@@ -238,6 +241,34 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 
 	public abstract PDOMBinding addBinding(IASTName name) throws CoreException;
 
+	/**
+	 * Looks up the binding of the given name without modifying the linkage, and stores it in the given
+	 * map for a subsequent call to {@link #addBinding(IASTName)}. Bindings that may be local to a file
+	 * are not looked up, because the file they belong to is known only while the name is added.
+	 */
+	public void prefetchBinding(IASTName name, Map<IBinding, PDOMBinding> result) throws CoreException {
+		IBinding binding = name.getBinding();
+		if (binding instanceof CompositeIndexBinding) {
+			binding = ((CompositeIndexBinding) binding).getRawBinding();
+		}
+		if (binding == null || binding instanceof IMacroBinding || result.containsKey(binding)
+				|| mayBeLocalToFile(binding)) {
+			return;
+		}
+		PDOMBinding pdomBinding = adaptBinding(binding, false);
+		if (pdomBinding != null) {
+			result.put(binding, pdomBinding);
+		}
+	}
+
+	/**
+	 * Returns {@code false} if the given binding, and the bindings owning it, are known not to be
+	 * local to a file.
+	 */
+	protected boolean mayBeLocalToFile(IBinding binding) {
+		return binding.getOwner() != null || getDeclarationLocalToFile(binding, null) != null;
+	}
+
 	final protected long getLocalToFileRec(PDOMNode parent, IBinding binding, PDOMBinding glob) throws CoreException {
 		long rec = 0;
 		if (parent instanceof PDOMBinding) {
@@ -254,31 +285,33 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 
 	protected PDOMFile getLocalToFile(IBinding binding, PDOMBinding glob) throws CoreException {
 		if (fPDOM instanceof WritablePDOM) {
-			final WritablePDOM wpdom = (WritablePDOM) fPDOM;
-			if (binding instanceof IField) {
-				return null;
-			}
-			boolean checkIfInSourceOnly = false;
-			boolean requireDefinition = false;
-			if (binding instanceof IVariable) {
-				if (!(binding instanceof IField)) {
-					checkIfInSourceOnly = ((IVariable) binding).isStatic();
-				}
-			} else if (binding instanceof IFunction) {
-				IFunction f = (IFunction) binding;
-				checkIfInSourceOnly = ASTInternal.isStatic(f, false);
-			} else if (binding instanceof ITypedef || binding instanceof ICompositeType
-					|| binding instanceof IEnumeration) {
-				checkIfInSourceOnly = true;
-				requireDefinition = true;
+			IASTNode node = getDeclarationLocalToFile(binding, glob);
+			if (node != null) {
+				return ((WritablePDOM) fPDOM).getFileForASTNode(getLinkageID(), node);
 			}
+		}
+		return null;
+	}
 
-			if (checkIfInSourceOnly) {
-				IASTNode node = ASTInternal.getDeclaredInSourceFileOnly(getPDOM(), binding, requireDefinition, glob);
-				if (node != null) {
-					return wpdom.getFileForASTNode(getLinkageID(), node);
-				}
-			}
+	protected final IASTNode getDeclarationLocalToFile(IBinding binding, PDOMBinding glob) {
+		if (binding instanceof IField) {
+			return null;
+		}
+		boolean checkIfInSourceOnly = false;
+		boolean requireDefinition = false;
+		if (binding instanceof IVariable) {
+			checkIfInSourceOnly = ((IVariable) binding).isStatic();
+		} else if (binding instanceof IFunction) {
+			IFunction f = (IFunction) binding;
+			checkIfInSourceOnly = ASTInternal.isStatic(f, false);
+		} else if (binding instanceof ITypedef || binding instanceof ICompositeType
+				|| binding instanceof IEnumeration) {
+			checkIfInSourceOnly = true;
+			requireDefinition = true;
+		}
+
+		if (checkIfInSourceOnly) {
+			return ASTInternal.getDeclaredInSourceFileOnly(getPDOM(), binding, requireDefinition, glob);
 		}
 		return null;
 	}
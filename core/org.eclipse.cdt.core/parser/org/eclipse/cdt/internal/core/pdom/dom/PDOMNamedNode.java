@@ -75,6 +75,13 @@ public abstract class PDOMNamedNode extends PDOMNode {
 		return db.getString(namerec);
 	}
 
+	/**
+	 * Returns the offset of the name of the named node stored at the given record.
+	 */
+	public static long getDBNameRecord(Database db, long record) throws CoreException {
+		return db.getRecPtr(record + NAME);
+	}
+
 	public char[] getNameCharArray() throws CoreException {
 		if (fName != null)
 			return fName;
@@ -52,6 +52,16 @@ public class PDOMProjectIndexLocationConverter implements IIndexLocationConverte
 		fIgnoreExternal = ignoreWSExternal;
 	}
 
+	/**
+	 * Creates a converter that does not depend on a project, for indexes shared by several projects.
+	 * Locations in the workspace are stored relative to the workspace root.
+	 */
+	public PDOMProjectIndexLocationConverter(IWorkspaceRoot root) {
+		fRoot = root;
+		fFullPathPrefix = String.valueOf(IPath.SEPARATOR);
+		fIgnoreExternal = false;
+	}
+
 	@Override
 	public IIndexFileLocation fromInternalFormat(String raw) {
 		// Fast return when 'raw' was queried before (bug 471103).
@@ -20,6 +20,7 @@ package org.eclipse.cdt.internal.core.pdom.dom.cpp;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.DOMException;
@@ -1585,6 +1586,30 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		}
 	}
 
+	@Override
+	public void prefetchBinding(IASTName name, Map<IBinding, PDOMBinding> result) throws CoreException {
+		if (name instanceof ICPPASTQualifiedName)
+			return;
+		CPPSemantics.pushLookupPoint(name);
+		try {
+			super.prefetchBinding(name, result);
+		} finally {
+			CPPSemantics.popLookupPoint();
+		}
+	}
+
+	@Override
+	protected boolean mayBeLocalToFile(IBinding binding) {
+		if (binding instanceof ICPPUsingDeclaration || binding instanceof ICPPNamespaceAlias)
+			return true;
+		for (IBinding owner = binding.getOwner(); owner != null; owner = owner.getOwner()) {
+			// Members of anonymous namespaces are local to the file defining them.
+			if (!(owner instanceof ICPPNamespace) || owner.getNameCharArray().length == 0)
+				return true;
+		}
+		return getDeclarationLocalToFile(binding, null) != null;
+	}
+
 	@Override
 	protected PDOMFile getLocalToFile(IBinding binding, PDOMBinding glob) throws CoreException {
 		PDOM pdom = getPDOM();
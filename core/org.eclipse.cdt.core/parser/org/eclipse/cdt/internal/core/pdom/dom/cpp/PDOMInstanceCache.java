@@ -20,7 +20,9 @@ import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPDeferredClassInstance;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IndexCPPSignatureUtil;
+import org.eclipse.cdt.internal.core.index.composite.cpp.SharedInstanceCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.dom.NamedNodeCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
@@ -39,7 +41,7 @@ public class PDOMInstanceCache {
 			return (PDOMInstanceCache) cache;
 		}
 
-		PDOMInstanceCache newCache = new PDOMInstanceCache();
+		PDOMInstanceCache newCache = new PDOMInstanceCache(binding);
 		try {
 			newCache.populate(binding);
 		} catch (CoreException e) {
@@ -52,15 +54,25 @@ public class PDOMInstanceCache {
 
 	private final HashMap<String, ICPPTemplateInstance> fMap;
 	private ICPPDeferredClassInstance fDeferredInstance;
+	/** The template, used as a key for the shared cache */
+	private final PDOMBinding fTemplate;
 
 	public PDOMInstanceCache() {
+		this(null);
+	}
+
+	private PDOMInstanceCache(PDOMBinding template) {
 		fMap = new HashMap<>();
+		fTemplate = template;
 	}
 
 	synchronized public final void addInstance(ICPPTemplateArgument[] arguments, ICPPTemplateInstance instance) {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
 			fMap.put(key, instance);
+			if (fTemplate != null && !(instance instanceof PDOMBinding)) {
+				SharedInstanceCache.getDefault().addInstance(getFragments(), fTemplate, key, arguments, instance);
+			}
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -70,7 +82,15 @@ public class PDOMInstanceCache {
 	synchronized public final ICPPTemplateInstance getInstance(ICPPTemplateArgument[] arguments) {
 		try {
 			String key = IndexCPPSignatureUtil.getTemplateArgString(arguments, true);
-			return fMap.get(key);
+			ICPPTemplateInstance result = fMap.get(key);
+			if (result == null && fTemplate != null && SharedInstanceCache.isShareable(arguments)) {
+				// The instance may have been created for another translation unit.
+				result = SharedInstanceCache.getDefault().getInstance(getFragments(), fTemplate, key);
+				if (result != null) {
+					fMap.put(key, result);
+				}
+			}
+			return result;
 		} catch (CoreException e) {
 			CCorePlugin.log(e);
 		} catch (DOMException e) {
@@ -78,6 +98,10 @@ public class PDOMInstanceCache {
 		return null;
 	}
 
+	private IIndexFragment[] getFragments() {
+		return new IIndexFragment[] { fTemplate.getPDOM() };
+	}
+
 	private void populate(PDOMBinding binding) throws CoreException {
 		PDOMNode parent = binding.getParentNode();
 		if (parent == null) {
@@ -37,6 +37,9 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 				String.valueOf(IndexerPreferences.DEFAULT_FILE_SIZE_LIMIT_MB));
 		fProperties.put(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB,
 				String.valueOf(IndexerPreferences.DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB));
+		fProperties.put(IndexerPreferences.KEY_PARSER_THREADS,
+				String.valueOf(IndexerPreferences.DEFAULT_PARSER_THREADS));
+		fProperties.put(IndexerPreferences.KEY_UPDATE_DEPENDENTS_OF_CHANGED_HEADERS, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_ALL_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_IMPLICIT_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_TYPE_REFERENCES, String.valueOf(false));
@@ -65,6 +68,10 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 		for (Map.Entry<Object, Object> entry : fProperties.entrySet()) {
 			String key = (String) entry.getKey();
 			String val = (String) entry.getValue();
+			if (IndexerPreferences.KEY_PARSER_THREADS.equals(key)
+					|| IndexerPreferences.KEY_UPDATE_DEPENDENTS_OF_CHANGED_HEADERS.equals(key)) {
+				continue; // Does not affect the content of the index.
+			}
 
 			if (val != null) { // relevant property
 				String v2 = (String) props.get(key);
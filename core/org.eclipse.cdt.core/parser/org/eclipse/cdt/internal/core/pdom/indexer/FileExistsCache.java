@@ -60,7 +60,7 @@ public final class FileExistsCache {
 		fCache = new SoftReference<>(cache);
 	}
 
-	public boolean isFile(String path) {
+	public synchronized boolean isFile(String path) {
 		// Fast return when path was already queried. The method is potentially called multiple times with
 		// the same path on each return statement the returned value is stored in the cache (bug 471103).
 		Boolean cachedResult = fCacheIsFile.get(path);
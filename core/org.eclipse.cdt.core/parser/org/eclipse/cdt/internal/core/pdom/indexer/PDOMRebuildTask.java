@@ -105,7 +105,9 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 			index.clear();
 			IWritableIndexFragment wf = index.getWritableFragment();
 			if (wf instanceof WritablePDOM) {
-				PDOMManager.writeProjectPDOMProperties((WritablePDOM) wf, project.getProject());
+				// The shards are part of the index, their write locks are held, too.
+				WritablePDOM[] shards = ((PDOMManager) CCorePlugin.getIndexManager()).getPDOMShards(project);
+				PDOMManager.writeProjectPDOMProperties((WritablePDOM) wf, shards, project.getProject());
 			}
 		} finally {
 			index.releaseWriteLock();
@@ -244,10 +244,15 @@ public final class ASTProvider {
 				tu = provider.getTranslationUnit();
 		}
 
+		final boolean cached;
 		synchronized (this) {
 			fActiveEditor = editor;
 			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
-			fCache.setActiveElement(tu);
+			cached = fCache.setActiveElement(tu);
+		}
+		if (cached) {
+			// The cached AST reflects the current contents of the editor.
+			updateModificationStamp();
 		}
 
 		// Increase indexing priority of the translation unit of the active editor.
@@ -306,6 +311,7 @@ public final class ASTProvider {
 			fActivationListener = null;
 		}
 		fCache.setActiveElement(null);
+		fCache.clear();
 	}
 
 	/**
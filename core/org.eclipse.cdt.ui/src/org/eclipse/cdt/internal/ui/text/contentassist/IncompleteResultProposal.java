@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.ui.text.contentassist;
+
+import org.eclipse.cdt.ui.text.ICCompletionProposal;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension;
+import org.eclipse.jface.text.contentassist.ICompletionProposalExtension2;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Added to the proposals when the lookups in the index have stopped at their limit, such that
+ * proposals matching the prefix may be missing.
+ * <p>
+ * The proposal deliberately implements neither {@link ICompletionProposalExtension} nor
+ * {@link ICompletionProposalExtension2}: when the prefix grows while the popup is open, the content
+ * assistant cannot narrow a list containing it and computes the proposals again, which finds the
+ * bindings that were cut off.
+ */
+class IncompleteResultProposal implements ICCompletionProposal {
+	@Override
+	public void apply(IDocument document) {
+		// Nothing to insert.
+	}
+
+	@Override
+	public Point getSelection(IDocument document) {
+		return null;
+	}
+
+	@Override
+	public String getAdditionalProposalInfo() {
+		return null;
+	}
+
+	@Override
+	public String getDisplayString() {
+		return ContentAssistMessages.IncompleteResultProposal_displayString;
+	}
+
+	@Override
+	public Image getImage() {
+		return null;
+	}
+
+	@Override
+	public IContextInformation getContextInformation() {
+		return null;
+	}
+
+	@Override
+	public int getRelevance() {
+		// Sort after all other proposals, the comparator subtracts the relevances.
+		return -1;
+	}
+
+	@Override
+	public String getIdString() {
+		return getDisplayString();
+	}
+}
@@ -21,6 +21,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.cdt.ui.text.contentassist.ContentAssistInvocationContext;
 import org.eclipse.cdt.ui.text.contentassist.ICompletionProposalComputer;
@@ -53,7 +55,25 @@ public abstract class ParsingBasedProposalComputer implements ICompletionProposa
 					prefix = cContext.computeIdentifierPrefix().toString();
 				}
 
-				return computeCompletionProposals(cContext, completionNode, prefix);
+				IASTTranslationUnit ast = completionNode.getTranslationUnit();
+				if (!(ast instanceof ASTTranslationUnit))
+					return computeCompletionProposals(cContext, completionNode, prefix);
+
+				// Allow the lookups in the index to be cancelled together with the content assist session.
+				ASTTranslationUnit astImpl = (ASTTranslationUnit) ast;
+				astImpl.setContentAssistMonitor(monitor);
+				astImpl.setContentAssistResultIncomplete(false);
+				try {
+					List<ICompletionProposal> proposals = computeCompletionProposals(cContext, completionNode,
+							prefix);
+					if (astImpl.isContentAssistResultIncomplete()) {
+						proposals = new ArrayList<>(proposals);
+						proposals.add(new IncompleteResultProposal());
+					}
+					return proposals;
+				} finally {
+					astImpl.setContentAssistMonitor(null);
+				}
 			}
 		} catch (Exception e) {
 			fErrorMessage = e.toString();
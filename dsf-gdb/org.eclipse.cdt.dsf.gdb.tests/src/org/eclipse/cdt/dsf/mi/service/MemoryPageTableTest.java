@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+public class MemoryPageTableTest {
+
+	private static MemoryByte[] createPage(int size) {
+		MemoryByte[] page = new MemoryByte[size];
+		for (int i = 0; i < size; i++) {
+			page[i] = new MemoryByte((byte) i);
+		}
+		return page;
+	}
+
+	@Test
+	public void testPageIndex() {
+		MemoryPageTable table = new MemoryPageTable(256, 1024);
+		assertEquals(0, table.getPageIndex(255));
+		assertEquals(1, table.getPageIndex(256));
+		assertEquals(4, table.getOffsetInPage(260));
+		// Addresses are unsigned
+		assertEquals(0xffffffffffffffL, table.getPageIndex(0xffffffffffffffffL));
+		assertEquals(255, table.getOffsetInPage(0xffffffffffffffffL));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreEvicted() {
+		MemoryPageTable table = new MemoryPageTable(256, 3 * 256);
+		MemoryByte[] page0 = createPage(256);
+		table.put(0, page0, false);
+		table.put(1, createPage(256), false);
+		table.put(2, createPage(256), false);
+		assertSame(page0, table.get(0));
+
+		// Page 1 is the least recently used one
+		table.put(3, createPage(256), false);
+		assertEquals(3, table.size());
+		assertFalse(table.contains(1));
+		assertTrue(table.contains(0));
+		assertEquals(1, table.getEvictionCount());
+	}
+
+	@Test
+	public void testStatistics() {
+		MemoryPageTable table = new MemoryPageTable(16, 1024);
+		table.put(0, createPage(16), false);
+		table.put(1, createPage(16), true);
+		assertTrue(table.get(0) != null);
+		assertNull(table.get(2));
+		assertTrue(table.get(1) != null);
+		assertTrue(table.get(1) != null);
+		// Lookups that don't request memory are not counted
+		table.peek(3);
+
+		assertEquals(3, table.getHitCount());
+		assertEquals(1, table.getMissCount());
+		assertEquals(1, table.getPrefetchCount());
+		assertEquals(1, table.getPrefetchHitCount());
+	}
+
+	@Test
+	public void testWordSizeChangeClearsTable() {
+		MemoryPageTable table = new MemoryPageTable(16, 1024);
+		table.put(0, createPage(16), false);
+		table.setWordSize(1);
+		assertEquals(1, table.size());
+		table.setWordSize(2);
+		assertEquals(0, table.size());
+		assertEquals(32, table.getPageOctets());
+	}
+
+	private static void assertRuns(List<long[]> runs, long... bounds) {
+		assertEquals(bounds.length / 2, runs.size());
+		for (int i = 0; i < runs.size(); i++) {
+			assertEquals(bounds[2 * i], runs.get(i)[0]);
+			assertEquals(bounds[2 * i + 1], runs.get(i)[1]);
+		}
+	}
+
+	@Test
+	public void testMissingPagesAreReadInRuns() {
+		MemoryPageTable table = new MemoryPageTable(16, 0, 1024);
+		MemoryByte[] page = createPage(16);
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { null, page, null, null, page }, 10, 100), 10, 10, 12,
+				13);
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { page, page }, 10, 100));
+	}
+
+	@Test
+	public void testReadAhead() {
+		MemoryPageTable table = new MemoryPageTable(16, 2, 1024);
+		MemoryByte[] page = createPage(16);
+		// The first and the last run are extended
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { null, page, null }, 10, 100), 8, 10, 12, 14);
+		// Runs not starting or ending at the bounds of the request are not extended
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { page, null, page }, 10, 100), 11, 11);
+		// Read-ahead stops at cached pages and at the bounds of the address space
+		table.put(9, page, false);
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { null }, 10, 11), 10, 11);
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { null }, 0, 100), 0, 2);
+	}
+
+	@Test
+	public void testExactReads() {
+		// A page size of one unit disables read-ahead
+		MemoryPageTable table = new MemoryPageTable(1, 2, 1024);
+		assertEquals(0, table.getPrefetchPages());
+		assertRuns(table.getMissingRuns(new MemoryByte[][] { null, null, null }, 100, 1000), 100, 102);
+		assertEquals(1, table.getPageIndex(1));
+		assertEquals(0, table.getOffsetInPage(1));
+	}
+
+	@Test
+	public void testMemoryBlockFromPages() {
+		MemoryPageTable table = new MemoryPageTable(4, 1024);
+		table.setWordSize(2);
+		MemoryByte[] page0 = createPage(8);
+		MemoryByte[] page2 = createPage(8);
+		// Units 3 to 8 span the end of page 0, page 1 that is not cached and the start of page 2
+		MemoryByte[] block = table.getMemoryBlockFromPages(new MemoryByte[][] { page0, null, page2 }, 3, 6);
+		assertEquals(12, block.length);
+		assertSame(page0[6], block[0]);
+		assertSame(page0[7], block[1]);
+		for (int i = 2; i < 10; i++) {
+			assertNull(block[i]);
+		}
+		assertSame(page2[0], block[10]);
+		assertSame(page2[1], block[11]);
+	}
+
+	@Test
+	public void testMemoryBlockWithinPage() {
+		MemoryPageTable table = new MemoryPageTable(16, 1024);
+		MemoryByte[] page = createPage(16);
+		MemoryByte[] block = table.getMemoryBlockFromPages(new MemoryByte[][] { page }, 5, 3);
+		assertEquals(3, block.length);
+		assertSame(page[5], block[0]);
+		assertSame(page[7], block[2]);
+	}
+}
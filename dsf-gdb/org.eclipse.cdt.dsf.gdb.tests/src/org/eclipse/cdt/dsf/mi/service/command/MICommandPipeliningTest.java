@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Checks that {@link AbstractMIControl} keeps several commands in flight and matches their results
+ * by token. Instead of gdb, a stand-in is used that answers every command after a fixed delay, like
+ * a gdb at the far end of a slow connection, optionally not in the order of the commands.
+ */
+public class MICommandPipeliningTest {
+	private static final String COMMANDS_IN_FLIGHT_PROPERTY = "org.eclipse.cdt.dsf.gdb.commandsInFlight";
+	private static final int LATENCY_MS = 50;
+	private static final int COMMANDS = 24;
+
+	private DsfSession fSession;
+	private FakeGdb fGdb;
+	private TestControl fControl;
+
+	private static class TestControl extends AbstractMIControl {
+		private final MIControlDMContext fContext;
+
+		TestControl(DsfSession session) {
+			super(session, true, new CommandFactory());
+			fContext = new MIControlDMContext(session.getId(), getId());
+		}
+
+		@Override
+		protected boolean isConcurrentCommandsSupported() {
+			return true;
+		}
+
+		void start(FakeGdb gdb) {
+			startCommandProcessing(gdb.fReplies, gdb.fCommands);
+		}
+
+		void stop() {
+			stopCommandProcessing();
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public String getId() {
+			return "fakeGdb";
+		}
+
+		@Override
+		public MIControlDMContext getControlDMContext() {
+			return fContext;
+		}
+
+		@Override
+		public ICommandControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+	}
+
+	/**
+	 * Answers each command with its own text after {@link #LATENCY_MS}, and records how many commands
+	 * were waiting for an answer at most. The commands are answered in the order they are received,
+	 * or, if requested, the commands received while waiting for an answer are answered in reverse order.
+	 */
+	private static class FakeGdb {
+		final PipedOutputStream fCommands = new PipedOutputStream();
+		final PipedInputStream fReplies = new PipedInputStream(64 * 1024);
+		private final BlockingQueue<Object[]> fPending = new LinkedBlockingQueue<>();
+		private final boolean fReverse;
+		private int fOutstanding;
+		private int fMaxOutstanding;
+		private boolean fAnsweredOutOfOrder;
+		private final Thread fReader;
+		private final Thread fWriter;
+
+		FakeGdb(boolean reverse) throws IOException {
+			fReverse = reverse;
+			final PipedInputStream commands = new PipedInputStream(fCommands, 64 * 1024);
+			final OutputStream replies = new PipedOutputStream(fReplies);
+			fReader = new Thread("Fake gdb reader") {
+				@Override
+				public void run() {
+					try (BufferedReader reader = new BufferedReader(
+							new InputStreamReader(commands, StandardCharsets.US_ASCII))) {
+						String line;
+						while ((line = reader.readLine()) != null) {
+							received();
+							fPending.add(new Object[] { System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LATENCY_MS),
+									line });
+						}
+					} catch (IOException e) {
+					}
+				}
+			};
+			fWriter = new Thread("Fake gdb writer") {
+				@Override
+				public void run() {
+					try {
+						int lastToken = -1;
+						while (true) {
+							List<Object[]> batch = new ArrayList<>();
+							batch.add(fPending.take());
+							if (fReverse) {
+								// Collect the commands received in the meantime.
+								sleepUntil((Long) batch.get(0)[0]);
+								fPending.drainTo(batch);
+								Collections.reverse(batch);
+							}
+							for (Object[] pending : batch) {
+								sleepUntil((Long) pending[0]);
+								String line = (String) pending[1];
+								int end = 0;
+								while (end < line.length() && Character.isDigit(line.charAt(end))) {
+									end++;
+								}
+								int token = Integer.parseInt(line.substring(0, end));
+								answered(token < lastToken);
+								lastToken = token;
+								replies.write((line.substring(0, end) + "^done,command=\"" + line.substring(end)
+										+ "\"\n(gdb) \n").getBytes(StandardCharsets.US_ASCII));
+								replies.flush();
+							}
+						}
+					} catch (InterruptedException | IOException e) {
+					}
+				}
+			};
+			fReader.start();
+			fWriter.start();
+		}
+
+		synchronized void received() {
+			fOutstanding++;
+			fMaxOutstanding = Math.max(fMaxOutstanding, fOutstanding);
+		}
+
+		synchronized void answered(boolean outOfOrder) {
+			fOutstanding--;
+			fAnsweredOutOfOrder |= outOfOrder;
+		}
+
+		synchronized int getMaxOutstanding() {
+			return fMaxOutstanding;
+		}
+
+		synchronized boolean hasAnsweredOutOfOrder() {
+			return fAnsweredOutOfOrder;
+		}
+
+		private static void sleepUntil(long time) throws InterruptedException {
+			long wait = time - System.nanoTime();
+			if (wait > 0) {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			}
+		}
+
+		void dispose() {
+			fWriter.interrupt();
+			try {
+				fReplies.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	@Before
+	public void setUp() {
+		fSession = DsfSession.startSession(new DefaultDsfExecutor(GdbPlugin.PLUGIN_ID), GdbPlugin.PLUGIN_ID);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fControl != null) {
+			fSession.getExecutor().submit(() -> fControl.stop()).get();
+		}
+		if (fGdb != null) {
+			fGdb.dispose();
+		}
+		DsfSession.endSession(fSession);
+		System.clearProperty(COMMANDS_IN_FLIGHT_PROPERTY);
+	}
+
+	/**
+	 * Sends {@link #COMMANDS} commands and returns how long it took until all of them were answered, in
+	 * milliseconds. With {@code reverse}, the stand-in answers the commands out of order.
+	 */
+	private long runCommands(int commandsInFlight, boolean reverse) throws Exception {
+		System.setProperty(COMMANDS_IN_FLIGHT_PROPERTY, Integer.toString(commandsInFlight));
+		fGdb = new FakeGdb(reverse);
+		fControl = new TestControl(fSession);
+		fControl.start(fGdb);
+
+		final CountDownLatch done = new CountDownLatch(COMMANDS);
+		final List<String> failures = new CopyOnWriteArrayList<>();
+		long start = System.nanoTime();
+		fSession.getExecutor().execute(() -> {
+			for (int i = 0; i < COMMANDS; i++) {
+				final String expression = "x" + i;
+				fControl.queueCommand(
+						new MICommand<MIInfo>(fControl.getContext(), "-data-evaluate-expression",
+								new String[] { expression }),
+						new DataRequestMonitor<MIInfo>(fSession.getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								if (!isSuccess()) {
+									failures.add(expression + ": " + getStatus());
+								} else {
+									MIResult[] results = getData().getMIOutput().getMIResultRecord().getMIResults();
+									String command = ((MIConst) results[0].getMIValue()).getCString();
+									if (!command.endsWith(" " + expression)) {
+										failures.add(expression + ": got the result of " + command);
+									}
+								}
+								done.countDown();
+							}
+						});
+			}
+		});
+		assertTrue("Commands not answered", done.await(30, TimeUnit.SECONDS));
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertEquals("[]", failures.toString());
+		return elapsed;
+	}
+
+	@Test
+	public void testResultsAreMatchedByToken() throws Exception {
+		runCommands(8, true);
+		assertTrue(fGdb.hasAnsweredOutOfOrder());
+		assertEquals(8, fGdb.getMaxOutstanding());
+	}
+
+	@Test
+	public void testSingleCommandInFlight() throws Exception {
+		long elapsed = runCommands(1, false);
+		assertEquals(1, fGdb.getMaxOutstanding());
+		assertTrue(elapsed >= COMMANDS * LATENCY_MS);
+	}
+
+	@Test
+	public void testPipeliningHidesLatency() throws Exception {
+		long elapsed = runCommands(8, false);
+		// Three round trips are needed, allow for slow test machines
+		assertTrue("Took " + elapsed + " ms", elapsed < COMMANDS * LATENCY_MS / 2);
+	}
+}
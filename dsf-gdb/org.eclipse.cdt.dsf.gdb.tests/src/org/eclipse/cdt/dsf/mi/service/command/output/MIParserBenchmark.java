@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser.RecordType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Measures the throughput and the allocations of {@link MIParser} for typical gdb output. The
+ * benchmark is not part of the test suite, it is run on demand.
+ * <p>
+ * By default a transcript in the style of a stepping session is used, together with large replies
+ * for stack listings, variable children and memory reads. A recorded transcript with one MI line per
+ * line can be used instead by means of -DmiParserBenchmark.transcript=&lt;file&gt;.
+ */
+public class MIParserBenchmark {
+	private static final int ITERATIONS = Integer.getInteger("miParserBenchmark.iterations", 20);
+	private static final int WARMUP_ITERATIONS = 5;
+
+	private static final String[] SESSION = { "=thread-group-added,id=\"i1\"",
+			"~\"GNU gdb (GDB) 12.1\\n\"",
+			"1^done,bkpt={number=\"1\",type=\"breakpoint\",disp=\"keep\",enabled=\"y\",addr=\"0x0000000000401136\",func=\"main\",file=\"main.c\",fullname=\"/home/user/project/main.c\",line=\"12\",thread-groups=[\"i1\"],times=\"0\",original-location=\"main.c:12\"}",
+			"=thread-created,id=\"1\",group-id=\"i1\"",
+			"2^running",
+			"*running,thread-id=\"all\"",
+			"(gdb) ",
+			"*stopped,reason=\"breakpoint-hit\",disp=\"keep\",bkptno=\"1\",frame={addr=\"0x0000000000401136\",func=\"main\",args=[{name=\"argc\",value=\"1\"},{name=\"argv\",value=\"0x7fffffffe0a8\"}],file=\"main.c\",fullname=\"/home/user/project/main.c\",line=\"12\",arch=\"i386:x86-64\"},thread-id=\"1\",stopped-threads=\"all\",core=\"3\"",
+			"3^done,threads=[{id=\"1\",target-id=\"Thread 0x7ffff7d89740 (LWP 4242)\",name=\"main\",frame={level=\"0\",addr=\"0x0000000000401136\",func=\"main\",args=[],file=\"main.c\",fullname=\"/home/user/project/main.c\",line=\"12\",arch=\"i386:x86-64\"},state=\"stopped\",core=\"3\"}],current-thread-id=\"1\"",
+			"4^done,locals=[{name=\"i\",type=\"int\",value=\"0\"},{name=\"name\",type=\"char *\",value=\"0x402010 \\\"hello \\\\\\\"world\\\\\\\"\\\"\"}]",
+			"5^done,name=\"var1\",numchild=\"0\",value=\"0\",type=\"int\",thread-id=\"1\",has_more=\"0\"",
+			"6^done,changelist=[{name=\"var1\",value=\"1\",in_scope=\"true\",type_changed=\"false\",has_more=\"0\"}]",
+			"&\"warning: Error disabling address space randomization: Operation not permitted\\n\"",
+			"7^error,msg=\"No symbol \\\"foo\\\" in current context.\"",
+			"=breakpoint-modified,bkpt={number=\"1\",type=\"breakpoint\",disp=\"keep\",enabled=\"y\",addr=\"0x0000000000401136\",func=\"main\",file=\"main.c\",fullname=\"/home/user/project/main.c\",line=\"12\",thread-groups=[\"i1\"],times=\"1\",original-location=\"main.c:12\"}",
+	};
+
+	private static List<String> sLines;
+	private static long sChars;
+
+	@BeforeClass
+	public static void setUpTranscript() throws IOException {
+		String transcript = System.getProperty("miParserBenchmark.transcript");
+		sLines = new ArrayList<>();
+		if (transcript != null) {
+			for (String line : Files.readAllLines(Paths.get(transcript), StandardCharsets.UTF_8)) {
+				if (!line.isEmpty()) {
+					sLines.add(line);
+				}
+			}
+		} else {
+			for (int i = 0; i < 200; i++) {
+				for (String line : SESSION) {
+					sLines.add(line);
+				}
+			}
+			sLines.add(createStackListFrames(2000));
+			sLines.add(createVarListChildren(5000));
+			sLines.add(createReadMemoryBytes(64 * 1024));
+		}
+		for (String line : sLines) {
+			sChars += line.length();
+		}
+	}
+
+	private static String createStackListFrames(int depth) {
+		StringBuilder buf = new StringBuilder("8^done,stack=[");
+		for (int i = 0; i < depth; i++) {
+			if (i > 0) {
+				buf.append(',');
+			}
+			buf.append("frame={level=\"").append(i).append("\",addr=\"0x").append(Long.toHexString(0x401000L + 16 * i))
+					.append("\",func=\"recurse\",file=\"recurse.c\",fullname=\"/home/user/project/recurse.c\",line=\"")
+					.append(7 + i % 5).append("\",arch=\"i386:x86-64\"}");
+		}
+		return buf.append(']').toString();
+	}
+
+	private static String createVarListChildren(int count) {
+		StringBuilder buf = new StringBuilder("9^done,numchild=\"").append(count).append("\",children=[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				buf.append(',');
+			}
+			buf.append("child={name=\"var2.").append(i).append("\",exp=\"").append(i)
+					.append("\",numchild=\"0\",value=\"").append(i * 31).append("\",type=\"int\",thread-id=\"1\"}");
+		}
+		return buf.append("],has_more=\"0\"").toString();
+	}
+
+	private static String createReadMemoryBytes(int size) {
+		StringBuilder buf = new StringBuilder(
+				"10^done,memory=[{begin=\"0x00007ffff7dd7000\",offset=\"0x0000000000000000\",end=\"0x00007ffff7de7000\",contents=\"");
+		for (int i = 0; i < size; i++) {
+			buf.append(Character.forDigit((i >> 4) & 0xf, 16)).append(Character.forDigit(i & 0xf, 16));
+		}
+		return buf.append("\"}]").toString();
+	}
+
+	private static void parse(MIParser parser, String line, boolean materialize) {
+		RecordType type = parser.getRecordType(line);
+		if (type == RecordType.ResultRecord) {
+			MIResultRecord rr = parser.parseMIResultRecord(line);
+			if (materialize) {
+				rr.toString();
+			}
+		} else if (type == RecordType.OOBRecord) {
+			MIOOBRecord oob = parser.parseMIOOBRecord(line);
+			if (materialize) {
+				oob.toString();
+			}
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	private void run(String name, boolean materialize) {
+		MIParser parser = new MIParser();
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			for (String line : sLines) {
+				parse(parser, line, materialize);
+			}
+		}
+		long allocated = getAllocatedBytes();
+		long time = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (String line : sLines) {
+				parse(parser, line, materialize);
+			}
+		}
+		time = System.nanoTime() - time;
+		allocated = getAllocatedBytes() - allocated;
+
+		long lines = (long) ITERATIONS * sLines.size();
+		double seconds = time / 1e9;
+		System.out.println(String.format("%s: %d lines in %d ms, %.0f lines/s, %.1f MB/s, %s bytes allocated per line",
+				name, lines, time / 1000000, lines / seconds, ITERATIONS * sChars / seconds / (1024 * 1024),
+				allocated < 0 ? "?" : Long.toString(allocated / lines)));
+		assertTrue(time > 0);
+	}
+
+	@Test
+	public void testParse() {
+		run("parse", false);
+	}
+
+	@Test
+	public void testParseAndMaterialize() {
+		run("parse and materialize", true);
+	}
+}
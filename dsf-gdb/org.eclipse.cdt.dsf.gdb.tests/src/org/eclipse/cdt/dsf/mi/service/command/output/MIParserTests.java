@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser.RecordType;
+import org.junit.Test;
+
+public class MIParserTests {
+	private final MIParser fParser = new MIParser();
+
+	private MIResultRecord parseResultRecord(String line) {
+		assertEquals(RecordType.ResultRecord, fParser.getRecordType(line));
+		return fParser.parseMIResultRecord(line);
+	}
+
+	private MIOOBRecord parseOOBRecord(String line) {
+		assertEquals(RecordType.OOBRecord, fParser.getRecordType(line));
+		return fParser.parseMIOOBRecord(line);
+	}
+
+	private static String getCString(MIValue value) {
+		assertTrue(value instanceof MIConst);
+		return ((MIConst) value).getCString();
+	}
+
+	@Test
+	public void testRecordType() {
+		assertEquals(RecordType.PrimaryPrompt, fParser.getRecordType("(gdb) "));
+		assertEquals(RecordType.ResultRecord, fParser.getRecordType("12^done"));
+		assertEquals(RecordType.OOBRecord, fParser.getRecordType("12*running,thread-id=\"all\""));
+	}
+
+	@Test
+	public void testResultRecord() {
+		MIResultRecord rr = parseResultRecord("42^done,value=\"3\"");
+		assertEquals(42, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		MIResult[] results = rr.getMIResults();
+		assertEquals(1, results.length);
+		assertEquals("value", results[0].getVariable());
+		assertEquals("3", getCString(results[0].getMIValue()));
+
+		rr = parseResultRecord("^running");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.RUNNING, rr.getResultClass());
+		assertEquals(0, rr.getMIResults().length);
+
+		rr = parseResultRecord("99999999999^error,msg=\"x\"");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.ERROR, rr.getResultClass());
+	}
+
+	@Test
+	public void testNestedTuplesAndLists() {
+		MIResultRecord rr = parseResultRecord(
+				"^done,stack=[frame={level=\"0\",addr=\"0x1\",args=[{name=\"a\",value=\"1\"}]},frame={level=\"1\"}],ids=[\"1\",\"2\"],empty={}");
+		MIResult[] results = rr.getMIResults();
+		assertEquals(3, results.length);
+
+		MIList stack = (MIList) results[0].getMIValue();
+		assertEquals(2, stack.getMIResults().length);
+		MITuple frame = (MITuple) stack.getMIResults()[0].getMIValue();
+		assertEquals("frame", stack.getMIResults()[0].getVariable());
+		assertEquals(3, frame.getMIResults().length);
+		assertEquals("0x1", getCString(frame.getMIResults()[1].getMIValue()));
+		MIList args = (MIList) frame.getMIResults()[2].getMIValue();
+		MITuple arg = (MITuple) args.getMIValues()[0];
+		assertEquals("a", getCString(arg.getMIResults()[0].getMIValue()));
+
+		MIList ids = (MIList) results[1].getMIValue();
+		assertEquals(2, ids.getMIValues().length);
+		assertEquals("2", getCString(ids.getMIValues()[1]));
+
+		MITuple empty = (MITuple) results[2].getMIValue();
+		assertEquals(0, empty.getMIResults().length);
+		assertEquals(0, empty.getMIValues().length);
+
+		// The values of lists are printed without quotes.
+		assertEquals(
+				"^done,stack=[frame={level=\"0\",addr=\"0x1\",args=[{name=\"a\",value=\"1\"}]},frame={level=\"1\"}],ids=[1,2],empty={}",
+				rr.toString());
+	}
+
+	@Test
+	public void testEscapes() {
+		MIResultRecord rr = parseResultRecord("^error,msg=\"No symbol \\\"x\\\" in \\\\ context.\\n\"");
+		assertEquals("No symbol \"x\" in \\ context.\\n", getCString(rr.getMIResults()[0].getMIValue()));
+
+		rr = parseResultRecord("^done,value=\"trailing\\\\\",next=\"1\"");
+		assertEquals("trailing\\", getCString(rr.getMIResults()[0].getMIValue()));
+		assertEquals("1", getCString(rr.getMIResults()[1].getMIValue()));
+	}
+
+	@Test
+	public void testStreamRecords() {
+		MIOOBRecord oob = parseOOBRecord("~\"a\\\\b\\\"c\\n\"");
+		assertTrue(oob instanceof MIConsoleStreamOutput);
+		// Backslashes within stream records aren't escaped.
+		assertEquals("a\\\\b\"c\\n", ((MIStreamRecord) oob).getCString());
+
+		oob = parseOOBRecord("&\"log\"");
+		assertTrue(oob instanceof MILogStreamOutput);
+		assertEquals("log", ((MIStreamRecord) oob).getCString());
+
+		oob = parseOOBRecord("not an MI record");
+		assertTrue(oob instanceof MITargetStreamOutput);
+		assertEquals("not an MI record\n", ((MIStreamRecord) oob).getCString());
+	}
+
+	@Test
+	public void testAsyncRecords() {
+		MIOOBRecord oob = parseOOBRecord("7*stopped,reason=\"end-stepping-range\",thread-id=\"1\"");
+		assertTrue(oob instanceof MIExecAsyncOutput);
+		MIAsyncRecord async = (MIAsyncRecord) oob;
+		assertEquals(7, async.getToken());
+		assertEquals("stopped", async.getAsyncClass());
+		assertEquals(2, async.getMIResults().length);
+		assertEquals("thread-id", async.getMIResults()[1].getVariable());
+
+		async = (MIAsyncRecord) parseOOBRecord("*running ");
+		assertEquals("running", async.getAsyncClass());
+		assertEquals(1, async.getMIResults().length);
+		assertEquals("", async.getMIResults()[0].getVariable());
+	}
+
+	@Test
+	public void testMalformedResults() {
+		MIResultRecord rr = parseResultRecord("^done,[\"a\"],abc");
+		MIResult[] results = rr.getMIResults();
+		assertEquals(2, results.length);
+		// A value without a variable (bug 527419)
+		assertEquals("", results[0].getVariable());
+		assertEquals("a", getCString(((MIList) results[0].getMIValue()).getMIValues()[0]));
+		// A variable without a value
+		assertEquals("abc", results[1].getVariable());
+		assertEquals("", getCString(results[1].getMIValue()));
+
+		rr = parseResultRecord("^done,a={b=\"unterminated");
+		MITuple tuple = (MITuple) rr.getMIResults()[0].getMIValue();
+		assertEquals("unterminated", getCString(tuple.getMIResults()[0].getMIValue()));
+	}
+
+	@Test
+	public void testParserReuse() {
+		StringBuilder large = new StringBuilder("^done,memory=[");
+		for (int i = 0; i < 10000; i++) {
+			large.append(i == 0 ? "" : ",").append("{begin=\"0x").append(Integer.toHexString(i)).append("\"}");
+		}
+		large.append(']');
+		MIResultRecord rr = parseResultRecord(large.toString());
+		assertEquals(10000, ((MIList) rr.getMIResults()[0].getMIValue()).getMIValues().length);
+
+		rr = parseResultRecord("^done,value=\"1\"");
+		assertEquals("1", getCString(rr.getMIResults()[0].getMIValue()));
+		assertEquals(0, parseResultRecord("^done").getMIResults().length);
+	}
+}
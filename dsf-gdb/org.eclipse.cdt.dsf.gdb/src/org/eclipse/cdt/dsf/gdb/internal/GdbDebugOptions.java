@@ -38,9 +38,13 @@ public class GdbDebugOptions implements DebugOptionsListener {
 
 	private static final String DEBUG_FLAG = "org.eclipse.cdt.dsf.gdb/debug"; //$NON-NLS-1$
 	private static final String DEBUG_TIMEOUTS_FLAG = "org.eclipse.cdt.dsf.gdb/debug/timeouts"; //$NON-NLS-1$
+	private static final String DEBUG_MEMORY_CACHE_FLAG = "org.eclipse.cdt.dsf.gdb/debug/memoryCache"; //$NON-NLS-1$
+	private static final String DEBUG_VAR_UPDATES_FLAG = "org.eclipse.cdt.dsf.gdb/debug/varUpdates"; //$NON-NLS-1$
 
 	public static boolean DEBUG = false;
 	public static boolean DEBUG_COMMAND_TIMEOUTS = false;
+	public static boolean DEBUG_MEMORY_CACHE = false;
+	public static boolean DEBUG_VAR_UPDATES = false;
 
 	/**
 	 * The {@link DebugTrace} object to print to OSGi tracing
@@ -61,6 +65,8 @@ public class GdbDebugOptions implements DebugOptionsListener {
 		fgDebugTrace = options.newDebugTrace(GdbPlugin.getUniqueIdentifier());
 		DEBUG = options.getBooleanOption(DEBUG_FLAG, false);
 		DEBUG_COMMAND_TIMEOUTS = options.getBooleanOption(DEBUG_TIMEOUTS_FLAG, false);
+		DEBUG_MEMORY_CACHE = options.getBooleanOption(DEBUG_MEMORY_CACHE_FLAG, false);
+		DEBUG_VAR_UPDATES = options.getBooleanOption(DEBUG_VAR_UPDATES_FLAG, false);
 	}
 
 	/**
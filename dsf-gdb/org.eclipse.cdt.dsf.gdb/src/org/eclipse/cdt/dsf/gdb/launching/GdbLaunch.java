@@ -50,6 +50,7 @@ import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.Sequence;
 import org.eclipse.cdt.dsf.concurrent.Sequence.Step;
@@ -117,8 +118,11 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 		super(launchConfiguration, mode, locator);
 
 		// Create the dispatch queue to be used by debugger control and services
-		// that belong to this launch
-		final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
+		// that belong to this launch. Work can be prioritized by means of
+		// -Dorg.eclipse.cdt.dsf.gdb.priorityExecutor=true
+		final DefaultDsfExecutor dsfExecutor = Boolean.getBoolean("org.eclipse.cdt.dsf.gdb.priorityExecutor") //$NON-NLS-1$
+				? new PriorityDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID)
+				: new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
 		dsfExecutor.prestartCoreThread();
 		fExecutor = dsfExecutor;
 		fSession = DsfSession.startSession(fExecutor, GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
@@ -21,12 +21,11 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service;
 
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import org.eclipse.cdt.core.IAddress;
@@ -51,6 +50,7 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionChangedEvent;
@@ -531,118 +531,6 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		return 1;
 	}
 
-	///////////////////////////////////////////////////////////////////////////
-	// SortedLinkedlist
-	///////////////////////////////////////////////////////////////////////////
-
-	// This class is really the equivalent of a C struct (old habits die hard...)
-	// For simplicity, everything is public.
-	private static class MemoryBlock {
-		public IAddress fAddress;
-		public long fLengthInAddressableUnits;
-		public long fLengthInOctets;
-		public MemoryByte[] fBlock;
-
-		public MemoryBlock(IAddress address, long lengthInOctets, long lengthInAddressableUnits, MemoryByte[] block) {
-			// A memory block is expected to be populated with the contents of a defined range of addresses
-			// therefore the number of octets shall be divisible by the number of addresses
-			assert (lengthInOctets % lengthInAddressableUnits == 0);
-			fAddress = address;
-			fLengthInAddressableUnits = lengthInAddressableUnits;
-			fLengthInOctets = lengthInOctets;
-			fBlock = block;
-		}
-	}
-
-	// Address-ordered data structure to cache the memory blocks.
-	// Contiguous blocks are merged if possible.
-	@SuppressWarnings("serial")
-	private static class SortedMemoryBlockList extends LinkedList<MemoryBlock> {
-
-		public SortedMemoryBlockList() {
-			super();
-		}
-
-		// Insert the block in the sorted linked list and merge contiguous
-		// blocks if necessary
-		@Override
-		public boolean add(MemoryBlock block) {
-
-			// If the list is empty, just store the block
-			if (isEmpty()) {
-				addFirst(block);
-				return true;
-			}
-
-			// Insert the block at the correct location and then
-			// merge the blocks if possible
-			ListIterator<MemoryBlock> it = listIterator();
-			while (it.hasNext()) {
-				int index = it.nextIndex();
-				MemoryBlock item = it.next();
-				if (block.fAddress.compareTo(item.fAddress) < 0) {
-					add(index, block);
-					compact(index);
-					return true;
-				}
-			}
-
-			// Put at the end of the list and merge if necessary
-			addLast(block);
-			compact(size() - 1);
-			return true;
-		}
-
-		// Merge this block with its contiguous neighbors (if any)
-		// Note: Merge is not performed if resulting block size would exceed MAXINT
-		private void compact(int index) {
-
-			MemoryBlock newBlock = get(index);
-
-			// Case where the block is to be merged with the previous block
-			if (index > 0) {
-				MemoryBlock prevBlock = get(index - 1);
-				IAddress endOfPreviousBlock = prevBlock.fAddress.add(prevBlock.fLengthInAddressableUnits);
-				if (endOfPreviousBlock.distanceTo(newBlock.fAddress).longValue() == 0) {
-					long newLengthInOctets = prevBlock.fLengthInOctets + newBlock.fLengthInOctets;
-					long newLengthInAddressableUnits = prevBlock.fLengthInAddressableUnits
-							+ newBlock.fLengthInAddressableUnits;
-					if (newLengthInOctets <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLengthInOctets];
-						System.arraycopy(prevBlock.fBlock, 0, block, 0, (int) prevBlock.fLengthInOctets);
-						System.arraycopy(newBlock.fBlock, 0, block, (int) prevBlock.fLengthInOctets,
-								(int) newBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(prevBlock.fAddress, newLengthInOctets, newLengthInAddressableUnits,
-								block);
-						remove(index);
-						index -= 1;
-						set(index, newBlock);
-					}
-				}
-			}
-
-			// Case where the block is to be merged with the following block
-			int lastIndex = size() - 1;
-			if (index < lastIndex) {
-				MemoryBlock nextBlock = get(index + 1);
-				IAddress endOfNewBlock = newBlock.fAddress.add(newBlock.fLengthInAddressableUnits);
-				if (endOfNewBlock.distanceTo(nextBlock.fAddress).longValue() == 0) {
-					long newLength = newBlock.fLengthInOctets + nextBlock.fLengthInOctets;
-					long newAddressesLength = newBlock.fLengthInAddressableUnits + nextBlock.fLengthInAddressableUnits;
-					if (newLength <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLength];
-						System.arraycopy(newBlock.fBlock, 0, block, 0, (int) newBlock.fLengthInOctets);
-						System.arraycopy(nextBlock.fBlock, 0, block, (int) newBlock.fLengthInOctets,
-								(int) nextBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(newBlock.fAddress, newLength, newAddressesLength, block);
-						set(index, newBlock);
-						remove(index + 1);
-					}
-				}
-			}
-		}
-	}
-
 	///////////////////////////////////////////////////////////////////////////
 	// MIMemoryCache
 	///////////////////////////////////////////////////////////////////////////
@@ -650,190 +538,46 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	/** @since 4.2 */
 	protected class MIMemoryCache {
 		// The memory cache data structure
-		private SortedMemoryBlockList fMemoryBlockList;
+		private final MemoryPageTable fPageTable;
 
 		public MIMemoryCache() {
-			// Create the memory block cache
-			fMemoryBlockList = new SortedMemoryBlockList();
+			// Create the memory page cache
+			fPageTable = new MemoryPageTable(MemoryPageTable.PAGE_SIZE, MemoryPageTable.MAX_SIZE);
 		}
 
 		public void reset() {
+			if (GdbDebugOptions.DEBUG_MEMORY_CACHE) {
+				GdbDebugOptions.trace(String.format("%s Memory cache reset: %s\n", GdbPlugin.getDebugTime(), //$NON-NLS-1$
+						fPageTable.getStatistics()));
+			}
 			// Clear the memory cache
-			fMemoryBlockList.clear();
+			fPageTable.clear();
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to identify
-		 *  the 'missing' blocks (i.e. the holes) that need to be fetched on the target.
-		 *
-		 *  The idea is fairly simple but an illustration could perhaps help.
-		 *  Assume the cache holds a number of cached memory blocks with gaps i.e.
-		 *  there is un-cached memory areas between blocks A, B and C:
-		 *
-		 *        +---------+      +---------+      +---------+
-		 *        +    A    +      +    B    +      +    C    +
-		 *        +---------+      +---------+      +---------+
-		 *        :         :      :         :      :         :
-		 *   [a]  :         :  [b] :         :  [c] :         :  [d]
-		 *        :         :      :         :      :         :
-		 *   [e---+--]      :  [f--+---------+--]   :         :
-		 *   [g---+---------+------+---------+------+---------+----]
-		 *        :         :      :         :      :         :
-		 *        :   [h]   :      :   [i----+--]   :         :
-		 *
-		 *
-		 *  We have the following cases to consider.The requested block [a-i] either:
-		 *
-		 *  [1] Fits entirely before A, in one of the gaps, or after C
-		 *      with no overlap and no contiguousness (e.g. [a], [b], [c] and [d])
-		 *      -> Add the requested block to the list of blocks to fetch
-		 *
-		 *  [2] Starts before an existing block but overlaps part of it, possibly
-		 *      spilling in the gap following the cached block (e.g. [e], [f] and [g])
-		 *      -> Determine the length of the missing part (< count)
-		 *      -> Add a request to fill the gap before the existing block
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by cached block length (possibly becoming negative, e.g. [e])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
+		 *  Returns the pages covering the given range of addressable units, with <code>null</code> for
+		 *  the pages that are not cached.
 		 *
-		 *  [3] Starts at or into an existing block and overlaps part of it ([h] and [i])
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by length to end of cached block (possibly becoming negative, e.g. [h])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  We iterate over the cached blocks list until there is no entry left or until
-		 *  the remaining requested block count is <= 0, meaning the result list contains
-		 *  only the sub-blocks needed to fill the gap(s), if any.
-		 *
-		 *  (As is often the case, it takes much more typing to explain it than to just do it :-)
-		 *
-		 *  What is missing is a parameter that indicates the minimal block size that is worth fetching.
-		 *  This is target-specific and straight in the realm of the coalescing function...
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return A list of the sub-blocks to fetch in order to fill enough gaps in the memory cache
-		 * to service the request
+		 * @param lookup Whether the lookups are requests for memory that count as hits or misses
 		 */
-		private List<MemoryBlock> getListOfMissingBlocks(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int octetCount = wordCount * wordSize;
-
-			LinkedList<MemoryBlock> list = new LinkedList<>();
-			ListIterator<MemoryBlock> it = fMemoryBlockList.listIterator();
-
-			// Look for holes in the list of memory blocks
-			while (it.hasNext() && octetCount > 0) {
-				MemoryBlock cachedBlock = it.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where we miss a block before the cached block
-				if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0) {
-					int lengthInOctets = (int) Math
-							.min(reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize, octetCount);
-					// If both blocks start at the same location, no need to create a new cached block
-					if (lengthInOctets > 0) {
-						int lengthInAddressableUnits = lengthInOctets / wordSize;
-						MemoryBlock newBlock = new MemoryBlock(reqBlockStart, lengthInOctets, lengthInAddressableUnits,
-								new MemoryByte[0]);
-						list.add(newBlock);
-					}
-					// Adjust request block start and length for the next iteration
-					reqBlockStart = cachedBlockEnd;
-					octetCount -= lengthInOctets + cachedBlock.fLengthInOctets;
-				}
-
-				// Case where the requested block starts somewhere in the cached block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() > 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					// Start of the requested block already in cache
-					// Adjust request block start and length for the next iteration
-					octetCount -= reqBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					reqBlockStart = cachedBlockEnd;
-				}
+		private MemoryByte[][] getPages(long firstPage, int pageCount, boolean lookup) {
+			MemoryByte[][] pages = new MemoryByte[pageCount][];
+			for (int i = 0; i < pageCount; i++) {
+				pages[i] = lookup ? fPageTable.get(firstPage + i) : fPageTable.peek(firstPage + i);
 			}
-
-			// Case where we miss a block at the end of the cache
-			if (octetCount > 0) {
-				int addressesLength = octetCount / wordSize;
-				MemoryBlock newBlock = new MemoryBlock(reqBlockStart, octetCount, addressesLength, new MemoryByte[0]);
-				list.add(newBlock);
-			}
-
-			return list;
+			return pages;
 		}
 
-		/**
-		 *  This function walks the address-sorted memory block list to get the
-		 *  cached memory bytes (possibly from multiple contiguous blocks).
-		 *  This function is called *after* the missing blocks have been read from
-		 *  the back end i.e. the requested memory is all cached.
-		 *
-		 *  Again, this is fairly simple. As we loop over the address-ordered list,
-		 *  There are really only 2 cases:
-		 *
-		 *  [1] The requested block fits entirely in the cached block ([a] or [b])
-		 *  [2] The requested block starts in a cached block and ends in the
-		 *      following (contiguous) one ([c]) in which case it is treated
-		 *      as 2 contiguous requests ([c'] and [c"])
-		 *
-		 *       +--------------+--------------+
-		 *       +       A      +      B       +
-		 *       +--------------+--------------+
-		 *       :  [a----]     :   [b-----]   :
-		 *       :              :              :
-		 *       :       [c-----+------]       :
-		 *       :       [c'---]+[c"---]       :
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return The cached memory content
-		 */
-		private MemoryByte[] getMemoryBlockFromCache(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int count = wordCount * wordSize;
-
-			IAddress reqBlockEnd = reqBlockStart.add(wordCount);
-			MemoryByte[] resultBlock = new MemoryByte[count];
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where the cached block overlaps completely the requested memory block
-				if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, count);
-				}
-
-				// Case where the beginning of the cached block is within the requested memory block
-				else if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockStart.distanceTo(reqBlockEnd).longValue() > 0) {
-					int pos = (int) reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets, count - pos);
-					System.arraycopy(cachedBlock.fBlock, 0, resultBlock, pos, length);
-				}
-
-				// Case where the end of the cached block is within the requested memory block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets - pos, count);
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, length);
-				}
+		private int getPageCount(long start, int wordCount) {
+			if (wordCount == 0) {
+				return 0;
 			}
-			return resultBlock;
+			return (int) (fPageTable.getPageIndex(start + wordCount - 1) - fPageTable.getPageIndex(start) + 1);
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list and updates
-		 *  the content with the actual memory just read from the target.
+		 *  This function updates the cached pages with the actual memory just read from the target.
+		 *  Bytes that are not cached are ignored.
 		 *
 		 * @param modBlockStart
 		 * @param wordCount - Number of addressable units
@@ -841,55 +585,71 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 * @param wordSize - Number of octets per addressable unit
 		 */
 		private void updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
-			IAddress modBlockEnd = modBlockStart.add(wordCount);
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
+			if (wordSize != fPageTable.getWordSize()) {
+				return;
+			}
+			long start = modBlockStart.getValue().longValue();
+			long firstPage = fPageTable.getPageIndex(start);
 			int count = wordCount * wordSize;
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// For now, we only bother to update bytes already cached.
-				// Note: In a better implementation (v1.1), we would augment
-				// the cache with the missing memory blocks since we went
-				// through the pains of reading them in the first place.
-				// (this is left as an exercise to the reader :-)
-
-				// Case where the modified block is completely included in the cached block
-				if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, count);
-				}
-
-				// Case where the cached block is completely included in the modified block
-				else if (modBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockEnd.distanceTo(modBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, (int) cachedBlock.fLengthInOctets);
-				}
-
-				// Case where the beginning of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					int length = (int) modBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, length);
-				}
-
-				// Case where the end of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockEnd).longValue() > 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) cachedBlockStart.distanceTo(modBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, length);
+			int pageOctets = fPageTable.getPageOctets();
+			long pos = fPageTable.getOffsetInPage(start) * wordSize;
+			for (int done = 0; done < count;) {
+				MemoryByte[] page = fPageTable.peek(firstPage + pos / pageOctets);
+				int posInPage = (int) (pos % pageOctets);
+				int length = Math.min(pageOctets - posInPage, count - done);
+				if (page != null) {
+					System.arraycopy(modBlock, done, page, posInPage, length);
 				}
+				done += length;
+				pos += length;
 			}
-			return;
 		}
 
 		/**
+		 *  Reads a run of consecutive pages from the target and caches them.
+		 *
+		 * @param address The address of the first unit of the first page
+		 * @param firstPage The index of the first page
+		 * @param pageCount The number of pages to read
+		 * @param requestFirstPage The index of the first page of the request
+		 * @param requestPages The pages of the request, the pages read are stored into it
+		 */
+		private void readPages(IMemoryDMContext memoryDMC, final IAddress address, final long firstPage,
+				final int pageCount, final int wordSize, final long requestFirstPage, final MemoryByte[][] requestPages,
+				final RequestMonitor rm) {
+			final int pageSize = fPageTable.getPageSize();
+			readMemoryBlock(memoryDMC, address, 0, wordSize, pageCount * pageSize,
+					new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							MemoryByte[] block = getData();
+							int pageOctets = pageSize * wordSize;
+							for (int i = 0; i < pageCount; i++) {
+								MemoryByte[] page = new MemoryByte[pageOctets];
+								int length = Math.max(0, Math.min(pageOctets, block.length - i * pageOctets));
+								System.arraycopy(block, i * pageOctets, page, 0, length);
+								// A short read leaves the rest of the page invalid
+								for (int j = length; j < pageOctets; j++) {
+									page[j] = new MemoryByte((byte) 0, (byte) 0);
+								}
+								long index = firstPage + i;
+								long indexInRequest = index - requestFirstPage;
+								boolean prefetched = indexInRequest < 0 || indexInRequest >= requestPages.length;
+								if (!prefetched) {
+									requestPages[(int) indexInRequest] = page;
+								}
+								fPageTable.put(index, page, prefetched);
+							}
+							rm.done();
+						}
+					});
+		}
+
+		/**
+		 *  Reads the pages covering the requested memory that are not cached. Consecutive missing pages
+		 *  are read with a single request, the first and the last of these reads are extended by the
+		 *  missing pages preceding and following the requested memory to read ahead of the next request.
+		 *
 		 * @param memoryDMC
 		 * @param address	the memory block address (on the target)
 		 * @param wordSize	the size, in bytes, of an addressable item
@@ -898,39 +658,35 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 */
 		public void getMemory(IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
 				final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
-			// Determine the number of read requests to issue
-			List<MemoryBlock> missingBlocks = getListOfMissingBlocks(address, wordCount, wordSize);
-			int numberOfRequests = missingBlocks.size();
-
-			// A read request will be issued for each block needed
+			fPageTable.setWordSize(wordSize);
+			final int pageSize = fPageTable.getPageSize();
+			final long start = address.getValue().longValue();
+			final long offsetInPage = fPageTable.getOffsetInPage(start);
+			final long firstPage = fPageTable.getPageIndex(start);
+			final int pageCount = getPageCount(start, wordCount);
+			final MemoryByte[][] pages = getPages(firstPage, pageCount, true);
+
+			// Determine the runs of missing pages to read, as pairs of first and last page
+			long maxPage = address.getMaxOffset().divide(BigInteger.valueOf(pageSize)).longValue();
+			List<long[]> runs = fPageTable.getMissingRuns(pages, firstPage, maxPage);
+
+			// A read request will be issued for each run of pages
 			// so we need to keep track of the count
 			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					// We received everything so read the result from the memory cache
-					drm.setData(getMemoryBlockFromCache(address, wordCount, wordSize));
+					// We received everything so read the result from the pages
+					drm.setData(fPageTable.getMemoryBlockFromPages(pages, offsetInPage, wordCount));
 					drm.done();
 				}
 			};
-			countingRM.setDoneCount(numberOfRequests);
+			countingRM.setDoneCount(runs.size());
 
 			// Issue the read requests
-			for (int i = 0; i < numberOfRequests; i++) {
-				MemoryBlock block = missingBlocks.get(i);
-				final IAddress startAddress = block.fAddress;
-				final int length = (int) block.fLengthInAddressableUnits;
-				readMemoryBlock(memoryDMC, startAddress, 0, wordSize, length,
-						new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), drm) {
-							@Override
-							protected void handleSuccess() {
-								MemoryByte[] block = getData();
-								int lenghtInaddressableUnits = block.length / wordSize;
-								MemoryBlock memoryBlock = new MemoryBlock(startAddress, block.length,
-										lenghtInaddressableUnits, block);
-								fMemoryBlockList.add(memoryBlock);
-								countingRM.done();
-							}
-						});
+			for (long[] run : runs) {
+				IAddress runStart = address.add((run[0] - firstPage) * pageSize - offsetInPage);
+				readPages(memoryDMC, runStart, run[0], (int) (run[1] - run[0] + 1), wordSize, firstPage, pages,
+						countingRM);
 			}
 		}
 
@@ -986,14 +742,18 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 				final int wordSize, final int wordCount, final boolean sendMemoryEvent, final RequestMonitor rm) {
 			// Check if we already cache part of this memory area (which means it
 			// is used by a memory service client that will have to be updated)
-			List<MemoryBlock> list = getListOfMissingBlocks(address, wordCount, wordSize);
-			int sizeToRead = 0;
-			for (MemoryBlock block : list) {
-				sizeToRead += block.fLengthInAddressableUnits;
+			final long start = address.getValue().longValue();
+			final long firstPage = fPageTable.getPageIndex(start);
+			final int pageCount = getPageCount(start, wordCount);
+			boolean cached = false;
+			if (wordSize == fPageTable.getWordSize()) {
+				for (int i = 0; i < pageCount && !cached; i++) {
+					cached = fPageTable.contains(firstPage + i);
+				}
 			}
 
 			// If none of the requested memory is in cache, just get out
-			if (sizeToRead == wordCount) {
+			if (!cached) {
 				rm.done();
 				return;
 			}
@@ -1004,11 +764,12 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 					new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
-							MemoryByte[] oldBlock = getMemoryBlockFromCache(address, wordCount, wordSize);
+							MemoryByte[] oldBlock = fPageTable.getMemoryBlockFromPages(
+									getPages(firstPage, pageCount, false), fPageTable.getOffsetInPage(start), wordCount);
 							MemoryByte[] newBlock = getData();
 							boolean blocksDiffer = false;
 							for (int i = 0; i < oldBlock.length; i++) {
-								if (oldBlock[i].getValue() != newBlock[i].getValue()) {
+								if (oldBlock[i] == null || oldBlock[i].getValue() != newBlock[i].getValue()) {
 									blocksDiffer = true;
 									break;
 								}
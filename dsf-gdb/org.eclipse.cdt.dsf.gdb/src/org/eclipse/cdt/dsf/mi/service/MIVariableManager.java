@@ -26,6 +26,7 @@ package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -59,6 +60,7 @@ import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
 import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser.GDBType;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionInfo;
@@ -2176,6 +2178,12 @@ public class MIVariableManager implements ICommandControl {
 		 */
 		private Map<String, MIVariableObject> modifiableDescendants;
 
+		/**
+		 * The changes reported for this root by a <code>-var-update *</code> while its own update was
+		 * already queued. Since gdb reports each change only once, they are processed with that update.
+		 */
+		private MIVarChange[] batchedChanges;
+
 		public MIRootVariableObject(VariableObjectId id) {
 			super(id, null);
 			currentState = STATE_NOT_CREATED;
@@ -2198,6 +2206,29 @@ public class MIVariableManager implements ICommandControl {
 			return fOutOfDate;
 		}
 
+		/**
+		 * Keeps changes reported by a <code>-var-update *</code> for the update of this root that is
+		 * in progress. A change of the root itself stays first, the one reported last replaces an earlier one.
+		 */
+		private void addBatchedChanges(List<MIVarChange> changes) {
+			if (batchedChanges == null) {
+				batchedChanges = changes.toArray(new MIVarChange[changes.size()]);
+				return;
+			}
+			List<MIVarChange> merged = new ArrayList<>(batchedChanges.length + changes.size());
+			merged.addAll(Arrays.asList(batchedChanges));
+			if (getGdbName().equals(changes.get(0).getVarName())) {
+				if (getGdbName().equals(merged.get(0).getVarName())) {
+					merged.remove(0);
+				}
+				merged.add(0, changes.get(0));
+				merged.addAll(changes.subList(1, changes.size()));
+			} else {
+				merged.addAll(changes);
+			}
+			batchedChanges = merged.toArray(new MIVarChange[merged.size()]);
+		}
+
 		// Remember that we must add ourself as a modifiable descendant if our value can change
 		public void addModifiableDescendant(String gdbName, MIVariableObject descendant) {
 			modifiableDescendants.put(gdbName, descendant);
@@ -2332,84 +2363,125 @@ public class MIVariableManager implements ICommandControl {
 				// The simplest way to do this is that whenever we change the format
 				// of a variable object, we immediately set it back to natural with a second
 				// var-set-format command.  This is done in the getValue() method
-				fCommandControl.queueCommand(
-						fCommandFactory.createMIVarUpdate(getRootToUpdate().getControlDMContext(), getGdbName()),
-						new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), rm) {
-							@Override
-							protected void handleCompleted() {
-								if (isSuccess()) {
-									setOutOfDate(false);
+				if (BATCH_VAR_UPDATES) {
+					// The roots that are out-of-date are updated together
+					queueBatchedUpdate(this, rm);
+				} else {
+					updateInGdb(rm);
+				}
+			}
+		}
 
-									MIVarChange[] changes = getData().getMIVarChanges();
-									if (changes.length > 0 && !changes[0].isInScope()) {
-										// Object is out-of-scope
-										currentState = STATE_READY;
+		/**
+		 * Updates this root, and only this root, in the back-end.
+		 */
+		private void updateInGdb(final DataRequestMonitor<Boolean> rm) {
+			fCommandControl.queueCommand(
+					fCommandFactory.createMIVarUpdate(getRootToUpdate().getControlDMContext(), getGdbName()),
+					new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), rm) {
+						@Override
+						protected void handleCompleted() {
+							if (isSuccess()) {
+								processUpdate(getData().getMIVarChanges(), rm);
+							} else {
+								updateFailed(getStatus(), rm);
+							}
+						}
+					});
+		}
 
-										outOfScope = true;
+		/**
+		 * Processes the result of a -var-update, the changes of this root and its
+		 * descendants come first.
+		 */
+		private void processUpdate(final MIVarChange[] changes, final DataRequestMonitor<Boolean> rm) {
+			if (batchedChanges != null) {
+				MIVarChange[] earlierChanges = batchedChanges;
+				batchedChanges = null;
+				if (changes.length == 0 || changes[0].isInScope()) {
+					// Apply the earlier changes first, the root's scope is the one reported last
+					if (earlierChanges.length > 0 && !earlierChanges[0].isInScope()) {
+						earlierChanges = Arrays.copyOfRange(earlierChanges, 1, earlierChanges.length);
+					}
+					processChanges(earlierChanges, new RequestMonitor(fSession.getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							processUpdate(changes, rm);
+						}
+					});
+					return;
+				}
+			}
 
-										// We can delete this root in GDB right away.  This is safe, even
-										// if the root has children, because they are also out-of-scope.
-										// We -must- also remove this entry from our LRU.  If we don't
-										// we can end-up with a race condition that create this object
-										// twice, or have an infinite loop while never re-creating the object.
-										// The can happen if we update a child first then we request
-										// the root later,
-										lruVariableList.remove(getInternalId());
+			setOutOfDate(false);
 
-										rm.setData(true);
-										rm.done();
+			if (changes.length > 0 && !changes[0].isInScope()) {
+				// Object is out-of-scope
+				currentState = STATE_READY;
 
-										while (!updatesPending.isEmpty()) {
-											DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-											pendingRm.setData(false);
-											pendingRm.done();
-										}
-									} else {
-										// The root object is now up-to-date, we must parse the changes, if any.
-										processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
-											@Override
-											protected void handleCompleted() {
-												currentState = STATE_READY;
-
-												// We only mark this root as updated in our list if it is in-scope.
-												// For out-of-scope object, we don't ever need to re-update them so
-												// we don't need to add them to this list.
-												rootVariableUpdated(MIRootVariableObject.this);
-
-												if (isSuccess()) {
-													rm.setData(false);
-												} else {
-													rm.setStatus(getStatus());
-												}
-												rm.done();
+				outOfScope = true;
 
-												while (!updatesPending.isEmpty()) {
-													DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-													if (isSuccess()) {
-														pendingRm.setData(false);
-													} else {
-														pendingRm.setStatus(getStatus());
-													}
-													pendingRm.done();
-												}
-											}
-										});
-									}
-								} else {
-									// We were not able to update for some reason
-									currentState = STATE_READY;
+				// We can delete this root in GDB right away.  This is safe, even
+				// if the root has children, because they are also out-of-scope.
+				// We -must- also remove this entry from our LRU.  If we don't
+				// we can end-up with a race condition that create this object
+				// twice, or have an infinite loop while never re-creating the object.
+				// The can happen if we update a child first then we request
+				// the root later,
+				lruVariableList.remove(getInternalId());
 
-									rm.setData(false);
-									rm.done();
+				rm.setData(true);
+				rm.done();
 
-									while (!updatesPending.isEmpty()) {
-										DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
-										pendingRm.setStatus(getStatus());
-										pendingRm.done();
-									}
-								}
+				while (!updatesPending.isEmpty()) {
+					DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+					pendingRm.setData(false);
+					pendingRm.done();
+				}
+			} else {
+				// The root object is now up-to-date, we must parse the changes, if any.
+				processChanges(changes, new RequestMonitor(fSession.getExecutor(), rm) {
+					@Override
+					protected void handleCompleted() {
+						currentState = STATE_READY;
+
+						// We only mark this root as updated in our list if it is in-scope.
+						// For out-of-scope object, we don't ever need to re-update them so
+						// we don't need to add them to this list.
+						rootVariableUpdated(MIRootVariableObject.this);
+
+						if (isSuccess()) {
+							rm.setData(false);
+						} else {
+							rm.setStatus(getStatus());
+						}
+						rm.done();
+
+						while (!updatesPending.isEmpty()) {
+							DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+							if (isSuccess()) {
+								pendingRm.setData(false);
+							} else {
+								pendingRm.setStatus(getStatus());
 							}
-						});
+							pendingRm.done();
+						}
+					}
+				});
+			}
+		}
+
+		private void updateFailed(IStatus status, DataRequestMonitor<Boolean> rm) {
+			// We were not able to update for some reason
+			currentState = STATE_READY;
+
+			rm.setData(false);
+			rm.done();
+
+			while (!updatesPending.isEmpty()) {
+				DataRequestMonitor<Boolean> pendingRm = updatesPending.poll();
+				pendingRm.setStatus(status);
+				pendingRm.done();
 			}
 		}
 
@@ -2642,6 +2714,24 @@ public class MIVariableManager implements ICommandControl {
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
+	/**
+	 * Whether the root variable objects that are out-of-date are updated together with a single
+	 * <code>-var-update *</code>, rather than with one command each. Can be disabled with
+	 * -Dorg.eclipse.cdt.dsf.gdb.batchVarUpdates=false.
+	 */
+	private static final boolean BATCH_VAR_UPDATES = Boolean
+			.parseBoolean(System.getProperty("org.eclipse.cdt.dsf.gdb.batchVarUpdates", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/** Incremented whenever all root variable objects are marked as out-of-date */
+	private int outOfDateGeneration;
+
+	/** The update of all variable objects in progress, per command control context */
+	private final Map<ICommandControlDMContext, VarUpdateBatch> pendingVarUpdateBatches = new HashMap<>();
+
+	/** The number of -var-update commands issued for batches and the number of commands saved by them */
+	private int varUpdateBatchCount;
+	private int varUpdateCommandsSaved;
+
 	/**
 	 * MIVariableManager constructor
 	 *
@@ -3142,10 +3232,154 @@ public class MIVariableManager implements ICommandControl {
 		}
 	}
 
+	/**
+	 * The roots waiting for a single <code>-var-update *</code> of all variable objects of a
+	 * command control context.
+	 */
+	private class VarUpdateBatch {
+		final ICommandControlDMContext fContext;
+		final Map<MIRootVariableObject, DataRequestMonitor<Boolean>> fRoots = new LinkedHashMap<>();
+
+		/** The out-of-date generation when the batch was issued */
+		int fGeneration;
+
+		/** The roots marked out-of-date again while the batch is in progress, issued when it completes */
+		VarUpdateBatch fNextBatch;
+
+		VarUpdateBatch(ICommandControlDMContext context) {
+			fContext = context;
+		}
+	}
+
+	/**
+	 * Updates a root that is out-of-date together with all other roots of its command control context.
+	 * The first root to be updated after the roots have been marked out-of-date issues a
+	 * <code>-var-update *</code>, the roots requested while it is in progress wait for its result. Roots
+	 * marked out-of-date after it was issued wait for the next <code>-var-update *</code>.
+	 */
+	private void queueBatchedUpdate(MIRootVariableObject root, DataRequestMonitor<Boolean> rm) {
+		ICommandControlDMContext context = root.getControlDMContext();
+		VarUpdateBatch batch = pendingVarUpdateBatches.get(context);
+		if (batch == null) {
+			batch = new VarUpdateBatch(context);
+			batch.fRoots.put(root, rm);
+			issueBatchedUpdate(batch);
+		} else if (batch.fGeneration == outOfDateGeneration) {
+			// The root was out-of-date when the batch was issued, so it is covered by it
+			batch.fRoots.put(root, rm);
+		} else {
+			if (batch.fNextBatch == null) {
+				batch.fNextBatch = new VarUpdateBatch(context);
+			}
+			batch.fNextBatch.fRoots.put(root, rm);
+		}
+	}
+
+	private void issueBatchedUpdate(final VarUpdateBatch batch) {
+		batch.fGeneration = outOfDateGeneration;
+		pendingVarUpdateBatches.put(batch.fContext, batch);
+		fCommandControl.queueCommand(fCommandFactory.createMIVarUpdate(batch.fContext, "*"), //$NON-NLS-1$
+				new DataRequestMonitor<MIVarUpdateInfo>(fSession.getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						pendingVarUpdateBatches.remove(batch.fContext);
+						if (batch.fNextBatch != null) {
+							issueBatchedUpdate(batch.fNextBatch);
+						}
+						if (isSuccess()) {
+							processBatchedUpdate(batch, getData().getMIVarChanges());
+						} else {
+							// Fall back to updating the roots one by one
+							for (Map.Entry<MIRootVariableObject, DataRequestMonitor<Boolean>> entry : batch.fRoots
+									.entrySet()) {
+								entry.getKey().updateInGdb(entry.getValue());
+							}
+						}
+					}
+				});
+	}
+
+	/**
+	 * Distributes the result of a <code>-var-update *</code> to the roots. Besides the roots waiting for
+	 * the result, all other roots of the command control context that have changed or were out-of-date
+	 * are updated, since gdb does not report the same changes again. For the same reason, the changes of
+	 * roots whose own update is still queued are kept for that update.
+	 */
+	private void processBatchedUpdate(VarUpdateBatch batch, MIVarChange[] changes) {
+		// Group the changes by root, the change of the root itself first
+		Map<String, List<MIVarChange>> changesByRoot = new HashMap<>();
+		for (MIVarChange change : changes) {
+			String name = change.getVarName();
+			int dot = name.indexOf('.');
+			String rootName = dot < 0 ? name : name.substring(0, dot);
+			List<MIVarChange> rootChanges = changesByRoot.get(rootName);
+			if (rootChanges == null) {
+				rootChanges = new ArrayList<>();
+				changesByRoot.put(rootName, rootChanges);
+			}
+			if (dot < 0) {
+				rootChanges.add(0, change);
+			} else {
+				rootChanges.add(change);
+			}
+		}
+
+		// Processing the changes may remove roots from the LRU cache
+		List<MIRootVariableObject> roots = new ArrayList<>();
+		for (MIVariableObject varObj : lruVariableList.values()) {
+			if (varObj instanceof MIRootVariableObject) {
+				roots.add((MIRootVariableObject) varObj);
+			}
+		}
+
+		int updated = 0;
+		for (MIRootVariableObject root : roots) {
+			String gdbName = root.getGdbName();
+			if (gdbName == null || root.isOutOfScope() || !batch.fContext.equals(root.getControlDMContext())) {
+				continue;
+			}
+			List<MIVarChange> rootChanges = changesByRoot.get(gdbName);
+			DataRequestMonitor<Boolean> rm = batch.fRoots.remove(root);
+			if (rm == null) {
+				if (root.currentState == MIVariableObject.STATE_UPDATING && rootChanges != null) {
+					root.addBatchedChanges(rootChanges);
+					continue;
+				}
+				if (root.currentState != MIVariableObject.STATE_READY
+						|| (rootChanges == null && !root.getOutOfDate())) {
+					continue;
+				}
+				root.currentState = MIVariableObject.STATE_UPDATING;
+				rm = new DataRequestMonitor<>(fSession.getExecutor(), null);
+			}
+			updated++;
+			root.processUpdate(rootChanges == null ? new MIVarChange[0]
+					: rootChanges.toArray(new MIVarChange[rootChanges.size()]), rm);
+			if (batch.fGeneration != outOfDateGeneration) {
+				// The root has been marked out-of-date while the batch was in progress
+				root.setOutOfDate(true);
+			}
+		}
+
+		// Roots that are no longer in the cache
+		for (Map.Entry<MIRootVariableObject, DataRequestMonitor<Boolean>> entry : batch.fRoots.entrySet()) {
+			entry.getKey().updateInGdb(entry.getValue());
+		}
+
+		varUpdateBatchCount++;
+		varUpdateCommandsSaved += Math.max(0, updated - 1);
+		if (GdbDebugOptions.DEBUG_VAR_UPDATES) {
+			GdbDebugOptions.trace(String.format(
+					"%s -var-update * updated %d root variable objects, %d batches saved %d commands so far\n", //$NON-NLS-1$
+					GdbPlugin.getDebugTime(), updated, varUpdateBatchCount, varUpdateCommandsSaved));
+		}
+	}
+
 	/**
 	 * @since 1.1
 	 */
 	public void markAllOutOfDate() {
+		outOfDateGeneration++;
 		MIRootVariableObject root;
 		while ((root = updatedRootList.poll()) != null) {
 			root.setOutOfDate(true);
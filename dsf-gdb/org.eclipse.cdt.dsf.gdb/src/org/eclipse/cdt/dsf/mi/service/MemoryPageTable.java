@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * The pages of target memory cached by {@link MIMemory}. Memory is cached in pages of a fixed number
+ * of addressable units, a page is looked up by its index, that is the address of its first unit
+ * divided by the page size. The least recently used pages are discarded when the total size of the
+ * cached pages exceeds the limit.
+ * <p>
+ * All pages have the same number of octets per addressable unit, the table is cleared when it changes.
+ * <p>
+ * With a page size of one addressable unit memory is read exactly as requested, without read-ahead.
+ */
+final class MemoryPageTable {
+	/**
+	 * The number of addressable units of a page can be changed with
+	 * -Dorg.eclipse.cdt.dsf.gdb.memoryCache.pageSize=&lt;units&gt;. A page size of 0 or 1 disables
+	 * paging, such that memory is read exactly as requested and not ahead.
+	 */
+	static final int PAGE_SIZE = Math.max(1, Integer.getInteger("org.eclipse.cdt.dsf.gdb.memoryCache.pageSize", 1024)); //$NON-NLS-1$
+	/**
+	 * The number of pages read ahead of and behind a request that cannot be served from the cache can be
+	 * changed with -Dorg.eclipse.cdt.dsf.gdb.memoryCache.prefetchPages=&lt;count&gt;, 0 disables read-ahead.
+	 */
+	static final int PREFETCH_PAGES = Math.max(0,
+			Integer.getInteger("org.eclipse.cdt.dsf.gdb.memoryCache.prefetchPages", 1)); //$NON-NLS-1$
+	/**
+	 * The maximum number of octets cached per memory context can be changed with
+	 * -Dorg.eclipse.cdt.dsf.gdb.memoryCache.maxSize=&lt;octets&gt;.
+	 */
+	static final long MAX_SIZE = Long.getLong("org.eclipse.cdt.dsf.gdb.memoryCache.maxSize", 2 * 1024 * 1024); //$NON-NLS-1$
+
+	private static final class Page {
+		final MemoryByte[] fBytes;
+		// Whether the page was read ahead and has not been requested, yet.
+		boolean fPrefetched;
+
+		Page(MemoryByte[] bytes, boolean prefetched) {
+			fBytes = bytes;
+			fPrefetched = prefetched;
+		}
+	}
+
+	private final int fPageSize;
+	private final int fPrefetchPages;
+	private final long fMaxSize;
+	private final LinkedHashMap<Long, Page> fPages = new LinkedHashMap<>(16, 0.75f, true);
+	private int fWordSize = 1;
+	private long fSize;
+
+	private long fHitCount;
+	private long fMissCount;
+	private long fPrefetchCount;
+	private long fPrefetchHitCount;
+	private long fEvictionCount;
+
+	MemoryPageTable(int pageSize, long maxSize) {
+		this(pageSize, PREFETCH_PAGES, maxSize);
+	}
+
+	MemoryPageTable(int pageSize, int prefetchPages, long maxSize) {
+		fPageSize = pageSize;
+		fPrefetchPages = pageSize > 1 ? prefetchPages : 0;
+		fMaxSize = maxSize;
+	}
+
+	/**
+	 * Returns the number of addressable units of a page.
+	 */
+	int getPageSize() {
+		return fPageSize;
+	}
+
+	/**
+	 * Returns the number of pages read ahead of and behind a request, 0 if paging is disabled.
+	 */
+	int getPrefetchPages() {
+		return fPrefetchPages;
+	}
+
+	/**
+	 * Returns the number of octets of a page.
+	 */
+	int getPageOctets() {
+		return fPageSize * fWordSize;
+	}
+
+	/**
+	 * Returns the number of octets per addressable unit.
+	 */
+	int getWordSize() {
+		return fWordSize;
+	}
+
+	/**
+	 * Sets the number of octets per addressable unit, the cached pages are discarded if it changes.
+	 */
+	void setWordSize(int wordSize) {
+		if (wordSize != fWordSize) {
+			clear();
+			fWordSize = wordSize;
+		}
+	}
+
+	/**
+	 * Returns the index of the page containing the given address.
+	 */
+	long getPageIndex(long address) {
+		return Long.divideUnsigned(address, fPageSize);
+	}
+
+	/**
+	 * Returns the offset of the given address within its page, in addressable units.
+	 */
+	long getOffsetInPage(long address) {
+		return Long.remainderUnsigned(address, fPageSize);
+	}
+
+	/**
+	 * Returns the contents of a page and marks it as recently used, or returns {@code null} if the page
+	 * is not cached. The lookup is counted in the statistics of the cache.
+	 */
+	MemoryByte[] get(long index) {
+		Page page = fPages.get(index);
+		if (page == null) {
+			fMissCount++;
+			return null;
+		}
+		fHitCount++;
+		if (page.fPrefetched) {
+			page.fPrefetched = false;
+			fPrefetchHitCount++;
+		}
+		return page.fBytes;
+	}
+
+	/**
+	 * Returns the contents of a page and marks it as recently used, or returns {@code null} if the page
+	 * is not cached. Unlike {@link #get(long)} the lookup is not counted in the statistics.
+	 */
+	MemoryByte[] peek(long index) {
+		Page page = fPages.get(index);
+		return page != null ? page.fBytes : null;
+	}
+
+	/**
+	 * Returns whether a page is cached, without marking it as recently used.
+	 */
+	boolean contains(long index) {
+		return fPages.containsKey(index);
+	}
+
+	/**
+	 * Caches the contents of a page and discards the least recently used pages if the cache has grown
+	 * beyond its limit.
+	 *
+	 * @param prefetched whether the page was read ahead of a request
+	 */
+	void put(long index, MemoryByte[] bytes, boolean prefetched) {
+		if (prefetched) {
+			fPrefetchCount++;
+		}
+		Page old = fPages.put(index, new Page(bytes, prefetched));
+		if (old != null) {
+			fSize -= old.fBytes.length;
+		}
+		fSize += bytes.length;
+		for (Iterator<Page> it = fPages.values().iterator(); fSize > fMaxSize && it.hasNext();) {
+			fSize -= it.next().fBytes.length;
+			it.remove();
+			fEvictionCount++;
+		}
+	}
+
+	/**
+	 * Returns the runs of consecutive pages to read from the target for a request, as pairs of the
+	 * first and the last page of each run. The runs cover the pages of the request that are not
+	 * cached, the first and the last run are extended by up to {@link #getPrefetchPages()} pages
+	 * preceding and following the request that are not cached, either.
+	 *
+	 * @param pages The pages of the request, with {@code null} for the pages that are not cached
+	 * @param firstPage The index of the first page of the request
+	 * @param maxPage The index of the last page of the address space
+	 */
+	List<long[]> getMissingRuns(MemoryByte[][] pages, long firstPage, long maxPage) {
+		List<long[]> runs = new ArrayList<>();
+		for (int i = 0; i < pages.length; i++) {
+			if (pages[i] == null) {
+				if (i > 0 && pages[i - 1] == null) {
+					runs.get(runs.size() - 1)[1]++;
+				} else {
+					runs.add(new long[] { firstPage + i, firstPage + i });
+				}
+			}
+		}
+
+		if (!runs.isEmpty()) {
+			// Read ahead of the requested memory, without additional requests.
+			long[] first = runs.get(0);
+			if (first[0] == firstPage) {
+				for (int i = 0; i < fPrefetchPages && first[0] > 0 && !contains(first[0] - 1); i++) {
+					first[0]--;
+				}
+			}
+			long[] last = runs.get(runs.size() - 1);
+			if (last[1] == firstPage + pages.length - 1) {
+				for (int i = 0; i < fPrefetchPages && last[1] < maxPage && !contains(last[1] + 1); i++) {
+					last[1]++;
+				}
+			}
+		}
+		return runs;
+	}
+
+	/**
+	 * Copies the given range of addressable units out of the pages covering it.
+	 *
+	 * @param pages The pages covering the range, starting with the page containing the first unit
+	 * @param offsetInPage The offset of the first unit in its page
+	 * @param wordCount The number of addressable units
+	 * @return The memory content, with {@code null} for units that are not in one of the pages
+	 */
+	MemoryByte[] getMemoryBlockFromPages(MemoryByte[][] pages, long offsetInPage, int wordCount) {
+		int count = wordCount * fWordSize;
+		int pageOctets = getPageOctets();
+		MemoryByte[] resultBlock = new MemoryByte[count];
+		long pos = offsetInPage * fWordSize;
+		for (int done = 0; done < count;) {
+			MemoryByte[] page = pages[(int) (pos / pageOctets)];
+			int posInPage = (int) (pos % pageOctets);
+			int length = Math.min(pageOctets - posInPage, count - done);
+			if (page != null) {
+				System.arraycopy(page, posInPage, resultBlock, done, length);
+			}
+			done += length;
+			pos += length;
+		}
+		return resultBlock;
+	}
+
+	void clear() {
+		fPages.clear();
+		fSize = 0;
+	}
+
+	/**
+	 * Returns the number of cached pages.
+	 */
+	int size() {
+		return fPages.size();
+	}
+
+	long getHitCount() {
+		return fHitCount;
+	}
+
+	long getMissCount() {
+		return fMissCount;
+	}
+
+	long getPrefetchCount() {
+		return fPrefetchCount;
+	}
+
+	long getPrefetchHitCount() {
+		return fPrefetchHitCount;
+	}
+
+	long getEvictionCount() {
+		return fEvictionCount;
+	}
+
+	/**
+	 * Returns the statistics of the cache in a form suitable for tracing.
+	 */
+	String getStatistics() {
+		long lookups = fHitCount + fMissCount;
+		return String.format("%d pages cached, %d hits, %d misses (%.1f%% hit rate), %d pages read ahead, %d of them used, %d pages evicted", //$NON-NLS-1$
+				fPages.size(), fHitCount, fMissCount, lookups == 0 ? 0.0 : 100.0 * fHitCount / lookups,
+				fPrefetchCount, fPrefetchHitCount, fEvictionCount);
+	}
+}
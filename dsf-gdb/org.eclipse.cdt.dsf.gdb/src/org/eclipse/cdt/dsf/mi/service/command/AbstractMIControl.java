@@ -39,6 +39,7 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -98,6 +99,13 @@ import org.eclipse.osgi.util.NLS;
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
 	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
+	/**
+	 * The number of commands that may be sent to the back end before their results have been received,
+	 * when the back end supports concurrent commands. Raising it helps to hide the round trip time of
+	 * slow connections, e.g. to a remote gdbserver, it can be changed with
+	 * -Dorg.eclipse.cdt.dsf.gdb.commandsInFlight=&lt;count&gt;.
+	 */
+	private static final String COMMANDS_IN_FLIGHT_PROPERTY = "org.eclipse.cdt.dsf.gdb.commandsInFlight"; //$NON-NLS-1$
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
 	/*
@@ -124,6 +132,11 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private final BlockingQueue<CommandHandle> fTxCommands = new LinkedBlockingQueue<>();
 	private final Map<Integer, CommandHandle> fRxCommands = Collections
 			.synchronizedMap(new HashMap<Integer, CommandHandle>());
+	/**
+	 * The number of commands handed to the TX thread whose result has not been received yet.
+	 * Unlike the size of fRxCommands, it includes the commands that the TX thread has not written yet.
+	 */
+	private final AtomicInteger fCommandsInFlight = new AtomicInteger();
 
 	/**
 	 * Handle that's inserted into the TX commands queue to signal
@@ -199,7 +212,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		fCommandFactory = factory;
 
 		if (isConcurrentCommandsSupported()) {
-			fNumberOfConcurrentCommands = NUMBER_CONCURRENT_COMMANDS;
+			fNumberOfConcurrentCommands = Math.max(1,
+					Integer.getInteger(COMMANDS_IN_FLIGHT_PROPERTY, NUMBER_CONCURRENT_COMMANDS));
 		} else {
 			fNumberOfConcurrentCommands = 1;
 		}
@@ -386,7 +400,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rm.done();
 		} else {
 			/*
-			 *  We only allow three outstanding commands to be on the wire to the backend
+			 *  We only allow a few outstanding commands to be on the wire to the backend
 			 *  at any one time. This allows for coalescing as well as canceling
 			 *  existing commands on a state change. So we add it to the waiting list and let
 			 *  the user know they can now work with this item if need be.
@@ -408,7 +422,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	}
 
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+		// Fill all free slots, the results are matched to the commands by their token
+		while (!fCommandQueue.isEmpty() && fCommandsInFlight.get() < fNumberOfConcurrentCommands) {
 			final CommandHandle handle = fCommandQueue.remove(0);
 			if (handle != null) {
 				processCommandSent(handle);
@@ -438,6 +453,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIThreadSelect(targetContext, targetThread), null);
 							cmdHandle.generateTokenId();
+							fCommandsInFlight.incrementAndGet();
 							fTxCommands.add(cmdHandle);
 						}
 
@@ -448,6 +464,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIStackSelectFrame(targetContext, targetFrame), null);
 							cmdHandle.generateTokenId();
+							fCommandsInFlight.incrementAndGet();
 							fTxCommands.add(cmdHandle);
 						}
 					}
@@ -458,6 +475,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					// RawCommands are sent to GDB without an answer expected, so we don't
 					// need a token id.  In fact, GDB will fail if we send one in this case.
 					handle.generateTokenId();
+					fCommandsInFlight.incrementAndGet();
 				}
 				fTxCommands.add(handle);
 			}
@@ -998,6 +1016,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				final CommandHandle commandHandle = fRxCommands.remove(id);
 
 				if (commandHandle != null) {
+					fCommandsInFlight.decrementAndGet();
 					final MIOutput response = new MIOutput(rr,
 							fAccumulatedOOBRecords.toArray(new MIOOBRecord[fAccumulatedOOBRecords.size()]));
 					fAccumulatedOOBRecords.clear();
@@ -1232,6 +1251,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		if (h == null)
 			// Command has already been processed by RxThread.
 			return;
+		fCommandsInFlight.decrementAndGet();
 
 		MIConst value = new MIConst();
 		value.setCString(errorMessage);
@@ -23,10 +23,37 @@ package org.eclipse.cdt.dsf.mi.service.command.output;
  */
 public class MIConst extends MIValue {
 
-	private String cstring = ""; //$NON-NLS-1$
+	private volatile String cstring;
+	// The part of the line the value was parsed from, the string is created on demand.
+	private final String line;
+	private final int start;
+	private final int end;
+	private final boolean hasBackslashes;
+
+	public MIConst() {
+		cstring = ""; //$NON-NLS-1$
+		line = null;
+		start = end = 0;
+		hasBackslashes = false;
+	}
+
+	/**
+	 * Creates a value for the escaped string between the given offsets of a line of MI output.
+	 */
+	MIConst(String line, int start, int end, boolean hasBackslashes) {
+		this.line = line;
+		this.start = start;
+		this.end = end;
+		this.hasBackslashes = hasBackslashes;
+	}
 
 	public String getCString() {
-		return cstring;
+		String result = cstring;
+		if (result == null && line != null) {
+			result = hasBackslashes ? MIParser.translateCString(line, start, end, true) : line.substring(start, end);
+			cstring = result;
+		}
+		return result;
 	}
 
 	public void setCString(String str) {
@@ -38,7 +65,7 @@ public class MIConst extends MIValue {
 	 * @return The translated string.
 	 */
 	public String getString() {
-		return MIStringHandler.translateCString(cstring, true);
+		return MIStringHandler.translateCString(getCString(), true);
 	}
 
 	public static String getString(String str) {
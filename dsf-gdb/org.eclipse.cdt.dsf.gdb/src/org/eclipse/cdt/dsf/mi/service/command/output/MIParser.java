@@ -18,7 +18,6 @@
 package org.eclipse.cdt.dsf.mi.service.command.output;
 
 import java.util.ArrayList;
-import java.util.List;
 
 /**
 <pre>
@@ -103,6 +102,26 @@ public class MIParser {
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
 
+	private static final MIResult[] NO_RESULTS = new MIResult[0];
+	private static final MIValue[] NO_VALUES = new MIValue[0];
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+	// Larger buffers are not kept after a line has been parsed.
+	private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+	private static final int VARIABLE_CACHE_SIZE = 256;
+
+	// The line being parsed and a copy of it in a buffer that is reused for all lines.
+	private String fLine;
+	private char[] fChars = new char[INITIAL_BUFFER_SIZE];
+	private int fPos;
+	private int fEnd;
+	// Whether the last string skipped contains a backslash.
+	private boolean fEscaped;
+	// The results and values of the tuples and lists being parsed, shared by all nesting levels.
+	private final ArrayList<MIResult> fResults = new ArrayList<>();
+	private final ArrayList<MIValue> fValues = new ArrayList<>();
+	// The replies of gdb use a small set of variable names, they are shared rather than copied.
+	private final String[] fVariables = new String[VARIABLE_CACHE_SIZE];
+
 	public RecordType getRecordType(String line) {
 		int i = 0;
 		if (Character.isDigit(line.charAt(0))) {
@@ -126,184 +145,231 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		// Fetch the Token/Id
-		int id = parseToken(buffer);
-		// Consume the '^'
-		buffer.deleteCharAt(0);
-
-		MIResultRecord rr = new MIResultRecord();
-		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
-			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
-			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
-			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
-			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
-			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
-		} else {
-			// Error throw an exception?
-		}
+		startLine(line);
+		try {
+			// Fetch the Token/Id
+			int id = parseToken();
+			// Consume the '^'
+			fPos++;
+
+			MIResultRecord rr = new MIResultRecord();
+			rr.setToken(id);
+			if (consume(MIResultRecord.DONE)) {
+				rr.setResultClass(MIResultRecord.DONE);
+			} else if (consume(MIResultRecord.ERROR)) {
+				rr.setResultClass(MIResultRecord.ERROR);
+			} else if (consume(MIResultRecord.EXIT)) {
+				rr.setResultClass(MIResultRecord.EXIT);
+			} else if (consume(MIResultRecord.RUNNING)) {
+				rr.setResultClass(MIResultRecord.RUNNING);
+			} else if (consume(MIResultRecord.CONNECTED)) {
+				rr.setResultClass(MIResultRecord.CONNECTED);
+			} else {
+				// Error throw an exception?
+			}
 
-		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
-			rr.setMIResults(res);
+			// Results are separated by commas.
+			if (fPos < fEnd && fChars[fPos] == ',') {
+				fPos++;
+				MIResult[] res = processMIResults();
+				rr.setMIResults(res);
+			}
+			return rr;
+		} finally {
+			endLine();
 		}
-		return rr;
 	}
 
 	/**
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
-		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
-		if (c == '*' || c == '+' || c == '=') {
-			// Consume the first char
-			buffer.deleteCharAt(0);
-			MIAsyncRecord async = null;
-			switch (c) {
-			case '*':
-				async = new MIExecAsyncOutput();
-				break;
-
-			case '+':
-				async = new MIStatusAsyncOutput();
-				break;
-
-			case '=':
-				async = new MINotifyAsyncOutput();
-				break;
-			default:
-				assert false;
-				async = new MINotifyAsyncOutput();
-			}
-			async.setToken(id);
-			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
-			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
-				async.setAsyncClass(asyncClass);
-				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+		startLine(line);
+		try {
+			int id = parseToken();
+			MIOOBRecord oob = null;
+			char c = fPos < fEnd ? fChars[fPos] : 0;
+			if (c == '*' || c == '+' || c == '=') {
+				// Consume the first char
+				fPos++;
+				MIAsyncRecord async = null;
+				switch (c) {
+				case '*':
+					async = new MIExecAsyncOutput();
+					break;
+
+				case '+':
+					async = new MIStatusAsyncOutput();
+					break;
+
+				case '=':
+					async = new MINotifyAsyncOutput();
+					break;
+				default:
+					assert false;
+					async = new MINotifyAsyncOutput();
+				}
+				async.setToken(id);
+				// Extract the Async-Class
+				int i = indexOf(',');
+				if (i != -1) {
+					String asyncClass = line.substring(fPos, i);
+					async.setAsyncClass(asyncClass);
+					// Consume the async-class and the comma
+					fPos = i + 1;
+				} else {
+					async.setAsyncClass(line.substring(fPos).trim());
+					fPos = fEnd;
+				}
+				MIResult[] res = processMIResults();
+				async.setMIResults(res);
+				oob = async;
+			} else if (c == '~' || c == '@' || c == '&') {
+				// Consume the first char
+				fPos++;
+				MIStreamRecord stream = null;
+				switch (c) {
+				case '~':
+					stream = new MIConsoleStreamOutput();
+					break;
+
+				case '@':
+					stream = new MITargetStreamOutput();
+					break;
+
+				case '&':
+					stream = new MILogStreamOutput();
+					break;
+				default:
+					assert false;
+					stream = new MIConsoleStreamOutput();
+				}
+				// The leading " is not part of the string
+				if (fPos < fEnd && fChars[fPos] == '"') {
+					fPos++;
+				}
+				// Don't parse any backslashes - backslashes within stream records
+				// aren't escaped.
+				int start = fPos;
+				int end = skipCString();
+				stream.setCString(translateCString(line, start, end, false));
+				oob = stream;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
-			}
-			MIResult[] res = processMIResults(new FSB(buffer));
-			async.setMIResults(res);
-			oob = async;
-		} else if (c == '~' || c == '@' || c == '&') {
-			// Consume the first char
-			buffer.deleteCharAt(0);
-			MIStreamRecord stream = null;
-			switch (c) {
-			case '~':
-				stream = new MIConsoleStreamOutput();
-				break;
-
-			case '@':
-				stream = new MITargetStreamOutput();
-				break;
-
-			case '&':
-				stream = new MILogStreamOutput();
-				break;
-			default:
-				assert false;
-				stream = new MIConsoleStreamOutput();
-			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+				// Badly format MI line, just pass it to the user as target stream
+				MIStreamRecord stream = new MITargetStreamOutput();
+				stream.setCString(line + "\n"); //$NON-NLS-1$
+				oob = stream;
 			}
-			// Don't parse any backslashes - backslashes within stream records
-			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
-			oob = stream;
-		} else {
-			// Badly format MI line, just pass it to the user as target stream
-			MIStreamRecord stream = new MITargetStreamOutput();
-			stream.setCString(line + "\n"); //$NON-NLS-1$
-			oob = stream;
+			return oob;
+		} finally {
+			endLine();
 		}
-		return oob;
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	/**
+	 * Copies the line into the buffer.
+	 */
+	private void startLine(String line) {
+		final int length = line.length();
+		if (fChars.length < length) {
+			fChars = new char[Math.max(length, 2 * fChars.length)];
+		}
+		line.getChars(0, length, fChars, 0);
+		fLine = line;
+		fPos = 0;
+		fEnd = length;
+		fResults.clear();
+		fValues.clear();
+	}
+
+	private void endLine() {
+		fLine = null;
+		if (fChars.length > MAX_RETAINED_BUFFER_SIZE) {
+			fChars = new char[INITIAL_BUFFER_SIZE];
+		}
+	}
+
+	private int parseToken() {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
-				i++;
+		if (fPos < fEnd && Character.isDigit(fChars[fPos])) {
+			long value = 0;
+			while (fPos < fEnd && Character.isDigit(fChars[fPos])) {
+				if (value <= Integer.MAX_VALUE) {
+					value = 10 * value + Character.digit(fChars[fPos], 10);
+				}
+				// Consume the token.
+				fPos++;
 			}
-			String numbers = buffer.substring(0, i);
-			try {
-				id = Integer.parseInt(numbers);
-			} catch (NumberFormatException e) {
+			if (value <= Integer.MAX_VALUE) {
+				id = (int) value;
 			}
-			// Consume the token.
-			buffer.delete(0, i);
 		}
 		return id;
 	}
 
+	/**
+	 * Consumes the given string if the remaining input starts with it.
+	 */
+	private boolean consume(String s) {
+		final int length = s.length();
+		if (fEnd - fPos < length)
+			return false;
+		for (int i = 0; i < length; i++) {
+			if (fChars[fPos + i] != s.charAt(i))
+				return false;
+		}
+		fPos += length;
+		return true;
+	}
+
+	/**
+	 * Returns the offset of the next occurrence of the character, or -1.
+	 */
+	private int indexOf(char c) {
+		for (int i = fPos; i < fEnd; i++) {
+			if (fChars[i] == c)
+				return i;
+		}
+		return -1;
+	}
+
 	/**
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
-		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
-		if (result != null) {
-			aList.add(result);
-		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
-			if (result != null) {
-				aList.add(result);
-			}
+	private MIResult[] processMIResults() {
+		final int base = fResults.size();
+		fResults.add(processMIResult());
+		while (fPos < fEnd && fChars[fPos] == ',') {
+			fPos++;
+			fResults.add(processMIResult());
 		}
-		return aList.toArray(new MIResult[aList.size()]);
+		return popResults(base);
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult() {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (fPos < fEnd && Character.isLetter(fChars[fPos]) && (equal = indexOf('=')) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
-			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			result.setVariable(getVariable(fPos, equal));
+			fPos = equal + 1;
+			MIValue value = processMIValue();
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue();
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(fPos < fEnd ? fLine.substring(fPos, fEnd) : ""); //$NON-NLS-1$
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
+				fPos = fEnd;
 			}
 		}
 		return result;
@@ -312,118 +378,167 @@ public class MIParser {
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue() {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-				MIConst cnst = new MIConst();
-				// Parse backslashes - backslashes within result
-				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
-				value = cnst;
+		if (fPos < fEnd) {
+			final char c = fChars[fPos];
+			if (c == '{') {
+				fPos++;
+				value = processMITuple();
+			} else if (c == '[') {
+				fPos++;
+				value = processMIList();
+			} else if (c == '"') {
+				fPos++;
+				// Backslashes within result and out of band records are escaped,
+				// they are parsed when the value is first requested.
+				int start = fPos;
+				int end = skipCString();
+				value = new MIConst(fLine, start, end, fEscaped);
 			}
 		}
 		return value;
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed, go to the closing '}'
+	 * consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
-		MITuple tuple = new MITuple();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+	private MIValue processMITuple() {
+		final int resultBase = fResults.size();
+		final int valueBase = fValues.size();
 		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
+		while (fPos < fEnd && fChars[fPos] != '}') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue();
 			if (value != null) {
-				valueList.add(value);
+				fValues.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
+				fResults.add(processMIResult());
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (fPos < fEnd && fChars[fPos] == ',') {
+				fPos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
+		if (fPos < fEnd && fChars[fPos] == '}') {
+			fPos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		tuple.setMIValues(values);
-		tuple.setMIResults(res);
+		MITuple tuple = new MITuple();
+		tuple.setMIValues(popValues(valueBase));
+		tuple.setMIResults(popResults(resultBase));
 		return tuple;
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming all the characters.
 	 */
-	private MIValue processMIList(FSB buffer) {
-		MIList list = new MIList();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
+	private MIValue processMIList() {
+		final int resultBase = fResults.size();
+		final int valueBase = fValues.size();
 		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		while (fPos < fEnd && fChars[fPos] != ']') {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue();
 			if (value != null) {
-				valueList.add(value);
+				fValues.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
+				fResults.add(processMIResult());
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (fPos < fEnd && fChars[fPos] == ',') {
+				fPos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+		if (fPos < fEnd && fChars[fPos] == ']') {
+			fPos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
+		MIList list = new MIList();
+		list.setMIValues(popValues(valueBase));
+		list.setMIResults(popResults(resultBase));
 		return list;
 	}
 
+	private MIResult[] popResults(int base) {
+		final int size = fResults.size();
+		if (size == base)
+			return NO_RESULTS;
+		MIResult[] result = fResults.subList(base, size).toArray(new MIResult[size - base]);
+		fResults.subList(base, size).clear();
+		return result;
+	}
+
+	private MIValue[] popValues(int base) {
+		final int size = fValues.size();
+		if (size == base)
+			return NO_VALUES;
+		MIValue[] result = fValues.subList(base, size).toArray(new MIValue[size - base]);
+		fValues.subList(base, size).clear();
+		return result;
+	}
+
+	/**
+	 * Returns the name of a variable, a string from the cache when it has already been seen.
+	 */
+	private String getVariable(int start, int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + fChars[i];
+		}
+		final int slot = (hash ^ (hash >>> 16)) & (VARIABLE_CACHE_SIZE - 1);
+		String variable = fVariables[slot];
+		if (variable == null || !variable.regionMatches(0, fLine, start, end - start)
+				|| variable.length() != end - start) {
+			variable = fLine.substring(start, end);
+			fVariables[slot] = variable;
+		}
+		return variable;
+	}
+
+	/**
+	 * Assuming that the starting double quote was consumed, moves to the character
+	 * following the closing double quote and returns the offset of the closing
+	 * double quote, or the end of the line when there is none.
+	 */
+	private int skipCString() {
+		fEscaped = false;
+		int i = fPos;
+		while (i < fEnd) {
+			final char c = fChars[i];
+			if (c == '"') {
+				fPos = i + 1;
+				return i;
+			}
+			if (c == '\\') {
+				// A backslash escapes the following character.
+				fEscaped = true;
+				i += 2;
+			} else {
+				i++;
+			}
+		}
+		fPos = fEnd;
+		return fEnd;
+	}
+
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
-	 * stop at the closing double quote, remove the extra backslash escaping
-	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * This method removes the extra backslash escaping from the part of
+	 * the line between the enclosing double quotes.
+	 * @param line The line the string was parsed from.
+	 * @param start The offset following the opening double quote.
+	 * @param end The offset of the closing double quote.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
+	static String translateCString(String line, int start, int end, boolean parseBackslashes) {
 		boolean escape = false;
-		boolean closingQuotes = false;
-
-		StringBuffer sb = new StringBuffer();
-
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		StringBuilder sb = new StringBuilder(end - start);
+		for (int index = start; index < end; index++) {
+			char c = line.charAt(index);
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -434,23 +549,15 @@ public class MIParser {
 				} else {
 					escape = true;
 				}
-			} else if (c == '"') {
-				if (escape) {
-					sb.append(c);
-					escape = false;
-				} else {
-					// Bail out.
-					closingQuotes = true;
-				}
 			} else {
-				if (escape) {
+				// Double quotes within the string are always escaped.
+				if (escape && c != '"') {
 					sb.append('\\');
 				}
 				sb.append(c);
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
 		return sb.toString();
 	}
 
@@ -478,7 +585,7 @@ public class MIParser {
 	}
 
 	/**
-	 * Fast String Buffer class. MIParser does a lot
+	 * Fast String Buffer class. MIParser used to do a lot
 	 * of deleting off the front of a string, that's clearly
 	 * an order N operation for StringBuffer which makes
 	 * the MIParser an order N^2 operation. There are "issues"
@@ -247,6 +247,21 @@ int testUpdateGDBBug() {
 	return 0;
 }
 
+int testUpdateWhileStepping() {
+	// Each variable changes once, the following steps leave it unchanged
+	int a = 0;
+	int b = 0;
+	int c = 0;
+	/* testUpdateWhileStepping_init */
+	a = 1;
+	b = 2;
+	c = 3;
+	a = 1;
+	b = 2;
+	c = 3;
+	return a + b + c;
+}
+
 int testUpdateIssue() {
 	double a = 1.99;
 	/* testUpdateIssue_init */
@@ -468,6 +483,7 @@ int main() {
     testUpdateChildren2(200);
     testDeleteChildren();
     testUpdateGDBBug();
+    testUpdateWhileStepping();
     testUpdateIssue();
     testUpdateIssue2();
     testConcurrentReadAndUpdateChild();
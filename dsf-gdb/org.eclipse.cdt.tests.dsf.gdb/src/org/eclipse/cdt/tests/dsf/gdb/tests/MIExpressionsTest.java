@@ -2027,6 +2027,45 @@ public class MIExpressionsTest extends BaseParametrizedTestCase {
 		wait.waitReset();
 	}
 
+	/**
+	 * Steps without waiting for the values requested at each stop, such that the updates of the
+	 * watched expressions overlap with the next step. Each variable changes at one step and keeps
+	 * its value at the following ones, which gdb does not report again, so the values read at the
+	 * last stop show whether a change has been lost.
+	 */
+	@Test
+	public void testUpdateWhileStepping() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("testUpdateWhileStepping_init");
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		final String[] names = { "a", "b", "c" };
+		for (String name : names) {
+			assertEquals("0", SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, name),
+					IFormattedValues.NATURAL_FORMAT));
+		}
+
+		for (int i = 0; i < 6; i++) {
+			stoppedEvent = SyncUtil.step(1, StepType.STEP_OVER);
+			final IFrameDMContext stepFrameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+			// Request the values, but don't wait for them
+			fExpService.getExecutor().execute(() -> {
+				for (String name : names) {
+					IExpressionDMContext exprDmc = fExpService.createExpression(stepFrameDmc, name);
+					fExpService.getFormattedExpressionValue(
+							fExpService.getFormattedValueContext(exprDmc, IFormattedValues.NATURAL_FORMAT),
+							new DataRequestMonitor<FormattedValueDMData>(fExpService.getExecutor(), null));
+				}
+			});
+		}
+
+		frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		for (int i = 0; i < names.length; i++) {
+			assertEquals("Value of " + names[i], Integer.toString(i + 1), SyncUtil.getExpressionValue(
+					SyncUtil.createExpression(frameDmc, names[i]), IFormattedValues.NATURAL_FORMAT));
+		}
+	}
+
 	/**
 	 * var-update will not show a change if eval-expression is the same
 	 * in the current format.  This is a problem for us because we don't
@@ -24,6 +24,8 @@ import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.DataModelInitializedEvent;
@@ -69,6 +71,7 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementMementoRe
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IHasChildrenUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.ILabelUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
 import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jface.util.PropertyChangeEvent;
@@ -284,6 +287,33 @@ public class StackFramesVMNode extends AbstractDMVMNode
 				});
 	}
 
+	/**
+	 * The top stack frame is selected when a thread suspends, its updates are processed in
+	 * {@link Lane#INTERACTIVE}. The updates of the other frames are processed in
+	 * {@link Lane#BACKGROUND}.
+	 */
+	@Override
+	protected Lane getUpdateLane(IViewerUpdate[] updates) {
+		for (IViewerUpdate update : updates) {
+			if (update instanceof IChildrenUpdate) {
+				IChildrenUpdate childrenUpdate = (IChildrenUpdate) update;
+				if (childrenUpdate.getOffset() == 0 && childrenUpdate.getLength() == 1) {
+					return Lane.INTERACTIVE;
+				}
+			} else if (update instanceof IPropertiesUpdate) {
+				Object element = update.getElement();
+				if (element instanceof IDMVMContext
+						&& ((IDMVMContext) element).getDMContext() instanceof IFrameDMContext
+						&& ((IFrameDMContext) ((IDMVMContext) element).getDMContext()).getLevel() == 0) {
+					return Lane.INTERACTIVE;
+				}
+			} else {
+				return super.getUpdateLane(updates);
+			}
+		}
+		return Lane.BACKGROUND;
+	}
+
 	@Override
 	protected void updateElementsInSessionThread(final IChildrenUpdate update) {
 		IStack stackService = getServicesTracker().getService(IStack.class);
@@ -375,12 +405,12 @@ public class StackFramesVMNode extends AbstractDMVMNode
 	@Override
 	public void update(final IPropertiesUpdate[] updates) {
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					updatePropertiesInSessionThread(updates);
 				}
-			});
+			}, getUpdateLane(updates));
 		} catch (RejectedExecutionException e) {
 			for (IPropertiesUpdate update : updates) {
 				handleFailedUpdate(update);
@@ -684,7 +714,7 @@ public class StackFramesVMNode extends AbstractDMVMNode
 			final IExecutionDMContext triggeringCtx, final VMDelta parentDelta, final int nodeOffset,
 			final RequestMonitor rm) {
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					IRunControl runControlService = getServicesTracker().getService(IRunControl.class);
@@ -704,7 +734,7 @@ public class StackFramesVMNode extends AbstractDMVMNode
 
 					rm.done();
 				}
-			});
+			}, Lane.BACKGROUND);
 		} catch (RejectedExecutionException e) {
 			// Session shut down, no delta to build.
 			rm.done();
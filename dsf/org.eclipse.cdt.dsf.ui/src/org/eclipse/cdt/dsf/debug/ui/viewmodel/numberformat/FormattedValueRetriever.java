@@ -30,6 +30,8 @@ import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
@@ -81,6 +83,8 @@ public class FormattedValueRetriever {
 	private final Class<? extends IFormattedDataDMContext> fDmcType;
 	private final String fPropertyPrefix;
 
+	private Lane fLane;
+
 	private final String PROP_AVAILABLE_FORMATS;
 	private final String PROP_ACTIVE_FORMAT;
 	private final String PROP_ACTIVE_FORMAT_VALUE;
@@ -134,6 +138,17 @@ public class FormattedValueRetriever {
 		fServiceTracker.close();
 	}
 
+	/**
+	 * Sets the lane in which the values are retrieved if the session uses a
+	 * {@link PriorityDsfExecutor}. By default, the values are retrieved in the lane of the work that
+	 * is not assigned to a lane.
+	 *
+	 * @since 2.8
+	 */
+	public void setLane(Lane lane) {
+		fLane = lane;
+	}
+
 	/**
 	 * This method fills in the formatted value properties in the given array
 	 * of property update objects using data retrieved from the given
@@ -186,7 +201,7 @@ public class FormattedValueRetriever {
 								return;
 							}
 							try {
-								service.getExecutor().execute(new DsfRunnable() {
+								PriorityDsfExecutor.executeInLane(service.getExecutor(), new DsfRunnable() {
 									@Override
 									public void run() {
 										retrieveAvailableFormats(
@@ -210,7 +225,7 @@ public class FormattedValueRetriever {
 													}
 												});
 									}
-								});
+								}, fLane);
 							} catch (RejectedExecutionException e) {
 								rm.setStatus(new Status(IStatus.ERROR, DsfUIPlugin.PLUGIN_ID,
 										IDsfStatusConstants.REQUEST_FAILED,
@@ -472,12 +487,12 @@ public class FormattedValueRetriever {
 			return;
 		}
 		try {
-			service.getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(service.getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					doUpdateWithRequestedFormats(outstandingUpdates, requestedFormatsMap, activeFormatsMap, rm);
 				}
-			});
+			}, fLane);
 		} catch (RejectedExecutionException e) {
 			rm.setStatus(new Status(IStatus.ERROR, DsfUIPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
 					"Service executor shut down " + service.getExecutor(), e)); //$NON-NLS-1$
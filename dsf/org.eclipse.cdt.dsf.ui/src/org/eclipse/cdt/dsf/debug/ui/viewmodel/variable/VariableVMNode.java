@@ -33,6 +33,8 @@ import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
@@ -261,6 +263,7 @@ public class VariableVMNode extends AbstractExpressionVMNode
 		fLabelProvider = createLabelProvider();
 		fFormattedValueRetriever = new FormattedValueRetriever(this, session, IExpressions.class,
 				IExpressionDMContext.class);
+		fFormattedValueRetriever.setLane(Lane.INTERACTIVE);
 	}
 
 	/**
@@ -661,12 +664,12 @@ public class VariableVMNode extends AbstractExpressionVMNode
 		countingRm.setDoneCount(count);
 
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					updatePropertiesInSessionThread(subUpdates);
 				}
-			});
+			}, getUpdateLane(updates));
 		} catch (RejectedExecutionException e) {
 			for (IPropertiesUpdate subUpdate : subUpdates) {
 				subUpdate.setStatus(new Status(IStatus.ERROR, DsfUIPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
@@ -981,6 +984,15 @@ public class VariableVMNode extends AbstractExpressionVMNode
 		}
 	}
 
+	/**
+	 * The viewer requests the variables that it shows, the updates are processed in
+	 * {@link Lane#INTERACTIVE}.
+	 */
+	@Override
+	protected Lane getUpdateLane(IViewerUpdate[] updates) {
+		return Lane.INTERACTIVE;
+	}
+
 	@Override
 	protected void updateElementsInSessionThread(final IChildrenUpdate update) {
 		// Get the data model context object for the current node in the hierarchy.
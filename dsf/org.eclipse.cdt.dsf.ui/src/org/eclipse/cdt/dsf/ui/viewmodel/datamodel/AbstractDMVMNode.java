@@ -21,6 +21,8 @@ import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.Immutable;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
 import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.datamodel.IDMEvent;
@@ -189,7 +191,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 	@Override
 	public void update(final IHasChildrenUpdate[] updates) {
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					for (IHasChildrenUpdate update : updates) {
@@ -198,7 +200,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 						updateHasElementsInSessionThread(update);
 					}
 				}
-			});
+			}, getUpdateLane(updates));
 		} catch (RejectedExecutionException e) {
 			for (IViewerUpdate update : updates) {
 				handleFailedUpdate(update);
@@ -216,7 +218,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 	@Override
 	public void update(final IChildrenCountUpdate[] updates) {
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					for (IChildrenCountUpdate update : updates) {
@@ -225,7 +227,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 						updateElementCountInSessionThread(update);
 					}
 				}
-			});
+			}, getUpdateLane(updates));
 		} catch (RejectedExecutionException e) {
 			for (IViewerUpdate update : updates) {
 				handleFailedUpdate(update);
@@ -243,7 +245,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 	@Override
 	public void update(final IChildrenUpdate[] updates) {
 		try {
-			getSession().getExecutor().execute(new DsfRunnable() {
+			PriorityDsfExecutor.executeInLane(getSession().getExecutor(), new DsfRunnable() {
 				@Override
 				public void run() {
 					// After every dispatch, must check if update still valid.
@@ -253,7 +255,7 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 						updateElementsInSessionThread(update);
 					}
 				}
-			});
+			}, getUpdateLane(updates));
 		} catch (RejectedExecutionException e) {
 			for (IViewerUpdate update : updates) {
 				handleFailedUpdate(update);
@@ -264,6 +266,17 @@ abstract public class AbstractDMVMNode extends AbstractVMNode {
 	@ConfinedToDsfExecutor("getSession().getExecutor()")
 	abstract protected void updateElementsInSessionThread(IChildrenUpdate update);
 
+	/**
+	 * Returns the lane in which the given updates are processed if the session uses a
+	 * {@link PriorityDsfExecutor}. The default implementation returns <code>null</code>, such that
+	 * the updates are processed in the lane of the work that is not assigned to a lane.
+	 *
+	 * @since 2.8
+	 */
+	protected Lane getUpdateLane(IViewerUpdate[] updates) {
+		return null;
+	}
+
 	/**
 	 * Utility method that takes an array of DMC object and creates a
 	 * corresponding array of IVMContext elements base on that.
@@ -498,6 +498,13 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return super.submit(command, result);
 	}
 
+	/**
+	 * Schedules the given runnable for immediate execution, without wrapping it for tracing.
+	 */
+	ScheduledFuture<?> executeUntraced(Runnable command) {
+		return super.schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
 	@Override
 	public void shutdown() {
 		if (DEBUG_EXECUTOR && ("".equals(DEBUG_EXECUTOR_NAME) || fName.equals(DEBUG_EXECUTOR_NAME))) { //$NON-NLS-1$
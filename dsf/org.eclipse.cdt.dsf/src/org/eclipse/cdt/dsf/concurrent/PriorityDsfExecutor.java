@@ -0,0 +1,439 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.internal.DsfPlugin;
+
+/**
+ * A DSF executor that runs the work submitted to it according to its priority, rather than strictly
+ * in submission order. Work is submitted to one of the {@link Lane}s, the next task is always taken
+ * from the most important lane that is not empty. Within a lane, tasks run in submission order.
+ * <p>
+ * All tasks still run in the single executor thread, one at a time, so the confinement guarantees
+ * of {@link DefaultDsfExecutor} are kept. Work that is submitted without a lane from the executor
+ * thread goes to the lane of the task that submits it, so that a chain of request monitors keeps the
+ * priority of the request that started it. Work submitted from other threads without a lane goes to
+ * {@link Lane#EVENT}. To avoid starving the less important lanes, a task that has waited longer than
+ * a limit is run before the tasks of more important lanes. The limit can be changed with
+ * -Dorg.eclipse.cdt.dsf.executor.maxLaneWait=&lt;milliseconds&gt;.
+ * <p>
+ * Work scheduled with a delay bypasses the lanes and runs when it is due.
+ *
+ * @since 2.12
+ */
+public class PriorityDsfExecutor extends DefaultDsfExecutor {
+
+	/**
+	 * The lanes of the executor, from the most to the least important.
+	 */
+	public enum Lane {
+		/** Work the user is waiting for, e.g. the data of the selected stack frame or variable. */
+		INTERACTIVE,
+		/**
+		 * Event dispatch and all work that is not assigned to another lane. An event dispatched from a
+		 * task of a more important lane is dispatched in that lane.
+		 */
+		EVENT,
+		/** Bulk refreshes and other work that nobody is waiting for. */
+		BACKGROUND
+	}
+
+	/**
+	 * The queue depth and latency of a lane. The latency of a task is the time from its submission
+	 * until it starts to run.
+	 */
+	public static final class LaneStatistics {
+		private final Lane fLane;
+		private final int fQueueDepth;
+		private final int fMaxQueueDepth;
+		private final long fExecutedCount;
+		private final long fTotalLatency;
+		private final long fMaxLatency;
+
+		LaneStatistics(Lane lane, int queueDepth, int maxQueueDepth, long executedCount, long totalLatency,
+				long maxLatency) {
+			fLane = lane;
+			fQueueDepth = queueDepth;
+			fMaxQueueDepth = maxQueueDepth;
+			fExecutedCount = executedCount;
+			fTotalLatency = totalLatency;
+			fMaxLatency = maxLatency;
+		}
+
+		public Lane getLane() {
+			return fLane;
+		}
+
+		/**
+		 * Returns the number of tasks waiting in the lane.
+		 */
+		public int getQueueDepth() {
+			return fQueueDepth;
+		}
+
+		/**
+		 * Returns the largest number of tasks that have been waiting in the lane at the same time.
+		 */
+		public int getMaxQueueDepth() {
+			return fMaxQueueDepth;
+		}
+
+		/**
+		 * Returns the number of tasks of the lane that have been run.
+		 */
+		public long getExecutedCount() {
+			return fExecutedCount;
+		}
+
+		public long getAverageLatency(TimeUnit unit) {
+			return fExecutedCount == 0 ? 0 : unit.convert(fTotalLatency / fExecutedCount, TimeUnit.NANOSECONDS);
+		}
+
+		public long getMaxLatency(TimeUnit unit) {
+			return unit.convert(fMaxLatency, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d queued (max %d), %d run, latency %d us average, %d us max", //$NON-NLS-1$
+					fLane, fQueueDepth, fMaxQueueDepth, fExecutedCount, getAverageLatency(TimeUnit.MICROSECONDS),
+					getMaxLatency(TimeUnit.MICROSECONDS));
+		}
+	}
+
+	private static final long MAX_LANE_WAIT = Long.getLong("org.eclipse.cdt.dsf.executor.maxLaneWait", 500); //$NON-NLS-1$
+
+	private static final class LaneTask {
+		final Runnable fRunnable;
+		final Lane fLane;
+		final long fSubmitTime;
+
+		LaneTask(Runnable runnable, Lane lane) {
+			fRunnable = runnable;
+			fLane = lane;
+			fSubmitTime = System.nanoTime();
+		}
+	}
+
+	private static final class LaneQueue {
+		final ArrayDeque<LaneTask> fTasks = new ArrayDeque<>();
+		int fMaxDepth;
+		long fExecutedCount;
+		long fTotalLatency;
+		long fMaxLatency;
+	}
+
+	/** The queues of the lanes, also used as lock for them and their statistics. */
+	private final LaneQueue[] fLanes = new LaneQueue[Lane.values().length];
+
+	private final long fMaxLaneWait;
+
+	/**
+	 * The lane of the task that is running.
+	 * <br>Note: Only accessed in the executor thread.
+	 */
+	private Lane fCurrentLane;
+
+	/**
+	 * Runs the most important task waiting and schedules itself again while tasks are waiting, so
+	 * that work scheduled with a delay can run in between.
+	 */
+	private final Runnable fRunNextTask = new Runnable() {
+		@Override
+		public void run() {
+			runNextTask();
+		}
+	};
+
+	/** The pending execution of fRunNextTask, or null if it is not scheduled. Guarded by fLanes. */
+	private Future<?> fRunNextTaskFuture;
+
+	public PriorityDsfExecutor() {
+		this("DSF Executor"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a new DSF Executor with the given name.
+	 * @param name Name used to create executor's thread.
+	 */
+	public PriorityDsfExecutor(String name) {
+		this(name, MAX_LANE_WAIT, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates a new DSF Executor with the given name.
+	 * @param name Name used to create executor's thread.
+	 * @param maxLaneWait The time after which a task is run before the tasks of more important lanes.
+	 * @param unit The unit of maxLaneWait.
+	 */
+	public PriorityDsfExecutor(String name, long maxLaneWait, TimeUnit unit) {
+		super(name);
+		fMaxLaneWait = unit.toNanos(maxLaneWait);
+		for (int i = 0; i < fLanes.length; i++) {
+			fLanes[i] = new LaneQueue();
+		}
+	}
+
+	/**
+	 * Executes the given runnable in the given lane of the executor if it is a
+	 * {@link PriorityDsfExecutor}, otherwise simply submits it to the executor.
+	 */
+	public static Future<?> submitInLane(DsfExecutor executor, Runnable command, Lane lane) {
+		if (executor instanceof PriorityDsfExecutor) {
+			return ((PriorityDsfExecutor) executor).submit(command, lane);
+		}
+		return executor.submit(command);
+	}
+
+	/**
+	 * Executes the given runnable in the given lane of the executor if it is a
+	 * {@link PriorityDsfExecutor} and a lane is given, otherwise simply executes it.
+	 */
+	public static void executeInLane(DsfExecutor executor, Runnable command, Lane lane) {
+		if (lane != null && executor instanceof PriorityDsfExecutor) {
+			((PriorityDsfExecutor) executor).execute(command, lane);
+		} else {
+			executor.execute(command);
+		}
+	}
+
+	/**
+	 * Executes the given runnable in the given lane.
+	 */
+	public void execute(Runnable command, Lane lane) {
+		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
+			command = new TracingWrapperRunnable(command);
+		}
+		enqueue(command, lane);
+	}
+
+	/**
+	 * Submits the given runnable to the given lane.
+	 */
+	public Future<?> submit(Runnable command, Lane lane) {
+		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
+			command = new TracingWrapperRunnable(command);
+		}
+		FutureTask<?> future = new FutureTask<>(command, null);
+		enqueue(future, lane);
+		return future;
+	}
+
+	/**
+	 * Submits the given callable to the given lane.
+	 */
+	public <T> Future<T> submit(Callable<T> callable, Lane lane) {
+		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
+			callable = new TracingWrapperCallable<>(callable);
+		}
+		FutureTask<T> future = new FutureTask<>(callable);
+		enqueue(future, lane);
+		return future;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		execute(command, getDefaultLane());
+	}
+
+	@Override
+	public Future<?> submit(Runnable command) {
+		return submit(command, getDefaultLane());
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> callable) {
+		return submit(callable, getDefaultLane());
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable command, T result) {
+		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
+			command = new TracingWrapperRunnable(command);
+		}
+		FutureTask<T> future = new FutureTask<>(command, result);
+		enqueue(future, getDefaultLane());
+		return future;
+	}
+
+	/**
+	 * Returns the lane of the task that is running, or <code>null</code> if not called from a task
+	 * of a lane in the executor thread.
+	 */
+	public Lane getCurrentLane() {
+		return isInExecutorThread() ? fCurrentLane : null;
+	}
+
+	private Lane getDefaultLane() {
+		Lane lane = getCurrentLane();
+		return lane != null ? lane : Lane.EVENT;
+	}
+
+	private void enqueue(Runnable runnable, Lane lane) {
+		if (runnable == null || lane == null) {
+			throw new NullPointerException();
+		}
+		LaneTask task = new LaneTask(runnable, lane);
+		LaneQueue queue = fLanes[lane.ordinal()];
+		synchronized (fLanes) {
+			if (isShutdown()) {
+				throw new RejectedExecutionException();
+			}
+			queue.fTasks.add(task);
+			queue.fMaxDepth = Math.max(queue.fMaxDepth, queue.fTasks.size());
+			if (fRunNextTaskFuture == null) {
+				try {
+					fRunNextTaskFuture = executeUntraced(fRunNextTask);
+				} catch (RejectedExecutionException e) {
+					queue.fTasks.removeLastOccurrence(task);
+					throw e;
+				}
+			}
+		}
+	}
+
+	private void runNextTask() {
+		while (true) {
+			LaneTask task;
+			synchronized (fLanes) {
+				task = pollNextTask(System.nanoTime());
+				if (task == null) {
+					fRunNextTaskFuture = null;
+					return;
+				}
+			}
+			Lane previousLane = fCurrentLane;
+			fCurrentLane = task.fLane;
+			try {
+				task.fRunnable.run();
+			} catch (RuntimeException | Error e) {
+				if (!scheduleNextTask()) {
+					logException(e);
+					continue;
+				}
+				throw e;
+			} finally {
+				fCurrentLane = previousLane;
+			}
+			if (scheduleNextTask()) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Schedules the next execution of fRunNextTask if tasks are waiting. Returns <code>false</code> if
+	 * that is not possible because the executor has been shut down, in which case the tasks that were
+	 * submitted before must still be run by the caller.
+	 */
+	private boolean scheduleNextTask() {
+		synchronized (fLanes) {
+			if (!hasWaitingTasks()) {
+				fRunNextTaskFuture = null;
+				return true;
+			}
+			if (isShutdown()) {
+				return false;
+			}
+			fRunNextTaskFuture = executeUntraced(fRunNextTask);
+			return true;
+		}
+	}
+
+	private boolean hasWaitingTasks() {
+		for (LaneQueue queue : fLanes) {
+			if (!queue.fTasks.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the task to run next from its lane, that is the first task of the most important lane
+	 * that is not empty, unless the task of a less important lane has waited too long.
+	 */
+	private LaneTask pollNextTask(long now) {
+		LaneQueue selected = null;
+		for (LaneQueue queue : fLanes) {
+			LaneTask head = queue.fTasks.peek();
+			if (head == null) {
+				continue;
+			}
+			if (selected == null) {
+				selected = queue;
+			} else if (now - head.fSubmitTime > fMaxLaneWait
+					&& head.fSubmitTime - selected.fTasks.peek().fSubmitTime < 0) {
+				selected = queue;
+			}
+		}
+		if (selected == null) {
+			return null;
+		}
+		LaneTask task = selected.fTasks.poll();
+		long latency = now - task.fSubmitTime;
+		selected.fExecutedCount++;
+		selected.fTotalLatency += latency;
+		selected.fMaxLatency = Math.max(selected.fMaxLatency, latency);
+		return task;
+	}
+
+	/**
+	 * Returns the queue depth and latency statistics of the given lane.
+	 */
+	public LaneStatistics getStatistics(Lane lane) {
+		LaneQueue queue = fLanes[lane.ordinal()];
+		synchronized (fLanes) {
+			return new LaneStatistics(lane, queue.fTasks.size(), queue.fMaxDepth, queue.fExecutedCount,
+					queue.fTotalLatency, queue.fMaxLatency);
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		if (DEBUG_EXECUTOR && ("".equals(DEBUG_EXECUTOR_NAME) || getName().equals(DEBUG_EXECUTOR_NAME))) { //$NON-NLS-1$
+			for (Lane lane : Lane.values()) {
+				DsfPlugin.debug(DsfPlugin.getDebugTime() + " Executor (" + getName() + ") lane " //$NON-NLS-1$ //$NON-NLS-2$
+						+ getStatistics(lane));
+			}
+		}
+		super.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> notRun = new ArrayList<>();
+		synchronized (fLanes) {
+			for (LaneQueue queue : fLanes) {
+				for (LaneTask task : queue.fTasks) {
+					notRun.add(task.fRunnable);
+				}
+				queue.fTasks.clear();
+			}
+		}
+		for (Runnable runnable : super.shutdownNow()) {
+			// Leave out the execution that would have run the lane tasks returned above
+			if (runnable != fRunNextTaskFuture) {
+				notRun.add(runnable);
+			}
+		}
+		return notRun;
+	}
+}
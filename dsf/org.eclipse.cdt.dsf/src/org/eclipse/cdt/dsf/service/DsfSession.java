@@ -15,6 +15,7 @@ package org.eclipse.cdt.dsf.service;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -27,10 +28,13 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
 import org.eclipse.cdt.dsf.concurrent.ThreadSafe;
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
 import org.eclipse.cdt.dsf.internal.LoggingUtils;
@@ -274,6 +278,17 @@ public class DsfSession {
 		}
 	}
 
+	private static class PendingEvent {
+		final Object fEvent;
+		final Dictionary<?, ?> fServiceProperties;
+		boolean fDispatched;
+
+		PendingEvent(Object event, Dictionary<?, ?> serviceProperties) {
+			fEvent = event;
+			fServiceProperties = serviceProperties;
+		}
+	}
+
 	/** ID (plugin ID preferably) of the owner of this session */
 	private final String fOwnerId;
 
@@ -289,6 +304,12 @@ public class DsfSession {
 	/** Map of registered event listeners. */
 	private Map<ListenerEntry, Method[]> fListeners = new HashMap<>();
 
+	/**
+	 * The events that have not been dispatched yet, in the order of the calls to
+	 * {@link #dispatchEvent(Object, Dictionary)}. Also used as lock for itself.
+	 */
+	private final ArrayDeque<PendingEvent> fPendingEvents = new ArrayDeque<>();
+
 	/**
 	 * Map of registered adapters, for implementing the <code>IDMContext.getAdapter()</code>
 	 * method.
@@ -402,17 +423,57 @@ public class DsfSession {
 
 			DsfPlugin.debug(msg);
 		}
-		getExecutor().submit(new DsfRunnable() {
-			@Override
-			public void run() {
-				doDispatchEvent(event, serviceProperties);
+		// With a priority executor, the work that the dispatching task submits next runs in its lane. The
+		// event is dispatched in that lane too if it is more important, so that the event is not overtaken.
+		Lane lane = Lane.EVENT;
+		if (getExecutor() instanceof PriorityDsfExecutor) {
+			Lane currentLane = ((PriorityDsfExecutor) getExecutor()).getCurrentLane();
+			if (currentLane != null && currentLane.compareTo(lane) < 0) {
+				lane = currentLane;
 			}
+		}
 
-			@Override
-			public String toString() {
-				return "Event: " + event + ", from service " + serviceProperties; //$NON-NLS-1$//$NON-NLS-2$
+		final PendingEvent pendingEvent = new PendingEvent(event, serviceProperties);
+		synchronized (fPendingEvents) {
+			fPendingEvents.add(pendingEvent);
+		}
+		try {
+			PriorityDsfExecutor.submitInLane(getExecutor(), new DsfRunnable() {
+				@Override
+				public void run() {
+					dispatchPendingEvents(pendingEvent);
+				}
+
+				@Override
+				public String toString() {
+					return "Event: " + event + ", from service " + serviceProperties; //$NON-NLS-1$//$NON-NLS-2$
+				}
+			}, lane);
+		} catch (RejectedExecutionException e) {
+			synchronized (fPendingEvents) {
+				fPendingEvents.removeLastOccurrence(pendingEvent);
 			}
-		});
+			throw e;
+		}
+	}
+
+	/**
+	 * Dispatches the pending events up to the given one. The events are submitted to different lanes
+	 * of a priority executor, an event dispatched in a more important lane takes the events that were
+	 * dispatched before it along, so that the listeners still receive the events in order.
+	 */
+	private void dispatchPendingEvents(PendingEvent last) {
+		while (true) {
+			PendingEvent pendingEvent;
+			synchronized (fPendingEvents) {
+				if (last.fDispatched) {
+					return;
+				}
+				pendingEvent = fPendingEvents.poll();
+				pendingEvent.fDispatched = true;
+			}
+			doDispatchEvent(pendingEvent.fEvent, pendingEvent.fServiceProperties);
+		}
 	}
 
 	/**
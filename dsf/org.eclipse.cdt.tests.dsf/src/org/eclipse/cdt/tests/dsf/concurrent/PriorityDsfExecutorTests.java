@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.Lane;
+import org.eclipse.cdt.dsf.concurrent.PriorityDsfExecutor.LaneStatistics;
+import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the order in which {@link PriorityDsfExecutor} runs the work of its lanes.
+ */
+public class PriorityDsfExecutorTests {
+	private PriorityDsfExecutor fExecutor;
+	private final List<String> fOrder = Collections.synchronizedList(new ArrayList<String>());
+
+	private DsfSession fSession;
+
+	/**
+	 * Records the events dispatched in the session.
+	 */
+	public class EventRecorder {
+		@DsfServiceEventHandler
+		public void eventDispatched(String event) {
+			fOrder.add(event);
+		}
+	}
+
+	@After
+	public void shutdownExecutor() throws InterruptedException {
+		if (fSession != null) {
+			DsfSession.endSession(fSession);
+		}
+		if (fExecutor != null) {
+			fExecutor.shutdownNow();
+			assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	/**
+	 * Blocks the executor thread until the returned latch is counted down, so that the work
+	 * submitted in the meantime is queued.
+	 */
+	private CountDownLatch block() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+				}
+			}
+		});
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		return release;
+	}
+
+	private DsfRunnable record(final String name) {
+		return new DsfRunnable() {
+			@Override
+			public void run() {
+				assertTrue(fExecutor.isInExecutorThread());
+				fOrder.add(name);
+			}
+		};
+	}
+
+	private void startSession() throws InterruptedException, ExecutionException {
+		fSession = DsfSession.startSession(fExecutor, "org.eclipse.cdt.tests.dsf"); //$NON-NLS-1$
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+				fSession.addServiceEventListener(new EventRecorder(), null);
+			}
+		}).get();
+	}
+
+	private void waitForQueuedWork() throws InterruptedException, ExecutionException {
+		fExecutor.submit(new DsfRunnable() {
+			@Override
+			public void run() {
+			}
+		}, Lane.BACKGROUND).get();
+	}
+
+	@Test
+	public void testLanesRunInPriorityOrder() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.HOURS);
+		CountDownLatch release = block();
+		fExecutor.execute(record("background 1"), Lane.BACKGROUND);
+		fExecutor.execute(record("event 1"));
+		fExecutor.execute(record("interactive 1"), Lane.INTERACTIVE);
+		fExecutor.execute(record("background 2"), Lane.BACKGROUND);
+		fExecutor.execute(record("event 2"), Lane.EVENT);
+		fExecutor.execute(record("interactive 2"), Lane.INTERACTIVE);
+		release.countDown();
+		waitForQueuedWork();
+
+		assertEquals("[interactive 1, interactive 2, event 1, event 2, background 1, background 2]",
+				fOrder.toString());
+	}
+
+	@Test
+	public void testSubmittedWorkInheritsLane() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.HOURS);
+		CountDownLatch release = block();
+		fExecutor.execute(record("event"));
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fOrder.add("background");
+				// Runs after the event, even though it's submitted from the executor thread
+				fExecutor.execute(record("background continuation"));
+			}
+		}, Lane.BACKGROUND);
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fOrder.add("interactive");
+				fExecutor.execute(record("interactive continuation"));
+			}
+		}, Lane.INTERACTIVE);
+		release.countDown();
+		waitForQueuedWork();
+
+		assertEquals("[interactive, interactive continuation, event, background, background continuation]",
+				fOrder.toString());
+	}
+
+	@Test
+	public void testEventIsNotOvertakenByFollowUpWork() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.HOURS);
+		startSession();
+		CountDownLatch release = block();
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fOrder.add("interactive");
+				fSession.dispatchEvent("event", null);
+				fExecutor.execute(record("interactive continuation"));
+			}
+		}, Lane.INTERACTIVE);
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fOrder.add("background");
+				// Not dispatched below the event lane
+				fSession.dispatchEvent("background event", null);
+				fExecutor.execute(record("background continuation"));
+			}
+		}, Lane.BACKGROUND);
+		release.countDown();
+		waitForQueuedWork();
+
+		assertEquals("[interactive, event, interactive continuation, background, background event, "
+				+ "background continuation]", fOrder.toString());
+	}
+
+	@Test
+	public void testEventsAreDispatchedInOrder() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.HOURS);
+		startSession();
+		CountDownLatch release = block();
+		fSession.dispatchEvent("event 1", null);
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				fSession.dispatchEvent("event 2", null);
+				fExecutor.execute(record("interactive continuation"));
+			}
+		}, Lane.INTERACTIVE);
+		fSession.dispatchEvent("event 3", null);
+		release.countDown();
+		waitForQueuedWork();
+
+		// "event 3" is dispatched before the interactive task runs, the interactive event takes the events
+		// dispatched before it along
+		assertEquals("[event 1, event 3, event 2, interactive continuation]", fOrder.toString());
+	}
+
+	@Test
+	public void testWaitingTaskIsNotStarved() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 10, TimeUnit.MILLISECONDS);
+		CountDownLatch release = block();
+		fExecutor.execute(record("background"), Lane.BACKGROUND);
+		Thread.sleep(50);
+		fExecutor.execute(record("interactive"), Lane.INTERACTIVE);
+		release.countDown();
+		waitForQueuedWork();
+
+		assertEquals("[background, interactive]", fOrder.toString());
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.HOURS);
+		CountDownLatch release = block();
+		for (int i = 0; i < 5; i++) {
+			fExecutor.execute(record("interactive " + i), Lane.INTERACTIVE);
+		}
+		assertEquals(5, fExecutor.getStatistics(Lane.INTERACTIVE).getQueueDepth());
+		Thread.sleep(20);
+		release.countDown();
+		waitForQueuedWork();
+
+		LaneStatistics statistics = fExecutor.getStatistics(Lane.INTERACTIVE);
+		assertEquals(0, statistics.getQueueDepth());
+		assertEquals(5, statistics.getMaxQueueDepth());
+		assertEquals(5, statistics.getExecutedCount());
+		assertTrue(statistics.toString(), statistics.getMaxLatency(TimeUnit.MILLISECONDS) >= 20);
+		assertTrue(statistics.getAverageLatency(TimeUnit.NANOSECONDS) <= statistics
+				.getMaxLatency(TimeUnit.NANOSECONDS));
+		// The blocking task and the one waited for
+		assertEquals(1, fExecutor.getStatistics(Lane.EVENT).getExecutedCount());
+		assertEquals(1, fExecutor.getStatistics(Lane.BACKGROUND).getExecutedCount());
+	}
+
+	@Test
+	public void testSubmitCallable() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test");
+		assertEquals(Integer.valueOf(42), fExecutor.submit(() -> {
+			assertTrue(fExecutor.isInExecutorThread());
+			return 42;
+		}, Lane.INTERACTIVE).get());
+	}
+
+	@Test
+	public void testWorkIsConfinedToExecutorThread() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test", 1, TimeUnit.MILLISECONDS);
+		final int[] counter = new int[1];
+		final int count = 10000;
+		Thread[] threads = new Thread[Lane.values().length];
+		for (int i = 0; i < threads.length; i++) {
+			final Lane lane = Lane.values()[i];
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < count; j++) {
+						fExecutor.execute(new DsfRunnable() {
+							@Override
+							public void run() {
+								assertTrue(fExecutor.isInExecutorThread());
+								// Not thread safe on purpose
+								counter[0]++;
+							}
+						}, lane);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		waitForQueuedWork();
+		assertEquals(count * threads.length, counter[0]);
+	}
+
+	@Test
+	public void testShutdownRunsSubmittedWork() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test");
+		CountDownLatch release = block();
+		fExecutor.execute(record("background"), Lane.BACKGROUND);
+		fExecutor.execute(record("interactive"), Lane.INTERACTIVE);
+		fExecutor.shutdown();
+		try {
+			fExecutor.execute(record("too late"));
+			fail("Work submitted after shutdown must be rejected");
+		} catch (RejectedExecutionException e) {
+		}
+		release.countDown();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals("[interactive, background]", fOrder.toString());
+	}
+
+	@Test
+	public void testShutdownNowReturnsWaitingWork() throws Exception {
+		fExecutor = new PriorityDsfExecutor("Test");
+		CountDownLatch release = block();
+		fExecutor.execute(record("background"), Lane.BACKGROUND);
+		fExecutor.execute(record("interactive"), Lane.INTERACTIVE);
+		assertEquals(2, fExecutor.shutdownNow().size());
+		release.countDown();
+		assertTrue(fExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals("[]", fOrder.toString());
+	}
+}